@@ -0,0 +1,62 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Name the unique indexes of member.email and member.name uk_member_email / uk_member_name
+ * <p>
+ * Only V1 creates them with these names. Schemas made by Hibernate before Flyway (baselined at V1)
+ * have generated names, and MemberService tells a duplicate email from a duplicate name by index name.
+ */
+public class V11__member_unique_index_names extends BaseJavaMigration {
+
+    /* single column unique indexes of a member column */
+    private static final String FIND = "select s.index_name from information_schema.statistics s" +
+            " where s.table_schema = database() and s.table_name = 'member' and s.non_unique = 0" +
+            " and s.column_name = ? and s.seq_in_index = 1" +
+            " and (select count(*) from information_schema.statistics c where c.table_schema = s.table_schema" +
+            " and c.table_name = s.table_name and c.index_name = s.index_name) = 1";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        name(connection, "email", "uk_member_email");
+        name(connection, "name", "uk_member_name");
+    }
+
+    private void name(Connection connection, String column, String index) throws Exception {
+        String current = null;
+
+        try (PreparedStatement ps = connection.prepareStatement(FIND)) {
+            ps.setString(1, column);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+
+                    if (name.equalsIgnoreCase(index)) {
+                        return;
+                    }
+                    if (current == null) {
+                        current = name;
+                    }
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            if (current == null) {
+                statement.execute("create unique index " + index + " on member (" + column + ")");
+            } else {
+                statement.execute("alter table member rename index `" + current + "` to " + index);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Index existing member, team and album names into name_gram (V4)
+ * <p>
+ * The normalization is a copy of NameGrams as of V4 (lower case, accents removed, unigrams and bigrams),
+ * kept here so a later change of NameGrams never changes what this migration did.
+ */
+public class V4_1__backfill_name_grams extends BaseJavaMigration {
+
+    private static final String INSERT = "insert ignore into name_gram (kind, gram, target_id) values (?, ?, ?)";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        index(connection, "member", "select member_id, name from member");
+        index(connection, "team", "select team_id, name from team");
+        index(connection, "album", "select album_id, name from album");
+    }
+
+    private void index(Connection connection, String kind, String select) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(select);
+             PreparedStatement ps = connection.prepareStatement(INSERT)) {
+            int batch = 0;
+
+            while (rs.next()) {
+                for (String gram : grams(rs.getString(2))) {
+                    ps.setString(1, kind);
+                    ps.setString(2, gram);
+                    ps.setLong(3, rs.getLong(1));
+                    ps.addBatch();
+
+                    if (++batch % 1000 == 0) {
+                        ps.executeBatch();
+                    }
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static Set<String> grams(String name) {
+        Set<String> grams = new LinkedHashSet<>();
+
+        if (name == null) {
+            return grams;
+        }
+
+        String stripped = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        int[] codePoints = Normalizer.normalize(stripped, Normalizer.Form.NFC).toLowerCase(Locale.ROOT).codePoints().toArray();
+
+        for (int i = 0; i < codePoints.length; i++) {
+            grams.add(new String(codePoints, i, 1));
+
+            if (i + 1 < codePoints.length) {
+                grams.add(new String(codePoints, i, 2));
+            }
+        }
+        return grams;
+    }
+}
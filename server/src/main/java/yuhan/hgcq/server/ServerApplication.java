@@ -2,10 +2,12 @@ package yuhan.hgcq.server;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisHttpSession;
 
 @SpringBootApplication
 @EnableRedisHttpSession(maxInactiveIntervalInSeconds = 259200)
+@EnableScheduling
 public class ServerApplication {
 
 	public static void main(String[] args) {
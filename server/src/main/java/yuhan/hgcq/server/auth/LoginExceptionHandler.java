@@ -0,0 +1,15 @@
+package yuhan.hgcq.server.auth;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class LoginExceptionHandler {
+
+    @ExceptionHandler(NotLoginException.class)
+    public ResponseEntity<?> notLogin(NotLoginException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+    }
+}
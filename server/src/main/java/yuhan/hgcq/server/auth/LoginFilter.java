@@ -0,0 +1,81 @@
+package yuhan.hgcq.server.auth;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import yuhan.hgcq.server.cache.ContentVersion;
+import yuhan.hgcq.server.dto.member.MemberDTO;
+import yuhan.hgcq.server.service.MemberService;
+
+import java.io.IOException;
+
+/**
+ * Resolve login member once per request
+ * <p>
+ * The session keeps a member snapshot with its version. The snapshot is reloaded
+ * only when the member version moved (profile changed on any device or member deleted).
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(LoginFilter.class);
+
+    private final MemberService ms;
+    private final ContentVersion cv;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+
+        if (session != null) {
+            MemberDTO snapshot = (MemberDTO) session.getAttribute(LoginMember.SESSION_MEMBER);
+
+            if (snapshot != null) {
+                snapshot = refresh(session, snapshot);
+
+                if (snapshot != null) {
+                    request.setAttribute(LoginMember.ATTRIBUTE, new LoginMember(snapshot, ms));
+                }
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Reload snapshot if stale
+     *
+     * @param session  session
+     * @param snapshot member snapshot
+     * @return current snapshot (null = member deleted)
+     */
+    private MemberDTO refresh(HttpSession session, MemberDTO snapshot) {
+        long version = cv.member(snapshot.getMemberId());
+
+        /* Redis down, trust the snapshot */
+        if (version == ContentVersion.UNKNOWN
+                || Long.valueOf(version).equals(session.getAttribute(LoginMember.SESSION_VERSION))) {
+            return snapshot;
+        }
+
+        MemberDTO fresh = ms.searchDTO(snapshot.getMemberId());
+
+        if (fresh == null) {
+            log.info("Session Invalidate : deleted member {}", snapshot.getMemberId());
+            session.invalidate();
+            return null;
+        }
+
+        session.setAttribute(LoginMember.SESSION_MEMBER, fresh);
+        session.setAttribute(LoginMember.SESSION_VERSION, version);
+        return fresh;
+    }
+}
@@ -0,0 +1,68 @@
+package yuhan.hgcq.server.auth;
+
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.dto.member.MemberDTO;
+import yuhan.hgcq.server.service.MemberService;
+
+/**
+ * Login member of a request
+ * <p>
+ * Profile comes from the session snapshot, the entity is loaded only when asked.
+ */
+public class LoginMember {
+    public static final String ATTRIBUTE = LoginMember.class.getName();
+
+    /* session attributes */
+    public static final String SESSION_MEMBER = "member";
+    public static final String SESSION_VERSION = "memberVersion";
+
+    private final MemberDTO snapshot;
+    private final MemberService ms;
+
+    private Member member;
+
+    public LoginMember(MemberDTO snapshot, MemberService ms) {
+        this.snapshot = snapshot;
+        this.ms = ms;
+    }
+
+    public Long getMemberId() {
+        return snapshot.getMemberId();
+    }
+
+    /**
+     * Find profile snapshot
+     *
+     * @return member dto (copy)
+     */
+    public MemberDTO getSnapshot() {
+        return new MemberDTO(snapshot.getMemberId(), snapshot.getName(), snapshot.getEmail(),
+                snapshot.getImage(), snapshot.getSearch());
+    }
+
+    /**
+     * Find member reference for queries (no DB access, only id is readable)
+     *
+     * @return member proxy
+     */
+    public Member getReference() {
+        return member != null ? member : ms.searchReference(getMemberId());
+    }
+
+    /**
+     * Find member entity (loaded once per request, for writes)
+     *
+     * @return member
+     * @throws NotLoginException Member deleted since login
+     */
+    public Member getMember() throws NotLoginException {
+        if (member == null) {
+            try {
+                member = ms.searchOne(getMemberId());
+            } catch (IllegalArgumentException e) {
+                throw new NotLoginException();
+            }
+        }
+        return member;
+    }
+}
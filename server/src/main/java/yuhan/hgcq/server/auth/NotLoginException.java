@@ -0,0 +1,7 @@
+package yuhan.hgcq.server.auth;
+
+public class NotLoginException extends RuntimeException {
+    public NotLoginException() {
+        super("Not Login");
+    }
+}
@@ -0,0 +1,113 @@
+package yuhan.hgcq.server.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Monotonic content version of album (photo, like, chat), team (album), member (profile)
+ * and cached list (ListCache entry)
+ * <p>
+ * A missing counter is seeded with the current time, so a counter lost on
+ * Redis restart never goes back to a version a client already holds.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentVersion {
+    private static final Logger log = LoggerFactory.getLogger(ContentVersion.class);
+
+    /* version is unknown (Redis down), don't answer 304 */
+    public static final long UNKNOWN = -1L;
+
+    private final StringRedisTemplate redisTemplate;
+
+    public long album(Long albumId) {
+        return get(albumKey(albumId));
+    }
+
+    public long team(Long teamId) {
+        return get(teamKey(teamId));
+    }
+
+    public long member(Long memberId) {
+        return get(memberKey(memberId));
+    }
+
+    public void increaseAlbum(Long albumId) {
+        increase(albumKey(albumId));
+    }
+
+    public void increaseTeam(Long teamId) {
+        increase(teamKey(teamId));
+    }
+
+    public void increaseMember(Long memberId) {
+        increase(memberKey(memberId));
+    }
+
+    public long list(String listKey) {
+        return get(listVersionKey(listKey));
+    }
+
+    public void increaseList(String listKey) {
+        increase(listVersionKey(listKey));
+    }
+
+    /**
+     * Parse version read directly from Redis
+     *
+     * @param version stored version
+     * @return version (UNKNOWN = missing or wrong)
+     */
+    public static long parse(String version) {
+        try {
+            return version == null ? UNKNOWN : Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            return UNKNOWN;
+        }
+    }
+
+    public static String listVersionKey(String listKey) {
+        return "version:" + listKey;
+    }
+
+    private long get(String key) {
+        try {
+            String version = redisTemplate.opsForValue().get(key);
+
+            if (version == null) {
+                redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(System.currentTimeMillis()));
+                version = redisTemplate.opsForValue().get(key);
+            }
+
+            return version == null ? UNKNOWN : Long.parseLong(version);
+        } catch (DataAccessException | NumberFormatException e) {
+            log.error("Read Content Version Error : {}", key);
+            return UNKNOWN;
+        }
+    }
+
+    private void increase(String key) {
+        try {
+            redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(System.currentTimeMillis()));
+            redisTemplate.opsForValue().increment(key);
+        } catch (DataAccessException e) {
+            log.error("Increase Content Version Error : {}", key);
+        }
+    }
+
+    private static String albumKey(Long albumId) {
+        return "version:album:" + albumId;
+    }
+
+    private static String teamKey(Long teamId) {
+        return "version:team:" + teamId;
+    }
+
+    private static String memberKey(Long memberId) {
+        return "version:member:" + memberId;
+    }
+}
@@ -0,0 +1,68 @@
+package yuhan.hgcq.server.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.event.AlbumChangedEvent;
+import yuhan.hgcq.server.event.ChatChangedEvent;
+import yuhan.hgcq.server.event.LikeChangedEvent;
+import yuhan.hgcq.server.event.MemberChangedEvent;
+import yuhan.hgcq.server.event.PhotoChangedEvent;
+import yuhan.hgcq.server.repository.AlbumRepository;
+import yuhan.hgcq.server.repository.ChatRepository;
+
+/**
+ * Increase content version after the change is committed
+ * (before commit, a reader could tag old content with the new version)
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentVersionListener {
+
+    private final ContentVersion contentVersion;
+    private final AlbumRepository ar;
+    private final ChatRepository cr;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        contentVersion.increaseTeam(event.getTeamId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPhotoChanged(PhotoChangedEvent event) {
+        contentVersion.increaseAlbum(event.getAlbumId());
+        increaseTeamOf(event.getAlbumId());
+    }
+
+    /* photo list shows likes, album list of team doesn't */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        contentVersion.increaseAlbum(event.getAlbumId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChatChanged(ChatChangedEvent event) {
+        contentVersion.increaseAlbum(event.getAlbumId());
+        increaseTeamOf(event.getAlbumId());
+    }
+
+    /* chat lists carry the writer's name */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        contentVersion.increaseMember(event.getMemberId());
+
+        for (Long albumId : cr.findAlbumIdsByWriter(event.getMemberId())) {
+            contentVersion.increaseAlbum(albumId);
+        }
+    }
+
+    /* album list of team shows photo count, cover and last chat time */
+    private void increaseTeamOf(Long albumId) {
+        Album album = albumId == null ? null : ar.findOne(albumId);
+
+        if (album != null) {
+            contentVersion.increaseTeam(album.getTeam().getId());
+        }
+    }
+}
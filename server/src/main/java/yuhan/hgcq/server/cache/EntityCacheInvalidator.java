@@ -0,0 +1,225 @@
+package yuhan.hgcq.server.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.domain.TeamMember;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Broadcast second-level cache invalidation to the other app instances
+ * <p>
+ * Each instance keeps its own Caffeine regions, so a committed change is
+ * published on Redis and every other instance evicts the entry.
+ * message : nodeId|entityClass|entityId,entityId,... ("*" = whole region)
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheInvalidator implements MessageListener,
+        PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    private static final Logger log = LoggerFactory.getLogger(EntityCacheInvalidator.class);
+
+    private static final String CHANNEL = "cache:entity:invalidate";
+    private static final String ALL = "*";
+    private static final Set<Class<?>> CACHED = Set.of(Member.class, Team.class, Album.class, TeamMember.class);
+
+    private final EntityManagerFactory emf;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Evict whole region here and on every other instance after commit (bulk delete)
+     *
+     * @param entity entity class
+     */
+    public void evictRegion(Class<?> entity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictRegionNow(entity);
+                }
+            });
+        } else {
+            evictRegionNow(entity);
+        }
+    }
+
+    /**
+     * Evict entity here and on every other instance (row deleted by plain JDBC)
+     *
+     * @param entity entity class
+     * @param id     entity id
+     */
+    public void evict(Class<?> entity, Long id) {
+        emf.getCache().evict(entity, id);
+        publish(entity, id.toString());
+    }
+
+    /**
+     * Evict entities here and on every other instance after commit (rows updated by plain JDBC)
+     *
+     * @param entity entity class
+     * @param ids    entity ids
+     */
+    public void evictAfterCommit(Class<?> entity, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<Long> evicted = List.copyOf(ids);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(entity, evicted);
+                }
+            });
+        } else {
+            evictNow(entity, evicted);
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        /* new TeamMember changes cached admin queries */
+        if (event.getEntity() instanceof TeamMember) {
+            publish(TeamMember.class, ALL);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publishEntity(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publishEntity(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return CACHED.contains(persister.getMappedClass());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|");
+
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+
+        try {
+            Class<?> entity = Class.forName(parts[1]);
+            Cache cache = emf.getCache().unwrap(Cache.class);
+
+            if (ALL.equals(parts[2]) || entity == TeamMember.class) {
+                cache.evictEntityData(entity);
+            } else {
+                for (String id : parts[2].split(",")) {
+                    cache.evictEntityData(entity, Long.valueOf(id));
+                }
+            }
+
+            if (entity == TeamMember.class) {
+                cache.evictDefaultQueryRegion();
+            }
+        } catch (ClassNotFoundException | NumberFormatException e) {
+            log.error("Wrong Cache Invalidation : {}", message);
+        }
+    }
+
+    /* rows removed by plain JDBC are not evicted here by Hibernate, so do it with the other instances */
+    private void evictRegionNow(Class<?> entity) {
+        Cache cache = emf.getCache().unwrap(Cache.class);
+        cache.evictEntityData(entity);
+
+        if (entity == TeamMember.class) {
+            cache.evictDefaultQueryRegion();
+        }
+
+        publish(entity, ALL);
+    }
+
+    private void evictNow(Class<?> entity, List<Long> ids) {
+        Cache cache = emf.getCache().unwrap(Cache.class);
+        for (Long id : ids) {
+            cache.evictEntityData(entity, id);
+        }
+
+        publish(entity, ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    private void publishEntity(EntityPersister persister, Object id) {
+        Class<?> type = persister.getMappedClass();
+
+        if (!CACHED.contains(type)) {
+            return;
+        }
+
+        /* composite id (TeamMember) evicts whole region */
+        publish(type, id instanceof Long ? id.toString() : ALL);
+    }
+
+    private void publish(Class<?> entity, String id) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + "|" + entity.getName() + "|" + id);
+        } catch (Exception e) {
+            log.error("Publish Cache Invalidation Error : {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package yuhan.hgcq.server.cache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yuhan.hgcq.server.repository.FollowRepository;
+import yuhan.hgcq.server.util.LongHashSet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In memory follow graph (memberId -> following / follower set)
+ * <p>
+ * Loaded once on startup, then changed by FollowService after commit.
+ * Each set is copy-on-write so readers never lock. The loaded graph is swapped in whole,
+ * and changes applied while loading are replayed on it first.
+ * Changes are also published on Redis so every instance applies them.
+ * message : nodeId|+ or - or x (member deleted)|memberId|followId
+ */
+@Component
+@RequiredArgsConstructor
+public class FollowGraph implements MessageListener {
+    private static final Logger log = LoggerFactory.getLogger(FollowGraph.class);
+
+    private static final String CHANNEL = "graph:follow";
+    private static final String ADD = "+";
+    private static final String REMOVE = "-";
+    private static final String REMOVE_MEMBER = "x";
+    private static final long[] NONE = new long[0];
+    private static final LongHashSet EMPTY = new LongHashSet(4);
+
+    private final FollowRepository fr;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile Graph graph = new Graph();
+
+    /* changes applied while loading (null = not loading), guarded by this */
+    private List<Edge> replay;
+
+    private volatile boolean loaded;
+
+    @PostConstruct
+    void register() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Load all follows
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        synchronized (this) {
+            replay = new ArrayList<>();
+        }
+
+        Graph loading = new Graph();
+        int count = 0;
+
+        try {
+            for (Object[] pair : fr.findAllIds()) {
+                Long memberId = (Long) pair[0];
+                Long followId = (Long) pair[1];
+
+                loading.following.computeIfAbsent(memberId, id -> new LongHashSet()).add(followId);
+                loading.followers.computeIfAbsent(followId, id -> new LongHashSet()).add(memberId);
+                count++;
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                replay = null;
+            }
+            throw e;
+        }
+
+        /* changes committed during the query may be missing from it, replaying them is idempotent */
+        synchronized (this) {
+            for (Edge edge : replay) {
+                loading.apply(edge.action(), edge.memberId(), edge.followId());
+            }
+            replay = null;
+            graph = loading;
+        }
+
+        loaded = true;
+        log.info("Load Follow Graph : {}", count);
+    }
+
+    /**
+     * Is graph ready? (callers fall back to DB until loaded)
+     *
+     * @return is loaded?
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Find following memberIds
+     *
+     * @param memberId memberId
+     * @return following set (read only)
+     */
+    public LongHashSet following(long memberId) {
+        return graph.following.getOrDefault(memberId, EMPTY);
+    }
+
+    /**
+     * Find follower memberIds
+     *
+     * @param memberId memberId
+     * @return follower set (read only)
+     */
+    public LongHashSet followers(long memberId) {
+        return graph.followers.getOrDefault(memberId, EMPTY);
+    }
+
+    /**
+     * Find members who follow each other with member
+     *
+     * @param memberId memberId
+     * @return mutual memberIds
+     */
+    public long[] mutual(long memberId) {
+        LongHashSet out = following(memberId);
+        LongHashSet in = followers(memberId);
+
+        /* probe the bigger set with the smaller one */
+        return out.size() <= in.size() ? intersect(out, in) : intersect(in, out);
+    }
+
+    /**
+     * Find following memberIds not in exclude (e.g. team members)
+     *
+     * @param memberId memberId
+     * @param exclude  excluded memberIds
+     * @return following memberIds
+     */
+    public long[] followingNotIn(long memberId, LongHashSet exclude) {
+        long[] ids = following(memberId).toArray();
+
+        if (exclude == null || exclude.isEmpty()) {
+            return ids;
+        }
+
+        int size = 0;
+        for (long id : ids) {
+            if (!exclude.contains(id)) {
+                ids[size++] = id;
+            }
+        }
+        return size == ids.length ? ids : Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Add follow edge after commit
+     *
+     * @param memberId memberId
+     * @param followId followId
+     */
+    public void add(Long memberId, Long followId) {
+        afterCommit(ADD, memberId, followId);
+    }
+
+    /**
+     * Remove follow edge after commit
+     *
+     * @param memberId memberId
+     * @param followId followId
+     */
+    public void remove(Long memberId, Long followId) {
+        afterCommit(REMOVE, memberId, followId);
+    }
+
+    /**
+     * Remove every edge of member after commit (member deleted)
+     *
+     * @param memberId memberId
+     */
+    public void removeMember(Long memberId) {
+        afterCommit(REMOVE_MEMBER, memberId, 0L);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|");
+
+        if (parts.length != 4 || parts[0].equals(nodeId)) {
+            return;
+        }
+
+        try {
+            apply(parts[1], Long.valueOf(parts[2]), Long.valueOf(parts[3]));
+        } catch (NumberFormatException e) {
+            log.error("Wrong Follow Graph Message : {}", message);
+        }
+    }
+
+    private void afterCommit(String action, Long memberId, Long followId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyAndPublish(action, memberId, followId);
+                }
+            });
+        } else {
+            applyAndPublish(action, memberId, followId);
+        }
+    }
+
+    private void applyAndPublish(String action, Long memberId, Long followId) {
+        apply(action, memberId, followId);
+
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + "|" + action + "|" + memberId + "|" + followId);
+        } catch (Exception e) {
+            log.error("Publish Follow Graph Error : {}", e.getMessage());
+        }
+    }
+
+    private synchronized void apply(String action, Long memberId, Long followId) {
+        graph.apply(action, memberId, followId);
+
+        if (replay != null) {
+            replay.add(new Edge(action, memberId, followId));
+        }
+    }
+
+    private static LongHashSet added(LongHashSet set, long value) {
+        if (set == null) {
+            LongHashSet created = new LongHashSet(4);
+            created.add(value);
+            return created;
+        }
+
+        if (set.contains(value)) {
+            return set;
+        }
+
+        LongHashSet copy = set.copy();
+        copy.add(value);
+        return copy;
+    }
+
+    private static LongHashSet removed(LongHashSet set, long value) {
+        if (!set.contains(value)) {
+            return set;
+        }
+
+        LongHashSet copy = set.copy();
+        copy.remove(value);
+
+        /* null removes the mapping */
+        return copy.isEmpty() ? null : copy;
+    }
+
+    private long[] intersect(LongHashSet small, LongHashSet big) {
+        if (small.isEmpty()) {
+            return NONE;
+        }
+
+        long[] ids = small.toArray();
+        int size = 0;
+
+        for (long id : ids) {
+            if (big.contains(id)) {
+                ids[size++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, size);
+    }
+
+    private record Edge(String action, Long memberId, Long followId) {
+    }
+
+    private static class Graph {
+        private final Map<Long, LongHashSet> following = new ConcurrentHashMap<>();
+        private final Map<Long, LongHashSet> followers = new ConcurrentHashMap<>();
+
+        private void apply(String action, Long memberId, Long followId) {
+            if (ADD.equals(action)) {
+                following.compute(memberId, (id, set) -> added(set, followId));
+                followers.compute(followId, (id, set) -> added(set, memberId));
+            } else if (REMOVE.equals(action)) {
+                following.computeIfPresent(memberId, (id, set) -> removed(set, followId));
+                followers.computeIfPresent(followId, (id, set) -> removed(set, memberId));
+            } else if (REMOVE_MEMBER.equals(action)) {
+                LongHashSet out = following.remove(memberId);
+                LongHashSet in = followers.remove(memberId);
+
+                if (out != null) {
+                    for (long id : out.toArray()) {
+                        followers.computeIfPresent(id, (key, set) -> removed(set, memberId));
+                    }
+                }
+                if (in != null) {
+                    for (long id : in.toArray()) {
+                        following.computeIfPresent(id, (key, set) -> removed(set, memberId));
+                    }
+                }
+            }
+        }
+    }
+}
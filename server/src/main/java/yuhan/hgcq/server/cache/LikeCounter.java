@@ -0,0 +1,402 @@
+package yuhan.hgcq.server.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.repository.LikeCountRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Like count of photos and albums (write behind)
+ * <p>
+ * Committed likes only touch a LongAdder per photo and album, pending deltas are flushed in
+ * one JDBC batch per table every flush interval. Each flush swaps in a new generation, the
+ * swapped out one is flushed (retried by the next flush after a failure) and counted as
+ * pending until then.
+ * <p>
+ * Counts are only ever changed by deltas : likes deleted with their photo are taken off as one.
+ * A generation is written to Redis in one command before it is flushed (like:dirty:node:generation),
+ * and dropped after. like_flush records flushed generations in the flush transaction, so a
+ * generation is added once.
+ * Every node keeps a heartbeat key alive (like:node:node), node ids are random per run.
+ * Generations of nodes without a heartbeat were left by a crash : any node claims them, adds
+ * their deltas unless already flushed and drops them. Likes of a crashed node not swapped out
+ * yet (one flush interval) are lost.
+ * Counts of other instances may lag one flush interval.
+ */
+@Component
+@RequiredArgsConstructor
+public class LikeCounter {
+    private static final Logger log = LoggerFactory.getLogger(LikeCounter.class);
+
+    private static final String DIRTY = "like:dirty:";
+    private static final String NODE = "like:node:";
+    private static final String CLAIM = "like:claim:";
+    private static final String PHOTO = "p:";
+    private static final String ALBUM = "a:";
+
+    /* a generation left in Redis is recovered long before */
+    private static final Duration FLUSHED_RETENTION = Duration.ofDays(1);
+
+    private final LikeCountRepository lcr;
+    private final EntityCacheInvalidator entityCacheInvalidator;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${recoder.like.recover-millis:60000}")
+    private long recoverMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /* swapping a generation waits for adds in progress */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /* swapped together, so a reader never counts a generation twice or misses it */
+    private volatile Generations generations;
+
+    @PostConstruct
+    void init() {
+        generations = new Generations(new Deltas(System.currentTimeMillis()), null);
+        recover();
+    }
+
+    /**
+     * Count like after commit
+     *
+     * @param photoId photoId
+     * @param albumId albumId of photo
+     */
+    public void increase(Long photoId, Long albumId) {
+        afterCommit(photoId, 1, albumId, 1);
+    }
+
+    /**
+     * Count like cancel after commit
+     *
+     * @param photoId photoId
+     * @param albumId albumId of photo
+     */
+    public void decrease(Long photoId, Long albumId) {
+        afterCommit(photoId, -1, albumId, -1);
+    }
+
+    /**
+     * Take likes deleted with their photo off after commit
+     *
+     * @param photoId photoId
+     * @param albumId albumId of photo
+     * @param count   deleted likes (is_liked = true)
+     */
+    public void remove(Long photoId, Long albumId, long count) {
+        if (count != 0) {
+            afterCommit(photoId, -count, albumId, -count);
+        }
+    }
+
+    /**
+     * Move like count of photo to new album after commit
+     *
+     * @param photoId    photoId
+     * @param likeCount  stored like count of photo
+     * @param oldAlbumId old albumId
+     * @param newAlbumId new albumId
+     */
+    public void move(Long photoId, Long likeCount, Long oldAlbumId, Long newAlbumId) {
+        if (Objects.equals(oldAlbumId, newAlbumId)) {
+            return;
+        }
+
+        long count = (likeCount == null ? 0 : likeCount) + photoDelta(photoId);
+
+        if (count != 0) {
+            afterCommit(photoId, 0, oldAlbumId, -count);
+            afterCommit(photoId, 0, newAlbumId, count);
+        }
+    }
+
+    /**
+     * Find pending delta of photo (not flushed yet)
+     *
+     * @param photoId photoId
+     * @return delta
+     */
+    public long photoDelta(Long photoId) {
+        Generations pending = generations;
+        return pending.current().photos.sum(photoId) + (pending.flushing() == null ? 0 : pending.flushing().photos.sum(photoId));
+    }
+
+    /**
+     * Find pending delta of album (not flushed yet)
+     *
+     * @param albumId albumId
+     * @return delta
+     */
+    public long albumDelta(Long albumId) {
+        Generations pending = generations;
+        return pending.current().albums.sum(albumId) + (pending.flushing() == null ? 0 : pending.flushing().albums.sum(albumId));
+    }
+
+    /**
+     * Flush pending deltas (a failed generation first)
+     */
+    @Scheduled(fixedDelayString = "${recoder.like.flush-millis:1000}")
+    @PreDestroy
+    public synchronized void flush() {
+        if (generations.flushing() != null && !write(generations.flushing())) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Deltas current = generations.current();
+
+            if (current.isEmpty()) {
+                return;
+            }
+            generations = new Generations(new Deltas(current.generation + 1), current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        write(generations.flushing());
+    }
+
+    /**
+     * Write a swapped out generation to Redis, then add it to the counters
+     *
+     * @param flushing swapped out generation
+     * @return flushed (kept as pending and retried if not)
+     */
+    private boolean write(Deltas flushing) {
+        Map<Long, Long> photoDeltas = flushing.photos.toMap();
+        Map<Long, Long> albumDeltas = flushing.albums.toMap();
+        boolean changed = !photoDeltas.isEmpty() || !albumDeltas.isEmpty();
+
+        if (changed) {
+            mark(flushing.generation, photoDeltas, albumDeltas);
+
+            try {
+                lcr.add(nodeId, flushing.generation, photoDeltas, albumDeltas);
+            } catch (DuplicateKeyException e) {
+                /* committed although the flush failed before, or recovered by another node */
+                log.info("Flush Like Count : {} already added", flushing.generation);
+            } catch (Exception e) {
+                log.error("Flush Like Count Error : {}", e.getMessage());
+                return false;
+            }
+        }
+
+        /* stored counts include it now */
+        generations = new Generations(generations.current(), null);
+
+        if (changed) {
+            entityCacheInvalidator.evictAfterCommit(Album.class, albumDeltas.keySet());
+            unmark(flushing.generation);
+        }
+        log.debug("Flush Like Count : {} photos, {} albums", photoDeltas.size(), albumDeltas.size());
+        return true;
+    }
+
+    /**
+     * Add generations left by crashed nodes (also keeps the heartbeat of this node)
+     */
+    @Scheduled(fixedDelayString = "${recoder.like.recover-millis:60000}", initialDelayString = "${recoder.like.recover-millis:60000}")
+    public void recover() {
+        List<String> orphans = new ArrayList<>();
+
+        try {
+            redisTemplate.opsForValue().set(NODE + nodeId, "1", Duration.ofMillis(recoverMillis * 3));
+
+            Map<String, Boolean> alive = new HashMap<>();
+            ScanOptions options = ScanOptions.scanOptions().match(DIRTY + "*").count(1000).build();
+
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    String key = cursor.next();
+                    String node = key.substring(DIRTY.length(), key.lastIndexOf(':'));
+
+                    if (!node.equals(nodeId)
+                            && !alive.computeIfAbsent(node, id -> Boolean.TRUE.equals(redisTemplate.hasKey(NODE + id)))) {
+                        orphans.add(key);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("Find Dirty Like Count Error : {}", e.getMessage());
+            return;
+        }
+
+        for (String key : orphans) {
+            recover(key);
+        }
+
+        try {
+            lcr.prune(LocalDateTime.now().minus(FLUSHED_RETENTION));
+        } catch (Exception e) {
+            log.error("Prune Like Flush Error : {}", e.getMessage());
+        }
+    }
+
+    private void recover(String key) {
+        try {
+            Boolean claimed = redisTemplate.opsForValue().setIfAbsent(CLAIM + key, nodeId, Duration.ofMillis(recoverMillis));
+
+            if (!Boolean.TRUE.equals(claimed)) {
+                return;
+            }
+
+            String node = key.substring(DIRTY.length(), key.lastIndexOf(':'));
+            long generation = Long.parseLong(key.substring(key.lastIndexOf(':') + 1));
+            Map<Long, Long> photoDeltas = new HashMap<>();
+            Map<Long, Long> albumDeltas = new HashMap<>();
+
+            redisTemplate.opsForHash().entries(key).forEach((field, delta) -> {
+                String name = (String) field;
+                Map<Long, Long> deltas = name.startsWith(PHOTO) ? photoDeltas : albumDeltas;
+                deltas.put(Long.valueOf(name.substring(name.indexOf(':') + 1)), Long.valueOf((String) delta));
+            });
+
+            try {
+                lcr.add(node, generation, photoDeltas, albumDeltas);
+                entityCacheInvalidator.evictAfterCommit(Album.class, albumDeltas.keySet());
+                log.info("Recover Like Count : {} {} photos, {} albums", key, photoDeltas.size(), albumDeltas.size());
+            } catch (DuplicateKeyException e) {
+                /* flushed by its node before the crash */
+                log.info("Recover Like Count : {} already flushed", key);
+            }
+            redisTemplate.delete(key);
+        } catch (Exception e) {
+            /* mark is kept, retried when the claim expires */
+            log.error("Recover Like Count Error : {} {}", key, e.getMessage());
+        }
+    }
+
+    private void afterCommit(Long photoId, long photoDelta, Long albumId, long albumDelta) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(photoId, photoDelta, albumId, albumDelta);
+                }
+            });
+        } else {
+            add(photoId, photoDelta, albumId, albumDelta);
+        }
+    }
+
+    private void add(Long photoId, long photoDelta, Long albumId, long albumDelta) {
+        lock.readLock().lock();
+        try {
+            Deltas deltas = generations.current();
+
+            if (photoId != null && photoDelta != 0) {
+                deltas.photos.add(photoId, photoDelta);
+            }
+
+            if (albumId != null && albumDelta != 0) {
+                deltas.albums.add(albumId, albumDelta);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write deltas of a generation in one HSET, so a crash before it is flushed loses nothing
+     *
+     * @param generation  generation
+     * @param photoDeltas photoId -> delta
+     * @param albumDeltas albumId -> delta
+     */
+    private void mark(long generation, Map<Long, Long> photoDeltas, Map<Long, Long> albumDeltas) {
+        Map<String, String> fields = new HashMap<>();
+
+        photoDeltas.forEach((id, delta) -> fields.put(PHOTO + id, String.valueOf(delta)));
+        albumDeltas.forEach((id, delta) -> fields.put(ALBUM + id, String.valueOf(delta)));
+
+        try {
+            redisTemplate.opsForHash().putAll(dirtyKey(generation), fields);
+        } catch (Exception e) {
+            log.error("Mark Dirty Like Count Error : {}", e.getMessage());
+        }
+    }
+
+    private void unmark(long generation) {
+        try {
+            redisTemplate.delete(dirtyKey(generation));
+        } catch (Exception e) {
+            log.error("Unmark Dirty Like Count Error : {}", e.getMessage());
+        }
+    }
+
+    private String dirtyKey(long generation) {
+        return DIRTY + nodeId + ":" + generation;
+    }
+
+    /**
+     * Generation taking adds, and the swapped out one until it is flushed (null if none)
+     */
+    private record Generations(Deltas current, Deltas flushing) {
+    }
+
+    private static class Deltas {
+        private final long generation;
+        private final Adders photos = new Adders();
+        private final Adders albums = new Adders();
+
+        private Deltas(long generation) {
+            this.generation = generation;
+        }
+
+        private boolean isEmpty() {
+            return photos.adders.isEmpty() && albums.adders.isEmpty();
+        }
+    }
+
+    /**
+     * id -> LongAdder (contended ids spread over cells instead of one CAS)
+     */
+    private static class Adders {
+        private final Map<Long, LongAdder> adders = new ConcurrentHashMap<>();
+
+        private void add(Long id, long delta) {
+            adders.computeIfAbsent(id, key -> new LongAdder()).add(delta);
+        }
+
+        private long sum(Long id) {
+            LongAdder adder = adders.get(id);
+            return adder == null ? 0 : adder.sum();
+        }
+
+        /* only called on a swapped out generation, no more adds */
+        private Map<Long, Long> toMap() {
+            Map<Long, Long> map = new HashMap<>();
+
+            adders.forEach((id, adder) -> {
+                long sum = adder.sum();
+                if (sum != 0) {
+                    map.put(id, sum);
+                }
+            });
+            return map;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package yuhan.hgcq.server.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yuhan.hgcq.server.util.LongHashSet;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * memberId -> liked photoId set
+ * <p>
+ * Each set is copy-on-write so readers never lock. Changes are applied after commit
+ * (a rolled back like never shows up), and the members are published on Redis
+ * so every other instance drops its copy.
+ * message : nodeId|memberId,memberId,...
+ */
+@Component
+@RequiredArgsConstructor
+public class LikedPhotoCache implements MessageListener {
+    private static final Logger log = LoggerFactory.getLogger(LikedPhotoCache.class);
+
+    private static final String CHANNEL = "cache:liked:invalidate";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${recoder.cache.liked.max-size:10000}")
+    private long maxSize;
+
+    @Value("${recoder.cache.liked.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private Cache<Long, LongHashSet> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Find liked photoId set (load on miss)
+     *
+     * @param memberId memberId
+     * @param loader   photoIdList loader
+     * @return liked photoId set (read only)
+     */
+    public LongHashSet get(Long memberId, Supplier<List<Long>> loader) {
+        /* uncommitted likes must be seen by the same transaction, and never cached */
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return LongHashSet.of(loader.get());
+        }
+
+        return cache.get(memberId, id -> LongHashSet.of(loader.get()));
+    }
+
+    /**
+     * Add liked photo after commit
+     *
+     * @param memberId memberId
+     * @param photoId  photoId
+     */
+    public void add(Long memberId, Long photoId) {
+        afterCommit(() -> {
+            cache.asMap().computeIfPresent(memberId, (id, set) -> {
+                if (set.contains(photoId)) {
+                    return set;
+                }
+                LongHashSet copy = set.copy();
+                copy.add(photoId);
+                return copy;
+            });
+            publish(List.of(memberId));
+        });
+    }
+
+    /**
+     * Remove liked photo after commit
+     *
+     * @param memberId memberId
+     * @param photoId  photoId
+     */
+    public void remove(Long memberId, Long photoId) {
+        afterCommit(() -> {
+            removeLocal(memberId, photoId);
+            publish(List.of(memberId));
+        });
+    }
+
+    /**
+     * Remove photo from members who liked it after commit (likes of photo are deleted)
+     *
+     * @param photoId   photoId
+     * @param memberIds members who liked the photo
+     */
+    public void removePhoto(Long photoId, Collection<Long> memberIds) {
+        if (memberIds.isEmpty()) {
+            return;
+        }
+
+        afterCommit(() -> {
+            for (Long memberId : memberIds) {
+                removeLocal(memberId, photoId);
+            }
+            publish(memberIds);
+        });
+    }
+
+    public void evict(Long memberId) {
+        cache.invalidate(memberId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|");
+
+        if (parts.length != 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+
+        try {
+            for (String id : parts[1].split(",")) {
+                cache.invalidate(Long.valueOf(id));
+            }
+        } catch (NumberFormatException e) {
+            log.error("Wrong Liked Invalidation : {}", message);
+        }
+    }
+
+    /* waits for a load of the same member in progress, so a loaded set never misses the change */
+    private void removeLocal(Long memberId, Long photoId) {
+        cache.asMap().computeIfPresent(memberId, (id, set) -> {
+            if (!set.contains(photoId)) {
+                return set;
+            }
+            LongHashSet copy = set.copy();
+            copy.remove(photoId);
+            return copy;
+        });
+    }
+
+    private void publish(Collection<Long> memberIds) {
+        try {
+            String ids = memberIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+            redisTemplate.convertAndSend(CHANNEL, nodeId + "|" + ids);
+        } catch (Exception e) {
+            log.error("Publish Liked Invalidation Error : {}", e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
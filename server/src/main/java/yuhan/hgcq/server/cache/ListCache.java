@@ -0,0 +1,270 @@
+package yuhan.hgcq.server.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Redis read-through cache of dto lists (stored as json)
+ * <p>
+ * Stampede protection : one loader per key in this instance, and one loader
+ * per key across instances with a short Redis lock. Others wait for the value
+ * and load from DB only when the wait times out.
+ * <p>
+ * Each entry is stored with the list version it was loaded at (version:json).
+ * Evict moves the version after commit, so a list loaded before the change
+ * is neither stored nor read once the version moved.
+ */
+@Component
+@RequiredArgsConstructor
+public class ListCache {
+    private static final Logger log = LoggerFactory.getLogger(ListCache.class);
+
+    private static final String LOCK_PREFIX = "lock:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ContentVersion contentVersion;
+
+    private final Map<String, CompletableFuture<String>> loading = new ConcurrentHashMap<>();
+
+    @Value("${recoder.cache.list.enabled:true}")
+    private boolean enabled;
+
+    @Value("${recoder.cache.list.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${recoder.cache.list.ttl-jitter-seconds:30}")
+    private long ttlJitterSeconds;
+
+    @Value("${recoder.cache.list.lock-millis:3000}")
+    private long lockMillis;
+
+    @Value("${recoder.cache.list.wait-millis:1000}")
+    private long waitMillis;
+
+    @Value("${recoder.cache.list.poll-millis:50}")
+    private long pollMillis;
+
+    public static String albumKey(Long teamId) {
+        return "list:album:" + teamId;
+    }
+
+    public static String teamKey(Long memberId) {
+        return "list:team:" + memberId;
+    }
+
+    public static String chatKey(Long albumId) {
+        return "list:chat:" + albumId;
+    }
+
+    /**
+     * Find list (load on miss)
+     *
+     * @param key    cache key
+     * @param type   element type
+     * @param loader list loader
+     * @return list
+     */
+    public <T> List<T> get(String key, Class<T> type, Supplier<List<T>> loader) {
+        if (!enabled || !isCacheable()) {
+            return loader.get();
+        }
+
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, type);
+
+        String json;
+        try {
+            json = read(key);
+        } catch (Exception e) {
+            log.error("List Cache Read Error : {}", e.getMessage());
+            return loader.get();
+        }
+
+        if (json == null) {
+            CompletableFuture<String> mine = new CompletableFuture<>();
+            CompletableFuture<String> other = loading.putIfAbsent(key, mine);
+
+            if (other == null) {
+                try {
+                    return load(key, listType, loader, mine);
+                } finally {
+                    mine.complete(null);
+                    loading.remove(key, mine);
+                }
+            }
+            json = await(other);
+        }
+
+        if (json != null) {
+            try {
+                return objectMapper.readValue(json, listType);
+            } catch (Exception e) {
+                log.error("List Cache Deserialize Error : {}", key);
+            }
+        }
+        return loader.get();
+    }
+
+    /**
+     * Evict lists
+     *
+     * @param keys cache keys
+     */
+    public void evict(String... keys) {
+        if (keys.length == 0) {
+            return;
+        }
+
+        for (String key : keys) {
+            contentVersion.increaseList(key);
+        }
+
+        try {
+            redisTemplate.delete(Arrays.asList(keys));
+        } catch (Exception e) {
+            log.error("List Cache Evict Error : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Load from DB and store, or wait when another instance is loading
+     *
+     * @param key      cache key
+     * @param listType list type
+     * @param loader   list loader
+     * @param future   completed with json for waiters in this instance
+     * @return list
+     */
+    private <T> List<T> load(String key, JavaType listType, Supplier<List<T>> loader, CompletableFuture<String> future) {
+        String lockKey = LOCK_PREFIX + key;
+
+        try {
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(lockKey, "1", Duration.ofMillis(lockMillis));
+
+            if (Boolean.TRUE.equals(locked)) {
+                /* read before loading : a change committed during the load moves it */
+                long version = contentVersion.list(key);
+                List<T> list = loader.get();
+                store(key, lockKey, version, list, future);
+                return list;
+            }
+
+            long deadline = System.currentTimeMillis() + waitMillis;
+            while (System.currentTimeMillis() < deadline) {
+                String json = read(key);
+                if (json != null) {
+                    future.complete(json);
+                    return objectMapper.readValue(json, listType);
+                }
+                sleep();
+            }
+        } catch (JsonProcessingException e) {
+            log.error("List Cache Deserialize Error : {}", key);
+        } catch (DataAccessException e) {
+            log.error("List Cache Read Error : {}", e.getMessage());
+        }
+
+        return loader.get();
+    }
+
+    private void store(String key, String lockKey, long version, List<?> list, CompletableFuture<String> future) {
+        try {
+            String json = objectMapper.writeValueAsString(list);
+            future.complete(json);
+
+            /* the list may miss a change committed while loading, keep it only if the version has not moved */
+            if (version != ContentVersion.UNKNOWN && version == contentVersion.list(key)) {
+                redisTemplate.opsForValue().set(key, version + ":" + json, ttl());
+            }
+        } catch (JsonProcessingException e) {
+            log.error("List Cache Serialize Error : {}", key);
+        } catch (DataAccessException e) {
+            log.error("List Cache Write Error : {}", e.getMessage());
+        }
+
+        try {
+            redisTemplate.delete(lockKey);
+        } catch (DataAccessException e) {
+            log.error("List Cache Unlock Error : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Read entry and current version together
+     *
+     * @param key cache key
+     * @return json of list (null = missing or loaded at an older version)
+     */
+    private String read(String key) {
+        List<String> values = redisTemplate.opsForValue().multiGet(List.of(key, ContentVersion.listVersionKey(key)));
+
+        if (values == null || values.get(0) == null) {
+            return null;
+        }
+
+        String entry = values.get(0);
+        int separator = entry.indexOf(':');
+        long version = ContentVersion.parse(values.get(1));
+
+        if (separator < 0 || version == ContentVersion.UNKNOWN
+                || version != ContentVersion.parse(entry.substring(0, separator))) {
+            return null;
+        }
+        return entry.substring(separator + 1);
+    }
+
+    private String await(CompletableFuture<String> future) {
+        try {
+            return future.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * TTL with random jitter so keys written together don't expire together
+     */
+    private Duration ttl() {
+        long jitter = ttlJitterSeconds > 0 ? ThreadLocalRandom.current().nextLong(ttlJitterSeconds + 1) : 0;
+        return Duration.ofSeconds(ttlSeconds + jitter);
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(pollMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Uncommitted changes of the caller must not leak into the shared cache,
+     * so only fill it outside a transaction or in a read only one.
+     */
+    private boolean isCacheable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
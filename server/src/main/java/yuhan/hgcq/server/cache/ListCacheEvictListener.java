@@ -0,0 +1,75 @@
+package yuhan.hgcq.server.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.event.AlbumChangedEvent;
+import yuhan.hgcq.server.event.ChatChangedEvent;
+import yuhan.hgcq.server.event.MemberChangedEvent;
+import yuhan.hgcq.server.event.PhotoChangedEvent;
+import yuhan.hgcq.server.event.TeamChangedEvent;
+import yuhan.hgcq.server.repository.AlbumRepository;
+import yuhan.hgcq.server.repository.ChatRepository;
+import yuhan.hgcq.server.repository.TeamMemberRepository;
+
+import java.util.stream.Stream;
+
+/**
+ * Evict cached lists after the change is committed
+ * (album list carries photo count, cover and last chat time, so photo and chat changes evict it too,
+ * chat and team lists carry member names, so a member change evicts them)
+ */
+@Component
+@RequiredArgsConstructor
+public class ListCacheEvictListener {
+
+    private final ListCache listCache;
+    private final AlbumRepository ar;
+    private final ChatRepository cr;
+    private final TeamMemberRepository tmr;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlbumChanged(AlbumChangedEvent event) {
+        listCache.evict(ListCache.albumKey(event.getTeamId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        String[] keys = event.getMemberIds().stream()
+                .map(ListCache::teamKey)
+                .toArray(String[]::new);
+
+        listCache.evict(keys);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPhotoChanged(PhotoChangedEvent event) {
+        evictAlbumList(event.getAlbumId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChatChanged(ChatChangedEvent event) {
+        listCache.evict(ListCache.chatKey(event.getAlbumId()));
+        evictAlbumList(event.getAlbumId());
+    }
+
+    /* chat lists carry the writer's name, team lists the owner's */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        Stream<String> chatKeys = cr.findAlbumIdsByWriter(event.getMemberId()).stream()
+                .map(ListCache::chatKey);
+        Stream<String> teamKeys = tmr.findMemberIdsByOwner(event.getMemberId()).stream()
+                .map(ListCache::teamKey);
+
+        listCache.evict(Stream.concat(chatKeys, teamKeys).toArray(String[]::new));
+    }
+
+    private void evictAlbumList(Long albumId) {
+        Album album = albumId == null ? null : ar.findOne(albumId);
+
+        if (album != null) {
+            listCache.evict(ListCache.albumKey(album.getTeam().getId()));
+        }
+    }
+}
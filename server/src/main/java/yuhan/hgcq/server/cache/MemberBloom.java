@@ -0,0 +1,215 @@
+package yuhan.hgcq.server.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.repository.MemberRepository;
+import yuhan.hgcq.server.util.BloomFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Bloom filters of taken member emails and names
+ * <p>
+ * A negative answer lets most availability checks skip the DB. It is only a hint : adds from other
+ * instances arrive by fire-and-forget pub/sub and may be missed until the next rebuild, so availability
+ * checks are the only users (join still hits the unique constraint) and login always reads the DB.
+ * Loaded on startup, then kept current from committed joins and renames.
+ * Deleted and renamed members leave stale bits (only false positives), so filters are rebuilt daily.
+ * Adds are also published on Redis so every instance applies them.
+ * message : nodeId|email or name|value
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberBloom implements MessageListener, PostCommitInsertEventListener, PostCommitUpdateEventListener {
+    private static final Logger log = LoggerFactory.getLogger(MemberBloom.class);
+
+    private static final String CHANNEL = "bloom:member";
+    private static final String EMAIL = "email";
+    private static final String NAME = "name";
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final EntityManagerFactory emf;
+    private final MemberRepository mr;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${recoder.bloom.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${recoder.bloom.fpp:0.01}")
+    private double fpp;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /* null until loaded (everything might be taken) */
+    private volatile BloomFilter emails;
+    private volatile BloomFilter names;
+
+    /* filters being rebuilt, receive adds too */
+    private volatile BloomFilter nextEmails;
+    private volatile BloomFilter nextNames;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Build filters from all members
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${recoder.bloom.rebuild-cron:0 30 4 * * *}")
+    @Transactional(readOnly = true)
+    public synchronized void load() {
+        long count = Math.max(mr.count(), 0);
+        long size = Math.max(expectedInsertions, count * 2);
+
+        nextEmails = new BloomFilter(size, fpp);
+        nextNames = new BloomFilter(size, fpp);
+
+        List<String> emailList = mr.findAllEmails();
+        for (String email : emailList) {
+            nextEmails.add(key(email));
+        }
+
+        for (String name : mr.findAllNames()) {
+            nextNames.add(key(name));
+        }
+
+        emails = nextEmails;
+        names = nextNames;
+        nextEmails = null;
+        nextNames = null;
+        log.info("Load Member Bloom : {}", emailList.size());
+    }
+
+    /**
+     * Might email be taken?
+     *
+     * @param email email
+     * @return false = surely not taken
+     */
+    public boolean mightContainEmail(String email) {
+        BloomFilter filter = emails;
+        return filter == null || filter.mightContain(key(email));
+    }
+
+    /**
+     * Might name be taken?
+     *
+     * @param name name
+     * @return false = surely not taken
+     */
+    public boolean mightContainName(String name) {
+        BloomFilter filter = names;
+        return filter == null || filter.mightContain(key(name));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            addAndPublish(EMAIL, member.getEmail());
+            addAndPublish(NAME, member.getName());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            addAndPublish(NAME, member.getName());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Member.class;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+
+        add(parts[1], parts[2]);
+    }
+
+    private void addAndPublish(String type, String value) {
+        if (value == null) {
+            return;
+        }
+
+        add(type, value);
+
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + "|" + type + "|" + value);
+        } catch (Exception e) {
+            log.error("Publish Member Bloom Error : {}", e.getMessage());
+        }
+    }
+
+    private void add(String type, String value) {
+        String key = key(value);
+
+        if (EMAIL.equals(type)) {
+            add(emails, key);
+            add(nextEmails, key);
+        } else if (NAME.equals(type)) {
+            add(names, key);
+            add(nextNames, key);
+        }
+    }
+
+    private void add(BloomFilter filter, String key) {
+        if (filter != null) {
+            filter.add(key);
+        }
+    }
+
+    /* DB collation (_ai_ci) ignores case and accents */
+    private String key(String value) {
+        String stripped = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,133 @@
+package yuhan.hgcq.server.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
+import yuhan.hgcq.server.event.PhotoChangedEvent;
+import yuhan.hgcq.server.repository.AlbumRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * "On this day" memories of teams (memory:team:teamId:date -> photo dto list json)
+ * <p>
+ * Filled ahead of time by a daily job and read by members with one MGET over their teams.
+ * Feeds are kept per team, so an upload, delete or move rewrites one key
+ * instead of a copy in every member's feed. Like counts are read when the feed is served,
+ * so likes never evict it.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemoryFeed {
+    private static final Logger log = LoggerFactory.getLogger(MemoryFeed.class);
+
+    private static final String PREFIX = "memory:team:";
+    private static final Duration TTL = Duration.ofDays(2);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final AlbumRepository ar;
+
+    public static String key(Long teamId, LocalDate date) {
+        return PREFIX + teamId + ":" + date;
+    }
+
+    /**
+     * Find memories of teams (load missing teams)
+     *
+     * @param teamIds teamIds
+     * @param date    date
+     * @param loader  teamId -> memories
+     * @return teamId -> memories
+     */
+    public Map<Long, List<PhotoDTO>> get(Collection<Long> teamIds, LocalDate date, Function<Long, List<PhotoDTO>> loader) {
+        Map<Long, List<PhotoDTO>> feeds = new HashMap<>();
+
+        if (teamIds.isEmpty()) {
+            return feeds;
+        }
+
+        List<Long> ids = new ArrayList<>(teamIds);
+        List<String> values = null;
+
+        try {
+            values = redisTemplate.opsForValue().multiGet(ids.stream().map(id -> key(id, date)).toList());
+        } catch (Exception e) {
+            log.error("Memory Feed Read Error : {}", e.getMessage());
+        }
+
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, PhotoDTO.class);
+
+        for (int i = 0; i < ids.size(); i++) {
+            Long teamId = ids.get(i);
+            String json = values == null ? null : values.get(i);
+
+            if (json != null) {
+                try {
+                    feeds.put(teamId, objectMapper.readValue(json, listType));
+                    continue;
+                } catch (Exception e) {
+                    log.error("Memory Feed Deserialize Error : {}", key(teamId, date));
+                }
+            }
+
+            List<PhotoDTO> memories = loader.apply(teamId);
+            put(teamId, date, memories);
+            feeds.put(teamId, memories);
+        }
+        return feeds;
+    }
+
+    /**
+     * Store memories of team
+     *
+     * @param teamId   teamId
+     * @param date     date
+     * @param memories memories (empty is stored too, so readers don't miss)
+     */
+    public void put(Long teamId, LocalDate date, List<PhotoDTO> memories) {
+        try {
+            redisTemplate.opsForValue().set(key(teamId, date), objectMapper.writeValueAsString(memories), TTL);
+        } catch (Exception e) {
+            log.error("Memory Feed Write Error : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Evict memories of team (today and tomorrow filled ahead)
+     *
+     * @param teamId teamId
+     */
+    public void evict(Long teamId) {
+        LocalDate today = LocalDate.now();
+
+        try {
+            redisTemplate.delete(List.of(key(teamId, today), key(teamId, today.plusDays(1))));
+        } catch (Exception e) {
+            log.error("Memory Feed Evict Error : {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPhotoChanged(PhotoChangedEvent event) {
+        if (event.getAlbumId() == null) {
+            return;
+        }
+
+        Album album = ar.findOne(event.getAlbumId());
+
+        if (album != null) {
+            evict(album.getTeam().getId());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package yuhan.hgcq.server.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.expression.AccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yuhan.hgcq.server.domain.TeamRole;
+import yuhan.hgcq.server.event.TeamChangedEvent;
+import yuhan.hgcq.server.repository.TeamMemberRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Team authorization (memberId -> teamId -> role)
+ * <p>
+ * Role map of a member is cached until a team change of the member commits
+ * (invite, expel, authorize, revoke, exit, delete).
+ * Evictions are also published on Redis so every instance drops the entry.
+ * message : nodeId|memberId,memberId,...
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamAcl implements MessageListener {
+    private static final Logger log = LoggerFactory.getLogger(TeamAcl.class);
+
+    private static final String CHANNEL = "cache:acl:invalidate";
+
+    private final TeamMemberRepository tmr;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${recoder.cache.acl.max-size:10000}")
+    private long maxSize;
+
+    @Value("${recoder.cache.acl.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private Cache<Long, Map<Long, TeamRole>> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Find role of member in team
+     *
+     * @param memberId memberId
+     * @param teamId   teamId
+     * @return role (null = not team member)
+     */
+    public TeamRole roleOf(Long memberId, Long teamId) {
+        if (memberId == null || teamId == null) {
+            return null;
+        }
+
+        return roles(memberId).get(teamId);
+    }
+
+    public boolean isMember(Long memberId, Long teamId) {
+        return roleOf(memberId, teamId) != null;
+    }
+
+    public boolean isAdmin(Long memberId, Long teamId) {
+        TeamRole role = roleOf(memberId, teamId);
+        return role != null && role.isAdmin();
+    }
+
+    /**
+     * Find teamIds of member
+     *
+     * @param memberId memberId
+     * @return teamIds (read only)
+     */
+    public Set<Long> teamIds(Long memberId) {
+        if (memberId == null) {
+            return Set.of();
+        }
+
+        return roles(memberId).keySet();
+    }
+
+    /**
+     * Check member is in team
+     *
+     * @param memberId memberId
+     * @param teamId   teamId
+     * @throws AccessException Not team member
+     */
+    public void checkMember(Long memberId, Long teamId) throws AccessException {
+        if (!isMember(memberId, teamId)) {
+            throw new AccessException("Not Team Member");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        Collection<Long> memberIds = event.getMemberIds();
+
+        if (memberIds == null || memberIds.isEmpty()) {
+            return;
+        }
+
+        cache.invalidateAll(memberIds);
+
+        try {
+            String ids = memberIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+            redisTemplate.convertAndSend(CHANNEL, nodeId + "|" + ids);
+        } catch (Exception e) {
+            log.error("Publish Acl Invalidation Error : {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|");
+
+        if (parts.length != 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+
+        try {
+            for (String id : parts[1].split(",")) {
+                cache.invalidate(Long.valueOf(id));
+            }
+        } catch (NumberFormatException e) {
+            log.error("Wrong Acl Invalidation : {}", message);
+        }
+    }
+
+    private Map<Long, TeamRole> roles(Long memberId) {
+        /* uncommitted invite / authorize must be seen by the same transaction */
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return load(memberId);
+        }
+
+        return cache.get(memberId, this::load);
+    }
+
+    private Map<Long, TeamRole> load(Long memberId) {
+        Map<Long, TeamRole> roles = new HashMap<>();
+
+        for (Object[] row : tmr.findRoles(memberId)) {
+            Long teamId = (Long) row[0];
+            Boolean isAdmin = (Boolean) row[1];
+            Long ownerId = (Long) row[2];
+
+            if (memberId.equals(ownerId)) {
+                roles.put(teamId, TeamRole.OWNER);
+            } else if (Boolean.TRUE.equals(isAdmin)) {
+                roles.put(teamId, TeamRole.ADMIN);
+            } else {
+                roles.put(teamId, TeamRole.MEMBER);
+            }
+        }
+        return roles;
+    }
+}
@@ -0,0 +1,421 @@
+package yuhan.hgcq.server.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yuhan.hgcq.server.util.CountMinSketch;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Trending photos per team (hot this week)
+ * <p>
+ * Each team keeps one Count-Min Sketch per day over a sliding window of days and a top-K min-heap
+ * of photos scored by their windowed estimate. Memory per team is fixed (days x depth x width counters),
+ * and teams are bounded by count, so the total never depends on photo count.
+ * Events are published on Redis so every instance counts every event.
+ * message : nodeId|teamId|photoId|weight|epochDay
+ * <p>
+ * Changed teams are saved to Redis as snapshots, and loaded back when a team is first used.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrendingPhotos implements MessageListener {
+    private static final Logger log = LoggerFactory.getLogger(TrendingPhotos.class);
+
+    private static final String CHANNEL = "trending:event";
+    private static final String SNAPSHOT = "trending:team:";
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${recoder.trending.days:7}")
+    private int days;
+
+    @Value("${recoder.trending.top:20}")
+    private int top;
+
+    @Value("${recoder.trending.depth:4}")
+    private int depth;
+
+    @Value("${recoder.trending.width:512}")
+    private int width;
+
+    @Value("${recoder.trending.max-teams:1000}")
+    private long maxTeams;
+
+    @Value("${recoder.trending.like-weight:3}")
+    private int likeWeight;
+
+    @Value("${recoder.trending.view-weight:1}")
+    private int viewWeight;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private Cache<Long, Trend> teams;
+
+    @PostConstruct
+    void init() {
+        teams = Caffeine.newBuilder()
+                .maximumSize(maxTeams)
+                .removalListener((Long teamId, Trend trend, RemovalCause cause) -> {
+                    if (teamId != null && trend != null && cause.wasEvicted()) {
+                        save(teamId, trend);
+                    }
+                })
+                .build();
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+
+        long bytes = maxTeams * days * depth * (long) width * Integer.BYTES;
+        log.info("Trending Photos Memory Bound : {} MB", bytes >> 20);
+    }
+
+    /**
+     * Count like of photo after commit
+     *
+     * @param teamId  teamId
+     * @param photoId photoId
+     */
+    public void like(Long teamId, Long photoId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordAndPublish(teamId, photoId, likeWeight);
+                }
+            });
+        } else {
+            recordAndPublish(teamId, photoId, likeWeight);
+        }
+    }
+
+    /**
+     * Count view of photo
+     *
+     * @param teamId  teamId
+     * @param photoId photoId
+     */
+    public void view(Long teamId, Long photoId) {
+        recordAndPublish(teamId, photoId, viewWeight);
+    }
+
+    /**
+     * Find trending photoIds of team
+     *
+     * @param teamId teamId
+     * @return photoIds (score order)
+     */
+    public List<Long> top(Long teamId) {
+        return trend(teamId).top(today());
+    }
+
+    /**
+     * Save changed teams
+     */
+    @Scheduled(fixedDelayString = "${recoder.trending.snapshot-millis:300000}")
+    @PreDestroy
+    public void snapshot() {
+        int count = 0;
+
+        for (Map.Entry<Long, Trend> entry : teams.asMap().entrySet()) {
+            if (entry.getValue().isDirty()) {
+                save(entry.getKey(), entry.getValue());
+                count++;
+            }
+        }
+
+        if (count > 0) {
+            log.debug("Snapshot Trending Photos : {}", count);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|");
+
+        if (parts.length != 5 || parts[0].equals(nodeId)) {
+            return;
+        }
+
+        try {
+            trend(Long.valueOf(parts[1])).add(Long.parseLong(parts[2]), Integer.parseInt(parts[3]), Long.parseLong(parts[4]));
+        } catch (NumberFormatException e) {
+            log.error("Wrong Trending Message : {}", message);
+        }
+    }
+
+    private void recordAndPublish(Long teamId, Long photoId, int weight) {
+        if (teamId == null || photoId == null || weight <= 0) {
+            return;
+        }
+
+        long day = today();
+        trend(teamId).add(photoId, weight, day);
+
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + "|" + teamId + "|" + photoId + "|" + weight + "|" + day);
+        } catch (Exception e) {
+            log.error("Publish Trending Error : {}", e.getMessage());
+        }
+    }
+
+    private Trend trend(Long teamId) {
+        return teams.get(teamId, this::load);
+    }
+
+    private Trend load(Long teamId) {
+        try {
+            String snapshot = redisTemplate.opsForValue().get(SNAPSHOT + teamId);
+
+            if (snapshot != null) {
+                Trend trend = Trend.decode(Base64.getDecoder().decode(snapshot), days, depth, width, top);
+
+                if (trend != null) {
+                    return trend;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Load Trending Snapshot Error : {}", e.getMessage());
+        }
+        return new Trend(days, depth, width, top);
+    }
+
+    private void save(Long teamId, Trend trend) {
+        try {
+            String snapshot = Base64.getEncoder().encodeToString(trend.encode());
+            redisTemplate.opsForValue().set(SNAPSHOT + teamId, snapshot, Duration.ofDays(days));
+        } catch (Exception e) {
+            log.error("Save Trending Snapshot Error : {}", e.getMessage());
+        }
+    }
+
+    private static long today() {
+        return LocalDate.now().toEpochDay();
+    }
+
+    /**
+     * Sliding window of day sketches and top-K heap of one team
+     */
+    static class Trend {
+        private final int days;
+        private final int top;
+        private final CountMinSketch[] buckets;
+        private final long[] bucketDays;
+
+        /* min-heap by score, so the weakest candidate is dropped first */
+        private final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingLong(c -> c.score));
+        private final Map<Long, Candidate> candidates = new HashMap<>();
+
+        private long latest = Long.MIN_VALUE;
+        private boolean dirty;
+
+        Trend(int days, int depth, int width, int top) {
+            this.days = days;
+            this.top = top;
+            this.buckets = new CountMinSketch[days];
+            this.bucketDays = new long[days];
+
+            for (int i = 0; i < days; i++) {
+                buckets[i] = new CountMinSketch(depth, width);
+                bucketDays[i] = Long.MIN_VALUE;
+            }
+        }
+
+        synchronized void add(long photoId, int weight, long day) {
+            advance(day);
+
+            if (day <= latest - days) {
+                return;
+            }
+
+            int index = bucket(day);
+
+            if (bucketDays[index] != day) {
+                buckets[index].clear();
+                bucketDays[index] = day;
+            }
+
+            buckets[index].add(photoId, weight);
+            offer(photoId, estimate(photoId));
+            dirty = true;
+        }
+
+        synchronized List<Long> top(long today) {
+            advance(today);
+
+            List<Candidate> sorted = new ArrayList<>(heap);
+            sorted.sort(Comparator.comparingLong((Candidate c) -> c.score).reversed()
+                    .thenComparingLong(c -> c.photoId));
+
+            List<Long> photoIds = new ArrayList<>(sorted.size());
+            for (Candidate candidate : sorted) {
+                photoIds.add(candidate.photoId);
+            }
+            return photoIds;
+        }
+
+        synchronized boolean isDirty() {
+            return dirty;
+        }
+
+        /**
+         * Move window end to day, rescore candidates when days left the window
+         */
+        private void advance(long day) {
+            if (day <= latest) {
+                return;
+            }
+
+            long oldest = latest;
+            latest = day;
+
+            if (oldest == Long.MIN_VALUE) {
+                return;
+            }
+
+            List<Candidate> all = new ArrayList<>(heap);
+            heap.clear();
+            candidates.clear();
+
+            for (Candidate candidate : all) {
+                offer(candidate.photoId, estimate(candidate.photoId));
+            }
+            dirty = true;
+        }
+
+        private void offer(long photoId, long score) {
+            Candidate candidate = candidates.get(photoId);
+
+            if (candidate != null) {
+                heap.remove(candidate);
+                candidate.score = score;
+
+                if (score > 0) {
+                    heap.offer(candidate);
+                } else {
+                    candidates.remove(photoId);
+                }
+                return;
+            }
+
+            if (score <= 0) {
+                return;
+            }
+
+            if (heap.size() >= top) {
+                if (heap.peek().score >= score) {
+                    return;
+                }
+                candidates.remove(heap.poll().photoId);
+            }
+
+            candidate = new Candidate(photoId, score);
+            heap.offer(candidate);
+            candidates.put(photoId, candidate);
+        }
+
+        /* sum of day estimates inside the window */
+        private long estimate(long photoId) {
+            long sum = 0;
+
+            for (int i = 0; i < days; i++) {
+                if (bucketDays[i] > latest - days && bucketDays[i] <= latest) {
+                    sum += buckets[i].estimate(photoId);
+                }
+            }
+            return sum;
+        }
+
+        private int bucket(long day) {
+            return (int) Math.floorMod(day, (long) days);
+        }
+
+        synchronized byte[] encode() {
+            int depth = buckets[0].depth();
+            int width = buckets[0].width();
+
+            ByteBuffer buffer = ByteBuffer.allocate(4 * Integer.BYTES + Long.BYTES
+                    + days * (Long.BYTES + depth * width * Integer.BYTES)
+                    + Integer.BYTES + heap.size() * 2 * Long.BYTES);
+
+            buffer.putInt(SNAPSHOT_VERSION).putInt(days).putInt(depth).putInt(width).putLong(latest);
+
+            for (int i = 0; i < days; i++) {
+                buffer.putLong(bucketDays[i]);
+                for (int count : buckets[i].table()) {
+                    buffer.putInt(count);
+                }
+            }
+
+            buffer.putInt(heap.size());
+            for (Candidate candidate : heap) {
+                buffer.putLong(candidate.photoId).putLong(candidate.score);
+            }
+
+            dirty = false;
+            return buffer.array();
+        }
+
+        /**
+         * Restore snapshot
+         *
+         * @return trend (null = layout changed since saved)
+         */
+        static Trend decode(byte[] bytes, int days, int depth, int width, int top) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            Trend trend = new Trend(days, depth, width, top);
+
+            if (buffer.getInt() != SNAPSHOT_VERSION || buffer.getInt() != days
+                    || buffer.getInt() != depth || buffer.getInt() != trend.buckets[0].width()) {
+                return null;
+            }
+
+            trend.latest = buffer.getLong();
+
+            for (int i = 0; i < days; i++) {
+                trend.bucketDays[i] = buffer.getLong();
+                int[] table = trend.buckets[i].table();
+                for (int j = 0; j < table.length; j++) {
+                    table[j] = buffer.getInt();
+                }
+            }
+
+            int size = buffer.getInt();
+            for (int i = 0; i < size; i++) {
+                trend.offer(buffer.getLong(), buffer.getLong());
+            }
+            return trend;
+        }
+    }
+
+    private static class Candidate {
+        private final long photoId;
+        private long score;
+
+        private Candidate(long photoId, long score) {
+            this.photoId = photoId;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package yuhan.hgcq.server.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.domain.TeamMember;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache (JCache + Caffeine)
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private static final List<Class<?>> ENTITY_REGIONS = List.of(Member.class, Team.class, Album.class, TeamMember.class);
+
+    @Value("${recoder.cache.entity.max-size:10000}")
+    private long maxSize;
+
+    @Value("${recoder.cache.entity.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    /**
+     * Cache manager of this context (own URI : the JVM default manager is shared by every context,
+     * e.g. cached test contexts and devtools restarts, and its regions already exist)
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("recoder:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (Class<?> entity : ENTITY_REGIONS) {
+            createCache(cacheManager, entity.getName(), boundedConfiguration());
+        }
+        createCache(cacheManager, QUERY_RESULTS_REGION, boundedConfiguration());
+
+        /* timestamps must outlive every cached query, so no expiry or size bound */
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        createCache(cacheManager, UPDATE_TIMESTAMPS_REGION, timestamps);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private void createCache(CacheManager cacheManager, String region, CaffeineConfiguration<Object, Object> configuration) {
+        if (cacheManager.getCache(region) == null) {
+            cacheManager.createCache(region, configuration);
+        }
+    }
+
+    private CaffeineConfiguration<Object, Object> boundedConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
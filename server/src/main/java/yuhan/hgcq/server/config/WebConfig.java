@@ -0,0 +1,50 @@
+package yuhan.hgcq.server.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import yuhan.hgcq.server.auth.LoginArgumentResolver;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final LoginArgumentResolver loginArgumentResolver;
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilder;
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(loginArgumentResolver);
+    }
+
+    /**
+     * Binary bodies by Accept header (application/x-jackson-smile, application/cbor)
+     * <p>
+     * Built from the Boot mapper builder, so they follow spring.jackson settings like JSON does.
+     * Added after JSON, so JSON stays the default when Accept allows anything.
+     * Smile also shares repeated short values (region, album name) besides keys.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+
+        SmileFactory smile = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+
+        converters.add(new MappingJackson2SmileHttpMessageConverter(mapperBuilder.getObject().factory(smile).build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(mapperBuilder.getObject().factory(new CBORFactory()).build()));
+    }
+}
@@ -1,12 +1,15 @@
 package yuhan.hgcq.server.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.expression.AccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import yuhan.hgcq.server.auth.Login;
+import yuhan.hgcq.server.auth.LoginMember;
+import yuhan.hgcq.server.cache.ContentVersion;
+import yuhan.hgcq.server.cache.TeamAcl;
 import yuhan.hgcq.server.domain.Album;
 import yuhan.hgcq.server.domain.Member;
 import yuhan.hgcq.server.domain.Team;
@@ -14,10 +17,9 @@ import yuhan.hgcq.server.dto.album.AlbumCreateForm;
 import yuhan.hgcq.server.dto.album.AlbumDTO;
 import yuhan.hgcq.server.dto.album.AlbumUpdateForm;
 import yuhan.hgcq.server.dto.album.DeleteCancelAlbumForm;
-import yuhan.hgcq.server.dto.member.MemberDTO;
 import yuhan.hgcq.server.service.AlbumService;
-import yuhan.hgcq.server.service.MemberService;
 import yuhan.hgcq.server.service.TeamService;
+import yuhan.hgcq.server.util.ETagUtil;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,402 +29,332 @@ import java.util.List;
 @RequestMapping("/album")
 public class AlbumController {
 
-    private final MemberService ms;
     private final TeamService ts;
     private final AlbumService as;
+    private final ContentVersion cv;
+    private final TeamAcl acl;
 
     /**
      * Create album
      *
      * @param albumCreateForm create album form
-     * @param request         request
+     * @param login           login member
      * @return status code
      */
     @PostMapping("/create")
-    public ResponseEntity<?> createAlbum(@RequestBody AlbumCreateForm albumCreateForm, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> createAlbum(@RequestBody AlbumCreateForm albumCreateForm, @Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Team ft = ts.searchOne(albumCreateForm.getTeamId());
+
+            if (ft != null) {
+                Album newAlbum = new Album(ft, albumCreateForm.getName());
 
-            if (loginMember != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Team ft = ts.searchOne(albumCreateForm.getTeamId());
-
-                            if (ft != null) {
-                                Album newAlbum = new Album(ft, albumCreateForm.getName());
-
-                                try {
-                                    as.create(findMember, newAlbum);
-                                    return ResponseEntity.status(HttpStatus.CREATED).body("Create Album Success");
-                                } catch (AccessException e) {
-                                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
+                    as.create(findMember, newAlbum);
+                    return ResponseEntity.status(HttpStatus.CREATED).body("Create Album Success");
+                } catch (AccessException e) {
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Delete album
      *
      * @param albumDTO album dto
-     * @param request  request
+     * @param login    login member
      * @return status code
      */
     @PostMapping("/delete")
-    public ResponseEntity<?> deleteAlbum(@RequestBody AlbumDTO albumDTO, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> deleteAlbum(@RequestBody AlbumDTO albumDTO, @Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Album fa = as.searchOne(albumDTO.getAlbumId());
 
-            if (loginMember != null) {
+            if (fa != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Album fa = as.searchOne(albumDTO.getAlbumId());
-
-                            if (fa != null) {
-                                try {
-                                    as.deleteAlbum(findMember, fa);
-                                    return ResponseEntity.status(HttpStatus.OK).body("Delete Album Success");
-                                } catch (AccessException e) {
-                                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
+                    as.deleteAlbum(findMember, fa);
+                    return ResponseEntity.status(HttpStatus.OK).body("Delete Album Success");
+                } catch (AccessException e) {
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Delete album cancel
      *
-     * @param form    delete album cancel form
-     * @param request request
+     * @param form  delete album cancel form
+     * @param login login member
      * @return status code
      */
     @PostMapping("/delete/cancel")
-    public ResponseEntity<?> deleteCancelAlbum(@RequestBody DeleteCancelAlbumForm form, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
-
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            List<Long> albumIds = form.getAlbumIds();
-                            for (Long albumId : albumIds) {
-                                Album fa = as.searchOne(albumId);
-
-                                if (fa != null) {
-                                    try {
-                                        as.deleteAlbumCancel(findMember, fa);
-                                    } catch (AccessException e) {
-                                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
-                                    } catch (IllegalArgumentException e) {
-                                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                    }
-                                }
-                            }
-                            return ResponseEntity.status(HttpStatus.OK).body("Delete Cancel Album Success");
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
+    public ResponseEntity<?> deleteCancelAlbum(@RequestBody DeleteCancelAlbumForm form, @Login LoginMember login) {
+        Member findMember = login.getMember();
+
+        try {
+            List<Long> albumIds = form.getAlbumIds();
+            for (Long albumId : albumIds) {
+                Album fa = as.searchOne(albumId);
+
+                if (fa != null) {
+                    try {
+                        as.deleteAlbumCancel(findMember, fa);
+                    } catch (AccessException e) {
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+                    } catch (IllegalArgumentException e) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                     }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+            return ResponseEntity.status(HttpStatus.OK).body("Delete Cancel Album Success");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
-
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
     }
 
     /**
      * Update album information
      *
      * @param albumUpdateForm album update form
-     * @param request         request
+     * @param login           login member
      * @return status code
      */
     @PostMapping("/update")
-    public ResponseEntity<?> updateAlbum(@RequestBody AlbumUpdateForm albumUpdateForm, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> updateAlbum(@RequestBody AlbumUpdateForm albumUpdateForm, @Login LoginMember login) {
+        Member findMember = login.getMember();
+
+        try {
+            Album fa = as.searchOne(albumUpdateForm.getAlbumId());
+
+            if (fa != null) {
+                String updateName = albumUpdateForm.getName();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+                if (updateName != null) {
+                    fa.changeName(updateName);
+                }
 
-            if (loginMember != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Album fa = as.searchOne(albumUpdateForm.getAlbumId());
-
-                            if (fa != null) {
-                                String updateName = albumUpdateForm.getName();
-
-                                if (updateName != null) {
-                                    fa.changeName(updateName);
-                                }
-
-                                try {
-                                    as.modify(findMember, fa);
-                                    return ResponseEntity.status(HttpStatus.OK).body("Update Album Success");
-                                } catch (AccessException e) {
-                                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
+                    as.modify(findMember, fa);
+                    return ResponseEntity.status(HttpStatus.OK).body("Update Album Success");
+                } catch (AccessException e) {
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Find albumList
      *
      * @param teamId  teamId
+     * @param login   login member
      * @param request request
      * @return status code, albumList
      */
     @GetMapping("/list/teamId")
-    public ResponseEntity<?> listAlbums(@RequestParam("teamId") Long teamId, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> listAlbums(@RequestParam("teamId") Long teamId, @Login LoginMember login, HttpServletRequest request) {
+        Member findMember = login.getReference();
+
+        try {
+            Team ft = ts.searchOne(teamId);
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+            if (ft != null) {
+                if (!acl.isMember(findMember.getId(), ft.getId())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+                }
+
+                String eTag = ETagUtil.of(cv.team(ft.getId()), "album", ft.getId());
+
+                if (ETagUtil.isNotModified(request, eTag)) {
+                    return ETagUtil.notModified(eTag);
+                }
 
-            if (loginMember != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Team ft = ts.searchOne(teamId);
-
-                            if (ft != null) {
-                                try {
-                                    List<Album> albumList = as.searchAll(ft);
-
-                                    List<AlbumDTO> albumDTOList = new ArrayList<>();
-
-                                    for (Album album : albumList) {
-                                        AlbumDTO albumDTO = mapping(album);
-                                        albumDTOList.add(albumDTO);
-                                    }
-
-                                    return ResponseEntity.status(HttpStatus.OK).body(albumDTOList);
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
+                    List<AlbumDTO> albumDTOList = as.searchAllDTO(ft);
+
+                    return ETagUtil.ok(eTag).body(albumDTOList);
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
+    }
+
+    /**
+     * Find albumList by popularity
+     *
+     * @param teamId teamId
+     * @param login  login member
+     * @return status code, albumList (like count order)
+     */
+    @GetMapping("/list/teamId/popular")
+    public ResponseEntity<?> listPopularAlbums(@RequestParam("teamId") Long teamId, @Login LoginMember login) {
+        Member findMember = login.getReference();
+
+        try {
+            Team ft = ts.searchOne(teamId);
+
+            if (!acl.isMember(findMember.getId(), ft.getId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+            }
+
+            List<AlbumDTO> albumDTOList = as.searchPopularDTO(ft);
+
+            return ResponseEntity.status(HttpStatus.OK).body(albumDTOList);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
     }
 
     @GetMapping("/list/teamId/albumId")
-    public ResponseEntity<?> listMoveAlbums(@RequestParam("teamId") Long teamId, @RequestParam("albumId") Long albumId, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> listMoveAlbums(@RequestParam("teamId") Long teamId, @RequestParam("albumId") Long albumId, @Login LoginMember login) {
+        Member findMember = login.getReference();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Team ft = ts.searchOne(teamId);
+
+            if (ft != null) {
+                if (!acl.isMember(findMember.getId(), ft.getId())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+                }
 
-            if (loginMember != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Team ft = ts.searchOne(teamId);
-
-                            if (ft != null) {
-                                try {
-                                    Album fa = as.searchOne(albumId);
-                                    List<Album> albumList = as.searchAll(ft);
-                                    albumList.remove(fa);
-
-                                    List<AlbumDTO> albumDTOList = new ArrayList<>();
-
-                                    for (Album album : albumList) {
-                                        AlbumDTO albumDTO = mapping(album);
-                                        albumDTOList.add(albumDTO);
-                                    }
-
-                                    return ResponseEntity.status(HttpStatus.OK).body(albumDTOList);
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+                    Album fa = as.searchOne(albumId);
+                    List<AlbumDTO> albumList = as.searchAllDTO(ft);
+
+                    List<AlbumDTO> albumDTOList = new ArrayList<>();
+
+                    for (AlbumDTO albumDTO : albumList) {
+                        if (albumDTO.getAlbumId().equals(fa.getId())) {
+                            continue;
                         }
+                        albumDTOList.add(albumDTO);
                     }
+
+                    return ResponseEntity.status(HttpStatus.OK).body(albumDTOList);
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Find albumList by name
      *
-     * @param teamId  teamId
-     * @param name    name
-     * @param request request
+     * @param teamId teamId
+     * @param name   name
+     * @param login  login member
      * @return status code, albumList
      */
     @GetMapping("/list/teamId/name")
-    public ResponseEntity<?> listAlbumsByName(@RequestParam("teamId") Long teamId, @RequestParam("name") String name, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> listAlbumsByName(@RequestParam("teamId") Long teamId, @RequestParam("name") String name, @Login LoginMember login) {
+        Member findMember = login.getReference();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Team ft = ts.searchOne(teamId);
+
+            if (ft != null) {
+                if (!acl.isMember(findMember.getId(), ft.getId())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+                }
 
-            if (loginMember != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Team ft = ts.searchOne(teamId);
-
-                            if (ft != null) {
-                                try {
-                                    List<Album> albumList = as.searchByName(ft, name);
-
-                                    List<AlbumDTO> albumDTOList = new ArrayList<>();
-
-                                    for (Album album : albumList) {
-                                        AlbumDTO albumDTO = mapping(album);
-                                        albumDTOList.add(albumDTO);
-                                    }
-
-                                    return ResponseEntity.status(HttpStatus.OK).body(albumDTOList);
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
+                    List<Album> albumList = as.searchByName(ft, name);
+
+                    List<AlbumDTO> albumDTOList = new ArrayList<>();
+
+                    for (Album album : albumList) {
+                        AlbumDTO albumDTO = mapping(album);
+                        albumDTOList.add(albumDTO);
                     }
+
+                    return ResponseEntity.status(HttpStatus.OK).body(albumDTOList);
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Find albumTrashList
      *
-     * @param teamId  teamId
-     * @param request request
+     * @param teamId teamId
+     * @param login  login member
      * @return status code, albumTrashList
      */
     @GetMapping("/list/teamId/trash")
-    public ResponseEntity<?> listAlbumsTrash(@RequestParam("teamId") Long teamId, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> listAlbumsTrash(@RequestParam("teamId") Long teamId, @Login LoginMember login) {
+        Member findMember = login.getReference();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Team ft = ts.searchOne(teamId);
 
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Team ft = ts.searchOne(teamId);
-
-                            if (ft != null) {
-                                try {
-                                    List<Album> trashList = as.searchAlbumTrashList(ft);
+            if (ft != null) {
+                if (!acl.isMember(findMember.getId(), ft.getId())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+                }
 
-                                    as.trash(trashList);
+                try {
+                    List<Album> trashList = as.searchAlbumTrashList(ft);
 
-                                    List<Album> trashListAfterClear = as.searchAlbumTrashList(ft);
-                                    List<AlbumDTO> albumDTOList = new ArrayList<>();
+                    as.trash(trashList);
 
-                                    for (Album album : trashListAfterClear) {
-                                        AlbumDTO dto = mapping(album);
-                                        albumDTOList.add(dto);
-                                    }
+                    List<Album> trashListAfterClear = as.searchAlbumTrashList(ft);
+                    List<AlbumDTO> albumDTOList = new ArrayList<>();
 
-                                    return ResponseEntity.status(HttpStatus.OK).body(albumDTOList);
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
+                    for (Album album : trashListAfterClear) {
+                        AlbumDTO dto = mapping(album);
+                        albumDTOList.add(dto);
                     }
+
+                    return ResponseEntity.status(HttpStatus.OK).body(albumDTOList);
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     private AlbumDTO mapping(Album album) {
@@ -0,0 +1,64 @@
+package yuhan.hgcq.server.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import yuhan.hgcq.server.auth.Login;
+import yuhan.hgcq.server.auth.LoginMember;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.dto.batch.BatchForm;
+import yuhan.hgcq.server.dto.batch.BatchOutcome;
+import yuhan.hgcq.server.dto.batch.BatchResult;
+import yuhan.hgcq.server.service.BatchService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/batch")
+public class BatchController {
+
+    private final BatchService bs;
+
+    /**
+     * Run several reads in one round trip
+     *
+     * @param form  sub requests
+     * @param login login member
+     * @return status code, id -> result of each sub request
+     */
+    @PostMapping
+    public ResponseEntity<?> batch(@RequestBody BatchForm form, @Login LoginMember login) {
+        Member findMember = login.getReference();
+
+        try {
+            Map<String, BatchResult> results = new LinkedHashMap<>();
+
+            bs.run(findMember, form.getRequests()).forEach((id, outcome) ->
+                    results.put(id, new BatchResult(status(outcome.getKind()).value(), outcome.getBody())));
+
+            return ResponseEntity.status(HttpStatus.OK).body(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /* status code the single endpoint would answer */
+    private HttpStatus status(BatchOutcome.Kind kind) {
+        switch (kind) {
+            case WRONG_REQUEST:
+                return HttpStatus.BAD_REQUEST;
+            case NOT_FOUND:
+                return HttpStatus.NOT_FOUND;
+            case NOT_MEMBER:
+                return HttpStatus.FORBIDDEN;
+            default:
+                return HttpStatus.OK;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package yuhan.hgcq.server.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import yuhan.hgcq.server.auth.Login;
+import yuhan.hgcq.server.auth.LoginMember;
+import yuhan.hgcq.server.cache.TeamAcl;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.dto.change.Changes;
+import yuhan.hgcq.server.service.TeamChangeService;
+import yuhan.hgcq.server.service.TeamService;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/change")
+public class ChangeController {
+
+    private final TeamService ts;
+    private final TeamAcl acl;
+    private final TeamChangeService tcs;
+
+    /**
+     * Find changes of team after seq
+     *
+     * @param teamId teamId
+     * @param seq    last seq client has (0 = from first)
+     * @param login  login member
+     * @return status code, changes
+     */
+    @GetMapping("/list/teamId")
+    public ResponseEntity<?> listChanges(@RequestParam("teamId") Long teamId,
+                                         @RequestParam(value = "seq", defaultValue = "0") Long seq,
+                                         @Login LoginMember login) {
+        Member findMember = login.getReference();
+
+        try {
+            Team ft = ts.searchOne(teamId);
+
+            if (!acl.isMember(findMember.getId(), ft.getId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+            }
+
+            Changes changes = tcs.searchChanges(ft.getId(), seq);
+
+            return ResponseEntity.status(HttpStatus.OK).body(changes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+}
@@ -1,24 +1,28 @@
 package yuhan.hgcq.server.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import yuhan.hgcq.server.auth.Login;
+import yuhan.hgcq.server.auth.LoginMember;
+import yuhan.hgcq.server.cache.ContentVersion;
+import yuhan.hgcq.server.cache.TeamAcl;
 import yuhan.hgcq.server.domain.Album;
-import yuhan.hgcq.server.domain.Chat;
 import yuhan.hgcq.server.domain.Member;
 import yuhan.hgcq.server.dto.chat.ChatDTO;
-import yuhan.hgcq.server.dto.member.MemberDTO;
 import yuhan.hgcq.server.service.AlbumService;
 import yuhan.hgcq.server.service.ChatService;
-import yuhan.hgcq.server.service.MemberService;
+import yuhan.hgcq.server.util.ETagUtil;
+import yuhan.hgcq.server.util.StreamingJson;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -27,59 +31,74 @@ import java.util.List;
 public class ChatController {
 
     private final ChatService cs;
-    private final MemberService ms;
     private final AlbumService as;
+    private final ContentVersion cv;
+    private final TeamAcl acl;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/list/albumId")
-    public ResponseEntity<?> listChatsByAlbum(@RequestParam("albumId") Long albumId, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> listChatsByAlbum(@RequestParam("albumId") Long albumId, @Login LoginMember login, HttpServletRequest request) {
+        Member findMember = login.getReference();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Album fa = as.searchOne(albumId);
+
+            if (fa != null) {
+                if (!acl.isMember(findMember.getId(), fa.getTeam().getId())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+                }
+
+                String eTag = ETagUtil.of(cv.album(fa.getId()), "chat", fa.getId());
+
+                if (ETagUtil.isNotModified(request, eTag)) {
+                    return ETagUtil.notModified(eTag);
+                }
 
-            if (loginMember != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Album fa = as.searchOne(albumId);
-
-                            if (fa != null) {
-                                try {
-                                    List<Chat> chatList = cs.searchAll(fa);
-                                    List<ChatDTO> chatDTOList = new ArrayList<>();
-
-                                    for (Chat chat : chatList) {
-                                        ChatDTO dto = mapping(chat);
-                                        chatDTOList.add(dto);
-                                    }
-
-                                    return ResponseEntity.status(HttpStatus.OK).body(chatDTOList);
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Found ChatList Fail");
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Found Album Fail");
-                        }
-                    }
+                    List<ChatDTO> chatDTOList = cs.searchAllDTO(fa);
+
+                    return ETagUtil.ok(eTag).body(chatDTOList);
                 } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Found Member Fail");
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Found ChatList Fail");
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Found Album Fail");
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Found Album Fail");
     }
 
-    private ChatDTO mapping(Chat chat) {
-        ChatDTO dto = new ChatDTO();
-        dto.setChatId(chat.getId());
-        dto.setMessage(chat.getMessage());
-        dto.setTime(chat.getTime().toString());
-        dto.setWriterId(chat.getWriter().getId());
-        dto.setWriterName(chat.getWriter().getName());
-        return dto;
+    /**
+     * Find chat history (streamed row by row, not cached)
+     *
+     * @param albumId albumId
+     * @param login   login member
+     * @param request request
+     * @return status code, chatList
+     */
+    @GetMapping("/list/albumId/stream")
+    public ResponseEntity<?> streamChatsByAlbum(@RequestParam("albumId") Long albumId, @Login LoginMember login, HttpServletRequest request) {
+        Member findMember = login.getReference();
+
+        try {
+            Album fa = as.searchOne(albumId);
+
+            if (!acl.isMember(findMember.getId(), fa.getTeam().getId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+            }
+
+            String eTag = ETagUtil.of(cv.album(fa.getId()), "chat", fa.getId());
+
+            if (ETagUtil.isNotModified(request, eTag)) {
+                return ETagUtil.notModified(eTag);
+            }
+
+            StreamingResponseBody body = StreamingJson.<ChatDTO>array(objectMapper, action -> cs.forEachDTO(fa, action));
+
+            return ETagUtil.ok(eTag).contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Found Album Fail");
+        }
     }
 }
@@ -3,20 +3,29 @@ package yuhan.hgcq.server.controller;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.session.Session;
 import org.springframework.session.SessionRepository;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import yuhan.hgcq.server.auth.Login;
+import yuhan.hgcq.server.auth.LoginMember;
+import yuhan.hgcq.server.cache.ContentVersion;
 import yuhan.hgcq.server.domain.Member;
 import yuhan.hgcq.server.dto.member.*;
 import yuhan.hgcq.server.dto.photo.UploadMemberForm;
+import yuhan.hgcq.server.search.MemberTypeahead;
 import yuhan.hgcq.server.service.FollowService;
 import yuhan.hgcq.server.service.MemberService;
+import yuhan.hgcq.server.service.RecommendService;
+import yuhan.hgcq.server.util.StreamingJson;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -32,6 +41,12 @@ public class MemberController {
     private final MemberService ms;
     private final FollowService fs;
     private final SessionRepository<? extends Session> sessionRepository;
+    private final MemberTypeahead memberTypeahead;
+    private final RecommendService rs;
+    private final ContentVersion cv;
+    private final ObjectMapper objectMapper;
+
+    private static final int TYPEAHEAD_MAX_SIZE = 20;
 
     /**
      * Join
@@ -50,27 +65,11 @@ public class MemberController {
     }
 
     @PostMapping("/delete")
-    public ResponseEntity<?> delete(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
-
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        ms.delete(findMember.getId());
-                        return ResponseEntity.status(HttpStatus.OK).body("Delete Member Success");
-                    }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                }
-            }
-        }
+    public ResponseEntity<?> delete(@Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        ms.delete(findMember.getId());
+        return ResponseEntity.status(HttpStatus.OK).body("Delete Member Success");
     }
 
     /**
@@ -89,7 +88,8 @@ public class MemberController {
                 MemberDTO memberDTO = mapping(loginMember);
 
                 HttpSession session = request.getSession();
-                session.setAttribute("member", memberDTO);
+                session.setAttribute(LoginMember.SESSION_MEMBER, memberDTO);
+                session.setAttribute(LoginMember.SESSION_VERSION, cv.member(memberDTO.getMemberId()));
 
                 log.info("Session Create : {}", memberDTO);
                 return ResponseEntity.status(HttpStatus.OK).body(memberDTO);
@@ -125,37 +125,23 @@ public class MemberController {
      * Update member information
      *
      * @param form    update member form
-     * @param request request
+     * @param login   login member
+     * @param session session
      * @return status code, member dto
      */
     @PostMapping("/update")
-    public ResponseEntity<?> update(@RequestBody MemberUpdateForm form, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> update(@RequestBody MemberUpdateForm form, @Login LoginMember login, HttpSession session) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
-
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            ms.updateMember(findMember, form);
-                            MemberDTO memberDTO = mapping(findMember);
-                            session.setAttribute("member", memberDTO);
-                            return ResponseEntity.status(HttpStatus.OK).body(memberDTO);
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                }
-            }
+        try {
+            ms.updateMember(findMember, form);
+            MemberDTO memberDTO = mapping(findMember);
+            session.setAttribute(LoginMember.SESSION_MEMBER, memberDTO);
+            session.setAttribute(LoginMember.SESSION_VERSION, cv.member(memberDTO.getMemberId()));
+            return ResponseEntity.status(HttpStatus.OK).body(memberDTO);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
-
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
     }
 
     /**
@@ -197,102 +183,131 @@ public class MemberController {
     /**
      * Find memberList
      *
-     * @param request request
+     * @param login login member
      * @return status code, memberList
      */
     @GetMapping("/list")
-    public ResponseEntity<?> memberList(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> memberList(@Login LoginMember login) {
+        Member findMember = login.getReference();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        List<MemberDTO> memberList = ms.searchAllDTO();
+        List<MemberDTO> followingDtoList = fs.searchFollowingDTOList(findMember);
 
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        List<Member> memberList = ms.searchAll();
-                        memberList.remove(findMember);
-                        List<Member> followingList = fs.searchFollowingList(findMember);
-
-                        List<MemberDTO> memberDtoList = new ArrayList<>();
-                        List<MemberDTO> followingDtoList = new ArrayList<>();
+        List<MemberDTO> memberDtoList = new ArrayList<>();
 
-                        for (Member member : memberList) {
-                            MemberDTO dto = mapping(member);
-                            memberDtoList.add(dto);
-                        }
+        for (MemberDTO member : memberList) {
+            if (member.getMemberId().equals(findMember.getId())) {
+                continue;
+            }
+            memberDtoList.add(member);
+        }
 
-                        for (Member following : followingList) {
-                            MemberDTO dto = mapping(following);
-                            followingDtoList.add(dto);
-                        }
+        Members members = new Members();
+        members.setMemberList(memberDtoList);
+        members.setFollowingList(followingDtoList);
 
-                        Members members = new Members();
-                        members.setMemberList(memberDtoList);
-                        members.setFollowingList(followingDtoList);
+        return ResponseEntity.status(HttpStatus.OK).body(members);
+    }
 
-                        return ResponseEntity.status(HttpStatus.OK).body(members);
+    /**
+     * Find memberList (streamed row by row)
+     *
+     * @param login login member
+     * @return status code, members
+     */
+    @GetMapping("/list/stream")
+    public ResponseEntity<?> streamMemberList(@Login LoginMember login) {
+        Member findMember = login.getReference();
+        Long memberId = findMember.getId();
+
+        List<MemberDTO> followingDtoList = fs.searchFollowingDTOList(findMember);
+
+        StreamingResponseBody body = out -> {
+            try (StreamingJson json = new StreamingJson(objectMapper, out)) {
+                json.startObject();
+                json.field("memberList");
+                json.<MemberDTO>array(action -> ms.forEachDTO(member -> {
+                    if (!member.getMemberId().equals(memberId)) {
+                        action.accept(member);
                     }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                }
+                }));
+                json.field("followingList");
+                json.value(followingDtoList);
+                json.endObject();
             }
-        }
+        };
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     /**
-     * Find memberList by name
+     * Typeahead of searchable members (served from memory, no DB)
      *
-     * @param name    member name
-     * @param request request
+     * @param prefix name prefix
+     * @param size   max count
+     * @param login  login member
      * @return status code, memberList
      */
-    @GetMapping("/list/name")
-    public ResponseEntity<?> memberListByName(@RequestParam("name") String name, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    @GetMapping("/typeahead")
+    public ResponseEntity<?> typeahead(@RequestParam("prefix") String prefix,
+                                       @RequestParam(value = "size", defaultValue = "10") int size,
+                                       @Login LoginMember login) {
+        int limit = Math.min(Math.max(size, 1), TYPEAHEAD_MAX_SIZE);
+        List<MemberDTO> memberList = memberTypeahead.search(prefix, limit + 1);
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        memberList.removeIf(dto -> dto.getMemberId().equals(login.getMemberId()));
 
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
+        if (memberList.size() > limit) {
+            memberList = memberList.subList(0, limit);
+        }
 
-                    if (findMember != null) {
-                        List<Member> memberList = ms.searchAllByName(name);
-                        memberList.remove(findMember);
-                        List<Member> followingList = fs.searchFollowingList(findMember);
+        return ResponseEntity.status(HttpStatus.OK).body(memberList);
+    }
 
-                        List<MemberDTO> memberDtoList = new ArrayList<>();
-                        List<MemberDTO> followingDtoList = new ArrayList<>();
+    /**
+     * Find people you may know
+     *
+     * @param login login member
+     * @return status code, recommend list
+     */
+    @GetMapping("/recommend")
+    public ResponseEntity<?> recommendList(@Login LoginMember login) {
+        Member findMember = login.getReference();
+
+        List<RecommendDTO> recommendList = rs.searchRecommendList(findMember);
 
-                        for (Member member : memberList) {
-                            MemberDTO dto = mapping(member);
-                            memberDtoList.add(dto);
-                        }
+        return ResponseEntity.status(HttpStatus.OK).body(recommendList);
+    }
+
+    /**
+     * Find memberList by name
+     *
+     * @param name  member name
+     * @param login login member
+     * @return status code, memberList
+     */
+    @GetMapping("/list/name")
+    public ResponseEntity<?> memberListByName(@RequestParam("name") String name, @Login LoginMember login) {
+        Member findMember = login.getReference();
 
-                        for (Member following : followingList) {
-                            MemberDTO dto = mapping(following);
-                            followingDtoList.add(dto);
-                        }
+        List<Member> memberList = ms.searchAllByName(name);
+        List<MemberDTO> followingDtoList = fs.searchFollowingDTOList(findMember);
 
-                        Members members = new Members();
-                        members.setMemberList(memberDtoList);
-                        members.setFollowingList(followingDtoList);
+        List<MemberDTO> memberDtoList = new ArrayList<>();
 
-                        return ResponseEntity.status(HttpStatus.OK).body(members);
-                    }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                }
+        for (Member member : memberList) {
+            if (member.getId().equals(findMember.getId())) {
+                continue;
             }
+            MemberDTO dto = mapping(member);
+            memberDtoList.add(dto);
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        Members members = new Members();
+        members.setMemberList(memberDtoList);
+        members.setFollowingList(followingDtoList);
+
+        return ResponseEntity.status(HttpStatus.OK).body(members);
     }
 
     /**
@@ -335,65 +350,36 @@ public class MemberController {
      * Upload member image
      *
      * @param form    member image form
-     * @param request request
+     * @param login   login member
+     * @param session session
      * @return status code
      */
     @PostMapping("/upload")
-    public ResponseEntity<?> upload(@ModelAttribute UploadMemberForm form, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> upload(@ModelAttribute UploadMemberForm form, @Login LoginMember login, HttpSession session) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
-
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            String path = ms.upload(findMember, form);
-                            MemberDTO memberDTO = mapping(findMember);
-                            session.setAttribute("member", memberDTO);
-                            return ResponseEntity.status(HttpStatus.OK).body(path);
-                        } catch (IOException e) {
-                            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                }
-            }
+        try {
+            String path = ms.upload(findMember, form);
+            MemberDTO memberDTO = mapping(findMember);
+            session.setAttribute(LoginMember.SESSION_MEMBER, memberDTO);
+            session.setAttribute(LoginMember.SESSION_VERSION, cv.member(memberDTO.getMemberId()));
+            return ResponseEntity.status(HttpStatus.OK).body(path);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
-
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
     }
 
     @PostMapping("/searched")
-    public ResponseEntity<?> searched(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
-
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        ms.toggleSearched(findMember);
-                        MemberDTO memberDTO = mapping(findMember);
-                        session.setAttribute("member", memberDTO);
-                        return ResponseEntity.status(HttpStatus.OK).body(memberDTO);
-                    }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                }
-            }
-        }
-
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+    public ResponseEntity<?> searched(@Login LoginMember login, HttpSession session) {
+        Member findMember = login.getMember();
+
+        ms.toggleSearched(findMember);
+        MemberDTO memberDTO = mapping(findMember);
+        session.setAttribute(LoginMember.SESSION_MEMBER, memberDTO);
+        session.setAttribute(LoginMember.SESSION_VERSION, cv.member(memberDTO.getMemberId()));
+        return ResponseEntity.status(HttpStatus.OK).body(memberDTO);
     }
 
     private MemberDTO mapping(Member member) {
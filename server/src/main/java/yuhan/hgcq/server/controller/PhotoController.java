@@ -1,23 +1,38 @@
 package yuhan.hgcq.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import yuhan.hgcq.server.auth.Login;
+import yuhan.hgcq.server.auth.LoginMember;
+import yuhan.hgcq.server.cache.ContentVersion;
+import yuhan.hgcq.server.cache.TeamAcl;
 import yuhan.hgcq.server.domain.Album;
 import yuhan.hgcq.server.domain.Member;
 import yuhan.hgcq.server.domain.Photo;
-import yuhan.hgcq.server.dto.member.MemberDTO;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.domain.TimelineUnit;
 import yuhan.hgcq.server.dto.photo.*;
 import yuhan.hgcq.server.service.AlbumService;
 import yuhan.hgcq.server.service.LikedService;
-import yuhan.hgcq.server.service.MemberService;
+import yuhan.hgcq.server.service.MapService;
+import yuhan.hgcq.server.service.MemoryService;
 import yuhan.hgcq.server.service.PhotoService;
+import yuhan.hgcq.server.service.TeamService;
+import yuhan.hgcq.server.service.TimelineService;
+import yuhan.hgcq.server.service.TrendingService;
+import yuhan.hgcq.server.util.ETagUtil;
+import yuhan.hgcq.server.util.LongHashSet;
+import yuhan.hgcq.server.util.StreamingJson;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @RestController
@@ -25,401 +40,617 @@ import java.util.*;
 @RequestMapping("/photo")
 public class PhotoController {
 
-    private final MemberService ms;
     private final AlbumService as;
     private final PhotoService ps;
     private final LikedService ls;
+    private final TeamService ts;
+    private final TrendingService trs;
+    private final MemoryService mos;
+    private final MapService maps;
+    private final TimelineService tls;
+    private final ContentVersion cv;
+    private final TeamAcl acl;
+    private final ObjectMapper objectMapper;
 
     /**
      * Upload photo
      *
-     * @param form    upload form
-     * @param request request
+     * @param form  upload form
+     * @param login login member
      * @return status code
      */
     @PostMapping("/upload")
-    public ResponseEntity<?> uploadPhotos(@ModelAttribute UploadPhotoForm form, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> uploadPhotos(@ModelAttribute UploadPhotoForm form, @Login LoginMember login) {
+        Member findMember = login.getMember();
+
+        try {
+            Album fa = as.searchOne(form.getAlbumId());
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+            if (fa != null) {
+                if (!acl.isMember(findMember.getId(), fa.getTeam().getId())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+                }
 
-            if (loginMember != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Album fa = as.searchOne(form.getAlbumId());
-
-                            if (fa != null) {
-                                try {
-                                    ps.savePhoto(form);
-                                    return ResponseEntity.status(HttpStatus.CREATED).body("Upload Photo Success");
-                                } catch (IOException e) {
-                                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
+                    ps.savePhoto(form);
+                    return ResponseEntity.status(HttpStatus.CREATED).body("Upload Photo Success");
+                } catch (IOException e) {
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Delete photo
      *
      * @param photoDTO photo dto
-     * @param request  request
+     * @param login    login member
      * @return status code
      */
     @PostMapping("/delete")
-    public ResponseEntity<?> deletePhoto(@RequestBody PhotoDTO photoDTO, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> deletePhoto(@RequestBody PhotoDTO photoDTO, @Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Photo fp = ps.searchOne(photoDTO.getPhotoId());
+
+            if (fp != null) {
+                if (!isMember(findMember, fp)) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+                }
 
-            if (loginMember != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Photo fp = ps.searchOne(photoDTO.getPhotoId());
-
-                            if (fp != null) {
-                                try {
-                                    ps.deletePhoto(fp);
-                                    return ResponseEntity.status(HttpStatus.OK).body("Delete Photo Success");
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
+                    ps.deletePhoto(fp);
+                    return ResponseEntity.status(HttpStatus.OK).body("Delete Photo Success");
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Delete photo cancel
      *
-     * @param form    delete photo cancel form
-     * @param request request
+     * @param form  delete photo cancel form
+     * @param login login member
      * @return status code
      */
     @PostMapping("/delete/cancel")
-    public ResponseEntity<?> cancelDeletePhoto(@RequestBody DeleteCancelPhotoForm form, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> cancelDeletePhoto(@RequestBody DeleteCancelPhotoForm form, @Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            List<Long> photoIds = form.getPhotoIds();
 
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            List<Long> photoIds = form.getPhotoIds();
-
-                            for (Long photoId : photoIds) {
-                                Photo fp = ps.searchOne(photoId);
-
-                                if (fp != null) {
-                                    try {
-                                        ps.deleteCancelPhoto(fp);
-                                    } catch (IllegalArgumentException e) {
-                                        return ResponseEntity.status(HttpStatus.OK).body(e.getMessage());
-                                    }
-                                }
-                            }
-                            return ResponseEntity.status(HttpStatus.OK).body("Delete Cancel Photo Success");
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
+            for (Long photoId : photoIds) {
+                Photo fp = ps.searchOne(photoId);
+
+                if (fp != null) {
+                    if (!isMember(findMember, fp)) {
+                        return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+                    }
+
+                    try {
+                        ps.deleteCancelPhoto(fp);
+                    } catch (IllegalArgumentException e) {
+                        return ResponseEntity.status(HttpStatus.OK).body(e.getMessage());
                     }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+            return ResponseEntity.status(HttpStatus.OK).body("Delete Cancel Photo Success");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
-
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
     }
 
     /**
      * Move photo
      *
-     * @param form    move form
-     * @param request request
+     * @param form  move form
+     * @param login login member
      * @return status code
      */
     @PostMapping("/move")
-    public ResponseEntity<?> movePhoto(@RequestBody MovePhotoForm form, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> movePhoto(@RequestBody MovePhotoForm form, @Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Album fa = as.searchOne(form.getNewAlbumId());
 
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Album fa = as.searchOne(form.getNewAlbumId());
-
-                            if (fa != null) {
-                                List<PhotoDTO> photos = form.getPhotos();
-                                List<Photo> photoList = new ArrayList<>();
-
-                                for (PhotoDTO photoDTO : photos) {
-                                    try {
-                                        Photo fp = ps.searchOne(photoDTO.getPhotoId());
-                                        photoList.add(fp);
-                                    } catch (IllegalArgumentException e) {
-                                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                    }
-                                }
-
-                                try {
-                                    ps.move(fa, photoList);
-                                    return ResponseEntity.status(HttpStatus.OK).body("Move Photo Success");
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                } catch (IOException e) {
-                                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+            if (fa != null) {
+                if (!acl.isMember(findMember.getId(), fa.getTeam().getId())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+                }
+
+                List<PhotoDTO> photos = form.getPhotos();
+                List<Photo> photoList = new ArrayList<>();
+
+                for (PhotoDTO photoDTO : photos) {
+                    try {
+                        Photo fp = ps.searchOne(photoDTO.getPhotoId());
+
+                        if (!isMember(findMember, fp)) {
+                            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
                         }
+                        photoList.add(fp);
+                    } catch (IllegalArgumentException e) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                     }
+                }
+
+                try {
+                    ps.move(fa, photoList);
+                    return ResponseEntity.status(HttpStatus.OK).body("Move Photo Success");
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+                } catch (IOException e) {
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Auto save photoList
      *
-     * @param form    photoList form
-     * @param request request
+     * @param form  photoList form
+     * @param login login member
      * @return status code
      */
     @PostMapping("/autosave")
-    public ResponseEntity<?> autosavePhoto(@ModelAttribute AutoSavePhotoForm form, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> autosavePhoto(@ModelAttribute AutoSavePhotoForm form, @Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        if (!acl.isMember(findMember.getId(), form.getTeamId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+        }
 
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            ps.autoSave(form);
-                            return ResponseEntity.status(HttpStatus.OK).body("Autosave Photo Success");
-                        } catch (IOException e) {
-                            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        try {
+            ps.autoSave(form);
+            return ResponseEntity.status(HttpStatus.OK).body("Autosave Photo Success");
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * View photo (counted for trending once per member and day)
+     *
+     * @param photoDTO photo dto
+     * @param login    login member
+     * @return status code
+     */
+    @PostMapping("/view")
+    public ResponseEntity<?> viewPhoto(@RequestBody PhotoDTO photoDTO, @Login LoginMember login) {
+        Member findMember = login.getReference();
+
+        try {
+            Photo fp = ps.searchOne(photoDTO.getPhotoId());
+
+            if (fp != null) {
+                if (!isMember(findMember, fp)) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
                 }
+
+                trs.addView(findMember, fp);
+                return ResponseEntity.status(HttpStatus.OK).body("View Photo Success");
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Find gallery
      *
      * @param albumId albumId
+     * @param login   login member
      * @param request request
      * @return status code, gallery
      */
     @GetMapping("/gallery/albumId")
-    public ResponseEntity<?> gallery(@RequestParam("albumId") Long albumId, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> gallery(@RequestParam("albumId") Long albumId, @Login LoginMember login, HttpServletRequest request) {
+        Member findMember = login.getReference();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Album fa = as.searchOne(albumId);
 
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
+            if (fa != null) {
+                if (!acl.isMember(findMember.getId(), fa.getTeam().getId())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+                }
 
-                    if (findMember != null) {
-                        try {
-                            Album fa = as.searchOne(albumId);
+                String eTag = ETagUtil.of(cv.album(fa.getId()), "gallery", fa.getId(), findMember.getId());
 
-                            if (fa != null) {
-                                try {
-                                    List<Photo> photoList = ps.searchAll(fa);
-                                    List<Photo> likeList = ls.searchAll(findMember);
-                                    Map<String, List<PhotoDTO>> gallery = new HashMap<>();
+                if (ETagUtil.isNotModified(request, eTag)) {
+                    return ETagUtil.notModified(eTag);
+                }
 
-                                    for (Photo photo : photoList) {
-                                        LocalDate create = photo.getCreated().toLocalDate();
-                                        PhotoDTO dto = mapping(photo);
-                                        dto.setIsLiked(likeList.contains(photo));
+                try {
+                    List<PhotoDTO> photoList = ps.searchAllDTO(fa);
+                    LongHashSet likedIds = ls.searchLikedPhotoIds(findMember);
+                    Map<String, List<PhotoDTO>> gallery = new HashMap<>();
 
-                                        List<PhotoDTO> photoDTOList = gallery.getOrDefault(create.toString(), new ArrayList<>());
+                    for (PhotoDTO dto : photoList) {
+                        LocalDate create = LocalDateTime.parse(dto.getCreated()).toLocalDate();
+                        dto.setIsLiked(likedIds.contains(dto.getPhotoId()));
 
-                                        photoDTOList.add(dto);
+                        List<PhotoDTO> photoDTOList = gallery.getOrDefault(create.toString(), new ArrayList<>());
 
-                                        gallery.put(create.toString(), photoDTOList);
-                                    }
+                        photoDTOList.add(dto);
 
-                                    return ResponseEntity.status(HttpStatus.OK).body(gallery);
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
+                        gallery.put(create.toString(), photoDTOList);
                     }
+
+                    return ETagUtil.ok(eTag).body(gallery);
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
+    }
+
+    /**
+     * Find gallery (streamed row by row, for large albums)
+     *
+     * @param albumId albumId
+     * @param login   login member
+     * @param request request
+     * @return status code, date -> photoList
+     */
+    @GetMapping("/gallery/albumId/stream")
+    public ResponseEntity<?> streamGallery(@RequestParam("albumId") Long albumId, @Login LoginMember login, HttpServletRequest request) {
+        Member findMember = login.getReference();
+
+        try {
+            Album fa = as.searchOne(albumId);
+
+            if (!acl.isMember(findMember.getId(), fa.getTeam().getId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+            }
+
+            String eTag = ETagUtil.of(cv.album(fa.getId()), "gallery", fa.getId(), findMember.getId());
+
+            if (ETagUtil.isNotModified(request, eTag)) {
+                return ETagUtil.notModified(eTag);
+            }
+
+            /* rows come in created order, so each date is one run */
+            LongHashSet likedIds = ls.searchLikedPhotoIds(findMember);
+            StreamingResponseBody body = StreamingJson.<PhotoDTO>groups(objectMapper,
+                    dto -> LocalDateTime.parse(dto.getCreated()).toLocalDate().toString(),
+                    action -> ps.forEachDTO(fa, dto -> {
+                        dto.setIsLiked(likedIds.contains(dto.getPhotoId()));
+                        action.accept(dto);
+                    }));
+
+            return ETagUtil.ok(eTag).contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
     }
 
     /**
      * Find photoList
      *
      * @param albumId albumId
+     * @param login   login member
      * @param request request
      * @return status code, photoList
      */
     @GetMapping("/list/albumId")
-    public ResponseEntity<?> listPhoto(@RequestParam("albumId") Long albumId, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> listPhoto(@RequestParam("albumId") Long albumId, @Login LoginMember login, HttpServletRequest request) {
+        Member findMember = login.getReference();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Album fa = as.searchOne(albumId);
+
+            if (fa != null) {
+                if (!acl.isMember(findMember.getId(), fa.getTeam().getId())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+                }
+
+                String eTag = ETagUtil.of(cv.album(fa.getId()), "photo", fa.getId(), findMember.getId());
+
+                if (ETagUtil.isNotModified(request, eTag)) {
+                    return ETagUtil.notModified(eTag);
+                }
 
-            if (loginMember != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Album fa = as.searchOne(albumId);
-
-                            if (fa != null) {
-                                try {
-                                    List<Photo> photoList = ps.searchAll(fa);
-                                    List<Photo> likeList = ls.searchAll(findMember);
-                                    List<PhotoDTO> photoDTOList = new ArrayList<>();
-
-                                    for (Photo photo : photoList) {
-                                        PhotoDTO dto = mapping(photo);
-                                        dto.setIsLiked(likeList.contains(photo));
-                                        photoDTOList.add(dto);
-                                    }
-
-                                    return ResponseEntity.status(HttpStatus.OK).body(photoDTOList);
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
+                    List<PhotoDTO> photoDTOList = ps.searchAllDTO(fa);
+                    LongHashSet likedIds = ls.searchLikedPhotoIds(findMember);
+
+                    for (PhotoDTO dto : photoDTOList) {
+                        dto.setIsLiked(likedIds.contains(dto.getPhotoId()));
                     }
+
+                    return ETagUtil.ok(eTag).body(photoDTOList);
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
-     * Find photoTrashList
+     * Find photoList (streamed row by row, for large albums)
      *
      * @param albumId albumId
+     * @param login   login member
      * @param request request
+     * @return status code, photoList
+     */
+    @GetMapping("/list/albumId/stream")
+    public ResponseEntity<?> streamPhoto(@RequestParam("albumId") Long albumId, @Login LoginMember login, HttpServletRequest request) {
+        Member findMember = login.getReference();
+
+        try {
+            Album fa = as.searchOne(albumId);
+
+            if (!acl.isMember(findMember.getId(), fa.getTeam().getId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+            }
+
+            String eTag = ETagUtil.of(cv.album(fa.getId()), "photo", fa.getId(), findMember.getId());
+
+            if (ETagUtil.isNotModified(request, eTag)) {
+                return ETagUtil.notModified(eTag);
+            }
+
+            LongHashSet likedIds = ls.searchLikedPhotoIds(findMember);
+            StreamingResponseBody body = StreamingJson.<PhotoDTO>array(objectMapper, action -> ps.forEachDTO(fa, dto -> {
+                dto.setIsLiked(likedIds.contains(dto.getPhotoId()));
+                action.accept(dto);
+            }));
+
+            return ETagUtil.ok(eTag).contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Find trending photoList of team (hot this week)
+     *
+     * @param teamId teamId
+     * @param login  login member
+     * @return status code, photoList (trending order)
+     */
+    @GetMapping("/trending/teamId")
+    public ResponseEntity<?> listTrendingPhoto(@RequestParam("teamId") Long teamId, @Login LoginMember login) {
+        Member findMember = login.getReference();
+
+        try {
+            Team ft = ts.searchOne(teamId);
+
+            if (!acl.isMember(findMember.getId(), ft.getId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+            }
+
+            List<PhotoDTO> photoDTOList = trs.searchTrendingDTO(ft);
+            LongHashSet likedIds = ls.searchLikedPhotoIds(findMember);
+
+            for (PhotoDTO dto : photoDTOList) {
+                dto.setIsLiked(likedIds.contains(dto.getPhotoId()));
+            }
+
+            return ResponseEntity.status(HttpStatus.OK).body(photoDTOList);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Find memories of teams (photos of this day in past years)
+     *
+     * @param login login member
+     * @return status code, photoList (newest year first)
+     */
+    @GetMapping("/memories")
+    public ResponseEntity<?> listMemories(@Login LoginMember login) {
+        Member findMember = login.getReference();
+
+        try {
+            List<PhotoDTO> photoDTOList = mos.searchMemoryDTO(findMember);
+            LongHashSet likedIds = ls.searchLikedPhotoIds(findMember);
+
+            for (PhotoDTO dto : photoDTOList) {
+                dto.setIsLiked(likedIds.contains(dto.getPhotoId()));
+            }
+
+            return ResponseEntity.status(HttpStatus.OK).body(photoDTOList);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Find photo clusters of team on map
+     *
+     * @param teamId teamId
+     * @param south  south latitude
+     * @param west   west longitude
+     * @param north  north latitude
+     * @param east   east longitude
+     * @param zoom   map zoom
+     * @param login  login member
+     * @return status code, clusterList
+     */
+    @GetMapping("/map/teamId")
+    public ResponseEntity<?> mapPhoto(@RequestParam("teamId") Long teamId,
+                                      @RequestParam("south") double south, @RequestParam("west") double west,
+                                      @RequestParam("north") double north, @RequestParam("east") double east,
+                                      @RequestParam("zoom") int zoom, @Login LoginMember login) {
+        Member findMember = login.getReference();
+
+        try {
+            Team ft = ts.searchOne(teamId);
+
+            if (!acl.isMember(findMember.getId(), ft.getId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+            }
+
+            List<PhotoClusterDTO> clusterList = maps.searchClusters(ft, south, west, north, east, zoom);
+
+            return ResponseEntity.status(HttpStatus.OK).body(clusterList);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Find timeline histogram of team (fast scroll bar)
+     *
+     * @param teamId teamId
+     * @param unit   day, month, year
+     * @param login  login member
+     * @return status code, period and photo count list (newest first)
+     */
+    @GetMapping("/timeline/teamId")
+    public ResponseEntity<?> teamTimeline(@RequestParam("teamId") Long teamId,
+                                          @RequestParam(value = "unit", defaultValue = "month") String unit,
+                                          @Login LoginMember login) {
+        Member findMember = login.getReference();
+        TimelineUnit timelineUnit = TimelineUnit.parse(unit);
+
+        if (timelineUnit == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Wrong Unit");
+        }
+
+        try {
+            Team ft = ts.searchOne(teamId);
+
+            if (!acl.isMember(findMember.getId(), ft.getId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+            }
+
+            List<TimelineDTO> timeline = tls.searchHistogram(ft, timelineUnit);
+
+            return ResponseEntity.status(HttpStatus.OK).body(timeline);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Find timeline histogram of album (fast scroll bar)
+     *
+     * @param albumId albumId
+     * @param unit    day, month, year
+     * @param login   login member
+     * @return status code, period and photo count list (newest first)
+     */
+    @GetMapping("/timeline/albumId")
+    public ResponseEntity<?> albumTimeline(@RequestParam("albumId") Long albumId,
+                                           @RequestParam(value = "unit", defaultValue = "month") String unit,
+                                           @Login LoginMember login) {
+        Member findMember = login.getReference();
+        TimelineUnit timelineUnit = TimelineUnit.parse(unit);
+
+        if (timelineUnit == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Wrong Unit");
+        }
+
+        try {
+            Album fa = as.searchOne(albumId);
+
+            if (fa != null) {
+                if (!acl.isMember(findMember.getId(), fa.getTeam().getId())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+                }
+
+                List<TimelineDTO> timeline = tls.searchHistogram(fa, timelineUnit);
+
+                return ResponseEntity.status(HttpStatus.OK).body(timeline);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
+    }
+
+    /**
+     * Find photoTrashList
+     *
+     * @param albumId albumId
+     * @param login   login member
      * @return status code, photoTrashList
      */
     @GetMapping("/list/albumId/trash")
-    public ResponseEntity<?> listPhotoTrash(@RequestParam("albumId") Long albumId, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> listPhotoTrash(@RequestParam("albumId") Long albumId, @Login LoginMember login) {
+        Member findMember = login.getReference();
+
+        try {
+            Album fa = as.searchOne(albumId);
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+            if (fa != null) {
+                if (!acl.isMember(findMember.getId(), fa.getTeam().getId())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
+                }
 
-            if (loginMember != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Album fa = as.searchOne(albumId);
-
-                            if (fa != null) {
-                                try {
-                                    List<Photo> trashList = ps.searchTrashList(fa);
-                                    ps.trash(trashList);
-
-                                    List<Photo> trashListAfterClear = ps.searchTrashList(fa);
-                                    List<PhotoDTO> photoDTOList = new ArrayList<>();
-
-                                    for (Photo photo : trashListAfterClear) {
-                                        PhotoDTO dto = mapping(photo);
-                                        photoDTOList.add(dto);
-                                    }
-
-                                    return ResponseEntity.status(HttpStatus.OK).body(photoDTOList);
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
+                    List<Photo> trashList = ps.searchTrashList(fa);
+                    ps.trash(trashList);
+
+                    List<Photo> trashListAfterClear = ps.searchTrashList(fa);
+                    List<PhotoDTO> photoDTOList = new ArrayList<>();
+
+                    for (Photo photo : trashListAfterClear) {
+                        PhotoDTO dto = mapping(photo);
+                        photoDTOList.add(dto);
                     }
+
+                    return ResponseEntity.status(HttpStatus.OK).body(photoDTOList);
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
+    }
+
+    /**
+     * Check member is in team of photo
+     *
+     * @param member member
+     * @param photo  photo
+     * @return is team member?
+     */
+    private boolean isMember(Member member, Photo photo) {
+        Album album = as.searchOne(photo.getAlbum().getId());
+        return acl.isMember(member.getId(), album.getTeam().getId());
     }
 
     private PhotoDTO mapping(Photo photo) {
@@ -1,19 +1,21 @@
 package yuhan.hgcq.server.controller;
 
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.expression.AccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import yuhan.hgcq.server.auth.Login;
+import yuhan.hgcq.server.auth.LoginMember;
+import yuhan.hgcq.server.cache.TeamAcl;
 import yuhan.hgcq.server.domain.Member;
 import yuhan.hgcq.server.domain.Team;
 import yuhan.hgcq.server.domain.TeamMember;
 import yuhan.hgcq.server.dto.member.MemberDTO;
 import yuhan.hgcq.server.dto.photo.UploadTeamForm;
 import yuhan.hgcq.server.dto.team.*;
+import yuhan.hgcq.server.service.DeletionService;
 import yuhan.hgcq.server.service.MemberService;
 import yuhan.hgcq.server.service.TeamMemberService;
 import yuhan.hgcq.server.service.TeamService;
@@ -31,665 +33,460 @@ public class TeamController {
     private final MemberService ms;
     private final TeamService ts;
     private final TeamMemberService tms;
+    private final DeletionService ds;
+    private final TeamAcl acl;
 
     /**
      * Create Team
      *
      * @param createForm team create form
-     * @param request    request
+     * @param login      login member
      * @return status code
      */
     @PostMapping("/create")
-    public ResponseEntity<?> createTeam(@RequestBody TeamCreateForm createForm, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> createTeam(@RequestBody TeamCreateForm createForm, @Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        Team newTeam = new Team(findMember, createForm.getName());
+        try {
+            ts.createTeam(newTeam);
 
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        Team newTeam = new Team(findMember, createForm.getName());
-                        try {
-                            ts.createTeam(newTeam);
-
-                            List<Long> memberIdList = createForm.getMembers();
-                            List<Member> memberList = new ArrayList<>();
-
-                            for (Long memberId : memberIdList) {
-                                try {
-                                    Member fm = ms.searchOne(memberId);
+            List<Long> memberIdList = createForm.getMembers();
+            List<Member> memberList = new ArrayList<>();
 
-                                    if (fm != null) {
-                                        memberList.add(fm);
-                                    }
+            for (Long memberId : memberIdList) {
+                try {
+                    Member fm = ms.searchOne(memberId);
 
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
+                    if (fm != null) {
+                        memberList.add(fm);
+                    }
 
-                            for (Member member : memberList) {
-                                TeamMember newTeamMember = new TeamMember(newTeam, member);
-                                try {
-                                    tms.inviteMember(findMember, newTeamMember);
-                                } catch (AccessException e) {
-                                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+                }
+            }
 
-                            return ResponseEntity.status(HttpStatus.CREATED).body("Create Team Success");
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-                        }
-                    }
+            for (Member member : memberList) {
+                TeamMember newTeamMember = new TeamMember(newTeam, member);
+                try {
+                    tms.inviteMember(findMember, newTeamMember);
+                } catch (AccessException e) {
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
-        }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+            return ResponseEntity.status(HttpStatus.CREATED).body("Create Team Success");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     /**
      * invite member
      *
      * @param inviteForm invite form
-     * @param request    request
+     * @param login      login member
      * @return status code
      */
     @PostMapping("/invite")
-    public ResponseEntity<?> inviteMember(@RequestBody TeamInviteForm inviteForm, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> inviteMember(@RequestBody TeamInviteForm inviteForm, @Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        Long teamId = inviteForm.getTeamId();
+        try {
+            Team ft = ts.searchOne(teamId);
 
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
+            if (ft != null) {
+                List<Long> memberIdList = inviteForm.getMembers();
+                List<Member> memberList = new ArrayList<>();
 
-                    if (findMember != null) {
-                        Long teamId = inviteForm.getTeamId();
-                        try {
-                            Team ft = ts.searchOne(teamId);
-
-                            if (ft != null) {
-                                List<Long> memberIdList = inviteForm.getMembers();
-                                List<Member> memberList = new ArrayList<>();
-
-                                for (Long memberId : memberIdList) {
-                                    try {
-                                        Member fm = ms.searchOne(memberId);
-
-                                        if (fm != null) {
-                                            memberList.add(fm);
-                                        }
-                                    } catch (IllegalArgumentException e) {
-                                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                    }
-                                }
-
-                                for (Member member : memberList) {
-                                    TeamMember newTeamMember = new TeamMember(ft, member);
-                                    try {
-                                        tms.inviteMember(findMember, newTeamMember);
-                                    } catch (AccessException e) {
-                                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
-                                    } catch (IllegalArgumentException e) {
-                                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                    }
-                                }
-
-                                return ResponseEntity.status(HttpStatus.OK).body("Invite Member In Team Success");
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+                for (Long memberId : memberIdList) {
+                    try {
+                        Member fm = ms.searchOne(memberId);
+
+                        if (fm != null) {
+                            memberList.add(fm);
                         }
+                    } catch (IllegalArgumentException e) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+                    }
+                }
+
+                for (Member member : memberList) {
+                    TeamMember newTeamMember = new TeamMember(ft, member);
+                    try {
+                        tms.inviteMember(findMember, newTeamMember);
+                    } catch (AccessException e) {
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+                    } catch (IllegalArgumentException e) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                     }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
+
+                return ResponseEntity.status(HttpStatus.OK).body("Invite Member In Team Success");
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Expel member
      *
      * @param teamMemberDTO teamMember dto
-     * @param request       request
+     * @param login         login member
      * @return status code
      */
     @PostMapping("/expel")
-    public ResponseEntity<?> expelMember(@RequestBody TeamMemberDTO teamMemberDTO, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> expelMember(@RequestBody TeamMemberDTO teamMemberDTO, @Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Member fm = ms.searchOne(teamMemberDTO.getMemberId());
 
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
+            try {
+                Team ft = ts.searchOne(teamMemberDTO.getTeamId());
 
-                    if (findMember != null) {
-                        try {
-                            Member fm = ms.searchOne(teamMemberDTO.getMemberId());
+                if (fm != null && ft != null) {
+                    try {
+                        TeamMember ftm = tms.searchOne(ft, fm);
 
+                        if (ftm != null) {
                             try {
-                                Team ft = ts.searchOne(teamMemberDTO.getTeamId());
-
-                                if (fm != null && ft != null) {
-                                    try {
-                                        TeamMember ftm = tms.searchOne(ft, fm);
-
-                                        if (ftm != null) {
-                                            try {
-                                                tms.expelMember(findMember, ftm);
-                                                return ResponseEntity.status(HttpStatus.OK).body("Expel Member Success");
-                                            } catch (AccessException e) {
-                                                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
-                                            } catch (IllegalArgumentException e) {
-                                                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                            }
-                                        }
-                                    } catch (IllegalArgumentException e) {
-                                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                    }
-                                }
+                                tms.expelMember(findMember, ftm);
+                                return ResponseEntity.status(HttpStatus.OK).body("Expel Member Success");
+                            } catch (AccessException e) {
+                                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
                             } catch (IllegalArgumentException e) {
                                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                             }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                         }
+                    } catch (IllegalArgumentException e) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                     }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Update team
      *
      * @param updateForm team update form
-     * @param request    request
+     * @param login      login member
      * @return status code
      */
     @PostMapping("/update")
-    public ResponseEntity<?> updateTeam(@RequestBody TeamUpdateForm updateForm, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> updateTeam(@RequestBody TeamUpdateForm updateForm, @Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Team ft = ts.searchOne(updateForm.getTeamId());
 
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
+            if (ft != null) {
+                ft.changeName(updateForm.getName());
 
-                    if (findMember != null) {
-                        try {
-                            Team ft = ts.searchOne(updateForm.getTeamId());
-
-                            if (ft != null) {
-                                ft.changeName(updateForm.getName());
-
-                                try {
-                                    ts.updateTeam(findMember, ft);
-                                    return ResponseEntity.status(HttpStatus.OK).body("Update Team Success");
-                                } catch (AccessException e) {
-                                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
+                try {
+                    ts.updateTeam(findMember, ft);
+                    return ResponseEntity.status(HttpStatus.OK).body("Update Team Success");
+                } catch (AccessException e) {
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Delete team
      *
      * @param teamDTO team dto
-     * @param request request
+     * @param login   login member
      * @return status code
      */
     @PostMapping("/delete")
-    public ResponseEntity<?> deleteTeam(@RequestBody TeamDTO teamDTO, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> deleteTeam(@RequestBody TeamDTO teamDTO, @Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Team ft = ts.searchOne(teamDTO.getTeamId());
 
-            if (loginMember != null) {
+            if (ft != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Team ft = ts.searchOne(teamDTO.getTeamId());
-
-                            if (ft != null) {
-                                try {
-                                    ts.deleteTeam(findMember, ft);
-                                    return ResponseEntity.status(HttpStatus.OK).body("Delete Team Success");
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
+                    ts.deleteTeam(findMember, ft);
+                    return ResponseEntity.status(HttpStatus.OK).body("Delete Team Success");
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
+    }
+
+    /**
+     * Find progress of team deletion
+     *
+     * @param teamId teamId
+     * @param login  login member
+     * @return status code, deleted and total photo count
+     */
+    @GetMapping("/delete/progress")
+    public ResponseEntity<?> searchDeleteProgress(@RequestParam("teamId") Long teamId, @Login LoginMember login) {
+        Member findMember = login.getReference();
+
+        try {
+            DeletionDTO progress = ds.searchProgress(findMember, teamId);
+
+            return ResponseEntity.status(HttpStatus.OK).body(progress);
+        } catch (AccessException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
     }
 
     /**
      * Authorize admin
      *
      * @param teamMemberDTO teamMember dto
-     * @param request       request
+     * @param login         login member
      * @return status code
      */
     @PostMapping("/authorize")
-    public ResponseEntity<?> authorizeAdmin(@RequestBody TeamMemberDTO teamMemberDTO, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> authorizeAdmin(@RequestBody TeamMemberDTO teamMemberDTO, @Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Member fm = ms.searchOne(teamMemberDTO.getMemberId());
 
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
+            try {
+                Team ft = ts.searchOne(teamMemberDTO.getTeamId());
 
-                    if (findMember != null) {
-                        try {
-                            Member fm = ms.searchOne(teamMemberDTO.getMemberId());
+                if (fm != null && ft != null) {
+                    try {
+                        TeamMember ftm = tms.searchOne(ft, fm);
 
+                        if (ftm != null) {
                             try {
-                                Team ft = ts.searchOne(teamMemberDTO.getTeamId());
-
-                                if (fm != null && ft != null) {
-                                    try {
-                                        TeamMember ftm = tms.searchOne(ft, fm);
-
-                                        if (ftm != null) {
-                                            try {
-                                                tms.authorizeAdmin(findMember, ftm);
-                                                return ResponseEntity.status(HttpStatus.OK).body("Authorize Admin Success");
-                                            } catch (AccessException e) {
-                                                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
-                                            } catch (IllegalArgumentException e) {
-                                                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                            }
-                                        }
-                                    } catch (IllegalArgumentException e) {
-                                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                    }
-                                }
+                                tms.authorizeAdmin(findMember, ftm);
+                                return ResponseEntity.status(HttpStatus.OK).body("Authorize Admin Success");
+                            } catch (AccessException e) {
+                                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
                             } catch (IllegalArgumentException e) {
                                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                             }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                         }
+                    } catch (IllegalArgumentException e) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                     }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Revoke admin
      *
      * @param teamMemberDTO teamMember dto
-     * @param request       request
+     * @param login         login member
      * @return status code
      */
     @PostMapping("/revoke")
-    public ResponseEntity<?> revokeAdmin(@RequestBody TeamMemberDTO teamMemberDTO, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> revokeAdmin(@RequestBody TeamMemberDTO teamMemberDTO, @Login LoginMember login) {
+        Member findMember = login.getMember();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Member fm = ms.searchOne(teamMemberDTO.getMemberId());
+            try {
+                Team ft = ts.searchOne(teamMemberDTO.getTeamId());
 
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
+                if (fm != null && ft != null) {
+                    try {
+                        TeamMember ftm = tms.searchOne(ft, fm);
 
-                    if (findMember != null) {
-                        try {
-                            Member fm = ms.searchOne(teamMemberDTO.getMemberId());
+                        if (ftm != null) {
                             try {
-                                Team ft = ts.searchOne(teamMemberDTO.getTeamId());
-
-                                if (fm != null && ft != null) {
-                                    try {
-                                        TeamMember ftm = tms.searchOne(ft, fm);
-
-                                        if (ftm != null) {
-                                            try {
-                                                tms.revokeAdmin(findMember, ftm);
-                                                return ResponseEntity.status(HttpStatus.OK).body("Revoke Admin Success");
-                                            } catch (AccessException e) {
-                                                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
-                                            } catch (IllegalArgumentException e) {
-                                                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                            }
-                                        }
-                                    } catch (IllegalArgumentException e) {
-                                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                    }
-                                }
+                                tms.revokeAdmin(findMember, ftm);
+                                return ResponseEntity.status(HttpStatus.OK).body("Revoke Admin Success");
+                            } catch (AccessException e) {
+                                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
                             } catch (IllegalArgumentException e) {
                                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                             }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                         }
+                    } catch (IllegalArgumentException e) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                     }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Find teamList
      *
-     * @param request request
+     * @param login login member
      * @return status code, teamList
      */
     @GetMapping("/list")
-    public ResponseEntity<?> teamListByMember(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> teamListByMember(@Login LoginMember login) {
+        Member findMember = login.getReference();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
-
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            List<Team> teamList = tms.searchTeamList(findMember);
-                            List<TeamDTO> teamDTOList = new ArrayList<>();
+        try {
+            List<TeamDTO> teamDTOList = tms.searchTeamDTOList(findMember);
 
-                            for (Team team : teamList) {
-                                TeamDTO teamDTO = mapping(team);
-                                teamDTOList.add(teamDTO);
-                            }
-
-                            return ResponseEntity.status(HttpStatus.OK).body(teamDTOList);
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                }
-            }
+            return ResponseEntity.status(HttpStatus.OK).body(teamDTOList);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
-
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
     }
 
     /**
      * Find teamList by name
      *
-     * @param name    team name
-     * @param request request
+     * @param name  team name
+     * @param login login member
      * @return status code, teamList
      */
     @GetMapping("/list/name")
-    public ResponseEntity<?> searchTeamByTeamName(@RequestParam("name") String name, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
-
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            List<Team> teamList = tms.searchTeamListByName(findMember, name);
-                            List<TeamDTO> teamDTOList = new ArrayList<>();
+    public ResponseEntity<?> searchTeamByTeamName(@RequestParam("name") String name, @Login LoginMember login) {
+        Member findMember = login.getReference();
 
-                            for (Team team : teamList) {
-                                TeamDTO teamDTO = mapping(team);
-                                teamDTOList.add(teamDTO);
-                            }
+        try {
+            List<TeamDTO> teamDTOList = tms.searchTeamDTOListByName(findMember, name);
 
-                            return ResponseEntity.status(HttpStatus.OK).body(teamDTOList);
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                }
-            }
+            return ResponseEntity.status(HttpStatus.OK).body(teamDTOList);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
-
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
     }
 
     /**
      * Find memberList
      *
-     * @param teamId  teamId
-     * @param request request
+     * @param teamId teamId
+     * @param login  login member
      * @return status code, memberList
      */
     @GetMapping("/memberlist/teamId")
-    public ResponseEntity<?> memberListByTeam(@RequestParam("teamId") Long teamId, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> memberListByTeam(@RequestParam("teamId") Long teamId, @Login LoginMember login) {
+        Member findMember = login.getReference();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Team ft = ts.searchOne(teamId);
 
-            if (loginMember != null) {
+            if (ft != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
+                    if (acl.isMember(findMember.getId(), ft.getId())) {
                         try {
-                            Team ft = ts.searchOne(teamId);
-
-                            if (ft != null) {
-                                Member owner = ft.getOwner();
-                                try {
-                                    List<Team> teamList = tms.searchTeamList(findMember);
-
-                                    if (teamList.contains(ft)) {
-                                        try {
-                                            List<Member> memberList = tms.searchMemberList(ft);
-                                            try {
-                                                List<Member> adminList = tms.searchAdminList(ft);
-                                                List<MemberInTeamDTO> memberDTOList = new ArrayList<>();
-
-                                                for (Member member : memberList) {
-                                                    MemberInTeamDTO memberDTO = mapping(member);
-
-                                                    if (owner.equals(member)) {
-                                                        memberDTO.setIsOwner(true);
-                                                    } else {
-                                                        memberDTO.setIsOwner(false);
-                                                    }
-
-                                                    if (adminList.contains(member)) {
-                                                        memberDTO.setIsAdmin(true);
-                                                    } else {
-                                                        memberDTO.setIsAdmin(false);
-                                                    }
-
-                                                    memberDTOList.add(memberDTO);
-                                                }
-
-                                                return ResponseEntity.status(HttpStatus.OK).body(memberDTOList);
-                                            } catch (IllegalArgumentException e) {
-                                                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                            }
-                                        } catch (IllegalArgumentException e) {
-                                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                        }
-                                    }
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
+                            List<MemberInTeamDTO> memberDTOList = tms.searchMemberDTOList(ft);
+
+                            return ResponseEntity.status(HttpStatus.OK).body(memberDTOList);
                         } catch (IllegalArgumentException e) {
                             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                         }
+                    } else {
+                        return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not Team Member");
                     }
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Find adminList
      *
-     * @param teamId  teamId
-     * @param request request
+     * @param teamId teamId
+     * @param login  login member
      * @return status code, adminList
      */
     @GetMapping("/adminlist/teamId")
-    public ResponseEntity<?> adminListByTeam(@RequestParam("teamId") Long teamId, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
+    public ResponseEntity<?> adminListByTeam(@RequestParam("teamId") Long teamId, @Login LoginMember login) {
+        Member findMember = login.getReference();
 
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
+        try {
+            Team ft = ts.searchOne(teamId);
 
-            if (loginMember != null) {
+            if (ft != null) {
                 try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            Team ft = ts.searchOne(teamId);
-
-                            if (ft != null) {
-                                try {
-                                    List<Member> adminList = tms.searchAdminList(ft);
-                                    List<Long> memberDTOList = new ArrayList<>();
+                    List<Member> adminList = tms.searchAdminList(ft);
+                    List<Long> memberDTOList = new ArrayList<>();
 
-                                    for (Member member : adminList) {
-                                        memberDTOList.add(member.getId());
-                                    }
-
-                                    return ResponseEntity.status(HttpStatus.OK).body(memberDTOList);
-                                } catch (IllegalArgumentException e) {
-                                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                                }
-                            }
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
+                    for (Member member : adminList) {
+                        memberDTOList.add(member.getId());
                     }
+
+                    return ResponseEntity.status(HttpStatus.OK).body(memberDTOList);
                 } catch (IllegalArgumentException e) {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
                 }
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not Found");
     }
 
     /**
      * Upload team image
      *
-     * @param form    team image form
-     * @param request request
+     * @param form  team image form
+     * @param login login member
      * @return status code
      */
     @PostMapping("/upload")
-    public ResponseEntity<?> upload(@ModelAttribute UploadTeamForm form, HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-
-        if (session != null) {
-            MemberDTO loginMember = (MemberDTO) session.getAttribute("member");
-
-            if (loginMember != null) {
-                try {
-                    Member findMember = ms.searchOne(loginMember.getMemberId());
-
-                    if (findMember != null) {
-                        try {
-                            ts.uploadTeamImage(findMember, form);
-                            Team ft = ts.searchOne(form.getTeamId());
-                            String path = ft.getImage();
-                            return ResponseEntity.status(HttpStatus.OK).body(path);
-                        } catch (AccessException e) {
-                            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
-                        } catch (IOException e) {
-                            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
-                        } catch (IllegalArgumentException e) {
-                            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                        }
-                    }
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-                }
-            }
+    public ResponseEntity<?> upload(@ModelAttribute UploadTeamForm form, @Login LoginMember login) {
+        Member findMember = login.getMember();
+
+        try {
+            ts.uploadTeamImage(findMember, form);
+            Team ft = ts.searchOne(form.getTeamId());
+            String path = ft.getImage();
+            return ResponseEntity.status(HttpStatus.OK).body(path);
+        } catch (AccessException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
-
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not Login");
-    }
-
-    private TeamDTO mapping(Team team) {
-        TeamDTO teamDTO = new TeamDTO();
-        teamDTO.setTeamId(team.getId());
-        teamDTO.setName(team.getName());
-        teamDTO.setOwner(team.getOwner().getName());
-        teamDTO.setImage(team.getImage());
-        return teamDTO;
-    }
-
-    private MemberInTeamDTO mapping(Member member) {
-        MemberInTeamDTO memberDTO = new MemberInTeamDTO();
-        memberDTO.setMemberId(member.getId());
-        memberDTO.setName(member.getName());
-        return memberDTO;
     }
 }
@@ -4,14 +4,20 @@ import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "idx_album_team_id_is_deleted_like_count", columnList = "team_id, is_deleted, like_count"))
 public class Album {
     @Id @GeneratedValue
     @Column(name = "album_id")
@@ -21,6 +27,23 @@ public class Album {
     private Boolean isDeleted;
     private LocalDate deletedAt;
 
+    /* written by LikeCounter only */
+    @Column(insertable = false, updatable = false)
+    private Long likeCount;
+
+    /* written by AlbumStatsRepository only */
+    @Column(insertable = false, updatable = false)
+    private Long photoCount;
+
+    @Column(insertable = false, updatable = false)
+    private Long coverPhotoId;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime firstCreated;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastCreated;
+
     @OneToMany(mappedBy = "album", cascade = CascadeType.ALL)
     private List<Chat> chats = new ArrayList<>();
 
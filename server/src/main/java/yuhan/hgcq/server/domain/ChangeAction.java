@@ -0,0 +1,5 @@
+package yuhan.hgcq.server.domain;
+
+public enum ChangeAction {
+    CREATE, UPDATE, DELETE
+}
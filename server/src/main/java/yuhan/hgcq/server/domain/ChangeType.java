@@ -0,0 +1,5 @@
+package yuhan.hgcq.server.domain;
+
+public enum ChangeType {
+    ALBUM, PHOTO, LIKED, TEAM_MEMBER
+}
@@ -11,6 +11,7 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_chat_album_id_time", columnList = "album_id, time"))
 public class Chat {
     @Id @GeneratedValue
     @Column(name = "chat_id")
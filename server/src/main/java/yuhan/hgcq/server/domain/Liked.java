@@ -9,6 +9,10 @@ import lombok.ToString;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        @Index(name = "idx_liked_member_id_is_liked", columnList = "member_id, is_liked"),
+        @Index(name = "idx_liked_photo_id_is_liked", columnList = "photo_id, is_liked")
+})
 public class Liked {
     @Id
     @Column(name = "member_id")
@@ -0,0 +1,36 @@
+package yuhan.hgcq.server.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import yuhan.hgcq.server.domain.id.NameGramId;
+
+/**
+ * Inverted index of name (unigram, bigram -> id)
+ * <p>
+ * Rows are written by NameIndexer on member, team and album flush,
+ * and only read in name search subqueries.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@IdClass(NameGramId.class)
+@Table(name = "name_gram")
+public class NameGram {
+    public static final String MEMBER = "member";
+    public static final String TEAM = "team";
+    public static final String ALBUM = "album";
+
+    @Id
+    @Column(length = 10)
+    private String kind;
+
+    @Id
+    @Column(length = 2)
+    private String gram;
+
+    @Id
+    @Column(name = "target_id")
+    private Long targetId;
+}
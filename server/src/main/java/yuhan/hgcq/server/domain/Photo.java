@@ -5,12 +5,19 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import yuhan.hgcq.server.util.GeoHash;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        @Index(name = "idx_photo_album_id_is_deleted_created", columnList = "album_id, is_deleted, created"),
+        @Index(name = "idx_photo_is_deleted_deleted", columnList = "is_deleted, deleted"),
+        @Index(name = "idx_photo_album_id_created_md", columnList = "album_id, created_md, is_deleted"),
+        @Index(name = "idx_photo_album_id_is_deleted_geohash", columnList = "album_id, is_deleted, geohash, latitude, longitude")
+})
 public class Photo {
     @Id @GeneratedValue
     @Column(name = "photo_id")
@@ -22,10 +29,25 @@ public class Photo {
     private String path;
 
     private String region;
+    private Double latitude;
+    private Double longitude;
+
+    /* geohash of latitude / longitude, map cells are its prefixes (compared by byte) */
+    @Column(columnDefinition = "varchar(" + GeoHash.MAX_PRECISION + ") character set ascii collate ascii_bin")
+    private String geohash;
+
     private LocalDateTime created;
     private Boolean isDeleted;
     private LocalDateTime deleted;
 
+    /* generated by MySQL (month * 100 + day of created), key of "on this day" memories */
+    @Column(insertable = false, updatable = false)
+    private Integer createdMd;
+
+    /* written by LikeCounter only */
+    @Column(insertable = false, updatable = false)
+    private Long likeCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "album_id")
     private Album album;
@@ -50,6 +72,25 @@ public class Photo {
         this.isDeleted = false;
     }
 
+    /**
+     * Set location of photo
+     * <p>
+     * Coordinates come from client EXIF, so out of range values are kept as unknown
+     * instead of failing the upload.
+     *
+     * @param latitude  latitude (null or out of range = unknown)
+     * @param longitude longitude (null or out of range = unknown)
+     */
+    public void locate(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null || !GeoHash.isValid(latitude, longitude)) {
+            return;
+        }
+
+        this.geohash = GeoHash.encode(latitude, longitude, GeoHash.MAX_PRECISION);
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
     public void delete() {
         this.isDeleted = true;
         deleted = LocalDateTime.now();
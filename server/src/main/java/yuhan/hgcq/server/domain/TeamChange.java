@@ -0,0 +1,74 @@
+package yuhan.hgcq.server.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import yuhan.hgcq.server.domain.id.TeamChangeId;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change feed entry of team (seq increases in commit order per team)
+ * <p>
+ * type and action are varchar columns (V3), pinned so Hibernate doesn't expect a MySQL enum.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@IdClass(TeamChangeId.class)
+@Table(name = "team_change", indexes = @Index(name = "idx_team_change_created", columnList = "created"))
+public class TeamChange {
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+
+    @Id
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 20)
+    private ChangeType type;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 20)
+    private ChangeAction action;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(name = "member_id")
+    private Long memberId;
+
+    @Column(nullable = false)
+    private LocalDateTime created;
+
+    public TeamChange(Long teamId, Long seq, ChangeType type, ChangeAction action, Long targetId, Long memberId) {
+        if (teamId == null || seq == null || type == null || action == null || targetId == null) {
+            throw new IllegalArgumentException("TeamChange is wrong");
+        }
+        this.teamId = teamId;
+        this.seq = seq;
+        this.type = type;
+        this.action = action;
+        this.targetId = targetId;
+        this.memberId = memberId;
+        this.created = LocalDateTime.now();
+    }
+
+    @Override
+    public String toString() {
+        return "TeamChange{" +
+                "teamId=" + teamId +
+                ", seq=" + seq +
+                ", type=" + type +
+                ", action=" + action +
+                ", targetId=" + targetId +
+                ", memberId=" + memberId +
+                '}';
+    }
+}
@@ -5,12 +5,17 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import yuhan.hgcq.server.domain.id.TeamMemberId;
 
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @IdClass(TeamMemberId.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "team_member", indexes = @Index(name = "idx_team_member_team_id_is_admin", columnList = "team_id, is_admin"))
 public class TeamMember {
     @Id
     @Column(name = "team_id")
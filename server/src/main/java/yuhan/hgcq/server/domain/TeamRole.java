@@ -0,0 +1,14 @@
+package yuhan.hgcq.server.domain;
+
+public enum TeamRole {
+    MEMBER, ADMIN, OWNER;
+
+    /**
+     * Owner is always admin
+     *
+     * @return is admin?
+     */
+    public boolean isAdmin() {
+        return this != MEMBER;
+    }
+}
@@ -0,0 +1,29 @@
+package yuhan.hgcq.server.domain;
+
+import java.util.Locale;
+
+/**
+ * Timeline histogram period
+ */
+public enum TimelineUnit {
+    DAY, MONTH, YEAR;
+
+    /**
+     * Parse request parameter (day, month, year in any case)
+     *
+     * @param value parameter
+     * @return unit (null = unknown)
+     */
+    public static TimelineUnit parse(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "day" -> DAY;
+            case "month" -> MONTH;
+            case "year" -> YEAR;
+            default -> null;
+        };
+    }
+}
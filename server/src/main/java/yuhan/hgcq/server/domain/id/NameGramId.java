@@ -0,0 +1,27 @@
+package yuhan.hgcq.server.domain.id;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Getter @Setter
+public class NameGramId implements Serializable {
+    private String kind;
+    private String gram;
+    private Long targetId;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NameGramId that = (NameGramId) o;
+        return Objects.equals(kind, that.kind) && Objects.equals(gram, that.gram) && Objects.equals(targetId, that.targetId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, gram, targetId);
+    }
+}
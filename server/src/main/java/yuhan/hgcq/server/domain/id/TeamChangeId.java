@@ -0,0 +1,26 @@
+package yuhan.hgcq.server.domain.id;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Getter @Setter
+public class TeamChangeId implements Serializable {
+    private Long teamId;
+    private Long seq;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TeamChangeId that = (TeamChangeId) o;
+        return Objects.equals(teamId, that.teamId) && Objects.equals(seq, that.seq);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(teamId, seq);
+    }
+}
@@ -3,6 +3,7 @@ package yuhan.hgcq.server.dto.album;
 import lombok.*;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
 @Getter @Setter
 @NoArgsConstructor
@@ -12,4 +13,33 @@ public class AlbumDTO implements Serializable {
     private Long albumId;
     private Long teamId;
     private String name;
+    private Long likeCount;
+    private Long photoCount;
+    private Long coverPhotoId;
+    private String coverPath;
+    private String firstCreated;
+    private String lastCreated;
+    private String lastChatTime;
+
+    public AlbumDTO(Long albumId, Long teamId, String name) {
+        this.albumId = albumId;
+        this.teamId = teamId;
+        this.name = name;
+    }
+
+    public AlbumDTO(Long albumId, Long teamId, String name, Long likeCount) {
+        this(albumId, teamId, name);
+        this.likeCount = likeCount;
+    }
+
+    public AlbumDTO(Long albumId, Long teamId, String name, Long photoCount, Long coverPhotoId, String coverPath,
+                    LocalDateTime firstCreated, LocalDateTime lastCreated, LocalDateTime lastChatTime) {
+        this(albumId, teamId, name);
+        this.photoCount = photoCount;
+        this.coverPhotoId = coverPhotoId;
+        this.coverPath = coverPath;
+        this.firstCreated = firstCreated == null ? null : firstCreated.toString();
+        this.lastCreated = lastCreated == null ? null : lastCreated.toString();
+        this.lastChatTime = lastChatTime == null ? null : lastChatTime.toString();
+    }
 }
@@ -0,0 +1,19 @@
+package yuhan.hgcq.server.dto.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Several reads of one screen in one round trip
+ */
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchForm implements Serializable {
+    private List<BatchRequest> requests;
+}
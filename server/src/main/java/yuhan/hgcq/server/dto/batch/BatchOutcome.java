@@ -0,0 +1,26 @@
+package yuhan.hgcq.server.dto.batch;
+
+import lombok.*;
+
+/**
+ * Outcome of sub request in BatchService (BatchController maps the kind to a status code)
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString
+public class BatchOutcome {
+    public enum Kind {
+        OK, WRONG_REQUEST, NOT_FOUND, NOT_MEMBER
+    }
+
+    private final Kind kind;
+    private final Object body;
+
+    public static BatchOutcome ok(Object body) {
+        return new BatchOutcome(Kind.OK, body);
+    }
+
+    public static BatchOutcome fail(Kind kind, String message) {
+        return new BatchOutcome(kind, message);
+    }
+}
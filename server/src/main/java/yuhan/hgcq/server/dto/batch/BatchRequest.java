@@ -0,0 +1,23 @@
+package yuhan.hgcq.server.dto.batch;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Sub request of batch
+ * <p>
+ * id : key of the result in response
+ * type : albums (teamId), photos (albumIds), liked, members (teamId)
+ */
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BatchRequest implements Serializable {
+    private String id;
+    private String type;
+    private Long teamId;
+    private List<Long> albumIds;
+}
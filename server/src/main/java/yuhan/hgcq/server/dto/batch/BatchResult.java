@@ -0,0 +1,17 @@
+package yuhan.hgcq.server.dto.batch;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Result of sub request (status code as the single endpoint would answer, body or error message)
+ */
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BatchResult implements Serializable {
+    private Integer status;
+    private Object body;
+}
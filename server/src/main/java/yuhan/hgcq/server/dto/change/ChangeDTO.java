@@ -0,0 +1,17 @@
+package yuhan.hgcq.server.dto.change;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ChangeDTO implements Serializable {
+    private Long seq;
+    private String type;
+    private String action;
+    private Long targetId;
+    private Long memberId;
+}
@@ -0,0 +1,24 @@
+package yuhan.hgcq.server.dto.change;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Changes after client seq
+ * <p>
+ * seq : next cursor of client
+ * reset : feed was compacted past client seq, reload everything then continue from seq
+ * hasNext : more changes after seq
+ */
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Changes implements Serializable {
+    private Long teamId;
+    private Long seq;
+    private Boolean reset;
+    private Boolean hasNext;
+    private List<ChangeDTO> changeList;
+}
@@ -3,6 +3,7 @@ package yuhan.hgcq.server.dto.chat;
 import lombok.*;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
 @Getter @Setter
 @NoArgsConstructor
@@ -15,4 +16,13 @@ public class ChatDTO implements Serializable {
     private String writerName;
     private String message;
     private String time;
+
+    public ChatDTO(Long chatId, Long albumId, Long writerId, String writerName, String message, LocalDateTime time) {
+        this.chatId = chatId;
+        this.albumId = albumId;
+        this.writerId = writerId;
+        this.writerName = writerName;
+        this.message = message;
+        this.time = time.toString();
+    }
 }
@@ -15,4 +15,14 @@ public class AutoSavePhotoForm implements Serializable {
     private List<MultipartFile> files;
     private List<String> creates;
     private List<String> regions;
+    private List<Double> latitudes;
+    private List<Double> longitudes;
+
+    public Double getLatitude(int index) {
+        return latitudes == null || index >= latitudes.size() ? null : latitudes.get(index);
+    }
+
+    public Double getLongitude(int index) {
+        return longitudes == null || index >= longitudes.size() ? null : longitudes.get(index);
+    }
 }
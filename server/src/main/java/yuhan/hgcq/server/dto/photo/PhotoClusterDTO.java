@@ -0,0 +1,17 @@
+package yuhan.hgcq.server.dto.photo;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class PhotoClusterDTO implements Serializable {
+    private String cell;
+    private Long count;
+    private Double latitude;
+    private Double longitude;
+    private PhotoDTO photo;
+}
@@ -3,6 +3,7 @@ package yuhan.hgcq.server.dto.photo;
 import lombok.*;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
 @Getter @Setter
 @NoArgsConstructor
@@ -16,4 +17,15 @@ public class PhotoDTO implements Serializable {
     private String region;
     private String created;
     private Boolean isLiked;
+    private Long likeCount;
+
+    public PhotoDTO(Long photoId, Long albumId, String name, String path, String region, LocalDateTime created, Long likeCount) {
+        this.photoId = photoId;
+        this.albumId = albumId;
+        this.name = name;
+        this.path = path;
+        this.region = region;
+        this.created = created.toString();
+        this.likeCount = likeCount;
+    }
 }
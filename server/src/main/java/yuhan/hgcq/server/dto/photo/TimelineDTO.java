@@ -0,0 +1,14 @@
+package yuhan.hgcq.server.dto.photo;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TimelineDTO implements Serializable {
+    private String period;
+    private Long count;
+}
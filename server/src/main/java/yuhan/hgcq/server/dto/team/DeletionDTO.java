@@ -0,0 +1,22 @@
+package yuhan.hgcq.server.dto.team;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Progress of background deletion
+ * <p>
+ * status : RUNNING, DONE
+ */
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class DeletionDTO implements Serializable {
+    private String kind;
+    private Long targetId;
+    private String status;
+    private Long deletedPhotos;
+    private Long totalPhotos;
+}
@@ -0,0 +1,15 @@
+package yuhan.hgcq.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Album of team is created, modified or deleted
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class AlbumChangedEvent {
+    private final Long teamId;
+}
@@ -0,0 +1,15 @@
+package yuhan.hgcq.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Chat of album is created or deleted
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ChatChangedEvent {
+    private final Long albumId;
+}
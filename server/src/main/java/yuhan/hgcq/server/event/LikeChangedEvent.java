@@ -0,0 +1,15 @@
+package yuhan.hgcq.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Like of a photo in album is created or canceled
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class LikeChangedEvent {
+    private final Long albumId;
+}
@@ -0,0 +1,15 @@
+package yuhan.hgcq.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Member profile is updated or member is deleted
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class MemberChangedEvent {
+    private final Long memberId;
+}
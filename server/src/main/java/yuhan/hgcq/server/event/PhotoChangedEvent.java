@@ -0,0 +1,15 @@
+package yuhan.hgcq.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Photo of album is changed (likes are LikeChangedEvent)
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class PhotoChangedEvent {
+    private final Long albumId;
+}
@@ -0,0 +1,19 @@
+package yuhan.hgcq.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Team membership or team information is changed
+ * (memberIds = members whose teamList is affected)
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class TeamChangedEvent {
+    private final Long teamId;
+    private final List<Long> memberIds;
+}
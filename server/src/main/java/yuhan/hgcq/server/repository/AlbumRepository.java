@@ -5,7 +5,10 @@ import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.NameGram;
 import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.dto.album.AlbumDTO;
+import yuhan.hgcq.server.search.NameGrams;
 
 import java.util.HashSet;
 import java.util.List;
@@ -54,8 +57,28 @@ public class AlbumRepository {
                 .getResultList();
     }
 
+    public List<AlbumDTO> findAllDTO(Team team) {
+        return em.createQuery("select new yuhan.hgcq.server.dto.album.AlbumDTO(a.id, a.team.id, a.name," +
+                        " a.photoCount, a.coverPhotoId, c.path, a.firstCreated, a.lastCreated," +
+                        " (select max(ch.time) from Chat ch where ch.album = a))" +
+                        " from Album a left join Photo c on c.id = a.coverPhotoId" +
+                        " where a.team = :team and a.isDeleted = false order by a.name", AlbumDTO.class)
+                .setParameter("team", team)
+                .getResultList();
+    }
+
+    public List<AlbumDTO> findPopularDTO(Team team) {
+        return em.createQuery("select new yuhan.hgcq.server.dto.album.AlbumDTO(a.id, a.team.id, a.name, a.likeCount)" +
+                        " from Album a where a.team = :team and a.isDeleted = false order by a.likeCount desc, a.name", AlbumDTO.class)
+                .setParameter("team", team)
+                .getResultList();
+    }
+
     public List<Album> findByName(Team team, String name) {
-        return em.createQuery("select a from Album a where a.team = :team and a.isDeleted = false and a.name like :name order by a.name", Album.class)
+        List<String> grams = NameGrams.queryGrams(name);
+
+        return NameGrams.bind(em.createQuery("select a from Album a where a.team = :team and a.isDeleted = false and a.name like :name" +
+                        NameGrams.filter("a.id", grams) + " order by a.name", Album.class), NameGram.ALBUM, grams)
                 .setParameter("team", team)
                 .setParameter("name", "%" + name + "%")
                 .getResultList();
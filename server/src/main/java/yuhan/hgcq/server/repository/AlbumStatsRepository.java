@@ -0,0 +1,40 @@
+package yuhan.hgcq.server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Summary columns of album (photo count, cover photo, first / last capture time)
+ * <p>
+ * Plain JDBC on purpose : a Hibernate bulk update would evict the whole album second level cache.
+ * Callers evict the refreshed albums themselves.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AlbumStatsRepository {
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Recount summary of albums
+     * (count from timeline rollup, the rest from the (album, is_deleted, created) index)
+     *
+     * @param albumIds albumIds
+     */
+    public void refresh(Collection<Long> albumIds) {
+        if (albumIds.isEmpty()) {
+            return;
+        }
+
+        namedJdbcTemplate.update("update album a set" +
+                " a.photo_count = (select coalesce(sum(t.photo_count), 0) from photo_timeline t where t.album_id = a.album_id)," +
+                " a.first_created = (select min(p.created) from photo p where p.album_id = a.album_id and p.is_deleted = false)," +
+                " a.last_created = (select max(p.created) from photo p where p.album_id = a.album_id and p.is_deleted = false)," +
+                " a.cover_photo_id = (select p.photo_id from photo p where p.album_id = a.album_id and p.is_deleted = false" +
+                " order by p.created desc, p.photo_id desc limit 1)" +
+                " where a.album_id in (:albumIds) order by a.album_id", new MapSqlParameterSource("albumIds", albumIds));
+    }
+}
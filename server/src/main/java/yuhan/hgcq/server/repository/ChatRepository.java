@@ -2,12 +2,15 @@ package yuhan.hgcq.server.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import yuhan.hgcq.server.domain.Album;
 import yuhan.hgcq.server.domain.Chat;
 import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.dto.chat.ChatDTO;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -51,4 +54,43 @@ public class ChatRepository {
                 .setParameter("album", album)
                 .getResultList();
     }
+
+    /* chat lists showing the writer's name */
+    public List<Long> findAlbumIdsByWriter(Long memberId) {
+        return em.createQuery("select distinct c.album.id from Chat c where c.writer.id = :memberId", Long.class)
+                .setParameter("memberId", memberId)
+                .getResultList();
+    }
+
+    public List<ChatDTO> findAllDTO(Album album) {
+        return em.createQuery("select new yuhan.hgcq.server.dto.chat.ChatDTO(c.id, c.album.id, w.id, w.name, c.message, c.time)" +
+                        " from Chat c join c.writer w where c.album = :album order by c.time", ChatDTO.class)
+                .setParameter("album", album)
+                .getResultList();
+    }
+
+    /**
+     * Find next page of chat dto list in time order (keyset, every page is one short query)
+     *
+     * @param album     album
+     * @param afterTime time of last row of previous page (null = first page)
+     * @param afterId   chatId of last row of previous page
+     * @param size      page size
+     * @return chat dto list
+     */
+    public List<ChatDTO> findDTOPage(Album album, LocalDateTime afterTime, Long afterId, int size) {
+        String after = afterTime == null ? "" : " and (c.time > :time or (c.time = :time and c.id > :id))";
+
+        TypedQuery<ChatDTO> query = em.createQuery("select new yuhan.hgcq.server.dto.chat.ChatDTO(c.id, c.album.id, w.id, w.name, c.message, c.time)" +
+                        " from Chat c join c.writer w where c.album = :album" + after +
+                        " order by c.time, c.id", ChatDTO.class)
+                .setParameter("album", album)
+                .setMaxResults(size);
+
+        if (afterTime != null) {
+            query.setParameter("time", afterTime)
+                    .setParameter("id", afterId);
+        }
+        return query.getResultList();
+    }
 }
@@ -0,0 +1,175 @@
+package yuhan.hgcq.server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.domain.NameGram;
+import yuhan.hgcq.server.dto.team.DeletionDTO;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deletion jobs (deletion_job) and the chunked deletes they run
+ * <p>
+ * Plain JDBC : every chunk is its own short transaction, and photo rows never enter a persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DeletionRepository {
+    public static final String TEAM = "team";
+    public static final String ALBUM = "album";
+
+    private static final String RUNNING = "RUNNING";
+    private static final String DONE = "DONE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Queued deletion
+     */
+    public record Job(Long id, String kind, Long targetId) {
+    }
+
+    /**
+     * Queue deletion (ignored if already queued)
+     *
+     * @param kind     team, album
+     * @param targetId teamId, albumId
+     * @param memberId requester (null = system)
+     */
+    public void insert(String kind, Long targetId, Long memberId) {
+        String count = TEAM.equals(kind)
+                ? "select count(*) from photo p join album a on a.album_id = p.album_id where a.team_id = ?"
+                : "select count(*) from photo p where p.album_id = ?";
+        Long totalPhotos = jdbcTemplate.queryForObject(count, Long.class, targetId);
+
+        jdbcTemplate.update("insert ignore into deletion_job (kind, target_id, member_id, status, deleted_photos, total_photos, created, updated)" +
+                " values (?, ?, ?, ?, 0, ?, now(6), now(6))", kind, targetId, memberId, RUNNING, totalPhotos);
+    }
+
+    public List<Job> findRunning(int size) {
+        return jdbcTemplate.query("select deletion_job_id, kind, target_id from deletion_job" +
+                        " where status = ? order by deletion_job_id limit ?",
+                (rs, rowNum) -> new Job(rs.getLong("deletion_job_id"), rs.getString("kind"), rs.getLong("target_id")),
+                RUNNING, size);
+    }
+
+    /**
+     * Find progress of deletion requested by member
+     *
+     * @param kind     team, album
+     * @param targetId teamId, albumId
+     * @param memberId requester
+     * @return progress (null = no such deletion)
+     */
+    public DeletionDTO findDTO(String kind, Long targetId, Long memberId) {
+        try {
+            return jdbcTemplate.queryForObject("select kind, target_id, status, deleted_photos, total_photos from deletion_job" +
+                            " where kind = ? and target_id = ? and member_id = ?",
+                    (rs, rowNum) -> new DeletionDTO(rs.getString("kind"), rs.getLong("target_id"), rs.getString("status"),
+                            rs.getLong("deleted_photos"), rs.getLong("total_photos")),
+                    kind, targetId, memberId);
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Find targets still being deleted
+     *
+     * @param kind      team, album
+     * @param targetIds teamIds, albumIds
+     * @return queued targetIds
+     */
+    public Set<Long> findRunningTargetIds(String kind, Collection<Long> targetIds) {
+        if (targetIds.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource("kind", kind)
+                .addValue("status", RUNNING)
+                .addValue("targetIds", targetIds);
+
+        return new HashSet<>(namedJdbcTemplate.queryForList("select target_id from deletion_job" +
+                " where kind = :kind and target_id in (:targetIds) and status = :status", params, Long.class));
+    }
+
+    public List<Long> findAlbumIds(Long teamId) {
+        return jdbcTemplate.queryForList("select album_id from album where team_id = ? order by album_id", Long.class, teamId);
+    }
+
+    /**
+     * Find next chunk of photos in album
+     *
+     * @param albumId albumId
+     * @param size    chunk size
+     * @return photoId -> path
+     */
+    public Map<Long, String> findPhotoPaths(Long albumId, int size) {
+        Map<Long, String> paths = new LinkedHashMap<>();
+
+        jdbcTemplate.query("select photo_id, path from photo where album_id = ? order by photo_id limit ?",
+                rs -> {
+                    paths.put(rs.getLong("photo_id"), rs.getString("path"));
+                }, albumId, size);
+        return paths;
+    }
+
+    /**
+     * Delete chunk of photos with their likes and count progress
+     *
+     * @param jobId    jobId
+     * @param photoIds photoIds
+     */
+    @Transactional
+    public void deletePhotos(Long jobId, Collection<Long> photoIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("photoIds", photoIds);
+
+        namedJdbcTemplate.update("delete from liked where photo_id in (:photoIds)", params);
+        int deleted = namedJdbcTemplate.update("delete from photo where photo_id in (:photoIds)", params);
+
+        jdbcTemplate.update("update deletion_job set deleted_photos = deleted_photos + ?, updated = now(6)" +
+                " where deletion_job_id = ?", deleted, jobId);
+    }
+
+    public int deleteChats(Long albumId, int size) {
+        return jdbcTemplate.update("delete from chat where album_id = ? limit ?", albumId, size);
+    }
+
+    /**
+     * Delete emptied album (timeline rows go with it)
+     *
+     * @param albumId albumId
+     */
+    @Transactional
+    public void deleteAlbum(Long albumId) {
+        jdbcTemplate.update("delete from name_gram where kind = ? and target_id = ?", NameGram.ALBUM, albumId);
+        jdbcTemplate.update("delete from album where album_id = ?", albumId);
+    }
+
+    /**
+     * Delete emptied team
+     *
+     * @param teamId teamId
+     */
+    @Transactional
+    public void deleteTeam(Long teamId) {
+        jdbcTemplate.update("delete from team_member where team_id = ?", teamId);
+        jdbcTemplate.update("delete from name_gram where kind = ? and target_id = ?", NameGram.TEAM, teamId);
+        jdbcTemplate.update("delete from team where team_id = ?", teamId);
+    }
+
+    public void finish(Long jobId) {
+        jdbcTemplate.update("update deletion_job set status = ?, updated = now(6) where deletion_job_id = ?", DONE, jobId);
+    }
+}
@@ -7,6 +7,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import yuhan.hgcq.server.domain.Follow;
 import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.NameGram;
+import yuhan.hgcq.server.dto.member.MemberDTO;
+import yuhan.hgcq.server.search.NameGrams;
 
 import java.util.List;
 
@@ -21,7 +24,7 @@ public class FollowRepository {
     }
 
     public void delete(Follow follow) {
-        em.remove(follow);
+        em.remove(em.contains(follow) ? follow : em.merge(follow));
     }
 
     public Follow findOne(Member member, Member follow) {
@@ -36,7 +39,10 @@ public class FollowRepository {
     }
 
     public List<Member> findFollowingListByName(Member member, String name) {
-        return em.createQuery("select f.follow from Follow f where f.member = :member and f.follow.name LIKE :name order by f.follow.name", Member.class)
+        List<String> grams = NameGrams.queryGrams(name);
+
+        return NameGrams.bind(em.createQuery("select f.follow from Follow f where f.member = :member and f.follow.name like :name" +
+                        NameGrams.filter("f.follow.id", grams) + " order by f.follow.name", Member.class), NameGram.MEMBER, grams)
                 .setParameter("member", member)
                 .setParameter("name", "%" + name + "%")
                 .getResultList();
@@ -48,6 +54,13 @@ public class FollowRepository {
                 .getResultList();
     }
 
+    public List<MemberDTO> findFollowingDTOList(Member member) {
+        return em.createQuery("select new yuhan.hgcq.server.dto.member.MemberDTO(m.id, m.name, m.email, m.image, m.search)" +
+                        " from Follow f join f.follow m where f.member = :member order by m.name", MemberDTO.class)
+                .setParameter("member", member)
+                .getResultList();
+    }
+
     public List<Member> findFollowerList(Member member) {
         return em.createQuery("select f.member from Follow f where f.follow = :member order by f.member.name", Member.class)
                 .setParameter("member", member)
@@ -55,9 +68,30 @@ public class FollowRepository {
     }
 
     public List<Member> findFollowerListByName(Member member, String name) {
-        return em.createQuery("select f.member from Follow f where f.follow = :member and f.member.name like :name order by f.member.name", Member.class)
+        List<String> grams = NameGrams.queryGrams(name);
+
+        return NameGrams.bind(em.createQuery("select f.member from Follow f where f.follow = :member and f.member.name like :name" +
+                        NameGrams.filter("f.member.id", grams) + " order by f.member.name", Member.class), NameGram.MEMBER, grams)
                 .setParameter("member", member)
                 .setParameter("name", "%" + name + "%")
                 .getResultList();
     }
+
+    public List<MemberDTO> findFollowerDTOList(Member member) {
+        return em.createQuery("select new yuhan.hgcq.server.dto.member.MemberDTO(m.id, m.name, m.email, m.image, m.search)" +
+                        " from Follow f join f.member m where f.follow = :member order by m.name", MemberDTO.class)
+                .setParameter("member", member)
+                .getResultList();
+    }
+
+    public List<Long> findFollowerIds(Member member) {
+        return em.createQuery("select f.memberId from Follow f where f.follow = :member", Long.class)
+                .setParameter("member", member)
+                .getResultList();
+    }
+
+    public List<Object[]> findAllIds() {
+        return em.createQuery("select f.memberId, f.followId from Follow f", Object[].class)
+                .getResultList();
+    }
 }
@@ -0,0 +1,67 @@
+package yuhan.hgcq.server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Like counter columns of photo and album
+ * <p>
+ * Plain JDBC on purpose : a Hibernate bulk update would evict the whole album second level cache.
+ * Callers evict the changed albums themselves.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LikeCountRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Add the deltas of a generation in one batch per table
+     * <p>
+     * The generation is recorded in the same transaction, so it is added only once.
+     *
+     * @param nodeId      node of generation
+     * @param generation  generation
+     * @param photoDeltas photoId -> delta
+     * @param albumDeltas albumId -> delta
+     * @throws DuplicateKeyException generation was already added
+     */
+    @Transactional
+    public void add(String nodeId, long generation, Map<Long, Long> photoDeltas, Map<Long, Long> albumDeltas)
+            throws DuplicateKeyException {
+        jdbcTemplate.update("insert into like_flush (node_id, generation, flushed_at) values (?, ?, ?)",
+                nodeId, generation, LocalDateTime.now());
+
+        batchAdd("update photo set like_count = like_count + ? where photo_id = ?", photoDeltas);
+        batchAdd("update album set like_count = like_count + ? where album_id = ?", albumDeltas);
+    }
+
+    /**
+     * Delete records of generations added before
+     *
+     * @param before flushed before
+     * @return deleted count
+     */
+    public int prune(LocalDateTime before) {
+        return jdbcTemplate.update("delete from like_flush where flushed_at < ?", before);
+    }
+
+    private void batchAdd(String sql, Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            args.add(new Object[]{entry.getValue(), entry.getKey()});
+        }
+        jdbcTemplate.batchUpdate(sql, args);
+    }
+}
@@ -30,10 +30,21 @@ public class LikedRepository {
         }
     }
 
-    public void delete(Photo photo) {
+    public List<Long> findMemberIds(Photo photo) {
+        return em.createQuery("select l.memberId from Liked l where l.photo = :photo and l.isLiked = true", Long.class)
+                .setParameter("photo", photo)
+                .getResultList();
+    }
+
+    /* returns the deleted likes that were counted (like cancels are not) */
+    public int delete(Photo photo) {
+        int liked = em.createQuery("delete from Liked l where l.photo = :photo and l.isLiked = true")
+                .setParameter("photo", photo)
+                .executeUpdate();
         em.createQuery("delete from Liked l where l.photo = :photo")
                 .setParameter("photo", photo)
                 .executeUpdate();
+        return liked;
     }
 
     public void deleteByTeam(Team team) {
@@ -52,9 +63,34 @@ public class LikedRepository {
         em.merge(liked);
     }
 
+    /* changes the row only if it is not liked yet : of concurrent likes exactly one returns true */
+    public boolean like(Long memberId, Long photoId) {
+        return changeLiked(memberId, photoId, true);
+    }
+
+    /* changes the row only if it is liked : of concurrent cancels exactly one returns true */
+    public boolean cancel(Long memberId, Long photoId) {
+        return changeLiked(memberId, photoId, false);
+    }
+
+    private boolean changeLiked(Long memberId, Long photoId, boolean liked) {
+        return em.createQuery("update Liked l set l.isLiked = :liked" +
+                        " where l.memberId = :memberId and l.photoId = :photoId and l.isLiked <> :liked")
+                .setParameter("liked", liked)
+                .setParameter("memberId", memberId)
+                .setParameter("photoId", photoId)
+                .executeUpdate() == 1;
+    }
+
     public List<Photo> findAll(Member member) {
         return em.createQuery("select l.photo from Liked l where l.member = :member and l.isLiked = true order by l.photo.created", Photo.class)
                 .setParameter("member", member)
                 .getResultList();
     }
+
+    public List<Long> findPhotoIds(Member member) {
+        return em.createQuery("select l.photoId from Liked l where l.member = :member and l.isLiked = true", Long.class)
+                .setParameter("member", member)
+                .getResultList();
+    }
 }
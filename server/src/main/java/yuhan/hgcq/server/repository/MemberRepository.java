@@ -3,10 +3,16 @@ package yuhan.hgcq.server.repository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.NameGram;
+import yuhan.hgcq.server.dto.member.MemberDTO;
+import yuhan.hgcq.server.search.NameGrams;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -24,6 +30,13 @@ public class MemberRepository {
         return member.getId();
     }
 
+    /* flush at once, so unique constraint violations surface to the caller */
+    public Long insert(Member member) {
+        em.persist(member);
+        em.flush();
+        return member.getId();
+    }
+
     public void delete(Long memberId) {
         Member findMember = findOne(memberId);
         em.remove(findMember);
@@ -33,6 +46,21 @@ public class MemberRepository {
         return em.find(Member.class, id);
     }
 
+    public Member findReference(Long id) {
+        return em.getReference(Member.class, id);
+    }
+
+    public MemberDTO findDTO(Long id) {
+        try {
+            return em.createQuery("select new yuhan.hgcq.server.dto.member.MemberDTO(m.id, m.name, m.email, m.image, m.search)" +
+                            " from Member m where m.id = :id", MemberDTO.class)
+                    .setParameter("id", id)
+                    .getSingleResult();
+        } catch (NoResultException e) {
+            return null;
+        }
+    }
+
     public Member findOne(String email) {
         try {
             return em.createQuery("select m from Member m where m.email = :email", Member.class)
@@ -43,8 +71,32 @@ public class MemberRepository {
         }
     }
 
+    public boolean existsEmail(String email) {
+        return !em.createQuery("select m.id from Member m where m.email = :email", Long.class)
+                .setParameter("email", email)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    public boolean existsName(String name) {
+        return !em.createQuery("select m.id from Member m where m.name = :name", Long.class)
+                .setParameter("name", name)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    public long count() {
+        return em.createQuery("select count(m) from Member m", Long.class)
+                .getSingleResult();
+    }
+
     public List<Member> findByName(String name) {
-        return em.createQuery("select m from Member m where m.name like :name", Member.class)
+        List<String> grams = NameGrams.queryGrams(name);
+
+        return NameGrams.bind(em.createQuery("select m from Member m where m.name like :name" +
+                        NameGrams.filter("m.id", grams), Member.class), NameGram.MEMBER, grams)
                 .setParameter("name", "%" + name + "%")
                 .getResultList();
     }
@@ -54,6 +106,43 @@ public class MemberRepository {
                 .getResultList();
     }
 
+    public List<MemberDTO> findAllDTO() {
+        return em.createQuery("select new yuhan.hgcq.server.dto.member.MemberDTO(m.id, m.name, m.email, m.image, m.search)" +
+                " from Member m where m.search = true order by m.name", MemberDTO.class)
+                .getResultList();
+    }
+
+    /**
+     * Find next page of searchable member dto list in name order (keyset on unique name, every page is one short query)
+     *
+     * @param afterName name of last row of previous page (null = first page)
+     * @param size      page size
+     * @return member dto list
+     */
+    public List<MemberDTO> findDTOPage(String afterName, int size) {
+        String after = afterName == null ? "" : " and m.name > :name";
+
+        TypedQuery<MemberDTO> query = em.createQuery("select new yuhan.hgcq.server.dto.member.MemberDTO(m.id, m.name, m.email, m.image, m.search)" +
+                        " from Member m where m.search = true" + after + " order by m.name", MemberDTO.class)
+                .setMaxResults(size);
+
+        if (afterName != null) {
+            query.setParameter("name", afterName);
+        }
+        return query.getResultList();
+    }
+
+    public List<MemberDTO> findDTOList(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return em.createQuery("select new yuhan.hgcq.server.dto.member.MemberDTO(m.id, m.name, m.email, m.image, m.search)" +
+                        " from Member m where m.id in :ids order by m.name", MemberDTO.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
     public List<String> findAllEmails() {
         return em.createQuery("select m.email from Member m order by m.email", String.class)
                 .getResultList();
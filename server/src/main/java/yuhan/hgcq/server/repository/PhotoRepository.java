@@ -3,13 +3,20 @@ package yuhan.hgcq.server.repository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import yuhan.hgcq.server.domain.Album;
 import yuhan.hgcq.server.domain.Photo;
 import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
+import yuhan.hgcq.server.util.GeoHash;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 @RequiredArgsConstructor
@@ -35,6 +42,16 @@ public class PhotoRepository {
         return em.find(Photo.class, id);
     }
 
+    public Long findAlbumId(Long photoId) {
+        try {
+            return em.createQuery("select p.album.id from Photo p where p.id = :id", Long.class)
+                    .setParameter("id", photoId)
+                    .getSingleResult();
+        } catch (NoResultException e) {
+            return null;
+        }
+    }
+
     public Photo findByPath(String path) {
         try {
             return em.createQuery("select p from Photo p where p.path = :path", Photo.class)
@@ -51,6 +68,137 @@ public class PhotoRepository {
                 .getResultList();
     }
 
+    public List<PhotoDTO> findAllDTO(Album album) {
+        return em.createQuery("select new yuhan.hgcq.server.dto.photo.PhotoDTO(p.id, p.album.id, p.name, p.path, p.region, p.created, p.likeCount)" +
+                        " from Photo p where p.album = :album and p.isDeleted = false order by p.created", PhotoDTO.class)
+                .setParameter("album", album)
+                .getResultList();
+    }
+
+    /**
+     * Find next page of photo dto list in created order (keyset, every page is one short query)
+     *
+     * @param album        album
+     * @param afterCreated created of last row of previous page (null = first page)
+     * @param afterId      photoId of last row of previous page
+     * @param size         page size
+     * @return photo dto list
+     */
+    public List<PhotoDTO> findDTOPage(Album album, LocalDateTime afterCreated, Long afterId, int size) {
+        String after = afterCreated == null ? "" : " and (p.created > :created or (p.created = :created and p.id > :id))";
+
+        TypedQuery<PhotoDTO> query = em.createQuery("select new yuhan.hgcq.server.dto.photo.PhotoDTO(p.id, p.album.id, p.name, p.path, p.region, p.created, p.likeCount)" +
+                        " from Photo p where p.album = :album and p.isDeleted = false" + after +
+                        " order by p.created, p.id", PhotoDTO.class)
+                .setParameter("album", album)
+                .setMaxResults(size);
+
+        if (afterCreated != null) {
+            query.setParameter("created", afterCreated)
+                    .setParameter("id", afterId);
+        }
+        return query.getResultList();
+    }
+
+    public List<PhotoDTO> findDTOList(Team team, Collection<Long> ids) {
+        return em.createQuery("select new yuhan.hgcq.server.dto.photo.PhotoDTO(p.id, p.album.id, p.name, p.path, p.region, p.created, p.likeCount)" +
+                        " from Photo p where p.id in :ids and p.album.team = :team and p.isDeleted = false", PhotoDTO.class)
+                .setParameter("ids", ids)
+                .setParameter("team", team)
+                .getResultList();
+    }
+
+    /**
+     * Find like counts of photos (by primary key, for lists cached with stale counts)
+     *
+     * @param ids photoIds
+     * @return photoId -> like count (missing = photo is gone)
+     */
+    public Map<Long, Long> findLikeCounts(Collection<Long> ids) {
+        Map<Long, Long> likeCounts = new HashMap<>();
+
+        if (ids.isEmpty()) {
+            return likeCounts;
+        }
+
+        for (Object[] row : em.createQuery("select p.id, p.likeCount from Photo p where p.id in :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList()) {
+            likeCounts.put((Long) row[0], (Long) row[1]);
+        }
+        return likeCounts;
+    }
+
+    public List<PhotoDTO> findMemoryDTO(Long teamId, Collection<Integer> monthDays, LocalDateTime before, int size) {
+        return em.createQuery("select new yuhan.hgcq.server.dto.photo.PhotoDTO(p.id, p.album.id, p.name, p.path, p.region, p.created, p.likeCount)" +
+                        " from Photo p where p.album.team.id = :teamId and p.album.isDeleted = false" +
+                        " and p.createdMd in :monthDays and p.isDeleted = false and p.created < :before" +
+                        " order by p.created desc", PhotoDTO.class)
+                .setParameter("teamId", teamId)
+                .setParameter("monthDays", monthDays)
+                .setParameter("before", before)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    /**
+     * Count photos of team per geohash cell in box
+     *
+     * @param teamId    teamId
+     * @param precision cluster cell length
+     * @param cells     cells covering box (empty = no cell range)
+     * @param south     south latitude
+     * @param west      west longitude
+     * @param north     north latitude
+     * @param east      east longitude (< west = box crosses antimeridian)
+     * @param size      max clusters
+     * @return [cell, count, avg latitude, avg longitude, max photoId] (count order)
+     */
+    public List<Object[]> findClusters(Long teamId, int precision, List<String> cells,
+                                       double south, double west, double north, double east, int size) {
+        String cell = "substring(p.geohash, 1, " + precision + ")";
+        StringBuilder jpql = new StringBuilder("select " + cell + ", count(p), avg(p.latitude), avg(p.longitude), max(p.id)" +
+                " from Photo p where p.album.team.id = :teamId and p.album.isDeleted = false and p.isDeleted = false" +
+                " and p.geohash is not null and p.latitude between :south and :north");
+
+        jpql.append(west <= east
+                ? " and p.longitude between :west and :east"
+                : " and (p.longitude >= :west or p.longitude <= :east)");
+
+        if (!cells.isEmpty()) {
+            jpql.append(" and (");
+            for (int i = 0; i < cells.size(); i++) {
+                jpql.append(i == 0 ? "(" : " or (").append("p.geohash >= :from").append(i);
+                if (GeoHash.nextPrefix(cells.get(i)) != null) {
+                    jpql.append(" and p.geohash < :to").append(i);
+                }
+                jpql.append(")");
+            }
+            jpql.append(")");
+        }
+
+        jpql.append(" group by ").append(cell).append(" order by count(p) desc");
+
+        TypedQuery<Object[]> query = em.createQuery(jpql.toString(), Object[].class)
+                .setParameter("teamId", teamId)
+                .setParameter("south", south)
+                .setParameter("north", north)
+                .setParameter("west", west)
+                .setParameter("east", east)
+                .setMaxResults(size);
+
+        /* every geohash with the cell as prefix sorts from cell up to (not including) the next cell */
+        for (int i = 0; i < cells.size(); i++) {
+            String next = GeoHash.nextPrefix(cells.get(i));
+
+            query.setParameter("from" + i, cells.get(i));
+            if (next != null) {
+                query.setParameter("to" + i, next);
+            }
+        }
+        return query.getResultList();
+    }
+
     public List<String> findNameAll(Album album) {
         return em.createQuery("select p.name from Photo p where p.album = :album and p.isDeleted = false order by p.album.name", String.class)
                 .setParameter("album", album)
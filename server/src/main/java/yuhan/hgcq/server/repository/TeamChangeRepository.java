@@ -0,0 +1,105 @@
+package yuhan.hgcq.server.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.NoResultException;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+import yuhan.hgcq.server.domain.TeamChange;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class TeamChangeRepository {
+    @PersistenceContext
+    private final EntityManager em;
+
+    /* native queries touch only this table, so other cache regions are kept */
+    private static final String COUNTER = "team_change_counter";
+
+    public void save(TeamChange teamChange) {
+        em.persist(teamChange);
+    }
+
+    /**
+     * Increase seq of team by count (counter row is locked until commit)
+     *
+     * @param teamId teamId
+     * @param count  seqs to take
+     * @return last taken seq
+     */
+    public Long nextSeq(Long teamId, int count) {
+        em.createNativeQuery("insert into team_change_counter (team_id, seq, compacted_seq) values (:teamId, last_insert_id(:count), 0)" +
+                        " on duplicate key update seq = last_insert_id(seq + :count)")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(COUNTER)
+                .setParameter("teamId", teamId)
+                .setParameter("count", count)
+                .executeUpdate();
+
+        return ((Number) em.createNativeQuery("select last_insert_id()").getSingleResult()).longValue();
+    }
+
+    public Long findLastSeq(Long teamId) {
+        return findCounter("seq", teamId);
+    }
+
+    public Long findCompactedSeq(Long teamId) {
+        return findCounter("compacted_seq", teamId);
+    }
+
+    public List<TeamChange> findAfter(Long teamId, Long seq, int limit) {
+        return em.createQuery("select tc from TeamChange tc where tc.teamId = :teamId and tc.seq > :seq order by tc.seq asc", TeamChange.class)
+                .setParameter("teamId", teamId)
+                .setParameter("seq", seq)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Remove entries created before, and remember the last removed seq of each team
+     *
+     * @param before created before
+     * @return removed count
+     */
+    public int deleteBefore(LocalDateTime before) {
+        em.createNativeQuery("update team_change_counter c" +
+                        " join (select team_id, max(seq) as seq from team_change where created < :before group by team_id) d" +
+                        " on c.team_id = d.team_id" +
+                        " set c.compacted_seq = greatest(c.compacted_seq, d.seq)")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(COUNTER)
+                .setParameter("before", before)
+                .executeUpdate();
+
+        return em.createQuery("delete from TeamChange tc where tc.created < :before")
+                .setParameter("before", before)
+                .executeUpdate();
+    }
+
+    public void deleteByTeam(Long teamId) {
+        em.createQuery("delete from TeamChange tc where tc.teamId = :teamId")
+                .setParameter("teamId", teamId)
+                .executeUpdate();
+
+        em.createNativeQuery("delete from team_change_counter where team_id = :teamId")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(COUNTER)
+                .setParameter("teamId", teamId)
+                .executeUpdate();
+    }
+
+    private Long findCounter(String column, Long teamId) {
+        try {
+            Object value = em.createNativeQuery("select " + column + " from team_change_counter where team_id = :teamId")
+                    .setParameter("teamId", teamId)
+                    .getSingleResult();
+            return ((Number) value).longValue();
+        } catch (NoResultException e) {
+            return 0L;
+        }
+    }
+}
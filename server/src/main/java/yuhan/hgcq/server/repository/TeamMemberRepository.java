@@ -4,10 +4,15 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.NameGram;
 import yuhan.hgcq.server.domain.Team;
 import yuhan.hgcq.server.domain.TeamMember;
+import yuhan.hgcq.server.dto.team.MemberInTeamDTO;
+import yuhan.hgcq.server.dto.team.TeamDTO;
+import yuhan.hgcq.server.search.NameGrams;
 
 import java.util.List;
 
@@ -22,7 +27,7 @@ public class TeamMemberRepository {
     }
 
     public void delete(TeamMember teamMember) {
-        em.remove(teamMember);
+        em.remove(em.contains(teamMember) ? teamMember : em.merge(teamMember));
     }
 
     public TeamMember findOne(Member member, Team team) {
@@ -53,7 +58,10 @@ public class TeamMemberRepository {
     }
 
     public List<Team> findByName(Member member, String name) {
-        return em.createQuery("select tm.team from TeamMember tm where tm.member = :member and tm.team.name like :name order by tm.team.name asc", Team.class)
+        List<String> grams = NameGrams.queryGrams(name);
+
+        return NameGrams.bind(em.createQuery("select tm.team from TeamMember tm where tm.member = :member and tm.team.name like :name" +
+                        NameGrams.filter("tm.teamId", grams) + " order by tm.team.name asc", Team.class), NameGram.TEAM, grams)
                 .setParameter("member", member)
                 .setParameter("name", "%" + name + "%")
                 .getResultList();
@@ -65,9 +73,71 @@ public class TeamMemberRepository {
                 .getResultList();
     }
 
+    public List<TeamDTO> findTeamDTOList(Member member) {
+        return em.createQuery("select new yuhan.hgcq.server.dto.team.TeamDTO(t.id, o.name, t.name, t.image)" +
+                        " from TeamMember tm join tm.team t join t.owner o where tm.member = :member order by t.name asc", TeamDTO.class)
+                .setParameter("member", member)
+                .getResultList();
+    }
+
+    public List<TeamDTO> findTeamDTOListByName(Member member, String name) {
+        List<String> grams = NameGrams.queryGrams(name);
+
+        return NameGrams.bind(em.createQuery("select new yuhan.hgcq.server.dto.team.TeamDTO(t.id, o.name, t.name, t.image)" +
+                        " from TeamMember tm join tm.team t join t.owner o where tm.member = :member and t.name like :name" +
+                        NameGrams.filter("t.id", grams) + " order by t.name asc", TeamDTO.class), NameGram.TEAM, grams)
+                .setParameter("member", member)
+                .setParameter("name", "%" + name + "%")
+                .getResultList();
+    }
+
+    public List<MemberInTeamDTO> findMemberDTOByTeam(Team team) {
+        return em.createQuery("select new yuhan.hgcq.server.dto.team.MemberInTeamDTO(m.id, m.name, tm.isAdmin," +
+                        " case when t.owner.id = m.id then true else false end)" +
+                        " from TeamMember tm join tm.member m join tm.team t where tm.team = :team order by tm.isAdmin desc, m.name asc", MemberInTeamDTO.class)
+                .setParameter("team", team)
+                .getResultList();
+    }
+
+    /* team lists showing the owner's name */
+    public List<Long> findMemberIdsByOwner(Long ownerId) {
+        return em.createQuery("select distinct tm.memberId from TeamMember tm where tm.team.owner.id = :ownerId", Long.class)
+                .setParameter("ownerId", ownerId)
+                .getResultList();
+    }
+
+    public List<Long> findMemberIds(Team team) {
+        return em.createQuery("select tm.memberId from TeamMember tm where tm.team = :team", Long.class)
+                .setParameter("team", team)
+                .getResultList();
+    }
+
+    public List<Object[]> findSharedTeamCounts(Long memberId, int limit) {
+        return em.createQuery("select other.memberId, count(other) from TeamMember tm, TeamMember other" +
+                        " where tm.memberId = :memberId and other.teamId = tm.teamId and other.memberId <> :memberId" +
+                        " group by other.memberId order by count(other) desc", Object[].class)
+                .setParameter("memberId", memberId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public List<Object[]> findRoles(Long memberId) {
+        return em.createQuery("select tm.teamId, tm.isAdmin, t.owner.id from TeamMember tm join tm.team t" +
+                        " where tm.memberId = :memberId", Object[].class)
+                .setParameter("memberId", memberId)
+                .getResultList();
+    }
+
+    public List<Long> findAdminIds(Team team) {
+        return em.createQuery("select tm.memberId from TeamMember tm where tm.team = :team and tm.isAdmin = true", Long.class)
+                .setParameter("team", team)
+                .getResultList();
+    }
+
     public List<Member> findAdminByTeam(Team team) {
         return em.createQuery("select tm.member from TeamMember tm where tm.team = :team and tm.isAdmin = true", Member.class)
                 .setParameter("team", team)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
                 .getResultList();
     }
 }
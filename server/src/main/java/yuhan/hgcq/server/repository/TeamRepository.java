@@ -6,6 +6,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import yuhan.hgcq.server.domain.Team;
 
+import java.util.List;
+
 @Repository
 @RequiredArgsConstructor
 public class TeamRepository {
@@ -29,4 +31,11 @@ public class TeamRepository {
     public Team findOne(Long id) {
         return em.find(Team.class, id);
     }
+
+    public List<Long> findIds(Long afterId, int size) {
+        return em.createQuery("select t.id from Team t where t.id > :afterId order by t.id", Long.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(size)
+                .getResultList();
+    }
 }
@@ -0,0 +1,59 @@
+package yuhan.hgcq.server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import yuhan.hgcq.server.domain.TimelineUnit;
+import yuhan.hgcq.server.dto.photo.TimelineDTO;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Photo count per album per day (photo_timeline), histograms never touch photo
+ * <p>
+ * Plain JDBC : the rollup has no entity, rows are upserted by delta.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TimelineRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Add delta to photo count of album on day
+     *
+     * @param albumId albumId
+     * @param teamId  teamId of album
+     * @param day     day
+     * @param delta   delta
+     */
+    public void add(Long albumId, Long teamId, LocalDate day, int delta) {
+        jdbcTemplate.update("insert into photo_timeline (album_id, day, team_id, photo_count) values (?, ?, ?, ?)" +
+                " on duplicate key update photo_count = photo_count + values(photo_count)",
+                albumId, Date.valueOf(day), teamId, delta);
+    }
+
+    public List<TimelineDTO> findTeamHistogram(Long teamId, TimelineUnit unit) {
+        return jdbcTemplate.query("select date_format(t.day, '" + format(unit) + "') period, sum(t.photo_count) photo_count" +
+                        " from photo_timeline t join album a on a.album_id = t.album_id" +
+                        " where t.team_id = ? and a.is_deleted = false" +
+                        " group by period having photo_count > 0 order by period desc",
+                (rs, rowNum) -> new TimelineDTO(rs.getString("period"), rs.getLong("photo_count")), teamId);
+    }
+
+    public List<TimelineDTO> findAlbumHistogram(Long albumId, TimelineUnit unit) {
+        return jdbcTemplate.query("select date_format(t.day, '" + format(unit) + "') period, sum(t.photo_count) photo_count" +
+                        " from photo_timeline t where t.album_id = ?" +
+                        " group by period having photo_count > 0 order by period desc",
+                (rs, rowNum) -> new TimelineDTO(rs.getString("period"), rs.getLong("photo_count")), albumId);
+    }
+
+    private String format(TimelineUnit unit) {
+        return switch (unit) {
+            case DAY -> "%Y-%m-%d";
+            case MONTH -> "%Y-%m";
+            case YEAR -> "%Y";
+        };
+    }
+}
@@ -0,0 +1,256 @@
+package yuhan.hgcq.server.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.dto.member.MemberDTO;
+import yuhan.hgcq.server.repository.MemberRepository;
+import yuhan.hgcq.server.util.RadixTrie;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead of searchable member names (in memory prefix trie)
+ * <p>
+ * Loaded once on startup, then kept current from committed member changes
+ * (changes applied while loading are replayed on the loaded trie before it is swapped in).
+ * Changes are also published on Redis so every instance applies them.
+ * message : nodeId|member json (search = false means remove)
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberTypeahead implements MessageListener,
+        PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    private static final Logger log = LoggerFactory.getLogger(MemberTypeahead.class);
+
+    private static final String CHANNEL = "typeahead:member";
+
+    private final EntityManagerFactory emf;
+    private final MemberRepository mr;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private RadixTrie<MemberDTO> trie = new RadixTrie<>();
+    private Map<Long, MemberDTO> byId = new HashMap<>();
+
+    /* changes applied while loading (null = not loading), guarded by lock */
+    private List<MemberDTO> replay;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Load all searchable members
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        RadixTrie<MemberDTO> newTrie = new RadixTrie<>();
+        Map<Long, MemberDTO> newById = new HashMap<>();
+
+        try {
+            for (MemberDTO dto : mr.findAllDTO()) {
+                newTrie.put(key(dto.getName()), dto);
+                newById.put(dto.getMemberId(), dto);
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            /* changes committed during the query may be missing from it, replaying them is idempotent */
+            for (MemberDTO dto : replay) {
+                apply(newTrie, newById, dto);
+            }
+            replay = null;
+            trie = newTrie;
+            byId = newById;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Load Member Typeahead : {}", newById.size());
+    }
+
+    /**
+     * Find searchable members whose name starts with prefix
+     *
+     * @param prefix name prefix
+     * @param size   max count
+     * @return member dto list (name order)
+     */
+    public List<MemberDTO> search(String prefix, int size) {
+        if (prefix == null || prefix.isBlank() || size <= 0) {
+            return new ArrayList<>();
+        }
+
+        List<MemberDTO> found;
+
+        lock.readLock().lock();
+        try {
+            found = trie.prefix(key(prefix), size);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        /* copy, entries are shared between requests */
+        List<MemberDTO> result = new ArrayList<>(found.size());
+        for (MemberDTO dto : found) {
+            result.add(new MemberDTO(dto.getMemberId(), dto.getName(), dto.getEmail(), dto.getImage(), dto.getSearch()));
+        }
+        return result;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            applyAndPublish(mapping(member));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            applyAndPublish(mapping(member));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            MemberDTO dto = mapping(member);
+            dto.setSearch(false);
+            applyAndPublish(dto);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Member.class;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int split = body.indexOf('|');
+
+        if (split < 0 || body.substring(0, split).equals(nodeId)) {
+            return;
+        }
+
+        try {
+            apply(objectMapper.readValue(body.substring(split + 1), MemberDTO.class));
+        } catch (JsonProcessingException e) {
+            log.error("Wrong Typeahead Message : {}", body);
+        }
+    }
+
+    private void applyAndPublish(MemberDTO dto) {
+        apply(dto);
+
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + "|" + objectMapper.writeValueAsString(dto));
+        } catch (Exception e) {
+            log.error("Publish Typeahead Error : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replace member entry (remove when not searchable)
+     *
+     * @param dto member
+     */
+    private void apply(MemberDTO dto) {
+        lock.writeLock().lock();
+        try {
+            apply(trie, byId, dto);
+
+            if (replay != null) {
+                replay.add(dto);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(RadixTrie<MemberDTO> trie, Map<Long, MemberDTO> byId, MemberDTO dto) {
+        MemberDTO old = byId.remove(dto.getMemberId());
+
+        if (old != null) {
+            trie.remove(key(old.getName()), old);
+        }
+
+        if (Boolean.TRUE.equals(dto.getSearch()) && dto.getName() != null) {
+            trie.put(key(dto.getName()), dto);
+            byId.put(dto.getMemberId(), dto);
+        }
+    }
+
+    private MemberDTO mapping(Member member) {
+        return new MemberDTO(member.getId(), member.getName(), member.getEmail(), member.getImage(), member.getSearch());
+    }
+
+    private String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
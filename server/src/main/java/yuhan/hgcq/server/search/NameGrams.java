@@ -0,0 +1,124 @@
+package yuhan.hgcq.server.search;
+
+import jakarta.persistence.TypedQuery;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Gram of name for NameGram index
+ * <p>
+ * Index : every unigram and bigram of normalized name.
+ * Search : unigram for 1 letter, else every bigram of the normalized keyword.
+ * Rows having all grams are candidates, the "like" check on the candidates keeps the old result.
+ * <p>
+ * Names are normalized like the accent and case insensitive collation of the name columns
+ * (lower case, accents removed), so 'cafe' still finds 'Café' although grams are utf8mb4_bin.
+ */
+public class NameGrams {
+
+    private static final String CANDIDATES = "select g.targetId from NameGram g where g.kind = :kind and g.gram in :grams" +
+            " group by g.targetId having count(g) = :gramCount";
+
+    private NameGrams() {
+    }
+
+    /**
+     * Grams to index
+     *
+     * @param name name
+     * @return grams
+     */
+    public static Set<String> indexGrams(String name) {
+        Set<String> grams = new LinkedHashSet<>();
+
+        if (name == null) {
+            return grams;
+        }
+
+        int[] codePoints = normalize(name).codePoints().toArray();
+
+        for (int i = 0; i < codePoints.length; i++) {
+            grams.add(new String(codePoints, i, 1));
+
+            if (i + 1 < codePoints.length) {
+                grams.add(new String(codePoints, i, 2));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Grams to search
+     *
+     * @param keyword keyword
+     * @return grams (empty = no filter)
+     */
+    public static List<String> queryGrams(String keyword) {
+        List<String> grams = new ArrayList<>();
+
+        if (keyword == null) {
+            return grams;
+        }
+
+        int[] codePoints = normalize(keyword).codePoints().toArray();
+
+        if (codePoints.length == 1) {
+            grams.add(new String(codePoints, 0, 1));
+            return grams;
+        }
+
+        Set<String> unique = new LinkedHashSet<>();
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            unique.add(new String(codePoints, i, 2));
+        }
+        grams.addAll(unique);
+        return grams;
+    }
+
+    /**
+     * Lower case without accents (recomposed, so Hangul syllables stay one letter)
+     *
+     * @param name name
+     * @return normalized name
+     */
+    public static String normalize(String name) {
+        String stripped = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return Normalizer.normalize(stripped, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Candidate filter of jpql
+     *
+     * @param idPath id path (ex. m.id)
+     * @param grams  query grams
+     * @return " and {idPath} in (candidates)" or ""
+     */
+    public static String filter(String idPath, List<String> grams) {
+        if (grams.isEmpty()) {
+            return "";
+        }
+        return " and " + idPath + " in (" + CANDIDATES + ")";
+    }
+
+    /**
+     * Bind parameters of filter
+     *
+     * @param query query
+     * @param kind  NameGram kind
+     * @param grams query grams
+     * @return query
+     */
+    public static <T> TypedQuery<T> bind(TypedQuery<T> query, String kind, List<String> grams) {
+        if (grams.isEmpty()) {
+            return query;
+        }
+        return query.setParameter("kind", kind)
+                .setParameter("grams", grams)
+                .setParameter("gramCount", (long) grams.size());
+    }
+}
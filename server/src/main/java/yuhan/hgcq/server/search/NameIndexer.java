@@ -0,0 +1,143 @@
+package yuhan.hgcq.server.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.NameGram;
+import yuhan.hgcq.server.domain.Team;
+
+import java.sql.PreparedStatement;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keep NameGram index in sync with member, team and album name
+ * <p>
+ * Runs inside the flush, so the index is in the same transaction as the row
+ * (name search sees rows not committed yet, unlike InnoDB FULLTEXT).
+ */
+@Component
+@RequiredArgsConstructor
+public class NameIndexer implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String INSERT = "insert ignore into name_gram (kind, gram, target_id) values (?, ?, ?)";
+    private static final String DELETE = "delete from name_gram where kind = ? and target_id = ?";
+
+    private final EntityManagerFactory emf;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        String kind = kindOf(event.getEntity());
+
+        if (kind != null) {
+            index(event.getSession(), kind, (Long) event.getId(), nameOf(event.getEntity()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        String kind = kindOf(event.getEntity());
+
+        if (kind == null) {
+            return;
+        }
+
+        String name = nameOf(event.getEntity());
+        Object[] oldState = event.getOldState();
+
+        if (oldState != null) {
+            int index = event.getPersister().getEntityMetamodel().getPropertyIndex("name");
+            if (Objects.equals(oldState[index], name)) {
+                return;
+            }
+        }
+
+        remove(event.getSession(), kind, (Long) event.getId());
+        index(event.getSession(), kind, (Long) event.getId(), name);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        String kind = kindOf(event.getEntity());
+
+        if (kind != null) {
+            remove(event.getSession(), kind, (Long) event.getId());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void index(SharedSessionContractImplementor session, String kind, Long id, String name) {
+        Set<String> grams = NameGrams.indexGrams(name);
+
+        if (grams.isEmpty()) {
+            return;
+        }
+
+        session.doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT)) {
+                for (String gram : grams) {
+                    ps.setString(1, kind);
+                    ps.setString(2, gram);
+                    ps.setLong(3, id);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    private void remove(SharedSessionContractImplementor session, String kind, Long id) {
+        session.doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(DELETE)) {
+                ps.setString(1, kind);
+                ps.setLong(2, id);
+                ps.executeUpdate();
+            }
+        });
+    }
+
+    private String kindOf(Object entity) {
+        if (entity instanceof Member) {
+            return NameGram.MEMBER;
+        } else if (entity instanceof Team) {
+            return NameGram.TEAM;
+        } else if (entity instanceof Album) {
+            return NameGram.ALBUM;
+        }
+        return null;
+    }
+
+    private String nameOf(Object entity) {
+        if (entity instanceof Member member) {
+            return member.getName();
+        } else if (entity instanceof Team team) {
+            return team.getName();
+        } else if (entity instanceof Album album) {
+            return album.getName();
+        }
+        return null;
+    }
+}
@@ -3,17 +3,26 @@ package yuhan.hgcq.server.service;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.expression.AccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.cache.LikeCounter;
+import yuhan.hgcq.server.cache.ListCache;
+import yuhan.hgcq.server.cache.TeamAcl;
 import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.ChangeAction;
+import yuhan.hgcq.server.domain.ChangeType;
 import yuhan.hgcq.server.domain.Member;
 import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.dto.album.AlbumDTO;
+import yuhan.hgcq.server.event.AlbumChangedEvent;
 import yuhan.hgcq.server.repository.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
 import java.util.List;
 
 @Service
@@ -23,10 +32,12 @@ public class AlbumService {
     private static final Logger log = LoggerFactory.getLogger(AlbumService.class);
 
     private final AlbumRepository ar;
-    private final ChatRepository cr;
-    private final LikedRepository lr;
-    private final PhotoRepository pr;
-    private final TeamMemberRepository tmr;
+    private final TeamChangeService tcs;
+    private final DeletionService ds;
+    private final TeamAcl acl;
+    private final ListCache listCache;
+    private final LikeCounter likeCounter;
+    private final ApplicationEventPublisher publisher;
 
     private final static int DELETE_DAY = 30;
 
@@ -48,6 +59,8 @@ public class AlbumService {
 
         if (isAdmin) {
             ar.save(album);
+            tcs.record(album.getTeam().getId(), ChangeType.ALBUM, ChangeAction.CREATE, album.getId());
+            publisher.publishEvent(new AlbumChangedEvent(album.getTeam().getId()));
             log.info("Create Album : {}", album);
             return album.getId();
         } else {
@@ -72,6 +85,8 @@ public class AlbumService {
 
         if (isAdmin) {
             ar.save(album);
+            tcs.record(album.getTeam().getId(), ChangeType.ALBUM, ChangeAction.UPDATE, album.getId());
+            publisher.publishEvent(new AlbumChangedEvent(album.getTeam().getId()));
             log.info("Modify Album : {}", album);
         } else {
             throw new AccessException("Don't have Permission");
@@ -95,6 +110,8 @@ public class AlbumService {
         if (isAdmin) {
             album.deleteAlbum();
             ar.save(album);
+            tcs.record(album.getTeam().getId(), ChangeType.ALBUM, ChangeAction.DELETE, album.getId());
+            publisher.publishEvent(new AlbumChangedEvent(album.getTeam().getId()));
             log.info("Delete Album : {}", album);
         } else {
             throw new AccessException("Don't have Permission");
@@ -116,8 +133,14 @@ public class AlbumService {
         boolean isAdmin = isAdmin(member, album);
 
         if (isAdmin) {
+            if (ds.filterQueued(List.of(album)).isEmpty()) {
+                throw new IllegalArgumentException("Album is being deleted");
+            }
+
             album.cancelDeleteAlbum();
             ar.save(album);
+            tcs.record(album.getTeam().getId(), ChangeType.ALBUM, ChangeAction.CREATE, album.getId());
+            publisher.publishEvent(new AlbumChangedEvent(album.getTeam().getId()));
             log.info("Cancel Delete Album : {}", album);
         } else {
             throw new AccessException("Don't have Permission");
@@ -137,11 +160,8 @@ public class AlbumService {
             long between = ChronoUnit.DAYS.between(deletedAt, now);
 
             if (between >= DELETE_DAY) {
-                lr.deleteByAlbum(album);
-                pr.deleteByAlbum(album);
-                cr.deleteByAlbum(album);
-                ar.delete(album.getId());
-                log.info("Complete Delete Album : {}", album);
+                ds.enqueue(album);
+                publisher.publishEvent(new AlbumChangedEvent(album.getTeam().getId()));
             }
         }
 
@@ -177,6 +197,39 @@ public class AlbumService {
         return ar.findAll(team);
     }
 
+    /**
+     * Find album summary list (photo count, cover, capture period, last chat time / cached)
+     *
+     * @param team team
+     * @return album dto list
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<AlbumDTO> searchAllDTO(Team team) throws IllegalArgumentException {
+        ensureNotNull(team, "Team");
+
+        return listCache.get(ListCache.albumKey(team.getId()), AlbumDTO.class, () -> ar.findAllDTO(team));
+    }
+
+    /**
+     * Find album dto list by popularity (like count order, no aggregate)
+     *
+     * @param team team
+     * @return album dto list
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<AlbumDTO> searchPopularDTO(Team team) throws IllegalArgumentException {
+        ensureNotNull(team, "Team");
+
+        List<AlbumDTO> albumDTOList = ar.findPopularDTO(team);
+
+        /* add likes not flushed yet, they can only reorder neighbors */
+        for (AlbumDTO dto : albumDTOList) {
+            dto.setLikeCount(dto.getLikeCount() + likeCounter.albumDelta(dto.getAlbumId()));
+        }
+        albumDTOList.sort(Comparator.comparing(AlbumDTO::getLikeCount).reversed());
+        return albumDTOList;
+    }
+
     /**
      * Find album by name
      *
@@ -202,7 +255,7 @@ public class AlbumService {
     public List<Album> searchAlbumTrashList(Team team) throws IllegalArgumentException {
         ensureNotNull(team, "Team");
 
-        return ar.findByDeleted(team);
+        return ds.filterQueued(ar.findByDeleted(team));
     }
 
     /**
@@ -225,10 +278,6 @@ public class AlbumService {
      * @return is admin?
      */
     private boolean isAdmin(Member member, Album album) {
-        Team team = album.getTeam();
-
-        List<Member> adminList = tmr.findAdminByTeam(team);
-
-        return adminList.contains(member);
+        return acl.isAdmin(member.getId(), album.getTeam().getId());
     }
 }
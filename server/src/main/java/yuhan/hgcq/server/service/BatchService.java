@@ -0,0 +1,181 @@
+package yuhan.hgcq.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.cache.TeamAcl;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.dto.batch.BatchOutcome;
+import yuhan.hgcq.server.dto.batch.BatchOutcome.Kind;
+import yuhan.hgcq.server.dto.batch.BatchRequest;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
+import yuhan.hgcq.server.repository.AlbumRepository;
+import yuhan.hgcq.server.repository.TeamRepository;
+import yuhan.hgcq.server.util.LongHashSet;
+
+import java.util.*;
+
+/**
+ * Batch of reads (album list, photo lists, liked list, team members) for one screen
+ * <p>
+ * Sub requests run in one read only transaction, so they share one connection and persistence context
+ * (an album or team read by one is not read again by the next), and liked photoIds are read once.
+ * A failed sub request answers its own outcome, the others still run.
+ * Lookups go through repositories, not searchOne, because an exception thrown out of a
+ * participating service method would mark the shared transaction rollback only.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class BatchService {
+    private final AlbumRepository ar;
+    private final TeamRepository tr;
+    private final AlbumService as;
+    private final PhotoService ps;
+    private final LikedService ls;
+    private final TeamMemberService tms;
+    private final TeamAcl acl;
+
+    @Value("${recoder.batch.max-requests:20}")
+    private int maxRequests;
+
+    /**
+     * Run sub requests
+     *
+     * @param member   login member
+     * @param requests sub requests
+     * @return id -> outcome (request order)
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public Map<String, BatchOutcome> run(Member member, List<BatchRequest> requests) throws IllegalArgumentException {
+        ensureNotNull(member, "Member");
+        ensureNotNull(requests, "Requests");
+
+        if (requests.isEmpty() || requests.size() > maxRequests) {
+            throw new IllegalArgumentException("Wrong Request Count : " + requests.size());
+        }
+
+        Set<String> ids = new HashSet<>();
+        for (BatchRequest request : requests) {
+            ensureNotNull(request, "Request");
+            ensureNotNull(request.getId(), "Request id");
+
+            if (!ids.add(request.getId())) {
+                throw new IllegalArgumentException("Duplicate Request id : " + request.getId());
+            }
+        }
+
+        Batch batch = new Batch(member);
+        Map<String, BatchOutcome> results = new LinkedHashMap<>();
+
+        for (BatchRequest request : requests) {
+            results.put(request.getId(), run(batch, request));
+        }
+        return results;
+    }
+
+    private BatchOutcome run(Batch batch, BatchRequest request) {
+        String type = request.getType() == null ? "" : request.getType();
+
+        switch (type) {
+            case "albums":
+                return albums(batch, request.getTeamId());
+            case "photos":
+                return photos(batch, request.getAlbumIds());
+            case "liked":
+                return liked(batch);
+            case "members":
+                return members(batch, request.getTeamId());
+            default:
+                return BatchOutcome.fail(Kind.WRONG_REQUEST, "Unknown Type : " + type);
+        }
+    }
+
+    private BatchOutcome albums(Batch batch, Long teamId) {
+        Team team = teamId == null ? null : tr.findOne(teamId);
+
+        if (team == null) {
+            return BatchOutcome.fail(Kind.NOT_FOUND, "Team not found");
+        }
+        if (!acl.isMember(batch.member.getId(), team.getId())) {
+            return BatchOutcome.fail(Kind.NOT_MEMBER, "Not Team Member");
+        }
+
+        return BatchOutcome.ok(as.searchAllDTO(team));
+    }
+
+    private BatchOutcome photos(Batch batch, List<Long> albumIds) {
+        if (albumIds == null || albumIds.isEmpty() || albumIds.size() > maxRequests) {
+            return BatchOutcome.fail(Kind.WRONG_REQUEST, "Wrong Album Count");
+        }
+
+        List<Album> albums = new ArrayList<>(albumIds.size());
+        for (Long albumId : new LinkedHashSet<>(albumIds)) {
+            Album album = albumId == null ? null : ar.findOne(albumId);
+
+            if (album == null) {
+                return BatchOutcome.fail(Kind.NOT_FOUND, "Album not found");
+            }
+            if (!acl.isMember(batch.member.getId(), album.getTeam().getId())) {
+                return BatchOutcome.fail(Kind.NOT_MEMBER, "Not Team Member");
+            }
+            albums.add(album);
+        }
+
+        LongHashSet likedIds = batch.likedIds();
+        Map<Long, List<PhotoDTO>> photos = new LinkedHashMap<>();
+
+        for (Album album : albums) {
+            List<PhotoDTO> photoDTOList = ps.searchAllDTO(album);
+
+            for (PhotoDTO dto : photoDTOList) {
+                dto.setIsLiked(likedIds.contains(dto.getPhotoId()));
+            }
+            photos.put(album.getId(), photoDTOList);
+        }
+        return BatchOutcome.ok(photos);
+    }
+
+    private BatchOutcome liked(Batch batch) {
+        return BatchOutcome.ok(ls.searchAllDTO(batch.member));
+    }
+
+    private BatchOutcome members(Batch batch, Long teamId) {
+        Team team = teamId == null ? null : tr.findOne(teamId);
+
+        if (team == null) {
+            return BatchOutcome.fail(Kind.NOT_FOUND, "Team not found");
+        }
+        if (!acl.isMember(batch.member.getId(), team.getId())) {
+            return BatchOutcome.fail(Kind.NOT_MEMBER, "Not Team Member");
+        }
+
+        return BatchOutcome.ok(tms.searchMemberDTOList(team));
+    }
+
+    private void ensureNotNull(Object obj, String name) {
+        if (obj == null) {
+            throw new IllegalArgumentException(name + " is null");
+        }
+    }
+
+    /* state shared by sub requests of one batch */
+    private class Batch {
+        private final Member member;
+        private LongHashSet likedIds;
+
+        Batch(Member member) {
+            this.member = member;
+        }
+
+        LongHashSet likedIds() {
+            if (likedIds == null) {
+                likedIds = ls.searchLikedPhotoIds(member);
+            }
+            return likedIds;
+        }
+    }
+}
@@ -3,16 +3,24 @@ package yuhan.hgcq.server.service;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.expression.AccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.cache.ListCache;
 import yuhan.hgcq.server.domain.Album;
 import yuhan.hgcq.server.domain.Chat;
 import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.dto.chat.ChatDTO;
+import yuhan.hgcq.server.event.ChatChangedEvent;
 import yuhan.hgcq.server.repository.ChatRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 @Service
 @Transactional(readOnly = true)
@@ -21,6 +29,12 @@ public class ChatService {
     private static final Logger log = LoggerFactory.getLogger(ChatService.class);
 
     private final ChatRepository cr;
+    private final ListCache listCache;
+    private final ApplicationEventPublisher publisher;
+
+    /* rows per query of streaming responses, no connection is held while a page is written */
+    @Value("${recoder.stream.page-size:500}")
+    private int streamPageSize;
 
     /**
      * Create chat
@@ -34,6 +48,7 @@ public class ChatService {
         ensureNotNull(chat, "Chat");
 
         Long saveId = cr.save(chat);
+        publisher.publishEvent(new ChatChangedEvent(chat.getAlbum().getId()));
         log.info("Create Chat : {}", chat);
         return saveId;
     }
@@ -56,6 +71,7 @@ public class ChatService {
 
         if (isWriter) {
             cr.delete(chat.getId());
+            publisher.publishEvent(new ChatChangedEvent(chat.getAlbum().getId()));
             log.info("Delete Chat : {}", chat);
         } else {
             throw new AccessException("Not Writer");
@@ -92,6 +108,45 @@ public class ChatService {
         return cr.findAll(album);
     }
 
+    /**
+     * Find chat dto list (cached)
+     *
+     * @param album album
+     * @return chat dto list
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<ChatDTO> searchAllDTO(Album album) throws IllegalArgumentException {
+        ensureNotNull(album, "Album");
+
+        return listCache.get(ListCache.chatKey(album.getId()), ChatDTO.class, () -> cr.findAllDTO(album));
+    }
+
+    /**
+     * Read chat dto list page by page (not cached, no transaction, the connection is released between pages, for streaming response)
+     *
+     * @param album  album
+     * @param action row action
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachDTO(Album album, Consumer<? super ChatDTO> action) throws IllegalArgumentException {
+        ensureNotNull(album, "Album");
+        ensureNotNull(action, "Action");
+
+        List<ChatDTO> page = cr.findDTOPage(album, null, null, streamPageSize);
+
+        while (!page.isEmpty()) {
+            page.forEach(action);
+
+            if (page.size() < streamPageSize) {
+                break;
+            }
+
+            ChatDTO last = page.get(page.size() - 1);
+            page = cr.findDTOPage(album, LocalDateTime.parse(last.getTime()), last.getChatId(), streamPageSize);
+        }
+    }
+
     /**
      * Argument Check if Null
      *
@@ -0,0 +1,294 @@
+package yuhan.hgcq.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.expression.AccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import yuhan.hgcq.server.cache.EntityCacheInvalidator;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.domain.TeamMember;
+import yuhan.hgcq.server.dto.team.DeletionDTO;
+import yuhan.hgcq.server.repository.DeletionRepository;
+import yuhan.hgcq.server.repository.DeletionRepository.Job;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Background deletion of teams and trashed albums
+ * <p>
+ * A deletion is queued as a row, so it survives a crash and is resumed by the next run on any instance
+ * (one instance per job by Redis lock, released or extended only by the run holding its token). Photos go in chunks : files first (S3 batch delete), then
+ * likes and photo rows in one short transaction, so a crash between them only repeats the file delete.
+ * Chats go in chunks too, then the emptied album, then the team. Each chunk is followed by a pause,
+ * so a big team never holds locks on large parts of the tables. A run stops after chunks-per-run chunks,
+ * the next poll resumes where it stopped.
+ */
+@Service
+@RequiredArgsConstructor
+public class DeletionService {
+    private static final Logger log = LoggerFactory.getLogger(DeletionService.class);
+
+    private static final String LOCK = "lock:deletion:";
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private static final RedisScript<Long> EXTEND = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('expire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    private final DeletionRepository dr;
+    private final PhotoService ps;
+    private final EntityCacheInvalidator entityCacheInvalidator;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${recoder.deletion.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${recoder.deletion.pause-millis:50}")
+    private long pauseMillis;
+
+    @Value("${recoder.deletion.lock-seconds:300}")
+    private long lockSeconds;
+
+    @Value("${recoder.deletion.jobs-per-run:10}")
+    private int jobsPerRun;
+
+    @Value("${recoder.deletion.chunks-per-run:40}")
+    private int chunksPerRun;
+
+    /**
+     * Queue team deletion (rows and files are removed by the background run)
+     *
+     * @param member owner
+     * @param team   team
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public void enqueue(Member member, Team team) throws IllegalArgumentException {
+        ensureNotNull(member, "Member");
+        ensureNotNull(team, "Team");
+
+        dr.insert(DeletionRepository.TEAM, team.getId(), member.getId());
+        log.info("Queue Team Deletion : {}", team);
+    }
+
+    /**
+     * Queue album deletion (rows and files are removed by the background run)
+     *
+     * @param album album
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public void enqueue(Album album) throws IllegalArgumentException {
+        ensureNotNull(album, "Album");
+
+        dr.insert(DeletionRepository.ALBUM, album.getId(), null);
+        log.info("Queue Album Deletion : {}", album);
+    }
+
+    /**
+     * Drop albums being deleted (still in trash until the background run removes them)
+     *
+     * @param albums albumList
+     * @return albums not queued
+     */
+    public List<Album> filterQueued(List<Album> albums) {
+        List<Long> albumIds = new ArrayList<>(albums.size());
+        for (Album album : albums) {
+            albumIds.add(album.getId());
+        }
+
+        Set<Long> queued = dr.findRunningTargetIds(DeletionRepository.ALBUM, albumIds);
+        if (queued.isEmpty()) {
+            return albums;
+        }
+
+        List<Album> result = new ArrayList<>(albums.size());
+        for (Album album : albums) {
+            if (!queued.contains(album.getId())) {
+                result.add(album);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find progress of team deletion
+     *
+     * @param member owner who deleted the team
+     * @param teamId teamId
+     * @return progress
+     * @throws AccessException          Not requester
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public DeletionDTO searchProgress(Member member, Long teamId) throws AccessException, IllegalArgumentException {
+        ensureNotNull(member, "Member");
+        ensureNotNull(teamId, "TeamId");
+
+        DeletionDTO progress = dr.findDTO(DeletionRepository.TEAM, teamId, member.getId());
+
+        if (progress == null) {
+            throw new AccessException("Not Found Deletion");
+        }
+        return progress;
+    }
+
+    /**
+     * Run queued deletions (also resumes the ones cut by a crash or restart)
+     */
+    @Scheduled(fixedDelayString = "${recoder.deletion.poll-millis:10000}")
+    public void run() {
+        Budget budget = new Budget(chunksPerRun);
+
+        for (Job job : dr.findRunning(jobsPerRun)) {
+            if (budget.isSpent()) {
+                return;
+            }
+
+            JobLock lock = new JobLock(LOCK + job.id(), UUID.randomUUID().toString());
+
+            try {
+                Boolean locked = redisTemplate.opsForValue().setIfAbsent(lock.key(), lock.token(), Duration.ofSeconds(lockSeconds));
+
+                if (!Boolean.TRUE.equals(locked)) {
+                    continue;
+                }
+            } catch (Exception e) {
+                log.error("Deletion Lock Error : {} {}", job, e.getMessage());
+                continue;
+            }
+
+            try {
+                execute(job, lock, budget);
+            } catch (Exception e) {
+                log.error("Deletion Error : {} {}", job, e.getMessage());
+            } finally {
+                release(lock);
+            }
+        }
+    }
+
+    private void execute(Job job, JobLock lock, Budget budget) throws IOException {
+        if (DeletionRepository.TEAM.equals(job.kind())) {
+            List<Long> albumIds = dr.findAlbumIds(job.targetId());
+
+            for (Long albumId : albumIds) {
+                if (!deleteAlbum(job, albumId, lock, budget)) {
+                    return;
+                }
+            }
+
+            dr.deleteTeam(job.targetId());
+
+            /* rows went by plain JDBC, so nothing evicted them from the second-level cache */
+            entityCacheInvalidator.evict(Team.class, job.targetId());
+            entityCacheInvalidator.evictAfterCommit(Album.class, albumIds);
+            entityCacheInvalidator.evictRegion(TeamMember.class);
+        } else if (!deleteAlbum(job, job.targetId(), lock, budget)) {
+            return;
+        }
+
+        dr.finish(job.id());
+        log.info("Complete Deletion : {}", job);
+    }
+
+    /**
+     * Delete photos, chats and then the album in chunks
+     *
+     * @return album deleted (false = budget of this run spent)
+     */
+    private boolean deleteAlbum(Job job, Long albumId, JobLock lock, Budget budget) throws IOException {
+        Map<Long, String> photos;
+
+        do {
+            photos = dr.findPhotoPaths(albumId, chunkSize);
+
+            if (!photos.isEmpty()) {
+                ps.deleteFiles(new ArrayList<>(photos.values()));
+                dr.deletePhotos(job.id(), photos.keySet());
+                if (!pause(lock, budget)) {
+                    return false;
+                }
+            }
+        } while (photos.size() == chunkSize);
+
+        while (dr.deleteChats(albumId, chunkSize) == chunkSize) {
+            if (!pause(lock, budget)) {
+                return false;
+            }
+        }
+
+        dr.deleteAlbum(albumId);
+        entityCacheInvalidator.evict(Album.class, albumId);
+        return true;
+    }
+
+    /* give the database room between chunks, and keep the job lock while working (stop if another run took it) */
+    private boolean pause(JobLock lock, Budget budget) {
+        Long extended = redisTemplate.execute(EXTEND, List.of(lock.key()), lock.token(), String.valueOf(lockSeconds));
+
+        if (extended == null || extended == 0) {
+            throw new IllegalStateException("Deletion Lock Lost");
+        }
+
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Deletion Interrupted");
+        }
+        return budget.spend();
+    }
+
+    /* delete only our own lock : an expired one may already belong to another run */
+    private void release(JobLock lock) {
+        try {
+            redisTemplate.execute(RELEASE, List.of(lock.key()), lock.token());
+        } catch (Exception e) {
+            log.error("Deletion Unlock Error : {}", e.getMessage());
+        }
+    }
+
+    private void ensureNotNull(Object obj, String name) {
+        if (obj == null) {
+            throw new IllegalArgumentException(name + " is null");
+        }
+    }
+
+    private record JobLock(String key, String token) {
+    }
+
+    /**
+     * Chunks left for one run
+     */
+    private static class Budget {
+        private int chunks;
+
+        private Budget(int chunks) {
+            this.chunks = chunks;
+        }
+
+        /* false once spent */
+        private boolean spend() {
+            return --chunks > 0;
+        }
+
+        private boolean isSpent() {
+            return chunks <= 0;
+        }
+    }
+}
@@ -5,10 +5,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.cache.FollowGraph;
 import yuhan.hgcq.server.domain.Follow;
 import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.dto.follow.Follower;
+import yuhan.hgcq.server.dto.member.MemberDTO;
 import yuhan.hgcq.server.repository.FollowRepository;
+import yuhan.hgcq.server.repository.MemberRepository;
+import yuhan.hgcq.server.repository.TeamMemberRepository;
+import yuhan.hgcq.server.util.LongHashSet;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -18,6 +26,9 @@ public class FollowService {
     private static final Logger log = LoggerFactory.getLogger(FollowService.class);
 
     private final FollowRepository fr;
+    private final MemberRepository mr;
+    private final TeamMemberRepository tmr;
+    private final FollowGraph fg;
 
     /**
      * Add follow
@@ -30,6 +41,7 @@ public class FollowService {
         ensureNotNull(follow, "Follow");
 
         fr.save(follow);
+        fg.add(follow.getMemberId(), follow.getFollowId());
         log.info("Create Follow : {}", follow);
     }
 
@@ -44,6 +56,7 @@ public class FollowService {
         ensureNotNull(follow, "Follow");
 
         fr.delete(follow);
+        fg.remove(follow.getMemberId(), follow.getFollowId());
         log.info("Delete Follow : {}", follow);
     }
 
@@ -75,6 +88,19 @@ public class FollowService {
         return fr.findFollowingList(member);
     }
 
+    /**
+     * Find following dto list
+     *
+     * @param member member
+     * @return following dto list
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<MemberDTO> searchFollowingDTOList(Member member) throws IllegalArgumentException {
+        ensureNotNull(member, "Member");
+
+        return fr.findFollowingDTOList(member);
+    }
+
     /**
      * Find followingList by name
      *
@@ -102,6 +128,19 @@ public class FollowService {
         return fr.findFollowerList(member);
     }
 
+    /**
+     * Find follower dto list
+     *
+     * @param member member
+     * @return follower dto list
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<MemberDTO> searchFollowerDTOList(Member member) throws IllegalArgumentException {
+        ensureNotNull(member, "Member");
+
+        return fr.findFollowerDTOList(member);
+    }
+
     /**
      * Find followerList by name
      *
@@ -116,6 +155,110 @@ public class FollowService {
         return fr.findFollowerListByName(member, name);
     }
 
+    /**
+     * Find follower and following dto list (follow graph)
+     *
+     * @param member member
+     * @return follower
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public Follower searchFollower(Member member) throws IllegalArgumentException {
+        ensureNotNull(member, "Member");
+
+        if (!fg.isLoaded()) {
+            return new Follower(fr.findFollowerDTOList(member), fr.findFollowingDTOList(member));
+        }
+
+        LongHashSet followerIds = fg.followers(member.getId());
+        LongHashSet followingIds = fg.following(member.getId());
+
+        /* one member query for both sides */
+        List<Long> ids = new ArrayList<>(followerIds.size() + followingIds.size());
+        for (long id : followerIds.toArray()) {
+            ids.add(id);
+        }
+        for (long id : followingIds.toArray()) {
+            if (!followerIds.contains(id)) {
+                ids.add(id);
+            }
+        }
+
+        List<MemberDTO> followerList = new ArrayList<>();
+        List<MemberDTO> followingList = new ArrayList<>();
+
+        for (MemberDTO dto : mr.findDTOList(ids)) {
+            if (followerIds.contains(dto.getMemberId())) {
+                followerList.add(dto);
+            }
+            if (followingIds.contains(dto.getMemberId())) {
+                followingList.add(dto);
+            }
+        }
+
+        return new Follower(followerList, followingList);
+    }
+
+    /**
+     * Find mutual follow dto list (follow graph)
+     *
+     * @param member member
+     * @return mutual dto list
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<MemberDTO> searchMutualDTOList(Member member) throws IllegalArgumentException {
+        ensureNotNull(member, "Member");
+
+        if (!fg.isLoaded()) {
+            LongHashSet followerIds = LongHashSet.of(fr.findFollowerIds(member));
+            List<MemberDTO> dtoList = new ArrayList<>();
+
+            for (MemberDTO dto : fr.findFollowingDTOList(member)) {
+                if (followerIds.contains(dto.getMemberId())) {
+                    dtoList.add(dto);
+                }
+            }
+            return dtoList;
+        }
+
+        return mr.findDTOList(boxed(fg.mutual(member.getId())));
+    }
+
+    /**
+     * Find following dto list who are not team member (follow graph)
+     *
+     * @param member member
+     * @param team   team
+     * @return following dto list
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<MemberDTO> searchFollowingDTOListNotInTeam(Member member, Team team) throws IllegalArgumentException {
+        ensureNotNull(member, "Member");
+        ensureNotNull(team, "Team");
+
+        LongHashSet memberIds = LongHashSet.of(tmr.findMemberIds(team));
+
+        if (!fg.isLoaded()) {
+            List<MemberDTO> dtoList = new ArrayList<>();
+
+            for (MemberDTO dto : fr.findFollowingDTOList(member)) {
+                if (!memberIds.contains(dto.getMemberId())) {
+                    dtoList.add(dto);
+                }
+            }
+            return dtoList;
+        }
+
+        return mr.findDTOList(boxed(fg.followingNotIn(member.getId(), memberIds)));
+    }
+
+    private List<Long> boxed(long[] ids) {
+        List<Long> list = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+
     /**
      * Argument Check if Null
      *
@@ -3,13 +3,26 @@ package yuhan.hgcq.server.service;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.cache.LikeCounter;
+import yuhan.hgcq.server.cache.LikedPhotoCache;
+import yuhan.hgcq.server.cache.TrendingPhotos;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.ChangeAction;
+import yuhan.hgcq.server.domain.ChangeType;
 import yuhan.hgcq.server.domain.Liked;
 import yuhan.hgcq.server.domain.Member;
 import yuhan.hgcq.server.domain.Photo;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
+import yuhan.hgcq.server.event.LikeChangedEvent;
+import yuhan.hgcq.server.repository.AlbumRepository;
 import yuhan.hgcq.server.repository.LikedRepository;
+import yuhan.hgcq.server.repository.PhotoRepository;
+import yuhan.hgcq.server.util.LongHashSet;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -19,6 +32,13 @@ public class LikedService {
     private static final Logger log = LoggerFactory.getLogger(LikedService.class);
 
     private final LikedRepository lr;
+    private final PhotoRepository pr;
+    private final AlbumRepository ar;
+    private final TeamChangeService tcs;
+    private final LikedPhotoCache likedPhotoCache;
+    private final LikeCounter likeCounter;
+    private final TrendingPhotos trendingPhotos;
+    private final ApplicationEventPublisher publisher;
 
     /**
      * Add like
@@ -34,13 +54,29 @@ public class LikedService {
         Photo photo = liked.getPhoto();
 
         Liked find = lr.findOne(member, photo);
+        boolean changed;
 
         if (find == null) {
             lr.save(liked);
+            changed = true;
         } else {
-            liked.addLiked();
-            lr.update(liked);
+            /* decided by the row, a double tap must not count twice */
+            changed = lr.like(member.getId(), photo.getId());
+            find.addLiked();
         }
+
+        Long albumId = pr.findAlbumId(photo.getId());
+
+        if (changed) {
+            likeCounter.increase(photo.getId(), albumId);
+
+            Album album = albumId == null ? null : ar.findOne(albumId);
+            if (album != null) {
+                trendingPhotos.like(album.getTeam().getId(), photo.getId());
+            }
+        }
+        likedPhotoCache.add(member.getId(), photo.getId());
+        recordChange(albumId, member.getId(), photo.getId(), ChangeAction.CREATE);
         log.info("Add Like : {}", liked);
     }
 
@@ -54,9 +90,18 @@ public class LikedService {
     public void removeLike(Liked liked) throws IllegalArgumentException {
         ensureNotNull(liked, "Liked");
 
+        /* decided by the row, not by the (possibly stale) liked passed in */
+        boolean changed = lr.cancel(liked.getMemberId(), liked.getPhotoId());
+
         liked.cancelLiked();
 
-        lr.update(liked);
+        Long albumId = pr.findAlbumId(liked.getPhotoId());
+
+        if (changed) {
+            likeCounter.decrease(liked.getPhotoId(), albumId);
+        }
+        likedPhotoCache.remove(liked.getMemberId(), liked.getPhotoId());
+        recordChange(albumId, liked.getMemberId(), liked.getPhotoId(), ChangeAction.DELETE);
         log.info("Remove Like : {}", liked);
     }
 
@@ -94,6 +139,57 @@ public class LikedService {
         return lr.findAll(member);
     }
 
+    /**
+     * Find likeList dto (like count includes not flushed likes)
+     *
+     * @param member member
+     * @return photo dto list
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<PhotoDTO> searchAllDTO(Member member) throws IllegalArgumentException {
+        List<PhotoDTO> photoDTOList = new ArrayList<>();
+
+        for (Photo photo : searchAll(member)) {
+            PhotoDTO dto = new PhotoDTO();
+            dto.setPhotoId(photo.getId());
+            dto.setAlbumId(photo.getAlbum().getId());
+            dto.setName(photo.getName());
+            dto.setPath(photo.getPath());
+            dto.setCreated(photo.getCreated().toString());
+            dto.setLikeCount(searchLikeCount(photo));
+            dto.setIsLiked(true);
+            photoDTOList.add(dto);
+        }
+        return photoDTOList;
+    }
+
+    /**
+     * Find liked photoId set
+     *
+     * @param member member
+     * @return liked photoId set (read only)
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public LongHashSet searchLikedPhotoIds(Member member) throws IllegalArgumentException {
+        ensureNotNull(member, "Member");
+
+        return likedPhotoCache.get(member.getId(), () -> lr.findPhotoIds(member));
+    }
+
+    /**
+     * Find like count of photo (stored + not flushed)
+     *
+     * @param photo photo
+     * @return like count
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public long searchLikeCount(Photo photo) throws IllegalArgumentException {
+        ensureNotNull(photo, "Photo");
+
+        Long stored = photo.getLikeCount();
+        return (stored == null ? 0 : stored) + likeCounter.photoDelta(photo.getId());
+    }
+
     /**
      * Argument Check if Null
      *
@@ -105,4 +201,20 @@ public class LikedService {
             throw new IllegalArgumentException(name + " is null");
         }
     }
+
+    /**
+     * Like changes isLiked of the album photoList and team change feed
+     *
+     * @param albumId  albumId of photo
+     * @param memberId member of like
+     * @param photoId  photoId
+     * @param action   create(like), delete(cancel)
+     */
+    private void recordChange(Long albumId, Long memberId, Long photoId, ChangeAction action) {
+        if (albumId != null) {
+            Album album = ar.findOne(albumId);
+            tcs.record(album.getTeam().getId(), ChangeType.LIKED, action, photoId, memberId);
+            publisher.publishEvent(new LikeChangedEvent(albumId));
+        }
+    }
 }
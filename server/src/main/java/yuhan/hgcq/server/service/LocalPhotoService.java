@@ -3,14 +3,24 @@ package yuhan.hgcq.server.service;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import yuhan.hgcq.server.cache.LikeCounter;
+import yuhan.hgcq.server.cache.LikedPhotoCache;
 import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.ChangeAction;
+import yuhan.hgcq.server.domain.ChangeType;
 import yuhan.hgcq.server.domain.Photo;
 import yuhan.hgcq.server.domain.Team;
 import yuhan.hgcq.server.dto.photo.AutoSavePhotoForm;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
 import yuhan.hgcq.server.dto.photo.UploadPhotoForm;
+import yuhan.hgcq.server.event.AlbumChangedEvent;
+import yuhan.hgcq.server.event.PhotoChangedEvent;
 import yuhan.hgcq.server.repository.AlbumRepository;
 import yuhan.hgcq.server.repository.LikedRepository;
 import yuhan.hgcq.server.repository.PhotoRepository;
@@ -26,6 +36,7 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 //@Service
 @Transactional(readOnly = true)
@@ -37,12 +48,21 @@ public class LocalPhotoService implements PhotoService {
     private final AlbumRepository ar;
     private final TeamRepository tr;
     private final LikedRepository lr;
+    private final TeamChangeService tcs;
+    private final LikedPhotoCache likedPhotoCache;
+    private final LikeCounter likeCounter;
+    private final TimelineService tls;
+    private final ApplicationEventPublisher publisher;
 
     private final static int DELETE_DAY = 30;
     private final static String DIRECTORY_PATH = File.separator
             + "app" + File.separator
             + "images" + File.separator;
 
+    /* rows per query of streaming responses, no connection is held while a page is written */
+    @Value("${recoder.stream.page-size:500}")
+    private int streamPageSize;
+
     /**
      * Upload photoList
      *
@@ -82,15 +102,19 @@ public class LocalPhotoService implements PhotoService {
                     continue;
                 }
 
-                Path path = Paths.get(newPath + name);
-                file.transferTo(path);
                 String imagePath = "/images/" + albumId + "/" + name;
-
                 Photo p = new Photo(fa, name, imagePath, region, LocalDateTime.parse(create));
+                p.locate(form.getLatitude(i), form.getLongitude(i));
+
+                Path path = Paths.get(newPath + name);
+                file.transferTo(path);
                 pr.save(p);
+                tls.add(p);
+                tcs.record(fa.getTeam().getId(), ChangeType.PHOTO, ChangeAction.CREATE, p.getId());
 
                 log.info("Save Photos : {}", p);
             }
+            publisher.publishEvent(new PhotoChangedEvent(albumId));
         } catch (IOException e) {
             log.error("Upload Photo Error");
             throw new IOException();
@@ -107,10 +131,20 @@ public class LocalPhotoService implements PhotoService {
     public void deletePhoto(Photo photo) throws IllegalArgumentException {
         ensureNotNull(photo, "Photo");
 
+        boolean wasDeleted = Boolean.TRUE.equals(photo.getIsDeleted());
+
         photo.delete();
 
         pr.save(photo);
-        lr.delete(photo);
+        if (!wasDeleted) {
+            tls.remove(photo);
+        }
+        List<Long> likedMemberIds = lr.findMemberIds(photo);
+        int likes = lr.delete(photo);
+        likeCounter.remove(photo.getId(), photo.getAlbum().getId(), likes);
+        likedPhotoCache.removePhoto(photo.getId(), likedMemberIds);
+        tcs.record(teamIdOf(photo.getAlbum().getId()), ChangeType.PHOTO, ChangeAction.DELETE, photo.getId());
+        publisher.publishEvent(new PhotoChangedEvent(photo.getAlbum().getId()));
         log.info("Delete Photo : {}", photo);
     }
 
@@ -124,9 +158,16 @@ public class LocalPhotoService implements PhotoService {
     public void deleteCancelPhoto(Photo photo) throws IllegalArgumentException {
         ensureNotNull(photo, "Photo");
 
+        boolean wasDeleted = Boolean.TRUE.equals(photo.getIsDeleted());
+
         photo.cancelDelete();
 
         pr.save(photo);
+        if (wasDeleted) {
+            tls.add(photo);
+        }
+        tcs.record(teamIdOf(photo.getAlbum().getId()), ChangeType.PHOTO, ChangeAction.CREATE, photo.getId());
+        publisher.publishEvent(new PhotoChangedEvent(photo.getAlbum().getId()));
         log.info("Delete Cancel Photo : {}", photo);
     }
 
@@ -144,11 +185,25 @@ public class LocalPhotoService implements PhotoService {
 
             if (between >= DELETE_DAY) {
                 pr.delete(photo.getId());
+                publisher.publishEvent(new PhotoChangedEvent(photo.getAlbum().getId()));
                 log.info("Complete Delete Photo : {}", photo);
             }
         }
     }
 
+    /**
+     * Delete photo files
+     *
+     * @param paths photo paths (/images/albumId/name)
+     * @throws IOException Delete error
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deleteFiles(List<String> paths) throws IOException {
+        for (String path : paths) {
+            Files.deleteIfExists(Paths.get(DIRECTORY_PATH + path.substring("/images/".length())));
+        }
+    }
+
     /**
      * Find photo by path
      *
@@ -196,6 +251,54 @@ public class LocalPhotoService implements PhotoService {
         return pr.findAll(album);
     }
 
+    /**
+     * Find photo dto list
+     *
+     * @param album album
+     * @return photo dto list
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<PhotoDTO> searchAllDTO(Album album) throws IllegalArgumentException {
+        ensureNotNull(album, "Album");
+
+        List<PhotoDTO> photoDTOList = pr.findAllDTO(album);
+
+        /* add likes not flushed yet */
+        for (PhotoDTO dto : photoDTOList) {
+            dto.setLikeCount(dto.getLikeCount() + likeCounter.photoDelta(dto.getPhotoId()));
+        }
+        return photoDTOList;
+    }
+
+    /**
+     * Read photo dto list page by page (no transaction, the connection is released between pages, for streaming response)
+     *
+     * @param album  album
+     * @param action row action
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachDTO(Album album, Consumer<? super PhotoDTO> action) throws IllegalArgumentException {
+        ensureNotNull(album, "Album");
+        ensureNotNull(action, "Action");
+
+        List<PhotoDTO> page = pr.findDTOPage(album, null, null, streamPageSize);
+
+        while (!page.isEmpty()) {
+            for (PhotoDTO dto : page) {
+                dto.setLikeCount(dto.getLikeCount() + likeCounter.photoDelta(dto.getPhotoId()));
+                action.accept(dto);
+            }
+
+            if (page.size() < streamPageSize) {
+                break;
+            }
+
+            PhotoDTO last = page.get(page.size() - 1);
+            page = pr.findDTOPage(album, LocalDateTime.parse(last.getCreated()), last.getPhotoId(), streamPageSize);
+        }
+    }
+
     /**
      * Find photoTrashList
      *
@@ -237,6 +340,8 @@ public class LocalPhotoService implements PhotoService {
                 } else {
                     Album album = new Album(ft, "위치 정보 없음");
                     Long saveId = ar.save(album);
+                    tcs.record(teamId, ChangeType.ALBUM, ChangeAction.CREATE, saveId);
+                    publisher.publishEvent(new AlbumChangedEvent(teamId));
                     log.info("Save Album : {}", album);
                     fa = ar.findOne(saveId);
                     albumNames.add(fa.getName());
@@ -246,6 +351,8 @@ public class LocalPhotoService implements PhotoService {
             } else {
                 Album album = new Album(ft, region);
                 Long saveId = ar.save(album);
+                tcs.record(teamId, ChangeType.ALBUM, ChangeAction.CREATE, saveId);
+                publisher.publishEvent(new AlbumChangedEvent(teamId));
                 log.info("Save Album : {}", album);
                 fa = ar.findOne(saveId);
                 albumNames.add(fa.getName());
@@ -270,12 +377,16 @@ public class LocalPhotoService implements PhotoService {
                         continue;
                     }
 
-                    Path path = Paths.get(newPath + name);
-                    file.transferTo(path);
                     String imagePath = "/images/" + albumId + "/" + name;
-
                     Photo p = new Photo(fa, name, imagePath, region, LocalDateTime.parse(creates.get(i)));
+                    p.locate(form.getLatitude(i), form.getLongitude(i));
+
+                    Path path = Paths.get(newPath + name);
+                    file.transferTo(path);
                     pr.save(p);
+                    tls.add(p);
+                    tcs.record(teamId, ChangeType.PHOTO, ChangeAction.CREATE, p.getId());
+                    publisher.publishEvent(new PhotoChangedEvent(albumId));
 
                     log.info("AutoSave Photo : {}", p);
                 } catch (IOException e) {
@@ -299,8 +410,14 @@ public class LocalPhotoService implements PhotoService {
         ensureNotNull(photos, "Photos");
 
         for (Photo photo : photos) {
+            Long oldAlbumId = photo.getAlbum().getId();
             photo.changeAlbum(newAlbum);
             pr.save(photo);
+            recordMove(oldAlbumId, newAlbum, photo);
+            tls.move(photo, oldAlbumId);
+            likeCounter.move(photo.getId(), photo.getLikeCount(), oldAlbumId, newAlbum.getId());
+            publisher.publishEvent(new PhotoChangedEvent(oldAlbumId));
+            publisher.publishEvent(new PhotoChangedEvent(newAlbum.getId()));
             log.info("Move Photo : {}", photo);
         }
     }
@@ -316,4 +433,36 @@ public class LocalPhotoService implements PhotoService {
             throw new IllegalArgumentException(name + " is null");
         }
     }
+
+    /**
+     * Record moved photo (delete from old team when team is changed)
+     *
+     * @param oldAlbumId old albumId
+     * @param newAlbum   new album
+     * @param photo      photo
+     */
+    private void recordMove(Long oldAlbumId, Album newAlbum, Photo photo) {
+        Long oldTeamId = teamIdOf(oldAlbumId);
+        Long newTeamId = teamIdOf(newAlbum.getId());
+
+        if (!oldTeamId.equals(newTeamId)) {
+            tcs.record(oldTeamId, ChangeType.PHOTO, ChangeAction.DELETE, photo.getId());
+            tcs.record(newTeamId, ChangeType.PHOTO, ChangeAction.CREATE, photo.getId());
+        } else {
+            tcs.record(newTeamId, ChangeType.PHOTO, ChangeAction.UPDATE, photo.getId());
+        }
+    }
+
+    /**
+     * Find teamId of album
+     *
+     * @param albumId albumId
+     * @return teamId
+     */
+    private Long teamIdOf(Long albumId) {
+        Album album = ar.findOne(albumId);
+
+        ensureNotNull(album, "Album");
+        return album.getTeam().getId();
+    }
 }
@@ -0,0 +1,96 @@
+package yuhan.hgcq.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.cache.LikeCounter;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.dto.photo.PhotoClusterDTO;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
+import yuhan.hgcq.server.repository.PhotoRepository;
+import yuhan.hgcq.server.util.GeoHash;
+
+import java.util.*;
+
+/**
+ * Photo map of team (server side clusters per geohash cell)
+ * <p>
+ * Cluster cell size follows zoom, so the cluster count of a screen stays about the same
+ * at any zoom. The box is narrowed to geohash cell ranges of the (album, geohash) index,
+ * and clusters are counted from the index only.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MapService {
+    private final PhotoRepository pr;
+    private final LikeCounter likeCounter;
+
+    @Value("${recoder.geo.max-clusters:500}")
+    private int maxClusters;
+
+    @Value("${recoder.geo.max-cells:32}")
+    private int maxCells;
+
+    /**
+     * Find photo clusters of team in box
+     *
+     * @param team  team
+     * @param south south latitude
+     * @param west  west longitude
+     * @param north north latitude
+     * @param east  east longitude (< west = box crosses antimeridian)
+     * @param zoom  map zoom (0 ~ 22)
+     * @return cluster list (count order, newest photo of cluster)
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<PhotoClusterDTO> searchClusters(Team team, double south, double west, double north, double east, int zoom) throws IllegalArgumentException {
+        ensureNotNull(team, "Team");
+
+        if (!GeoHash.isValid(south, west) || !GeoHash.isValid(north, east) || south > north) {
+            throw new IllegalArgumentException("Wrong Box");
+        }
+
+        int precision = precision(zoom);
+        List<String> cells = GeoHash.cover(south, west, north, east, maxCells, precision);
+        List<Object[]> rows = pr.findClusters(team.getId(), precision, cells, south, west, north, east, maxClusters);
+
+        List<Long> photoIds = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            photoIds.add((Long) row[4]);
+        }
+
+        Map<Long, PhotoDTO> photos = new HashMap<>();
+        if (!photoIds.isEmpty()) {
+            for (PhotoDTO dto : pr.findDTOList(team, photoIds)) {
+                dto.setLikeCount(dto.getLikeCount() + likeCounter.photoDelta(dto.getPhotoId()));
+                photos.put(dto.getPhotoId(), dto);
+            }
+        }
+
+        List<PhotoClusterDTO> clusters = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            clusters.add(new PhotoClusterDTO((String) row[0], (Long) row[1],
+                    ((Number) row[2]).doubleValue(), ((Number) row[3]).doubleValue(), photos.get((Long) row[4])));
+        }
+        return clusters;
+    }
+
+    /**
+     * Cluster cell length of zoom (cell about a quarter of a 256px tile)
+     *
+     * @param zoom map zoom
+     * @return geohash length
+     */
+    static int precision(int zoom) {
+        int precision = (int) Math.round((Math.max(zoom, 0) + 2) * 2 / 5.0);
+        return Math.max(1, Math.min(GeoHash.MAX_PRECISION, precision));
+    }
+
+    private void ensureNotNull(Object obj, String name) {
+        if (obj == null) {
+            throw new IllegalArgumentException(name + " is null");
+        }
+    }
+}
@@ -3,22 +3,32 @@ package yuhan.hgcq.server.service;
 import io.awspring.cloud.s3.ObjectMetadata;
 import io.awspring.cloud.s3.S3Operations;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import yuhan.hgcq.server.cache.FollowGraph;
+import yuhan.hgcq.server.cache.MemberBloom;
 import yuhan.hgcq.server.domain.Member;
 import yuhan.hgcq.server.dto.member.LoginForm;
+import yuhan.hgcq.server.dto.member.MemberDTO;
 import yuhan.hgcq.server.dto.member.MemberUpdateForm;
 import yuhan.hgcq.server.dto.member.SignupForm;
 import yuhan.hgcq.server.dto.photo.UploadMemberForm;
+import yuhan.hgcq.server.event.MemberChangedEvent;
 import yuhan.hgcq.server.repository.MemberRepository;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
 
 @Service
 @Transactional(readOnly = true)
@@ -28,19 +38,28 @@ public class MemberService {
 
     private final MemberRepository mr;
     private final S3Operations s3Operations;
+    private final ApplicationEventPublisher publisher;
+    private final MemberBloom bloom;
+    private final FollowGraph fg;
 
     @Value("${spring.cloud.aws.s3.bucket}")
     private String bucketName;
 
+    /* rows per query of streaming responses, no connection is held while a page is written */
+    @Value("${recoder.stream.page-size:500}")
+    private int streamPageSize;
+
     /**
      * Join
+     * <p>
+     * Checks are only for a friendly error, the unique constraints decide concurrent joins.
      *
      * @param form Join form
      * @return memberId
      * @throws IllegalArgumentException Argument is wrong
      */
     @Transactional
-    public synchronized Long join(SignupForm form) throws IllegalArgumentException {
+    public Long join(SignupForm form) throws IllegalArgumentException {
         String name = form.getName();
         String email = form.getEmail();
         String password = form.getPassword();
@@ -54,7 +73,12 @@ public class MemberService {
         }
 
         Member member = new Member(name, email, password);
-        mr.save(member);
+
+        try {
+            mr.insert(member);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException(alreadyExist(e));
+        }
 
         log.info("Join Member : {}", member);
         return member.getId();
@@ -63,6 +87,8 @@ public class MemberService {
     @Transactional
     public void delete(Long memberId) {
         mr.delete(memberId);
+        fg.removeMember(memberId);
+        publisher.publishEvent(new MemberChangedEvent(memberId));
         log.info("Delete Member : {}", memberId);
     }
 
@@ -75,17 +101,18 @@ public class MemberService {
      */
     @Transactional
     public Member login(LoginForm loginForm) throws IllegalArgumentException {
-        List<String> emailList = mr.findAllEmails();
-
         String memberEmail = loginForm.getEmail();
         String memberPassword = loginForm.getPassword();
 
-        if (!emailList.contains(memberEmail)) {
-            throw new IllegalArgumentException("Not exist Email");
-        }
+        ensureNotNull(memberEmail, "Email");
 
+        /* always the indexed lookup : a bloom negative is not final on a node that missed an add */
         Member fm = mr.findOne(memberEmail);
 
+        if (fm == null) {
+            throw new IllegalArgumentException("Not exist Email");
+        }
+
         if (fm.getPassword().equals(memberPassword)) {
             log.info("Login Success : {}", fm);
             return fm;
@@ -108,7 +135,8 @@ public class MemberService {
         String newName = form.getName();
         String newPassword = form.getPassword();
 
-        if (newName != null && duplicateName(newName)) {
+        /* always the indexed lookup : a bloom negative is not final on a node that missed an add */
+        if (newName != null && !mr.existsName(newName)) {
             member.changeName(newName);
         }
 
@@ -117,6 +145,7 @@ public class MemberService {
         }
 
         mr.save(member);
+        publisher.publishEvent(new MemberChangedEvent(member.getId()));
         log.info("Update Member : {}", member);
     }
 
@@ -137,6 +166,29 @@ public class MemberService {
         return fm;
     }
 
+    /**
+     * Find member reference (no DB access, for query parameters)
+     *
+     * @param id memberId
+     * @return member proxy
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public Member searchReference(Long id) throws IllegalArgumentException {
+        ensureNotNull(id, "Member");
+
+        return mr.findReference(id);
+    }
+
+    /**
+     * Find member dto
+     *
+     * @param id memberId
+     * @return member dto (null = not found)
+     */
+    public MemberDTO searchDTO(Long id) {
+        return mr.findDTO(id);
+    }
+
     /**
      * Find memberList
      *
@@ -146,6 +198,35 @@ public class MemberService {
         return mr.findAll();
     }
 
+    /**
+     * Find member dto list
+     *
+     * @return member dto list
+     */
+    public List<MemberDTO> searchAllDTO() {
+        return mr.findAllDTO();
+    }
+
+    /**
+     * Read member dto list page by page (no transaction, the connection is released between pages, for streaming response)
+     *
+     * @param action row action
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachDTO(Consumer<? super MemberDTO> action) {
+        List<MemberDTO> page = mr.findDTOPage(null, streamPageSize);
+
+        while (!page.isEmpty()) {
+            page.forEach(action);
+
+            if (page.size() < streamPageSize) {
+                break;
+            }
+
+            page = mr.findDTOPage(page.get(page.size() - 1).getName(), streamPageSize);
+        }
+    }
+
     /**
      * Find memberList by name
      *
@@ -163,8 +244,9 @@ public class MemberService {
      * @return is duplicate?
      */
     public boolean duplicateEmail(String email) {
-        List<String> emails = mr.findAllEmails();
-        return !emails.contains(email);
+        ensureNotNull(email, "Email");
+
+        return !bloom.mightContainEmail(email) || !mr.existsEmail(email);
     }
 
     /**
@@ -174,8 +256,9 @@ public class MemberService {
      * @return is duplicate?
      */
     public boolean duplicateName(String name) {
-        List<String> names = mr.findAllNames();
-        return !names.contains(name);
+        ensureNotNull(name, "Name");
+
+        return !bloom.mightContainName(name) || !mr.existsName(name);
     }
 
     /**
@@ -201,6 +284,7 @@ public class MemberService {
                     ObjectMetadata.builder().contentType(file.getContentType()).build());
             member.changeImage(key);
             mr.save(member);
+            publisher.publishEvent(new MemberChangedEvent(member.getId()));
 
             log.info("Upload Member : {}", member);
             return key;
@@ -214,9 +298,42 @@ public class MemberService {
     public void toggleSearched(Member member) {
         member.changeSearch();
         mr.save(member);
+        publisher.publishEvent(new MemberChangedEvent(member.getId()));
         log.info("Change Search : {}", member);
     }
 
+    /**
+     * Translate unique constraint violation of join
+     * <p>
+     * Index names are uk_member_email / uk_member_name on every schema (V1, or renamed by V11).
+     *
+     * @param e violation
+     * @return error message
+     * @throws DataIntegrityViolationException Not a member unique constraint
+     */
+    private String alreadyExist(DataIntegrityViolationException e) throws DataIntegrityViolationException {
+        String constraint = null;
+
+        if (e.getCause() instanceof ConstraintViolationException cve) {
+            constraint = cve.getConstraintName();
+        }
+
+        if (constraint == null) {
+            constraint = String.valueOf(e.getMostSpecificCause().getMessage());
+        }
+
+        constraint = constraint.toLowerCase(Locale.ROOT);
+
+        if (constraint.contains("uk_member_email")) {
+            return "Already Exist Email";
+        }
+
+        if (constraint.contains("uk_member_name")) {
+            return "Already Exist Name";
+        }
+        throw e;
+    }
+
     /**
      * Argument Check if Null
      *
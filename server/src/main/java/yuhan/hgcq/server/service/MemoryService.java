@@ -0,0 +1,159 @@
+package yuhan.hgcq.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.cache.LikeCounter;
+import yuhan.hgcq.server.cache.MemoryFeed;
+import yuhan.hgcq.server.cache.TeamAcl;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
+import yuhan.hgcq.server.repository.PhotoRepository;
+import yuhan.hgcq.server.repository.TeamRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.*;
+
+/**
+ * "On this day" memories (photos created on this month-day in past years)
+ * <p>
+ * Photo.createdMd is generated by MySQL and indexed with album, so upload, delete and move
+ * keep the index current without extra writes.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MemoryService {
+    private static final Logger log = LoggerFactory.getLogger(MemoryService.class);
+
+    private static final String FILL_LOCK = "lock:memory:fill:";
+
+    private final PhotoRepository pr;
+    private final TeamRepository tr;
+    private final MemoryFeed feed;
+    private final TeamAcl acl;
+    private final LikeCounter likeCounter;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${recoder.memory.size:100}")
+    private int size;
+
+    @Value("${recoder.memory.page-size:500}")
+    private int pageSize;
+
+    /**
+     * Find memories of member's teams on today
+     *
+     * @param member member
+     * @return photo dto list (newest year first)
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<PhotoDTO> searchMemoryDTO(Member member) throws IllegalArgumentException {
+        ensureNotNull(member, "Member");
+
+        LocalDate today = LocalDate.now();
+        Set<Long> teamIds = acl.teamIds(member.getId());
+
+        List<PhotoDTO> cached = new ArrayList<>();
+        for (List<PhotoDTO> teamMemories : feed.get(teamIds, today, teamId -> load(teamId, today)).values()) {
+            cached.addAll(teamMemories);
+        }
+
+        /* feeds live for days and likes don't evict them, so counts are read now (plus likes not flushed yet) */
+        Map<Long, Long> likeCounts = pr.findLikeCounts(cached.stream().map(PhotoDTO::getPhotoId).toList());
+
+        List<PhotoDTO> memories = new ArrayList<>(cached.size());
+        for (PhotoDTO dto : cached) {
+            Long likeCount = likeCounts.get(dto.getPhotoId());
+
+            if (likeCount != null) {
+                dto.setLikeCount(likeCount + likeCounter.photoDelta(dto.getPhotoId()));
+                memories.add(dto);
+            }
+        }
+        memories.sort(Comparator.comparing(PhotoDTO::getCreated).reversed());
+        return memories;
+    }
+
+    /**
+     * Fill memories of every team for tomorrow (one instance per day)
+     * <p>
+     * Not transactional : every page is its own short query, no connection is held across the whole run.
+     */
+    @Scheduled(cron = "${recoder.memory.fill-cron:0 30 23 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void fill() {
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        try {
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(FILL_LOCK + date, "1", Duration.ofHours(6));
+
+            if (!Boolean.TRUE.equals(locked)) {
+                return;
+            }
+        } catch (Exception e) {
+            log.error("Memory Fill Lock Error : {}", e.getMessage());
+            return;
+        }
+
+        long lastId = 0;
+        int count = 0;
+        List<Long> teamIds;
+
+        do {
+            teamIds = tr.findIds(lastId, pageSize);
+
+            for (Long teamId : teamIds) {
+                feed.put(teamId, date, load(teamId, date));
+                count++;
+            }
+
+            if (!teamIds.isEmpty()) {
+                lastId = teamIds.get(teamIds.size() - 1);
+            }
+        } while (teamIds.size() == pageSize);
+
+        log.info("Fill Memory Feed : {} teams for {}", count, date);
+    }
+
+    /**
+     * Find memories of team on date from the month-day index
+     *
+     * @param teamId teamId
+     * @param date   date
+     * @return photo dto list
+     */
+    private List<PhotoDTO> load(Long teamId, LocalDate date) {
+        return pr.findMemoryDTO(teamId, monthDays(date), date.withDayOfYear(1).atStartOfDay(), size);
+    }
+
+    /**
+     * Month-day keys of date (Feb 28 of common years also shows Feb 29)
+     *
+     * @param date date
+     * @return month * 100 + day list
+     */
+    static List<Integer> monthDays(LocalDate date) {
+        MonthDay monthDay = MonthDay.from(date);
+        int key = monthDay.getMonthValue() * 100 + monthDay.getDayOfMonth();
+
+        if (key == 228 && !date.isLeapYear()) {
+            return List.of(228, 229);
+        }
+        return List.of(key);
+    }
+
+    private void ensureNotNull(Object obj, String name) {
+        if (obj == null) {
+            throw new IllegalArgumentException(name + " is null");
+        }
+    }
+}
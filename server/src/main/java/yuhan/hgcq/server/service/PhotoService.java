@@ -4,10 +4,12 @@ import yuhan.hgcq.server.domain.Album;
 import yuhan.hgcq.server.domain.Photo;
 import yuhan.hgcq.server.domain.Team;
 import yuhan.hgcq.server.dto.photo.AutoSavePhotoForm;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
 import yuhan.hgcq.server.dto.photo.UploadPhotoForm;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PhotoService {
 
@@ -15,9 +17,12 @@ public interface PhotoService {
     void deletePhoto(Photo photo) throws IllegalArgumentException;
     void deleteCancelPhoto(Photo photo) throws IllegalArgumentException;
     void trash(List<Photo> photos);
+    void deleteFiles(List<String> paths) throws IOException;
     Photo searchOne(Long id) throws IllegalArgumentException;
     Photo searchOne(String path) throws IllegalArgumentException;
     List<Photo> searchAll(Album album) throws IllegalArgumentException;
+    List<PhotoDTO> searchAllDTO(Album album) throws IllegalArgumentException;
+    void forEachDTO(Album album, Consumer<? super PhotoDTO> action) throws IllegalArgumentException;
     List<Photo> searchTrashList(Album album) throws IllegalArgumentException;
     void autoSave(AutoSavePhotoForm form) throws IOException;
     void move(Album newAlbum, List<Photo> photos) throws IOException, IllegalArgumentException;
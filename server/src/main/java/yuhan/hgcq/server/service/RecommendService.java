@@ -0,0 +1,188 @@
+package yuhan.hgcq.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.cache.FollowGraph;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.dto.member.MemberDTO;
+import yuhan.hgcq.server.dto.member.RecommendDTO;
+import yuhan.hgcq.server.repository.MemberRepository;
+import yuhan.hgcq.server.repository.TeamMemberRepository;
+import yuhan.hgcq.server.util.LongHashSet;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * People you may know
+ * <p>
+ * Candidates are followings of my followings (mutual count) and members of my teams (team count).
+ * Work per member is bounded by fan-out, and top-N list is cached per member until ttl.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class RecommendService {
+    private static final Logger log = LoggerFactory.getLogger(RecommendService.class);
+
+    private final FollowGraph fg;
+    private final MemberRepository mr;
+    private final TeamMemberRepository tmr;
+
+    @Value("${recoder.recommend.size:20}")
+    private int size;
+
+    @Value("${recoder.recommend.fan-out:1000}")
+    private int fanOut;
+
+    @Value("${recoder.recommend.cache-size:10000}")
+    private long cacheSize;
+
+    @Value("${recoder.recommend.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private Cache<Long, List<RecommendDTO>> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Find people you may know
+     *
+     * @param member member
+     * @return recommend dto list (score order)
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<RecommendDTO> searchRecommendList(Member member) throws IllegalArgumentException {
+        ensureNotNull(member, "Member");
+
+        Long memberId = member.getId();
+        List<RecommendDTO> recommendList = cache.getIfPresent(memberId);
+
+        if (recommendList == null) {
+            recommendList = rank(memberId);
+
+            /* follow graph is empty until loaded, don't keep a team only list */
+            if (fg.isLoaded()) {
+                cache.put(memberId, recommendList);
+            }
+        }
+
+        /* followed since cached */
+        LongHashSet following = fg.following(memberId);
+        List<RecommendDTO> result = new ArrayList<>(recommendList.size());
+
+        for (RecommendDTO dto : recommendList) {
+            if (!following.contains(dto.getMemberId())) {
+                result.add(dto);
+            }
+        }
+        return result;
+    }
+
+    private List<RecommendDTO> rank(Long memberId) {
+        LongHashSet following = fg.following(memberId);
+
+        /* candidateId -> {mutual count, team count} */
+        Map<Long, int[]> scores = new HashMap<>();
+
+        long[] friends = following.toArray();
+        for (int i = 0; i < friends.length && i < fanOut; i++) {
+            long[] friendsOfFriend = fg.following(friends[i]).toArray();
+
+            for (int j = 0; j < friendsOfFriend.length && j < fanOut; j++) {
+                long candidate = friendsOfFriend[j];
+
+                if (candidate == memberId || following.contains(candidate)) {
+                    continue;
+                }
+                scores.computeIfAbsent(candidate, id -> new int[2])[0]++;
+            }
+        }
+
+        for (Object[] row : tmr.findSharedTeamCounts(memberId, fanOut)) {
+            Long candidate = (Long) row[0];
+
+            if (following.contains(candidate)) {
+                continue;
+            }
+            scores.computeIfAbsent(candidate, id -> new int[2])[1] = ((Long) row[1]).intValue();
+        }
+
+        if (scores.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        /* keep top candidates only, extra room for members who hide from search */
+        Comparator<Map.Entry<Long, int[]>> order = Comparator
+                .comparingInt((Map.Entry<Long, int[]> e) -> e.getValue()[0] + e.getValue()[1])
+                .thenComparingInt(e -> e.getValue()[0])
+                .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+
+        int keep = size * 2;
+        PriorityQueue<Map.Entry<Long, int[]>> top = new PriorityQueue<>(keep + 1, order);
+
+        for (Map.Entry<Long, int[]> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > keep) {
+                top.poll();
+            }
+        }
+
+        List<Map.Entry<Long, int[]>> ranked = new ArrayList<>(top);
+        ranked.sort(order.reversed());
+
+        List<Long> ids = new ArrayList<>(ranked.size());
+        for (Map.Entry<Long, int[]> entry : ranked) {
+            ids.add(entry.getKey());
+        }
+
+        Map<Long, MemberDTO> members = new HashMap<>();
+        for (MemberDTO dto : mr.findDTOList(ids)) {
+            members.put(dto.getMemberId(), dto);
+        }
+
+        List<RecommendDTO> recommendList = new ArrayList<>(size);
+        for (Map.Entry<Long, int[]> entry : ranked) {
+            MemberDTO dto = members.get(entry.getKey());
+
+            if (dto == null || !Boolean.TRUE.equals(dto.getSearch())) {
+                continue;
+            }
+
+            recommendList.add(new RecommendDTO(dto.getMemberId(), dto.getName(), dto.getEmail(), dto.getImage(),
+                    entry.getValue()[0], entry.getValue()[1]));
+
+            if (recommendList.size() == size) {
+                break;
+            }
+        }
+
+        log.debug("Rank Recommend : {} -> {} of {}", memberId, recommendList.size(), scores.size());
+        return recommendList;
+    }
+
+    /**
+     * Argument Check if Null
+     *
+     * @param obj  argument
+     * @param name by log
+     */
+    private void ensureNotNull(Object obj, String name) {
+        if (obj == null) {
+            throw new IllegalArgumentException(name + " is null");
+        }
+    }
+}
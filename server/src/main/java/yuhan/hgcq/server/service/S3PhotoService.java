@@ -7,14 +7,29 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import yuhan.hgcq.server.cache.LikeCounter;
+import yuhan.hgcq.server.cache.LikedPhotoCache;
 import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.ChangeAction;
+import yuhan.hgcq.server.domain.ChangeType;
 import yuhan.hgcq.server.domain.Photo;
 import yuhan.hgcq.server.domain.Team;
 import yuhan.hgcq.server.dto.photo.AutoSavePhotoForm;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
 import yuhan.hgcq.server.dto.photo.UploadPhotoForm;
+import yuhan.hgcq.server.event.AlbumChangedEvent;
+import yuhan.hgcq.server.event.PhotoChangedEvent;
 import yuhan.hgcq.server.repository.AlbumRepository;
 import yuhan.hgcq.server.repository.LikedRepository;
 import yuhan.hgcq.server.repository.PhotoRepository;
@@ -26,6 +41,7 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 @Transactional(readOnly = true)
@@ -37,13 +53,24 @@ public class S3PhotoService implements PhotoService {
     private final AlbumRepository ar;
     private final TeamRepository tr;
     private final LikedRepository lr;
+    private final TeamChangeService tcs;
+    private final LikedPhotoCache likedPhotoCache;
+    private final LikeCounter likeCounter;
+    private final TimelineService tls;
+    private final ApplicationEventPublisher publisher;
     private final S3Operations s3Operations;
+    private final S3Client s3Client;
 
     private final static int DELETE_DAY = 30;
+    private final static int S3_DELETE_BATCH = 1000;
 
     @Value("${spring.cloud.aws.s3.bucket}")
     private String bucketName;
 
+    /* rows per query of streaming responses, no connection is held while a page is written */
+    @Value("${recoder.stream.page-size:500}")
+    private int streamPageSize;
+
     /**
      * Upload photoList
      *
@@ -76,16 +103,22 @@ public class S3PhotoService implements PhotoService {
 
             String key = "images/" + albumId + "/" + name;
 
+            /* built before the upload, so a bad create date fails before the object is stored */
+            Photo photo = new Photo(fa, name, key, regions.get(i), LocalDateTime.parse(creates.get(i)));
+            photo.locate(form.getLatitude(i), form.getLongitude(i));
+
             try (InputStream inputStream = file.getInputStream()) {
                 s3Operations.upload(bucketName, key, inputStream,
                         ObjectMetadata.builder().contentType(file.getContentType()).build());
-                Photo photo = new Photo(fa, name, key, regions.get(i), LocalDateTime.parse(creates.get(i)));
                 pr.save(photo);
+                tls.add(photo);
+                tcs.record(fa.getTeam().getId(), ChangeType.PHOTO, ChangeAction.CREATE, photo.getId());
                 log.info("Save Photo : {}", photo);
             } catch (IOException e) {
                 throw new IOException(e.getMessage());
             }
         }
+        publisher.publishEvent(new PhotoChangedEvent(albumId));
     }
 
     /**
@@ -99,10 +132,20 @@ public class S3PhotoService implements PhotoService {
     public void deletePhoto(Photo photo) throws IllegalArgumentException {
         ensureNotNull(photo, "Photo");
 
+        boolean wasDeleted = Boolean.TRUE.equals(photo.getIsDeleted());
+
         photo.delete();
 
         pr.save(photo);
-        lr.delete(photo);
+        if (!wasDeleted) {
+            tls.remove(photo);
+        }
+        List<Long> likedMemberIds = lr.findMemberIds(photo);
+        int likes = lr.delete(photo);
+        likeCounter.remove(photo.getId(), photo.getAlbum().getId(), likes);
+        likedPhotoCache.removePhoto(photo.getId(), likedMemberIds);
+        tcs.record(teamIdOf(photo.getAlbum().getId()), ChangeType.PHOTO, ChangeAction.DELETE, photo.getId());
+        publisher.publishEvent(new PhotoChangedEvent(photo.getAlbum().getId()));
         log.info("Delete Photo : {}", photo);
     }
 
@@ -117,9 +160,16 @@ public class S3PhotoService implements PhotoService {
     public void deleteCancelPhoto(Photo photo) throws IllegalArgumentException {
         ensureNotNull(photo, "Photo");
 
+        boolean wasDeleted = Boolean.TRUE.equals(photo.getIsDeleted());
+
         photo.cancelDelete();
 
         pr.save(photo);
+        if (wasDeleted) {
+            tls.add(photo);
+        }
+        tcs.record(teamIdOf(photo.getAlbum().getId()), ChangeType.PHOTO, ChangeAction.CREATE, photo.getId());
+        publisher.publishEvent(new PhotoChangedEvent(photo.getAlbum().getId()));
         log.info("Delete Cancel Photo : {}", photo);
     }
 
@@ -140,11 +190,38 @@ public class S3PhotoService implements PhotoService {
                 String key = photo.getPath();
                 s3Operations.deleteObject(bucketName, key);
                 pr.delete(photo.getId());
+                publisher.publishEvent(new PhotoChangedEvent(photo.getAlbum().getId()));
                 log.info("Complete Delete Photo : {}", photo);
             }
         }
     }
 
+    /**
+     * Delete photo files (up to 1000 keys per request, no transaction held while waiting for S3)
+     *
+     * @param paths photo keys
+     * @throws IOException Delete error
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deleteFiles(List<String> paths) throws IOException {
+        for (int from = 0; from < paths.size(); from += S3_DELETE_BATCH) {
+            List<ObjectIdentifier> keys = paths.subList(from, Math.min(paths.size(), from + S3_DELETE_BATCH)).stream()
+                    .map(key -> ObjectIdentifier.builder().key(key).build())
+                    .toList();
+
+            DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(bucketName)
+                    .delete(Delete.builder().objects(keys).quiet(true).build())
+                    .build());
+
+            if (response.hasErrors() && !response.errors().isEmpty()) {
+                S3Error error = response.errors().get(0);
+                throw new IOException("S3 Delete Error : " + error.key() + " " + error.message());
+            }
+        }
+    }
+
     /**
      * Find photo by path
      *
@@ -195,6 +272,56 @@ public class S3PhotoService implements PhotoService {
         return pr.findAll(album);
     }
 
+    /**
+     * Find photo dto list
+     *
+     * @param album album
+     * @return photo dto list
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    @Override
+    public List<PhotoDTO> searchAllDTO(Album album) throws IllegalArgumentException {
+        ensureNotNull(album, "Album");
+
+        List<PhotoDTO> photoDTOList = pr.findAllDTO(album);
+
+        /* add likes not flushed yet */
+        for (PhotoDTO dto : photoDTOList) {
+            dto.setLikeCount(dto.getLikeCount() + likeCounter.photoDelta(dto.getPhotoId()));
+        }
+        return photoDTOList;
+    }
+
+    /**
+     * Read photo dto list page by page (no transaction, the connection is released between pages, for streaming response)
+     *
+     * @param album  album
+     * @param action row action
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachDTO(Album album, Consumer<? super PhotoDTO> action) throws IllegalArgumentException {
+        ensureNotNull(album, "Album");
+        ensureNotNull(action, "Action");
+
+        List<PhotoDTO> page = pr.findDTOPage(album, null, null, streamPageSize);
+
+        while (!page.isEmpty()) {
+            for (PhotoDTO dto : page) {
+                dto.setLikeCount(dto.getLikeCount() + likeCounter.photoDelta(dto.getPhotoId()));
+                action.accept(dto);
+            }
+
+            if (page.size() < streamPageSize) {
+                break;
+            }
+
+            PhotoDTO last = page.get(page.size() - 1);
+            page = pr.findDTOPage(album, LocalDateTime.parse(last.getCreated()), last.getPhotoId(), streamPageSize);
+        }
+    }
+
     /**
      * Find photoTrashList
      *
@@ -239,6 +366,8 @@ public class S3PhotoService implements PhotoService {
                 } else {
                     Album album = new Album(ft, noRegion);
                     Long saveId = ar.save(album);
+                    tcs.record(teamId, ChangeType.ALBUM, ChangeAction.CREATE, saveId);
+                    publisher.publishEvent(new AlbumChangedEvent(teamId));
                     log.info("Save Album : {}", album);
                     fa = ar.findOne(saveId);
                     albumNames.add(fa.getName());
@@ -248,6 +377,8 @@ public class S3PhotoService implements PhotoService {
             } else {
                 Album album = new Album(ft, region);
                 Long saveId = ar.save(album);
+                tcs.record(teamId, ChangeType.ALBUM, ChangeAction.CREATE, saveId);
+                publisher.publishEvent(new AlbumChangedEvent(teamId));
                 log.info("Save Album : {}", album);
                 fa = ar.findOne(saveId);
                 albumNames.add(fa.getName());
@@ -266,11 +397,16 @@ public class S3PhotoService implements PhotoService {
 
                 String key = "images/" + albumId + "/" + name;
 
+                Photo photo = new Photo(fa, name, key, regions.get(i), LocalDateTime.parse(creates.get(i)));
+                photo.locate(form.getLatitude(i), form.getLongitude(i));
+
                 try (InputStream inputStream = file.getInputStream()) {
                     s3Operations.upload(bucketName, key, inputStream,
                             ObjectMetadata.builder().contentType(file.getContentType()).build());
-                    Photo photo = new Photo(fa, name, key, regions.get(i), LocalDateTime.parse(creates.get(i)));
                     pr.save(photo);
+                    tls.add(photo);
+                    tcs.record(teamId, ChangeType.PHOTO, ChangeAction.CREATE, photo.getId());
+                    publisher.publishEvent(new PhotoChangedEvent(albumId));
                     log.info("AutoSave Photo : {}", photo);
                 } catch (IOException e) {
                     throw new IOException(e.getMessage());
@@ -300,8 +436,14 @@ public class S3PhotoService implements PhotoService {
                 String newPath = "images/" + newAlbum.getId() + "/" + photo.getName();
                 s3Operations.upload(bucketName, newPath, inputStream);
                 s3Operations.deleteObject(bucketName, oldPath);
+                Long oldAlbumId = photo.getAlbum().getId();
                 photo.changeAlbum(newAlbum, newPath);
                 pr.save(photo);
+                recordMove(oldAlbumId, newAlbum, photo);
+                tls.move(photo, oldAlbumId);
+                likeCounter.move(photo.getId(), photo.getLikeCount(), oldAlbumId, newAlbum.getId());
+                publisher.publishEvent(new PhotoChangedEvent(oldAlbumId));
+                publisher.publishEvent(new PhotoChangedEvent(newAlbum.getId()));
                 log.info("Move Photo : {}", photo);
             } catch (IOException e) {
                 throw new IOException(e.getMessage());
@@ -320,4 +462,36 @@ public class S3PhotoService implements PhotoService {
             throw new IllegalArgumentException(name + " is null");
         }
     }
+
+    /**
+     * Record moved photo (delete from old team when team is changed)
+     *
+     * @param oldAlbumId old albumId
+     * @param newAlbum   new album
+     * @param photo      photo
+     */
+    private void recordMove(Long oldAlbumId, Album newAlbum, Photo photo) {
+        Long oldTeamId = teamIdOf(oldAlbumId);
+        Long newTeamId = teamIdOf(newAlbum.getId());
+
+        if (!oldTeamId.equals(newTeamId)) {
+            tcs.record(oldTeamId, ChangeType.PHOTO, ChangeAction.DELETE, photo.getId());
+            tcs.record(newTeamId, ChangeType.PHOTO, ChangeAction.CREATE, photo.getId());
+        } else {
+            tcs.record(newTeamId, ChangeType.PHOTO, ChangeAction.UPDATE, photo.getId());
+        }
+    }
+
+    /**
+     * Find teamId of album
+     *
+     * @param albumId albumId
+     * @return teamId
+     */
+    private Long teamIdOf(Long albumId) {
+        Album album = ar.findOne(albumId);
+
+        ensureNotNull(album, "Album");
+        return album.getTeam().getId();
+    }
 }
@@ -0,0 +1,214 @@
+package yuhan.hgcq.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yuhan.hgcq.server.domain.ChangeAction;
+import yuhan.hgcq.server.domain.ChangeType;
+import yuhan.hgcq.server.domain.TeamChange;
+import yuhan.hgcq.server.dto.change.ChangeDTO;
+import yuhan.hgcq.server.dto.change.Changes;
+import yuhan.hgcq.server.repository.TeamChangeRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Change feed of teams (seq per team)
+ * <p>
+ * Changes of a transaction are kept aside and written just before commit, so the team counter row
+ * is locked from there to the commit only, never across the uploads and file I/O of the transaction.
+ * Seqs still follow commit order (readers never see seq n + 1 before n).
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class TeamChangeService {
+    private static final Logger log = LoggerFactory.getLogger(TeamChangeService.class);
+
+    private static final Object PENDING = new Object();
+
+    private final TeamChangeRepository tcr;
+
+    @Value("${recoder.change.page-size:500}")
+    private int pageSize;
+
+    @Value("${recoder.change.retention-days:30}")
+    private int retentionDays;
+
+    /**
+     * Record change of team (written with caller transaction, just before commit)
+     *
+     * @param teamId   teamId
+     * @param type     changed type
+     * @param action   create, update, delete
+     * @param targetId changed id (albumId, photoId, memberId)
+     * @param memberId member of like, else null
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    @Transactional
+    public void record(Long teamId, ChangeType type, ChangeAction action, Long targetId, Long memberId) throws IllegalArgumentException {
+        ensureNotNull(teamId, "Team");
+        ensureNotNull(type, "Type");
+        ensureNotNull(action, "Action");
+        ensureNotNull(targetId, "Target");
+
+        pending().add(new Pending(teamId, type, action, targetId, memberId));
+    }
+
+    /**
+     * Record change of team without member
+     */
+    @Transactional
+    public void record(Long teamId, ChangeType type, ChangeAction action, Long targetId) throws IllegalArgumentException {
+        record(teamId, type, action, targetId, null);
+    }
+
+    /**
+     * Find changes after seq
+     * (several changes of one target are merged into the last one)
+     *
+     * @param teamId teamId
+     * @param seq    last seq client has
+     * @return changes
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public Changes searchChanges(Long teamId, Long seq) throws IllegalArgumentException {
+        ensureNotNull(teamId, "Team");
+
+        /* changes of this transaction are seen by it */
+        writePending();
+
+        long since = seq == null ? 0L : seq;
+
+        if (since < tcr.findCompactedSeq(teamId)) {
+            return new Changes(teamId, tcr.findLastSeq(teamId), true, false, new ArrayList<>());
+        }
+
+        List<TeamChange> changeList = tcr.findAfter(teamId, since, pageSize + 1);
+        boolean hasNext = changeList.size() > pageSize;
+
+        if (hasNext) {
+            changeList = changeList.subList(0, pageSize);
+        }
+
+        Map<String, ChangeDTO> latest = new LinkedHashMap<>();
+        long last = since;
+
+        for (TeamChange change : changeList) {
+            String key = change.getType() + ":" + change.getTargetId() + ":" + change.getMemberId();
+
+            /* re-insert so the merged change keeps the order of its last seq */
+            latest.remove(key);
+            latest.put(key, new ChangeDTO(change.getSeq(), change.getType().name(), change.getAction().name(),
+                    change.getTargetId(), change.getMemberId()));
+            last = change.getSeq();
+        }
+
+        return new Changes(teamId, last, false, hasNext, new ArrayList<>(latest.values()));
+    }
+
+    /**
+     * Delete all changes of team (team deleted)
+     *
+     * @param teamId teamId
+     */
+    @Transactional
+    public void deleteByTeam(Long teamId) {
+        List<Pending> changes = boundPending();
+        if (changes != null) {
+            changes.removeIf(change -> change.teamId().equals(teamId));
+        }
+
+        tcr.deleteByTeam(teamId);
+    }
+
+    /**
+     * Compact change feed (remove entries older than retention)
+     */
+    @Transactional
+    @Scheduled(cron = "${recoder.change.compact-cron:0 0 4 * * *}")
+    public void compact() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int count = tcr.deleteBefore(before);
+        log.info("Compact Team Change : {}", count);
+    }
+
+    private List<Pending> pending() {
+        List<Pending> changes = boundPending();
+
+        if (changes == null) {
+            List<Pending> bound = new ArrayList<>();
+            changes = bound;
+
+            TransactionSynchronizationManager.bindResource(PENDING, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    writePending();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING);
+                }
+            });
+        }
+        return changes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Pending> boundPending() {
+        return (List<Pending>) TransactionSynchronizationManager.getResource(PENDING);
+    }
+
+    /**
+     * Take seqs and save pending changes (teams in id order, so counters are always locked in one order)
+     */
+    private void writePending() {
+        List<Pending> changes = boundPending();
+
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Pending>> byTeam = new TreeMap<>();
+        for (Pending change : changes) {
+            byTeam.computeIfAbsent(change.teamId(), id -> new ArrayList<>()).add(change);
+        }
+        changes.clear();
+
+        byTeam.forEach((teamId, teamChanges) -> {
+            long seq = tcr.nextSeq(teamId, teamChanges.size()) - teamChanges.size();
+
+            for (Pending change : teamChanges) {
+                tcr.save(new TeamChange(teamId, ++seq, change.type(), change.action(), change.targetId(), change.memberId()));
+            }
+        });
+    }
+
+    /**
+     * Argument Check if Null
+     *
+     * @param obj  argument
+     * @param name by log
+     */
+    private void ensureNotNull(Object obj, String name) {
+        if (obj == null) {
+            throw new IllegalArgumentException(name + " is null");
+        }
+    }
+
+    private record Pending(Long teamId, ChangeType type, ChangeAction action, Long targetId, Long memberId) {
+    }
+}
@@ -3,13 +3,22 @@ package yuhan.hgcq.server.service;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.expression.AccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.cache.ListCache;
+import yuhan.hgcq.server.cache.TeamAcl;
+import yuhan.hgcq.server.domain.ChangeAction;
+import yuhan.hgcq.server.domain.ChangeType;
 import yuhan.hgcq.server.domain.Member;
 import yuhan.hgcq.server.domain.Team;
 import yuhan.hgcq.server.domain.TeamMember;
+import yuhan.hgcq.server.dto.team.MemberInTeamDTO;
+import yuhan.hgcq.server.dto.team.TeamDTO;
+import yuhan.hgcq.server.event.TeamChangedEvent;
 import yuhan.hgcq.server.repository.TeamMemberRepository;
+import yuhan.hgcq.server.repository.TeamRepository;
 
 import java.util.List;
 
@@ -20,6 +29,11 @@ public class TeamMemberService {
     private static final Logger log = LoggerFactory.getLogger(TeamMemberService.class);
 
     private final TeamMemberRepository tmr;
+    private final TeamRepository tr;
+    private final TeamChangeService tcs;
+    private final ListCache listCache;
+    private final TeamAcl acl;
+    private final ApplicationEventPublisher publisher;
 
     /**
      * Invite member
@@ -34,11 +48,13 @@ public class TeamMemberService {
         ensureNotNull(member, "Member");
         ensureNotNull(teamMember, "TeamMember");
 
-        Team team = teamMember.getTeam();
+        Team team = tr.findOne(teamMember.getTeamId());
         boolean isAdmin = isAdmin(member, team);
 
         if (isAdmin) {
             tmr.save(teamMember);
+            tcs.record(team.getId(), ChangeType.TEAM_MEMBER, ChangeAction.CREATE, teamMember.getMemberId());
+            publisher.publishEvent(new TeamChangedEvent(team.getId(), List.of(teamMember.getMemberId())));
             log.info("Team Member invite {}", teamMember);
         } else {
             throw new AccessException("Don't have Permission");
@@ -58,12 +74,14 @@ public class TeamMemberService {
         ensureNotNull(member, "Member");
         ensureNotNull(teamMember, "TeamMember");
 
-        Team team = teamMember.getTeam();
+        Team team = tr.findOne(teamMember.getTeamId());
         boolean isAdmin = isAdmin(member, team);
         boolean objIsAdmin = teamMember.getIsAdmin();
 
         if (isAdmin && !objIsAdmin) {
             tmr.delete(teamMember);
+            tcs.record(team.getId(), ChangeType.TEAM_MEMBER, ChangeAction.DELETE, teamMember.getMemberId());
+            publisher.publishEvent(new TeamChangedEvent(team.getId(), List.of(teamMember.getMemberId())));
             log.info("Team Member expel {}", teamMember);
         } else {
             throw new AccessException("Don't have Permission");
@@ -98,12 +116,14 @@ public class TeamMemberService {
         ensureNotNull(member, "Member");
         ensureNotNull(teamMember, "TeamMember");
 
-        Team team = teamMember.getTeam();
+        Team team = tr.findOne(teamMember.getTeamId());
         boolean isOwner = isOwner(member, team);
 
         if (isOwner) {
             teamMember.authorizeAdmin();
             tmr.update(teamMember);
+            tcs.record(team.getId(), ChangeType.TEAM_MEMBER, ChangeAction.UPDATE, teamMember.getMemberId());
+            publisher.publishEvent(new TeamChangedEvent(team.getId(), List.of(teamMember.getMemberId())));
             log.info("Team Member authorize admin {}", teamMember);
         } else {
             throw new AccessException("Don't have Permission");
@@ -123,12 +143,14 @@ public class TeamMemberService {
         ensureNotNull(member, "Member");
         ensureNotNull(teamMember, "TeamMember");
 
-        Team team = teamMember.getTeam();
+        Team team = tr.findOne(teamMember.getTeamId());
         boolean isOwner = isOwner(member, team);
 
         if (isOwner) {
             teamMember.revokeAdmin();
             tmr.update(teamMember);
+            tcs.record(team.getId(), ChangeType.TEAM_MEMBER, ChangeAction.UPDATE, teamMember.getMemberId());
+            publisher.publishEvent(new TeamChangedEvent(team.getId(), List.of(teamMember.getMemberId())));
             log.info("Team Member revoke admin {}", teamMember);
         } else {
             throw new AccessException("Don't have Permission");
@@ -148,6 +170,19 @@ public class TeamMemberService {
         return tmr.findAll(member);
     }
 
+    /**
+     * Find team dto list the member has (cached)
+     *
+     * @param member member
+     * @return team dto list
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<TeamDTO> searchTeamDTOList(Member member) throws IllegalArgumentException {
+        ensureNotNull(member, "Member");
+
+        return listCache.get(ListCache.teamKey(member.getId()), TeamDTO.class, () -> tmr.findTeamDTOList(member));
+    }
+
     /**
      * Find by the name of the teamList the member has
      *
@@ -163,6 +198,21 @@ public class TeamMemberService {
         return tmr.findByName(member, name);
     }
 
+    /**
+     * Find by the name of the team dto list the member has
+     *
+     * @param member member
+     * @param name   team name
+     * @return team dto list
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<TeamDTO> searchTeamDTOListByName(Member member, String name) throws IllegalArgumentException {
+        ensureNotNull(member, "Member");
+        ensureNotNull(name, "Name");
+
+        return tmr.findTeamDTOListByName(member, name);
+    }
+
     /**
      * Find memberList in Team
      *
@@ -176,6 +226,32 @@ public class TeamMemberService {
         return tmr.findByTeam(team);
     }
 
+    /**
+     * Find member dto list in Team
+     *
+     * @param team team
+     * @return member dto list
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<MemberInTeamDTO> searchMemberDTOList(Team team) throws IllegalArgumentException {
+        ensureNotNull(team, "Team");
+
+        return tmr.findMemberDTOByTeam(team);
+    }
+
+    /**
+     * Find admin memberIds in Team
+     *
+     * @param team team
+     * @return admin memberIds
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<Long> searchAdminIds(Team team) throws IllegalArgumentException {
+        ensureNotNull(team, "Team");
+
+        return tmr.findAdminIds(team);
+    }
+
     /**
      * Find adminList in Team
      *
@@ -209,7 +285,7 @@ public class TeamMemberService {
      * @return is owner?
      */
     private boolean isOwner(Member member, Team team) {
-        return team.getOwner().equals(member);
+        return team.getOwner().getId().equals(member.getId());
     }
 
     /**
@@ -220,7 +296,6 @@ public class TeamMemberService {
      * @return is admin?
      */
     private boolean isAdmin(Member member, Team team) {
-        List<Member> adminList = tmr.findAdminByTeam(team);
-        return adminList.contains(member);
+        return acl.isAdmin(member.getId(), team.getId());
     }
 }
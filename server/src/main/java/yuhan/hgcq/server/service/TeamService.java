@@ -6,14 +6,21 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.expression.AccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import yuhan.hgcq.server.cache.EntityCacheInvalidator;
+import yuhan.hgcq.server.cache.TeamAcl;
+import yuhan.hgcq.server.domain.ChangeAction;
+import yuhan.hgcq.server.domain.ChangeType;
 import yuhan.hgcq.server.domain.Member;
 import yuhan.hgcq.server.domain.Team;
 import yuhan.hgcq.server.domain.TeamMember;
 import yuhan.hgcq.server.dto.photo.UploadTeamForm;
+import yuhan.hgcq.server.event.AlbumChangedEvent;
+import yuhan.hgcq.server.event.TeamChangedEvent;
 import yuhan.hgcq.server.repository.*;
 
 import java.io.IOException;
@@ -28,11 +35,12 @@ public class TeamService {
 
     private final TeamRepository tr;
     private final TeamMemberRepository tmr;
-    private final AlbumRepository ar;
-    private final LikedRepository lr;
-    private final ChatRepository cr;
-    private final PhotoRepository pr;
+    private final TeamChangeService tcs;
+    private final DeletionService ds;
+    private final TeamAcl acl;
     private final S3Operations s3Operations;
+    private final EntityCacheInvalidator entityCacheInvalidator;
+    private final ApplicationEventPublisher publisher;
 
     @Value("${spring.cloud.aws.s3.bucket}")
     private String bucketName;
@@ -54,6 +62,8 @@ public class TeamService {
         tm.authorizeAdmin();
 
         tmr.save(tm);
+        tcs.record(saveId, ChangeType.TEAM_MEMBER, ChangeAction.CREATE, tm.getMemberId());
+        publisher.publishEvent(new TeamChangedEvent(saveId, List.of(tm.getMemberId())));
         log.info("Team created: {}", team);
         return saveId;
     }
@@ -71,10 +81,9 @@ public class TeamService {
         ensureNotNull(member, "Member");
         ensureNotNull(team, "Team");
 
-        List<Member> adminList = tmr.findAdminByTeam(team);
-
-        if (adminList.contains(member)) {
+        if (isAdmin(member, team)) {
             tr.save(team);
+            publisher.publishEvent(new TeamChangedEvent(team.getId(), tmr.findMemberIds(team)));
             log.info("Team updated: {}", team);
         } else {
             throw new AccessException("Don't have Permission");
@@ -96,16 +105,21 @@ public class TeamService {
         boolean isOwner = isOwner(member, team);
 
         if (isOwner) {
-            lr.deleteByTeam(team);
-            pr.deleteByTeam(team);
-            cr.deleteByTeam(team);
-            ar.deleteByTeam(team);
+            List<Long> memberIds = tmr.findMemberIds(team);
+
+            /* members lose the team now, albums, photos and the team row go in the background */
             tmr.deleteAll(team);
-            tr.delete(team.getId());
-            log.info("Team deleted: {}", team);
+            tcs.deleteByTeam(team.getId());
+            ds.enqueue(member, team);
+            entityCacheInvalidator.evictRegion(TeamMember.class);
+            publisher.publishEvent(new AlbumChangedEvent(team.getId()));
+            publisher.publishEvent(new TeamChangedEvent(team.getId(), memberIds));
+            log.info("Team deletion queued: {}", team);
         } else {
             TeamMember find = tmr.findOne(member, team);
             tmr.delete(find);
+            tcs.record(team.getId(), ChangeType.TEAM_MEMBER, ChangeAction.DELETE, member.getId());
+            publisher.publishEvent(new TeamChangedEvent(team.getId(), List.of(member.getId())));
             log.info("Team exit : {}", find);
         }
     }
@@ -145,9 +159,7 @@ public class TeamService {
         Team ft = tr.findOne(teamId);
 
         ensureNotNull(ft, "Team");
-        List<Member> adminList = tmr.findAdminByTeam(ft);
-
-        if (adminList.contains(member)) {
+        if (isAdmin(member, ft)) {
             String name = file.getOriginalFilename();
 
             String key = "images/team/" + ft.getId() + "/" + name;
@@ -157,6 +169,7 @@ public class TeamService {
                         ObjectMetadata.builder().contentType(file.getContentType()).build());
                 ft.changeImage(key);
                 tr.save(ft);
+                publisher.publishEvent(new TeamChangedEvent(ft.getId(), tmr.findMemberIds(ft)));
 
                 log.info("Upload Team Image : {}", key);
             } catch (IOException e) {
@@ -188,6 +201,17 @@ public class TeamService {
      * @return is owner?
      */
     private boolean isOwner(Member member, Team team) {
-        return team.getOwner().equals(member);
+        return team.getOwner().getId().equals(member.getId());
+    }
+
+    /**
+     * Check member is admin
+     *
+     * @param member member
+     * @param team   team
+     * @return is admin?
+     */
+    private boolean isAdmin(Member member, Team team) {
+        return acl.isAdmin(member.getId(), team.getId());
     }
 }
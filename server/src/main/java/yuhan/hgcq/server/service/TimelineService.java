@@ -0,0 +1,160 @@
+package yuhan.hgcq.server.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yuhan.hgcq.server.cache.EntityCacheInvalidator;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.Photo;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.domain.TimelineUnit;
+import yuhan.hgcq.server.dto.photo.TimelineDTO;
+import yuhan.hgcq.server.repository.AlbumRepository;
+import yuhan.hgcq.server.repository.AlbumStatsRepository;
+import yuhan.hgcq.server.repository.TimelineRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Timeline histogram of team and album (photo count per day, month, year)
+ * <p>
+ * Photo save, delete, restore and move add deltas to the rollup. Deltas of a transaction are summed
+ * per album and day, and written just before commit (after flush, so new albums exist)
+ * in the same transaction as the photos. Summary columns of the touched albums are recounted right after,
+ * and their second level cache entries are evicted after commit.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class TimelineService {
+    private static final Object DELTAS = new Object();
+
+    private final TimelineRepository tlr;
+    private final AlbumStatsRepository asr;
+    private final AlbumRepository ar;
+    private final EntityCacheInvalidator entityCacheInvalidator;
+
+    private final EntityManager em;
+
+    /**
+     * Count saved or restored photo
+     *
+     * @param photo photo
+     */
+    @Transactional
+    public void add(Photo photo) {
+        record(photo.getAlbum(), photo.getCreated(), 1);
+    }
+
+    /**
+     * Count deleted photo
+     *
+     * @param photo photo
+     */
+    @Transactional
+    public void remove(Photo photo) {
+        record(photo.getAlbum(), photo.getCreated(), -1);
+    }
+
+    /**
+     * Count moved photo (already in new album)
+     *
+     * @param photo      photo
+     * @param oldAlbumId old albumId
+     */
+    @Transactional
+    public void move(Photo photo, Long oldAlbumId) {
+        if (Boolean.TRUE.equals(photo.getIsDeleted()) || photo.getAlbum().getId().equals(oldAlbumId)) {
+            return;
+        }
+
+        record(ar.findOne(oldAlbumId), photo.getCreated(), -1);
+        record(photo.getAlbum(), photo.getCreated(), 1);
+    }
+
+    /**
+     * Find timeline histogram of team
+     *
+     * @param team team
+     * @param unit period
+     * @return period, photo count (newest first)
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<TimelineDTO> searchHistogram(Team team, TimelineUnit unit) throws IllegalArgumentException {
+        ensureNotNull(team, "Team");
+        ensureNotNull(unit, "Unit");
+
+        return tlr.findTeamHistogram(team.getId(), unit);
+    }
+
+    /**
+     * Find timeline histogram of album
+     *
+     * @param album album
+     * @param unit  period
+     * @return period, photo count (newest first)
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<TimelineDTO> searchHistogram(Album album, TimelineUnit unit) throws IllegalArgumentException {
+        ensureNotNull(album, "Album");
+        ensureNotNull(unit, "Unit");
+
+        return tlr.findAlbumHistogram(album.getId(), unit);
+    }
+
+    private void record(Album album, LocalDateTime created, int delta) {
+        if (album == null || created == null) {
+            return;
+        }
+
+        Day day = new Day(album.getId(), album.getTeam().getId(), created.toLocalDate());
+
+        @SuppressWarnings("unchecked")
+        Map<Day, Integer> deltas = (Map<Day, Integer>) TransactionSynchronizationManager.getResource(DELTAS);
+
+        if (deltas == null) {
+            /* ordered by album and day, so concurrent commits lock rollup rows and albums in the same order */
+            Map<Day, Integer> pending = new TreeMap<>(Comparator.comparing(Day::albumId).thenComparing(Day::date));
+            deltas = pending;
+
+            TransactionSynchronizationManager.bindResource(DELTAS, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    em.flush();
+
+                    Set<Long> albumIds = new TreeSet<>();
+                    pending.forEach((key, sum) -> {
+                        if (sum != 0) {
+                            tlr.add(key.albumId(), key.teamId(), key.date(), sum);
+                        }
+                        albumIds.add(key.albumId());
+                    });
+                    asr.refresh(albumIds);
+                    entityCacheInvalidator.evictAfterCommit(Album.class, albumIds);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DELTAS);
+                }
+            });
+        }
+
+        deltas.merge(day, delta, Integer::sum);
+    }
+
+    private void ensureNotNull(Object obj, String name) {
+        if (obj == null) {
+            throw new IllegalArgumentException(name + " is null");
+        }
+    }
+
+    private record Day(Long albumId, Long teamId, LocalDate date) {
+    }
+}
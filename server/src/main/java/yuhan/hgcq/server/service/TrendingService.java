@@ -0,0 +1,116 @@
+package yuhan.hgcq.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.cache.LikeCounter;
+import yuhan.hgcq.server.cache.TrendingPhotos;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.Photo;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
+import yuhan.hgcq.server.repository.AlbumRepository;
+import yuhan.hgcq.server.repository.PhotoRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Trending photos of team (hot this week, likes and views)
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class TrendingService {
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    private static final String VIEWED = "view:";
+    private static final Duration VIEWED_TTL = Duration.ofDays(1);
+
+    private final PhotoRepository pr;
+    private final AlbumRepository ar;
+    private final TrendingPhotos trendingPhotos;
+    private final LikeCounter likeCounter;
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Add view of photo (once per member, photo and day, so repeated requests don't push a photo up)
+     *
+     * @param member member who viewed
+     * @param photo  photo
+     * @return counted?
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public boolean addView(Member member, Photo photo) throws IllegalArgumentException {
+        ensureNotNull(member, "Member");
+        ensureNotNull(photo, "Photo");
+
+        Album album = ar.findOne(photo.getAlbum().getId());
+
+        ensureNotNull(album, "Album");
+
+        if (!firstViewToday(member.getId(), photo.getId())) {
+            return false;
+        }
+
+        trendingPhotos.view(album.getTeam().getId(), photo.getId());
+        return true;
+    }
+
+    /**
+     * Find trending photo dto list of team
+     *
+     * @param team team
+     * @return photo dto list (trending order)
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public List<PhotoDTO> searchTrendingDTO(Team team) throws IllegalArgumentException {
+        ensureNotNull(team, "Team");
+
+        List<Long> photoIds = trendingPhotos.top(team.getId());
+
+        if (photoIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, PhotoDTO> photos = new HashMap<>();
+        for (PhotoDTO dto : pr.findDTOList(team, photoIds)) {
+            dto.setLikeCount(dto.getLikeCount() + likeCounter.photoDelta(dto.getPhotoId()));
+            photos.put(dto.getPhotoId(), dto);
+        }
+
+        /* deleted or moved out photos drop out, rest keep trending order */
+        List<PhotoDTO> photoDTOList = new ArrayList<>(photos.size());
+        for (Long photoId : photoIds) {
+            PhotoDTO dto = photos.get(photoId);
+
+            if (dto != null) {
+                photoDTOList.add(dto);
+            }
+        }
+        return photoDTOList;
+    }
+
+    /* counts the view when Redis is down : trending is approximate anyway */
+    private boolean firstViewToday(Long memberId, Long photoId) {
+        String key = VIEWED + LocalDate.now() + ":" + photoId + ":" + memberId;
+
+        try {
+            return !Boolean.FALSE.equals(redisTemplate.opsForValue().setIfAbsent(key, "1", VIEWED_TTL));
+        } catch (Exception e) {
+            log.error("View Dedupe Error : {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private void ensureNotNull(Object obj, String name) {
+        if (obj == null) {
+            throw new IllegalArgumentException(name + " is null");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package yuhan.hgcq.server.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of strings
+ * (no false negative, false positive about fpp at expected insertions)
+ * <p>
+ * Bit i of hash k is (h1 + k * h2) mod bitSize, so one pass over the string gives every hash.
+ * Adds are lock free, reads never lock.
+ */
+public class BloomFilter {
+    private static final long SEED1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED2 = 0xC2B2AE3D27D4EB4FL;
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions expected count of values
+     * @param fpp                false positive probability (0 ~ 1)
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("Wrong fpp : " + fpp);
+        }
+
+        long n = Math.max(expectedInsertions, 1);
+        long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        long words = Math.max((m + 63) >>> 6, 1);
+
+        this.bits = new AtomicLongArray(Math.toIntExact(words));
+        this.bitSize = words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    /**
+     * Add value
+     *
+     * @param value value
+     */
+    public void add(String value) {
+        long h1 = hash(value, SEED1);
+        long h2 = hash(value, SEED2) | 1;
+
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitSize);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+
+            long old = bits.get(word);
+            while ((old & mask) == 0 && !bits.compareAndSet(word, old, old | mask)) {
+                old = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * Might value be added?
+     *
+     * @param value value
+     * @return false = surely not added
+     */
+    public boolean mightContain(String value) {
+        long h1 = hash(value, SEED1);
+        long h2 = hash(value, SEED2) | 1;
+
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitSize);
+
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private static long hash(String value, long seed) {
+        long h = seed ^ value.length();
+
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+            h = Long.rotateLeft(h, 23);
+        }
+        return mix(h ^ seed);
+    }
+
+    /* murmur3 fmix64 */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE5A1A85BL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
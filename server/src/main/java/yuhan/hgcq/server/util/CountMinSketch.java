@@ -0,0 +1,110 @@
+package yuhan.hgcq.server.util;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min Sketch of long keys
+ * (fixed memory, estimate never below the true count,
+ * over it by at most total / width * e with probability 1 - e^-depth)
+ * <p>
+ * Not thread safe.
+ */
+public class CountMinSketch {
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final int[] table;
+
+    /**
+     * @param depth rows (hash functions)
+     * @param width counters per row (rounded up to power of 2)
+     */
+    public CountMinSketch(int depth, int width) {
+        this(depth, width, null);
+    }
+
+    /**
+     * Restore from counters
+     *
+     * @param depth rows
+     * @param width counters per row (power of 2)
+     * @param table counters (depth * width), null = empty
+     */
+    public CountMinSketch(int depth, int width, int[] table) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Wrong size : " + depth + " x " + width);
+        }
+
+        this.depth = depth;
+        this.width = Integer.bitCount(width) == 1 ? width : Integer.highestOneBit(width) << 1;
+        this.mask = this.width - 1;
+
+        if (table == null) {
+            this.table = new int[depth * this.width];
+        } else if (table.length == depth * this.width) {
+            this.table = table;
+        } else {
+            throw new IllegalArgumentException("Wrong table : " + table.length);
+        }
+    }
+
+    /**
+     * Add count of key
+     *
+     * @param key   key
+     * @param count count (positive)
+     */
+    public void add(long key, int count) {
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + slot(key, row);
+            long sum = (long) table[index] + count;
+            table[index] = (int) Math.min(sum, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Estimate count of key
+     *
+     * @param key key
+     * @return estimated count (>= true count)
+     */
+    public int estimate(long key) {
+        int min = Integer.MAX_VALUE;
+
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table[row * width + slot(key, row)]);
+        }
+        return min;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Counters for snapshot
+     *
+     * @return counters (shared, not a copy)
+     */
+    public int[] table() {
+        return table;
+    }
+
+    private int slot(long key, int row) {
+        long h = (key + (row + 1) * PHI) * 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 31;
+        h *= 0x94D049BB133111EBL;
+        h ^= h >>> 29;
+        return (int) h & mask;
+    }
+}
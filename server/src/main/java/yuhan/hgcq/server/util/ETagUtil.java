@@ -0,0 +1,93 @@
+package yuhan.hgcq.server.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import yuhan.hgcq.server.cache.ContentVersion;
+
+/**
+ * ETag of list response built from content version
+ */
+public class ETagUtil {
+
+    private ETagUtil() {
+    }
+
+    /**
+     * Make ETag
+     *
+     * @param version content version
+     * @param parts   resource ids (list kind, albumId, memberId ...)
+     * @return ETag, null if version is unknown
+     */
+    public static String of(long version, Object... parts) {
+        if (version == ContentVersion.UNKNOWN) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder("\"");
+        for (Object part : parts) {
+            sb.append(part).append('-');
+        }
+        return sb.append(version).append('"').toString();
+    }
+
+    /**
+     * Check If-None-Match has ETag
+     *
+     * @param request request
+     * @param eTag    ETag
+     * @return is not modified?
+     */
+    public static boolean isNotModified(HttpServletRequest request, String eTag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+
+        if (eTag == null || ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+
+            if (tag.equals(eTag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 200 with ETag (client may keep it, but must revalidate)
+     *
+     * @param eTag ETag
+     * @return response builder
+     */
+    public static ResponseEntity.BodyBuilder ok(String eTag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.OK);
+
+        /* same ETag for JSON, Smile and CBOR bodies */
+        builder.varyBy(HttpHeaders.ACCEPT);
+
+        if (eTag == null) {
+            return builder;
+        }
+        return builder.eTag(eTag).cacheControl(CacheControl.noCache());
+    }
+
+    /**
+     * 304 with ETag
+     *
+     * @param eTag ETag
+     * @return response
+     */
+    public static ResponseEntity<?> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.noCache()).build();
+    }
+}
@@ -0,0 +1,185 @@
+package yuhan.hgcq.server.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash (base32, interleaved longitude / latitude bits)
+ * <p>
+ * Photos in one cell share the cell as prefix, so a cell is one index range
+ * (geohash >= cell and geohash < nextPrefix(cell)).
+ */
+public final class GeoHash {
+    public static final int MAX_PRECISION = 12;
+
+    private static final String ALPHABET = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final char[] BASE32 = ALPHABET.toCharArray();
+
+    private GeoHash() {
+    }
+
+    /**
+     * Encode location
+     *
+     * @param latitude  latitude (-90 ~ 90)
+     * @param longitude longitude (-180 ~ 180)
+     * @param precision length (1 ~ 12)
+     * @return geohash
+     * @throws IllegalArgumentException Argument is wrong
+     */
+    public static String encode(double latitude, double longitude, int precision) throws IllegalArgumentException {
+        if (!isValid(latitude, longitude)) {
+            throw new IllegalArgumentException("Wrong Location : " + latitude + ", " + longitude);
+        }
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Wrong Precision : " + precision);
+        }
+
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+
+        StringBuilder hash = new StringBuilder(precision);
+        boolean even = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (even) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+
+            even = !even;
+
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Smallest geohash after every geohash with the prefix (geohash >= prefix and geohash < next)
+     *
+     * @param prefix cell
+     * @return next prefix (null = prefix is the last cell, no upper bound)
+     */
+    public static String nextPrefix(String prefix) {
+        StringBuilder next = new StringBuilder(prefix);
+
+        for (int i = next.length() - 1; i >= 0; i--) {
+            int digit = ALPHABET.indexOf(next.charAt(i));
+
+            if (digit < BASE32.length - 1) {
+                next.setCharAt(i, BASE32[digit + 1]);
+                next.setLength(i + 1);
+                return next.toString();
+            }
+        }
+        return null;
+    }
+
+    public static boolean isValid(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    /**
+     * Cell height in degrees
+     *
+     * @param precision length
+     * @return degrees of latitude
+     */
+    public static double cellHeight(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    /**
+     * Cell width in degrees
+     *
+     * @param precision length
+     * @return degrees of longitude
+     */
+    public static double cellWidth(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    /**
+     * Cells covering a box, as fine as possible within maxCells
+     * (box crossing the antimeridian has west > east)
+     *
+     * @param south        south latitude
+     * @param west         west longitude
+     * @param north        north latitude
+     * @param east         east longitude
+     * @param maxCells     max cell count
+     * @param maxPrecision finest precision
+     * @return cells (empty = whole world)
+     */
+    public static List<String> cover(double south, double west, double north, double east, int maxCells, int maxPrecision) {
+        for (int precision = Math.min(maxPrecision, MAX_PRECISION); precision >= 1; precision--) {
+            long count = west <= east
+                    ? count(south, west, north, east, precision)
+                    : count(south, west, north, 180, precision) + count(south, -180, north, east, precision);
+
+            if (count > maxCells) {
+                continue;
+            }
+
+            Set<String> cells = new LinkedHashSet<>();
+            if (west <= east) {
+                addCells(cells, south, west, north, east, precision);
+            } else {
+                addCells(cells, south, west, north, 180, precision);
+                addCells(cells, south, -180, north, east, precision);
+            }
+            return new ArrayList<>(cells);
+        }
+        return new ArrayList<>();
+    }
+
+    private static long count(double south, double west, double north, double east, int precision) {
+        long rows = index(north, -90, cellHeight(precision)) - index(south, -90, cellHeight(precision)) + 1;
+        long columns = index(east, -180, cellWidth(precision)) - index(west, -180, cellWidth(precision)) + 1;
+        return rows * columns;
+    }
+
+    private static void addCells(Set<String> cells, double south, double west, double north, double east, int precision) {
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+
+        long fromRow = index(south, -90, height), toRow = index(north, -90, height);
+        long fromColumn = index(west, -180, width), toColumn = index(east, -180, width);
+
+        for (long row = fromRow; row <= toRow; row++) {
+            double latitude = Math.min(90, -90 + (row + 0.5) * height);
+
+            for (long column = fromColumn; column <= toColumn; column++) {
+                double longitude = Math.min(180, -180 + (column + 0.5) * width);
+                cells.add(encode(latitude, longitude, precision));
+            }
+        }
+    }
+
+    private static long index(double value, double origin, double size) {
+        return (long) Math.floor((value - origin) / size);
+    }
+}
@@ -0,0 +1,196 @@
+package yuhan.hgcq.server.util;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash set of primitive long
+ * (no boxing, linear probing, backward shift delete)
+ */
+public class LongHashSet {
+    private static final long EMPTY = 0L;
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private boolean hasEmptyKey;
+
+    public LongHashSet() {
+        this(8);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1;
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public static LongHashSet of(Iterable<Long> values) {
+        LongHashSet set = new LongHashSet();
+        for (Long value : values) {
+            if (value != null) {
+                set.add(value);
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Add value
+     *
+     * @param value value
+     * @return is added?
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (hasEmptyKey) {
+                return false;
+            }
+            hasEmptyKey = true;
+            size++;
+            return true;
+        }
+
+        int index = slot(value);
+        while (table[index] != EMPTY) {
+            if (table[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+
+        table[index] = value;
+        size++;
+
+        if (size * 2 > table.length) {
+            resize(table.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Remove value
+     *
+     * @param value value
+     * @return is removed?
+     */
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (!hasEmptyKey) {
+                return false;
+            }
+            hasEmptyKey = false;
+            size--;
+            return true;
+        }
+
+        int index = slot(value);
+        while (table[index] != EMPTY) {
+            if (table[index] == value) {
+                shiftBack(index);
+                size--;
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return hasEmptyKey;
+        }
+
+        int index = slot(value);
+        long current;
+        while ((current = table[index]) != EMPTY) {
+            if (current == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long[] toArray() {
+        long[] result = new long[size];
+        int i = 0;
+
+        if (hasEmptyKey) {
+            result[i++] = EMPTY;
+        }
+
+        for (long value : table) {
+            if (value != EMPTY) {
+                result[i++] = value;
+            }
+        }
+        return result;
+    }
+
+    public LongHashSet copy() {
+        LongHashSet copy = new LongHashSet(4);
+        copy.table = Arrays.copyOf(table, table.length);
+        copy.mask = mask;
+        copy.size = size;
+        copy.hasEmptyKey = hasEmptyKey;
+        return copy;
+    }
+
+    private int slot(long value) {
+        long hash = value * PHI;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Close the gap left by a removed entry so probe chains stay unbroken
+     *
+     * @param gap removed index
+     */
+    private void shiftBack(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            long value = table[index];
+
+            if (value == EMPTY) {
+                break;
+            }
+
+            int home = slot(value);
+            boolean movable = gap <= index
+                    ? (home <= gap || home > index)
+                    : (home <= gap && home > index);
+
+            if (movable) {
+                table[gap] = value;
+                gap = index;
+            }
+        }
+        table[gap] = EMPTY;
+    }
+
+    private void resize(int capacity) {
+        long[] old = table;
+        table = new long[capacity];
+        mask = capacity - 1;
+
+        for (long value : old) {
+            if (value != EMPTY) {
+                int index = slot(value);
+                while (table[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                table[index] = value;
+            }
+        }
+    }
+}
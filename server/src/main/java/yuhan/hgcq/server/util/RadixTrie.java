@@ -0,0 +1,199 @@
+package yuhan.hgcq.server.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compressed prefix tree (edges hold strings, single child chains are merged)
+ * <p>
+ * Prefix search walks only the prefix and the first limit values,
+ * in key order. Not thread safe.
+ *
+ * @param <V> value
+ */
+public class RadixTrie<V> {
+
+    private static final class Node<V> {
+        private String label;
+        private final TreeMap<Character, Node<V>> children = new TreeMap<>();
+        private List<V> values;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private boolean isEmpty() {
+            return children.isEmpty() && (values == null || values.isEmpty());
+        }
+    }
+
+    private final Node<V> root = new Node<>("");
+    private int size;
+
+    /**
+     * Add value
+     *
+     * @param key   key
+     * @param value value
+     */
+    public void put(String key, V value) {
+        Node<V> node = root;
+        int i = 0;
+
+        while (i < key.length()) {
+            char c = key.charAt(i);
+            Node<V> child = node.children.get(c);
+
+            if (child == null) {
+                child = new Node<>(key.substring(i));
+                node.children.put(c, child);
+                node = child;
+                break;
+            }
+
+            int common = commonPrefix(child.label, key, i);
+
+            if (common < child.label.length()) {
+                /* split edge : node -> mid -> child */
+                Node<V> mid = new Node<>(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                mid.children.put(child.label.charAt(0), child);
+                node.children.put(c, mid);
+                child = mid;
+            }
+
+            node = child;
+            i += common;
+        }
+
+        if (node.values == null) {
+            node.values = new ArrayList<>(1);
+        }
+        node.values.add(value);
+        size++;
+    }
+
+    /**
+     * Remove value (same instance)
+     *
+     * @param key   key
+     * @param value value
+     * @return is removed?
+     */
+    public boolean remove(String key, V value) {
+        return remove(root, key, 0, value);
+    }
+
+    /**
+     * Find values of keys starting with prefix
+     *
+     * @param prefix prefix
+     * @param limit  max count
+     * @return values in key order
+     */
+    public List<V> prefix(String prefix, int limit) {
+        List<V> result = new ArrayList<>(Math.min(limit, 16));
+        Node<V> node = root;
+        int i = 0;
+
+        while (i < prefix.length()) {
+            Node<V> child = node.children.get(prefix.charAt(i));
+
+            if (child == null) {
+                return result;
+            }
+
+            int rest = prefix.length() - i;
+            String label = child.label;
+
+            if (rest <= label.length()) {
+                if (!label.startsWith(prefix.substring(i))) {
+                    return result;
+                }
+            } else if (!prefix.startsWith(label, i)) {
+                return result;
+            }
+
+            node = child;
+            i += label.length();
+        }
+
+        collect(node, limit, result);
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private boolean remove(Node<V> node, String key, int i, V value) {
+        if (i == key.length()) {
+            if (node.values == null || !removeSame(node.values, value)) {
+                return false;
+            }
+            size--;
+            return true;
+        }
+
+        char c = key.charAt(i);
+        Node<V> child = node.children.get(c);
+
+        if (child == null || !key.startsWith(child.label, i)) {
+            return false;
+        }
+
+        boolean removed = remove(child, key, i + child.label.length(), value);
+
+        if (removed) {
+            if (child.isEmpty()) {
+                node.children.remove(c);
+            } else if ((child.values == null || child.values.isEmpty()) && child.children.size() == 1) {
+                /* merge single child chain back into one edge */
+                Node<V> grandChild = child.children.firstEntry().getValue();
+                grandChild.label = child.label + grandChild.label;
+                node.children.put(c, grandChild);
+            }
+        }
+        return removed;
+    }
+
+    private boolean removeSame(List<V> values, V value) {
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) == value) {
+                values.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void collect(Node<V> node, int limit, List<V> result) {
+        if (node.values != null) {
+            for (V value : node.values) {
+                if (result.size() >= limit) {
+                    return;
+                }
+                result.add(value);
+            }
+        }
+
+        for (Map.Entry<Character, Node<V>> entry : node.children.entrySet()) {
+            if (result.size() >= limit) {
+                return;
+            }
+            collect(entry.getValue(), limit, result);
+        }
+    }
+
+    private int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,147 @@
+package yuhan.hgcq.server.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * JSON written row by row while rows are read (only the current row is held)
+ * <p>
+ * The first row is flushed at once, the rest goes out as the buffer fills.
+ * Status and headers are sent with the first bytes, so a failure after that
+ * can only cut the body short.
+ */
+public class StreamingJson implements Closeable {
+
+    /**
+     * Rows pushed by a reader (reader opens and closes its own transaction)
+     */
+    @FunctionalInterface
+    public interface Rows<T> {
+        void forEach(Consumer<? super T> action);
+    }
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private boolean flushed;
+
+    public StreamingJson(ObjectMapper mapper, OutputStream out) throws IOException {
+        this.generator = mapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Body of JSON array
+     *
+     * @param mapper mapper
+     * @param rows   rows
+     * @return response body
+     */
+    public static <T> StreamingResponseBody array(ObjectMapper mapper, Rows<T> rows) {
+        return out -> {
+            try (StreamingJson json = new StreamingJson(mapper, out)) {
+                json.array(rows);
+            }
+        };
+    }
+
+    /**
+     * Body of JSON object, key -> array of rows (rows must come in key order)
+     *
+     * @param mapper mapper
+     * @param key    key of row
+     * @param rows   rows
+     * @return response body
+     */
+    public static <T> StreamingResponseBody groups(ObjectMapper mapper, Function<? super T, String> key, Rows<T> rows) {
+        return out -> {
+            try (StreamingJson json = new StreamingJson(mapper, out)) {
+                json.groups(key, rows);
+            }
+        };
+    }
+
+    public <T> void array(Rows<T> rows) throws IOException {
+        generator.writeStartArray();
+        forEach(rows, this::value);
+        generator.writeEndArray();
+    }
+
+    public <T> void groups(Function<? super T, String> key, Rows<T> rows) throws IOException {
+        String[] current = {null};
+
+        generator.writeStartObject();
+        forEach(rows, row -> {
+            String group = key.apply(row);
+
+            if (!group.equals(current[0])) {
+                if (current[0] != null) {
+                    generator.writeEndArray();
+                }
+                generator.writeArrayFieldStart(group);
+                current[0] = group;
+            }
+            value(row);
+        });
+
+        if (current[0] != null) {
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    public void startObject() throws IOException {
+        generator.writeStartObject();
+    }
+
+    public void endObject() throws IOException {
+        generator.writeEndObject();
+    }
+
+    public void field(String name) throws IOException {
+        generator.writeFieldName(name);
+    }
+
+    public void value(Object value) throws IOException {
+        writer.writeValue(generator, value);
+
+        if (!flushed) {
+            generator.flush();
+            flushed = true;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    private <T> void forEach(Rows<T> rows, RowWriter<T> rowWriter) throws IOException {
+        try {
+            rows.forEach(row -> {
+                try {
+                    rowWriter.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+}
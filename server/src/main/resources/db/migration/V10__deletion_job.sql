@@ -0,0 +1,19 @@
+-- Background deletion of teams and trashed albums (run in chunks by DeletionService, resumed after a crash)
+-- member_id : requester (team owner) who may read progress, null for albums emptied from trash
+
+create table deletion_job (
+    deletion_job_id bigint      not null auto_increment,
+    kind            varchar(10) not null,
+    target_id       bigint      not null,
+    member_id       bigint,
+    status          varchar(10) not null,
+    deleted_photos  bigint      not null default 0,
+    total_photos    bigint      not null default 0,
+    created         datetime(6) not null,
+    updated         datetime(6) not null,
+    primary key (deletion_job_id),
+    constraint uk_deletion_job_kind_target_id unique (kind, target_id)
+) engine = InnoDB;
+
+-- DeletionRepository.findRunning : status = 'RUNNING' order by id
+create index idx_deletion_job_status on deletion_job (status, deletion_job_id);
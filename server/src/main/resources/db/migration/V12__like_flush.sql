@@ -0,0 +1,12 @@
+-- Like count generations already added by LikeCounter (one row per node and generation)
+-- A generation is flushed by its node or recovered from Redis by another one after a crash, never both
+
+create table like_flush (
+    node_id    varchar(36) not null,
+    generation bigint      not null,
+    flushed_at datetime(6) not null,
+    primary key (node_id, generation)
+) engine = InnoDB;
+
+-- LikeCountRepository.prune : flushed_at < ?
+create index idx_like_flush_flushed_at on like_flush (flushed_at);
@@ -0,0 +1,96 @@
+-- Baseline schema (previously managed by ddl-auto: update)
+
+create table member (
+    member_id bigint       not null,
+    email     varchar(255) not null,
+    image     varchar(255),
+    name      varchar(255) not null,
+    password  varchar(255),
+    search    bit,
+    primary key (member_id),
+    constraint uk_member_email unique (email),
+    constraint uk_member_name unique (name)
+) engine = InnoDB;
+
+create table team (
+    team_id  bigint not null,
+    image    varchar(255),
+    name     varchar(255),
+    owner_id bigint not null,
+    primary key (team_id),
+    constraint fk_team_owner foreign key (owner_id) references member (member_id)
+) engine = InnoDB;
+
+create table team_member (
+    member_id bigint not null,
+    team_id   bigint not null,
+    is_admin  bit,
+    primary key (member_id, team_id),
+    constraint fk_team_member_member foreign key (member_id) references member (member_id),
+    constraint fk_team_member_team foreign key (team_id) references team (team_id)
+) engine = InnoDB;
+
+create table album (
+    album_id   bigint not null,
+    deleted_at date,
+    is_deleted bit,
+    name       varchar(255),
+    team_id    bigint,
+    primary key (album_id),
+    constraint fk_album_team foreign key (team_id) references team (team_id)
+) engine = InnoDB;
+
+create table photo (
+    photo_id   bigint       not null,
+    created    datetime(6),
+    deleted    datetime(6),
+    is_deleted bit,
+    name       varchar(255),
+    path       varchar(255) not null,
+    region     varchar(255),
+    album_id   bigint,
+    primary key (photo_id),
+    constraint uk_photo_path unique (path),
+    constraint fk_photo_album foreign key (album_id) references album (album_id)
+) engine = InnoDB;
+
+create table liked (
+    member_id bigint not null,
+    photo_id  bigint not null,
+    is_liked  bit,
+    primary key (member_id, photo_id),
+    constraint fk_liked_member foreign key (member_id) references member (member_id),
+    constraint fk_liked_photo foreign key (photo_id) references photo (photo_id)
+) engine = InnoDB;
+
+create table follow (
+    follow_id bigint not null,
+    member_id bigint not null,
+    primary key (follow_id, member_id),
+    constraint fk_follow_member foreign key (member_id) references member (member_id),
+    constraint fk_follow_follow foreign key (follow_id) references member (member_id)
+) engine = InnoDB;
+
+create table chat (
+    chat_id   bigint not null,
+    message   varchar(255),
+    time      datetime(6),
+    album_id  bigint,
+    member_id bigint,
+    primary key (chat_id),
+    constraint fk_chat_album foreign key (album_id) references album (album_id),
+    constraint fk_chat_member foreign key (member_id) references member (member_id)
+) engine = InnoDB;
+
+-- @GeneratedValue(AUTO) id tables
+create table member_seq (next_val bigint) engine = InnoDB;
+create table team_seq (next_val bigint) engine = InnoDB;
+create table album_seq (next_val bigint) engine = InnoDB;
+create table photo_seq (next_val bigint) engine = InnoDB;
+create table chat_seq (next_val bigint) engine = InnoDB;
+
+insert into member_seq values (1);
+insert into team_seq values (1);
+insert into album_seq values (1);
+insert into photo_seq values (1);
+insert into chat_seq values (1);
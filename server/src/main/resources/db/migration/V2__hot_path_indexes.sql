@@ -0,0 +1,18 @@
+-- Indexes for the hot repository queries
+
+-- PhotoRepository.findAll / findAllDTO / findNameAll : album_id = ? and is_deleted = false order by created
+create index idx_photo_album_id_is_deleted_created on photo (album_id, is_deleted, created);
+
+-- Trash list / trash empty : is_deleted = true order by deleted
+create index idx_photo_is_deleted_deleted on photo (is_deleted, deleted);
+
+-- LikedRepository.findAll / findPhotoIds : member_id = ? and is_liked = true
+create index idx_liked_member_id_is_liked on liked (member_id, is_liked);
+
+-- FollowRepository.findFollowerList : follow_id = ? is served by the follow primary key (follow_id, member_id)
+
+-- TeamMemberRepository.findByTeam / findAdminByTeam : team_id = ? and is_admin = true
+create index idx_team_member_team_id_is_admin on team_member (team_id, is_admin);
+
+-- ChatRepository.findAll / findAllDTO : album_id = ? order by time
+create index idx_chat_album_id_time on chat (album_id, time);
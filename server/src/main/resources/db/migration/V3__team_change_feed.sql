@@ -0,0 +1,24 @@
+-- Change feed per team (delta sync)
+
+create table team_change (
+    team_id   bigint      not null,
+    seq       bigint      not null,
+    type      varchar(20) not null,
+    action    varchar(20) not null,
+    target_id bigint      not null,
+    member_id bigint,
+    created   datetime(6) not null,
+    primary key (team_id, seq)
+) engine = InnoDB;
+
+-- Compaction : created < ?
+create index idx_team_change_created on team_change (created);
+
+-- Last seq of team, row is locked by the writer until commit so seq follows commit order.
+-- compacted_seq : entries up to this seq are removed, older cursors must reload everything
+create table team_change_counter (
+    team_id       bigint not null,
+    seq           bigint not null,
+    compacted_seq bigint not null,
+    primary key (team_id)
+) engine = InnoDB;
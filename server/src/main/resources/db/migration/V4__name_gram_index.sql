@@ -0,0 +1,11 @@
+-- Inverted index of member, team and album name (unigram, bigram)
+-- Replaces like '%name%' full scans. Kept in sync by NameIndexer in the same transaction.
+-- Grams are normalized (lower case, accents removed) by NameGrams and compared as utf8mb4_bin.
+-- Existing names are indexed by the V4_1 Java migration, SQL cannot remove accents.
+
+create table name_gram (
+    kind      varchar(10) not null,
+    gram      varchar(2) character set utf8mb4 collate utf8mb4_bin not null,
+    target_id bigint      not null,
+    primary key (kind, gram, target_id)
+) engine = InnoDB;
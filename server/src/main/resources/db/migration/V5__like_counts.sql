@@ -0,0 +1,17 @@
+-- Denormalized like counters (written behind in batches by LikeCounter)
+
+alter table photo add column like_count bigint not null default 0;
+alter table album add column like_count bigint not null default 0;
+
+-- LikeCountRepository.rebuild : photo_id in (?) and is_liked = true
+create index idx_liked_photo_id_is_liked on liked (photo_id, is_liked);
+
+-- AlbumRepository.findPopularDTO : team_id = ? and is_deleted = false order by like_count desc
+create index idx_album_team_id_is_deleted_like_count on album (team_id, is_deleted, like_count);
+
+-- Seed counters from existing likes
+update photo p
+set p.like_count = (select count(*) from liked l where l.photo_id = p.photo_id and l.is_liked = true);
+
+update album a
+set a.like_count = (select coalesce(sum(p.like_count), 0) from photo p where p.album_id = a.album_id);
@@ -0,0 +1,5 @@
+-- "On this day" memories : month * 100 + day of created, kept by MySQL on every insert and update
+alter table photo add column created_md int generated always as (month(created) * 100 + dayofmonth(created)) stored;
+
+-- PhotoRepository.findMemoryDTO : album_id in (albums of team) and created_md in (?) and is_deleted = false
+create index idx_photo_album_id_created_md on photo (album_id, created_md, is_deleted);
@@ -0,0 +1,9 @@
+-- Photo location (sent by clients on upload / autosave) and its geohash
+alter table photo add column latitude double;
+alter table photo add column longitude double;
+-- geohash is compared by byte : cell ranges follow base32 order, not the default collation
+alter table photo add column geohash varchar(12) character set ascii collate ascii_bin;
+
+-- PhotoRepository.findClusters : album_id in (albums of team) and is_deleted = false and geohash >= cell and geohash < nextPrefix(cell)
+-- (covering : clusters are counted and centered from the index only)
+create index idx_photo_album_id_is_deleted_geohash on photo (album_id, is_deleted, geohash, latitude, longitude);
@@ -0,0 +1,22 @@
+-- Timeline rollup : photo count per album per day (kept by TimelineService on save, delete, restore and move)
+-- team_id is copied from album (albums never change team), rows go with their album
+create table photo_timeline (
+    album_id    bigint not null,
+    day         date   not null,
+    team_id     bigint not null,
+    photo_count int    not null,
+    primary key (album_id, day),
+    constraint fk_photo_timeline_album foreign key (album_id) references album (album_id) on delete cascade
+) engine = InnoDB;
+
+-- TimelineRepository.findTeamHistogram : team_id = ? group by day / month / year
+create index idx_photo_timeline_team_id_day on photo_timeline (team_id, day);
+
+-- Seed from existing photos
+insert into photo_timeline (album_id, day, team_id, photo_count)
+select p.album_id, date(p.created), a.team_id, count(*)
+from photo p
+         join album a on a.album_id = p.album_id
+where p.is_deleted = false
+  and p.created is not null
+group by p.album_id, date(p.created), a.team_id;
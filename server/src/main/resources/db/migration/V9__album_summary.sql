@@ -0,0 +1,18 @@
+-- Album summary columns (kept by AlbumStatsRepository.refresh just before a photo change commits)
+-- cover = newest live photo, first / last = oldest / newest capture time of live photos
+
+alter table album add column photo_count    bigint      not null default 0;
+alter table album add column cover_photo_id bigint      null;
+alter table album add column first_created  datetime(6) null;
+alter table album add column last_created   datetime(6) null;
+
+alter table album add constraint fk_album_cover_photo
+    foreign key (cover_photo_id) references photo (photo_id) on delete set null;
+
+-- Seed from existing photos
+update album a
+set a.photo_count    = (select coalesce(sum(t.photo_count), 0) from photo_timeline t where t.album_id = a.album_id),
+    a.first_created  = (select min(p.created) from photo p where p.album_id = a.album_id and p.is_deleted = false),
+    a.last_created   = (select max(p.created) from photo p where p.album_id = a.album_id and p.is_deleted = false),
+    a.cover_photo_id = (select p.photo_id from photo p where p.album_id = a.album_id and p.is_deleted = false
+                        order by p.created desc, p.photo_id desc limit 1);
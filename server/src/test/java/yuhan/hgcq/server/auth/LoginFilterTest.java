@@ -0,0 +1,121 @@
+package yuhan.hgcq.server.auth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import yuhan.hgcq.server.cache.ContentVersion;
+import yuhan.hgcq.server.dto.member.MemberDTO;
+import yuhan.hgcq.server.service.MemberService;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class LoginFilterTest {
+    MemberService ms;
+    ContentVersion cv;
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ms = mock(MemberService.class);
+        cv = mock(ContentVersion.class);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProfileController())
+                .setCustomArgumentResolvers(new LoginArgumentResolver())
+                .setControllerAdvice(new LoginExceptionHandler())
+                .addFilters(new LoginFilter(ms, cv))
+                .build();
+    }
+
+    @RestController
+    static class ProfileController {
+        @GetMapping("/test/profile")
+        String profile(@Login LoginMember login) {
+            return login.getSnapshot().getName();
+        }
+    }
+
+    @Test
+    @DisplayName("로그인하지 않으면 401")
+    void notLogin() throws Exception {
+        mockMvc.perform(get("/test/profile"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().string("Not Login"));
+
+        verifyNoInteractions(ms, cv);
+    }
+
+    @Test
+    @DisplayName("버전이 같으면 세션 스냅샷을 그대로 쓴다")
+    void sameVersion() throws Exception {
+        MockHttpSession session = session(snapshot("m1"), 3L);
+        when(cv.member(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/test/profile").session(session))
+                .andExpect(status().isOk())
+                .andExpect(content().string("m1"));
+
+        verify(ms, never()).searchDTO(anyLong());
+    }
+
+    @Test
+    @DisplayName("버전이 바뀌면 스냅샷을 다시 읽어 세션에 넣는다")
+    void refresh() throws Exception {
+        MockHttpSession session = session(snapshot("m1"), 3L);
+        when(cv.member(1L)).thenReturn(4L);
+        when(ms.searchDTO(1L)).thenReturn(snapshot("renamed"));
+
+        mockMvc.perform(get("/test/profile").session(session))
+                .andExpect(status().isOk())
+                .andExpect(content().string("renamed"));
+
+        assertThat(((MemberDTO) session.getAttribute(LoginMember.SESSION_MEMBER)).getName()).isEqualTo("renamed");
+        assertThat(session.getAttribute(LoginMember.SESSION_VERSION)).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("탈퇴한 회원의 세션은 무효화되고 401")
+    void deletedMember() throws Exception {
+        MockHttpSession session = session(snapshot("m1"), 3L);
+        when(cv.member(1L)).thenReturn(4L);
+        when(ms.searchDTO(1L)).thenReturn(null);
+
+        mockMvc.perform(get("/test/profile").session(session))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().string("Not Login"));
+
+        assertThat(session.isInvalid()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Redis 장애로 버전을 모르면 스냅샷을 믿는다")
+    void unknownVersion() throws Exception {
+        MockHttpSession session = session(snapshot("m1"), 3L);
+        when(cv.member(1L)).thenReturn(ContentVersion.UNKNOWN);
+
+        mockMvc.perform(get("/test/profile").session(session))
+                .andExpect(status().isOk())
+                .andExpect(content().string("m1"));
+
+        verify(ms, never()).searchDTO(anyLong());
+    }
+
+    private MockHttpSession session(MemberDTO snapshot, long version) {
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(LoginMember.SESSION_MEMBER, snapshot);
+        session.setAttribute(LoginMember.SESSION_VERSION, version);
+        return session;
+    }
+
+    private MemberDTO snapshot(String name) {
+        return new MemberDTO(1L, name, name + "@test.com", null, true);
+    }
+}
@@ -0,0 +1,92 @@
+package yuhan.hgcq.server.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import yuhan.hgcq.server.repository.FollowRepository;
+import yuhan.hgcq.server.util.LongHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FollowGraphTest {
+    FollowRepository fr;
+    StringRedisTemplate redisTemplate;
+    FollowGraph fg;
+
+    @BeforeEach
+    void setUp() {
+        fr = mock(FollowRepository.class);
+        redisTemplate = mock(StringRedisTemplate.class);
+        fg = new FollowGraph(fr, redisTemplate, mock(RedisMessageListenerContainer.class));
+    }
+
+    @Test
+    @DisplayName("팔로우 그래프 집합 연산")
+    void setOperations() {
+        /* no transaction, so edges apply at once */
+        fg.add(1L, 2L);
+        fg.add(2L, 1L);
+        fg.add(1L, 3L);
+
+        assertThat(fg.following(1L).toArray()).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(fg.followers(1L).toArray()).containsExactly(2L);
+        assertThat(fg.mutual(1L)).containsExactly(2L);
+
+        LongHashSet team = new LongHashSet();
+        team.add(2L);
+
+        assertThat(fg.followingNotIn(1L, team)).containsExactly(3L);
+
+        fg.remove(2L, 1L);
+
+        assertThat(fg.mutual(1L)).isEmpty();
+        assertThat(fg.followers(1L).isEmpty()).isTrue();
+        verify(redisTemplate, times(4)).convertAndSend(eq("graph:follow"), anyString());
+    }
+
+    @Test
+    @DisplayName("로딩 중에 반영된 변경은 로딩된 그래프에도 남는다")
+    void changesDuringLoad() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, 2L});
+        rows.add(new Object[]{1L, 3L});
+
+        /* follow and unfollow commit while the query runs */
+        when(fr.findAllIds()).thenAnswer(invocation -> {
+            fg.add(4L, 1L);
+            fg.remove(1L, 3L);
+            return rows;
+        });
+
+        fg.load();
+
+        assertThat(fg.isLoaded()).isTrue();
+        assertThat(fg.following(1L).toArray()).containsExactly(2L);
+        assertThat(fg.followers(1L).toArray()).containsExactly(4L);
+        assertThat(fg.followers(3L).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("탈퇴한 회원의 팔로우는 양쪽 모두 지운다")
+    void removeMember() {
+        fg.add(1L, 2L);
+        fg.add(2L, 1L);
+        fg.add(3L, 1L);
+        fg.add(2L, 3L);
+
+        fg.removeMember(1L);
+
+        assertThat(fg.following(1L).isEmpty()).isTrue();
+        assertThat(fg.followers(1L).isEmpty()).isTrue();
+        assertThat(fg.following(2L).toArray()).containsExactly(3L);
+        assertThat(fg.following(3L).isEmpty()).isTrue();
+        assertThat(fg.followers(2L).isEmpty()).isTrue();
+    }
+}
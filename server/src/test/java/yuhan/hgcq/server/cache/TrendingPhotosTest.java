@@ -0,0 +1,143 @@
+package yuhan.hgcq.server.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import yuhan.hgcq.server.cache.TrendingPhotos.Trend;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TrendingPhotosTest {
+    StringRedisTemplate redisTemplate;
+    Map<String, String> store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        store = new HashMap<>();
+        redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> ops = mock(ValueOperations.class);
+
+        when(redisTemplate.opsForValue()).thenReturn(ops);
+        when(ops.get(anyString())).thenAnswer(invocation -> store.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> store.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(ops).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("윈도우를 벗어난 날의 점수는 빠진다")
+    void windowRollover() {
+        Trend trend = new Trend(3, 4, 64, 5);
+
+        trend.add(1L, 5, 10);
+        trend.add(2L, 3, 11);
+
+        assertThat(trend.top(11)).containsExactly(1L, 2L);
+        assertThat(trend.top(12)).containsExactly(1L, 2L);
+
+        /* window is 11 ~ 13 : day 10 drops out */
+        assertThat(trend.top(13)).containsExactly(2L);
+
+        /* too old for the window */
+        trend.add(3L, 9, 10);
+        assertThat(trend.top(13)).containsExactly(2L);
+
+        /* day 13 reuses the bucket of day 10, which starts empty */
+        trend.add(4L, 1, 13);
+        trend.add(1L, 1, 13);
+        assertThat(trend.top(13)).containsExactly(2L, 1L, 4L);
+
+        assertThat(trend.top(16)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("top-K 가 차면 가장 약한 후보가 교체된다")
+    void topReplacement() {
+        Trend trend = new Trend(7, 4, 64, 2);
+
+        trend.add(1L, 1, 100);
+        trend.add(2L, 2, 100);
+        trend.add(3L, 3, 100);
+
+        assertThat(trend.top(100)).containsExactly(3L, 2L);
+
+        /* weaker than the weakest candidate */
+        trend.add(4L, 1, 100);
+        assertThat(trend.top(100)).containsExactly(3L, 2L);
+
+        /* dropped candidate comes back with its whole windowed count (1 + 5) */
+        trend.add(1L, 5, 100);
+        assertThat(trend.top(100)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("스냅샷은 그대로 복원되고, 레이아웃이 바뀌면 버린다")
+    void snapshotRoundTrip() {
+        Trend trend = new Trend(7, 4, 64, 3);
+
+        trend.add(1L, 4, 100);
+        trend.add(2L, 2, 101);
+        trend.add(3L, 1, 102);
+
+        assertThat(trend.isDirty()).isTrue();
+
+        byte[] bytes = trend.encode();
+
+        assertThat(trend.isDirty()).isFalse();
+
+        Trend restored = Trend.decode(bytes, 7, 4, 64, 3);
+
+        assertThat(restored).isNotNull();
+        assertThat(restored.top(102)).containsExactly(1L, 2L, 3L);
+
+        /* counters came back too, not only the heap */
+        restored.add(2L, 3, 102);
+        assertThat(restored.top(102)).containsExactly(2L, 1L, 3L);
+
+        assertThat(Trend.decode(bytes, 7, 4, 128, 3)).isNull();
+        assertThat(Trend.decode(bytes, 5, 4, 64, 3)).isNull();
+    }
+
+    @Test
+    @DisplayName("재시작한 노드는 Redis 스냅샷에서 순위를 이어받는다")
+    void restoreOnRestart() {
+        TrendingPhotos first = trending();
+
+        first.view(1L, 10L);
+        first.view(1L, 10L);
+        first.view(1L, 10L);
+        first.view(1L, 11L);
+        first.snapshot();
+
+        assertThat(store).containsKey("trending:team:1");
+
+        TrendingPhotos second = trending();
+
+        assertThat(second.top(1L)).containsExactly(10L, 11L);
+        assertThat(second.top(2L)).isEmpty();
+    }
+
+    private TrendingPhotos trending() {
+        TrendingPhotos trending = new TrendingPhotos(redisTemplate, mock(RedisMessageListenerContainer.class));
+
+        ReflectionTestUtils.setField(trending, "days", 7);
+        ReflectionTestUtils.setField(trending, "top", 20);
+        ReflectionTestUtils.setField(trending, "depth", 4);
+        ReflectionTestUtils.setField(trending, "width", 64);
+        ReflectionTestUtils.setField(trending, "maxTeams", 10L);
+        ReflectionTestUtils.setField(trending, "likeWeight", 3);
+        ReflectionTestUtils.setField(trending, "viewWeight", 1);
+        trending.init();
+        return trending;
+    }
+}
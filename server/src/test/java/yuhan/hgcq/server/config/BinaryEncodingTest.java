@@ -0,0 +1,99 @@
+package yuhan.hgcq.server.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BinaryEncodingTest {
+    private static final Logger log = LoggerFactory.getLogger(BinaryEncodingTest.class);
+
+    private static final int PHOTOS = 3000;
+    private static final int ROUNDS = 50;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper smile = new ObjectMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+    @Test
+    @DisplayName("갤러리 응답 크기와 직렬화 속도 비교")
+    void gallery() throws IOException {
+        Map<String, List<PhotoDTO>> gallery = galleryFixture();
+
+        byte[] jsonBytes = json.writeValueAsBytes(gallery);
+        byte[] smileBytes = smile.writeValueAsBytes(gallery);
+        byte[] cborBytes = cbor.writeValueAsBytes(gallery);
+
+        log.info("Gallery {} photos : json {} B (gzip {} B), smile {} B (gzip {} B), cbor {} B (gzip {} B)", PHOTOS,
+                jsonBytes.length, gzip(jsonBytes).length, smileBytes.length, gzip(smileBytes).length,
+                cborBytes.length, gzip(cborBytes).length);
+        log.info("Serialize x{} : json {} ms, smile {} ms, cbor {} ms", ROUNDS,
+                millis(json, gallery), millis(smile, gallery), millis(cbor, gallery));
+
+        /* keys are written once by Smile, every time by JSON and CBOR */
+        assertThat(smileBytes.length).isLessThan(cborBytes.length);
+        assertThat(cborBytes.length).isLessThan(jsonBytes.length);
+        assertThat(smileBytes.length).isLessThan(jsonBytes.length * 3 / 4);
+        assertThat(gzip(jsonBytes).length).isLessThan(jsonBytes.length / 3);
+
+        Map<String, List<PhotoDTO>> decoded = smile.readValue(smileBytes, new TypeReference<>() {
+        });
+        assertThat(decoded).hasSameSizeAs(gallery);
+        assertThat(decoded.get("2024-01-01")).extracting(PhotoDTO::getPath)
+                .containsExactlyElementsOf(gallery.get("2024-01-01").stream().map(PhotoDTO::getPath).toList());
+    }
+
+    /* one album, 3000 photos over 100 days, S3 keys with uuid names */
+    private Map<String, List<PhotoDTO>> galleryFixture() {
+        Random random = new Random(42);
+        String[] regions = {"서울", "부산", "제주", "Tokyo", "Osaka"};
+        Map<String, List<PhotoDTO>> gallery = new LinkedHashMap<>();
+
+        for (int i = 0; i < PHOTOS; i++) {
+            LocalDateTime created = LocalDateTime.of(2024, 1, 1, 9, 0).plusDays(i % 100).plusMinutes(i);
+            String name = UUID.randomUUID() + ".jpg";
+
+            PhotoDTO dto = new PhotoDTO((long) i + 1, 345L, name, "images/345/" + name,
+                    regions[random.nextInt(regions.length)], created, (long) random.nextInt(20));
+            dto.setIsLiked(random.nextInt(10) == 0);
+
+            gallery.computeIfAbsent(created.toLocalDate().toString(), key -> new ArrayList<>()).add(dto);
+        }
+        return gallery;
+    }
+
+    private long millis(ObjectMapper mapper, Object value) throws IOException {
+        mapper.writeValueAsBytes(value);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            mapper.writeValueAsBytes(value);
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
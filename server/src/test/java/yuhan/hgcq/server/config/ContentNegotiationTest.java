@@ -0,0 +1,137 @@
+package yuhan.hgcq.server.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.*;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class ContentNegotiationTest {
+
+    private static final int PHOTOS = 200;
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+    @TestConfiguration
+    static class GalleryConfig {
+        @Bean
+        GalleryController galleryController() {
+            return new GalleryController();
+        }
+    }
+
+    @RestController
+    static class GalleryController {
+        @GetMapping("/test/gallery")
+        List<PhotoDTO> gallery() {
+            return galleryFixture();
+        }
+    }
+
+    @Test
+    @DisplayName("Accept 헤더에 따른 Smile 응답")
+    void smile() throws Exception {
+        MvcResult result = mockMvc.perform(get("/test/gallery").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn();
+
+        List<PhotoDTO> decoded = smile.readValue(result.getResponse().getContentAsByteArray(), new TypeReference<>() {
+        });
+        assertThat(decoded).extracting(PhotoDTO::getPath)
+                .containsExactlyElementsOf(galleryFixture().stream().map(PhotoDTO::getPath).toList());
+    }
+
+    @Test
+    @DisplayName("Accept 헤더에 따른 CBOR 응답")
+    void cbor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/test/gallery").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn();
+
+        List<PhotoDTO> decoded = cbor.readValue(result.getResponse().getContentAsByteArray(), new TypeReference<>() {
+        });
+        assertThat(decoded).hasSize(PHOTOS);
+    }
+
+    @Test
+    @DisplayName("Accept 헤더가 모두 허용하면 JSON 응답")
+    void jsonByDefault() throws Exception {
+        mockMvc.perform(get("/test/gallery").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    /* compression is done by Tomcat, so it is only seen through a real port */
+    @Test
+    @DisplayName("Smile, CBOR 응답 gzip 압축")
+    void gzip() throws IOException {
+        for (MediaType type : List.of(SMILE, CBOR)) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setAccept(List.of(type));
+            headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+            ResponseEntity<byte[]> response = restTemplate.exchange("/test/gallery", HttpMethod.GET,
+                    new HttpEntity<>(headers), byte[].class);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getContentType()).isEqualTo(type);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+
+            ObjectMapper mapper = type.equals(SMILE) ? smile : cbor;
+            try (InputStream body = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+                List<PhotoDTO> decoded = mapper.readValue(body, new TypeReference<>() {
+                });
+                assertThat(decoded).hasSize(PHOTOS);
+            }
+        }
+    }
+
+    private static List<PhotoDTO> galleryFixture() {
+        List<PhotoDTO> gallery = new ArrayList<>();
+
+        for (int i = 0; i < PHOTOS; i++) {
+            String name = "photo-" + i + ".jpg";
+            gallery.add(new PhotoDTO((long) i + 1, 345L, name, "images/345/" + name,
+                    "서울", LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i), 0L));
+        }
+        return gallery;
+    }
+}
@@ -0,0 +1,123 @@
+package yuhan.hgcq.server.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.expression.AccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import yuhan.hgcq.server.auth.LoginMember;
+import yuhan.hgcq.server.cache.ContentVersion;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.Chat;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.dto.member.MemberDTO;
+import yuhan.hgcq.server.dto.member.MemberUpdateForm;
+import yuhan.hgcq.server.repository.MemberRepository;
+import yuhan.hgcq.server.service.AlbumService;
+import yuhan.hgcq.server.service.ChatService;
+import yuhan.hgcq.server.service.MemberService;
+import yuhan.hgcq.server.service.TeamService;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/* not transactional : versions and cached lists only change after commit */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChatControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MemberService ms;
+
+    @Autowired
+    TeamService ts;
+
+    @Autowired
+    AlbumService as;
+
+    @Autowired
+    ChatService cs;
+
+    @Autowired
+    MemberRepository mr;
+
+    @Autowired
+    ContentVersion cv;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("작성자 이름이 바뀌면 채팅 리스트 ETag가 바뀐다")
+    void eTagAfterRename() throws Exception {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        String newName = UUID.randomUUID().toString().substring(0, 8);
+
+        Member member = tx.execute(status -> {
+            Member m = new Member(name, name + "@test.com", "1234");
+            mr.save(m);
+            return m;
+        });
+        Team team = new Team(member, name);
+        Long teamId = ts.createTeam(team);
+        Album album = new Album(team, "a");
+
+        try {
+            as.create(member, album);
+            cs.create(new Chat(member, "hello", album));
+
+            MockHttpSession session = new MockHttpSession();
+            session.setAttribute(LoginMember.SESSION_MEMBER, new MemberDTO(member.getId(), name, name + "@test.com", null, true));
+            session.setAttribute(LoginMember.SESSION_VERSION, cv.member(member.getId()));
+
+            String eTag = mockMvc.perform(get("/chat/list/albumId").param("albumId", String.valueOf(album.getId())).session(session))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].writerName").value(name))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            assertThat(eTag).isNotNull();
+
+            mockMvc.perform(get("/chat/list/albumId").param("albumId", String.valueOf(album.getId())).session(session)
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified());
+
+            tx.executeWithoutResult(status -> ms.updateMember(mr.findOne(member.getId()), new MemberUpdateForm(newName, null)));
+
+            /* a new tag, and the cached list was dropped */
+            String changed = mockMvc.perform(get("/chat/list/albumId").param("albumId", String.valueOf(album.getId())).session(session)
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].writerName").value(newName))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            assertThat(changed).isNotNull().isNotEqualTo(eTag);
+        } catch (AccessException e) {
+            fail();
+        } finally {
+            jdbcTemplate.update("delete from chat where member_id = ?", member.getId());
+            jdbcTemplate.update("delete from team_member where team_id = ?", teamId);
+            jdbcTemplate.update("delete from team_change where team_id = ?", teamId);
+            jdbcTemplate.update("delete from team_change_counter where team_id = ?", teamId);
+            jdbcTemplate.update("delete from name_gram where (kind = 'album' and target_id = ?)" +
+                    " or (kind = 'team' and target_id = ?) or (kind = 'member' and target_id = ?)", album.getId(), teamId, member.getId());
+            jdbcTemplate.update("delete from album where team_id = ?", teamId);
+            jdbcTemplate.update("delete from team where team_id = ?", teamId);
+            jdbcTemplate.update("delete from member where member_id = ?", member.getId());
+        }
+    }
+}
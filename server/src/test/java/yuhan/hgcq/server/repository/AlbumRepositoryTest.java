@@ -1,17 +1,28 @@
 package yuhan.hgcq.server.repository;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.Chat;
 import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.Photo;
 import yuhan.hgcq.server.domain.Team;
 import yuhan.hgcq.server.domain.TeamMember;
+import yuhan.hgcq.server.dto.album.AlbumDTO;
+import yuhan.hgcq.server.service.TimelineService;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -30,6 +41,21 @@ class AlbumRepositoryTest {
     @Autowired
     TeamMemberRepository tmr;
 
+    @Autowired
+    PhotoRepository pr;
+
+    @Autowired
+    ChatRepository cr;
+
+    @Autowired
+    TimelineService tls;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     Long saveMemberId;
     Long saveMemberId2;
     Long saveMemberId3;
@@ -39,6 +65,11 @@ class AlbumRepositoryTest {
 
     @BeforeEach
     void setUp() {
+        /* non-transactional tests commit, so they make and remove their own rows */
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+
         Member memberA = new Member("A", "a@test.com", "a1");
         Member memberB = new Member("B", "b@test.com", "b1");
         Member memberC = new Member("C", "c@test.com", "c1");
@@ -86,4 +117,78 @@ class AlbumRepositoryTest {
 
         assertThat(find).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("앨범 리스트는 사진 수, 커버, 기간, 마지막 채팅 시간을 함께 준다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void albumSummary() {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+
+        Member member = tx.execute(status -> {
+            Member m = new Member(name, name + "@test.com", "1234");
+            mr.save(m);
+            return m;
+        });
+        Team team = tx.execute(status -> {
+            Team t = new Team(mr.findOne(member.getId()), name);
+            tr.save(t);
+            return t;
+        });
+        Album[] albums = tx.execute(status -> {
+            Team t = tr.findOne(team.getId());
+            Album a1 = new Album(t, "a1");
+            Album a2 = new Album(t, "a2");
+            ar.save(a1);
+            ar.save(a2);
+            return new Album[]{a1, a2};
+        });
+
+        try {
+            Photo[] photos = tx.execute(status -> {
+                Album a1 = ar.findOne(albums[0].getId());
+                Photo p1 = photo(a1, 2023, 5, 1);
+                Photo p2 = photo(a1, 2023, 6, 1);
+                Photo p3 = photo(a1, 2023, 7, 1);
+
+                for (Photo p : new Photo[]{p1, p2, p3}) {
+                    pr.save(p);
+                    tls.add(p);
+                }
+                cr.save(new Chat(mr.findOne(member.getId()), "hi", a1));
+                return new Photo[]{p1, p2, p3};
+            });
+
+            /* newest photo goes to trash : cover and last capture fall back to the next one */
+            tx.executeWithoutResult(status -> {
+                Photo p3 = pr.findOne(photos[2].getId());
+                p3.delete();
+                tls.remove(p3);
+            });
+
+            assertThat(ar.findAllDTO(team))
+                    .extracting(AlbumDTO::getName, AlbumDTO::getPhotoCount, AlbumDTO::getCoverPhotoId,
+                            AlbumDTO::getFirstCreated, AlbumDTO::getLastCreated)
+                    .containsExactly(
+                            tuple("a1", 2L, photos[1].getId(), "2023-05-01T12:00", "2023-06-01T12:00"),
+                            tuple("a2", 0L, null, null, null));
+
+            List<AlbumDTO> albumDTOList = ar.findAllDTO(team);
+            assertThat(albumDTOList.get(0).getCoverPath()).isEqualTo(photos[1].getPath());
+            assertThat(albumDTOList.get(0).getLastChatTime()).isNotNull();
+            assertThat(albumDTOList.get(1).getLastChatTime()).isNull();
+        } finally {
+            jdbcTemplate.update("delete from chat where album_id in (?, ?)", albums[0].getId(), albums[1].getId());
+            jdbcTemplate.update("delete from photo where album_id in (?, ?)", albums[0].getId(), albums[1].getId());
+            jdbcTemplate.update("delete from name_gram where (kind = 'album' and target_id in (?, ?))" +
+                            " or (kind = 'team' and target_id = ?) or (kind = 'member' and target_id = ?)",
+                    albums[0].getId(), albums[1].getId(), team.getId(), member.getId());
+            jdbcTemplate.update("delete from album where team_id = ?", team.getId());
+            jdbcTemplate.update("delete from team where team_id = ?", team.getId());
+            jdbcTemplate.update("delete from member where member_id = ?", member.getId());
+        }
+    }
+
+    private Photo photo(Album album, int year, int month, int day) {
+        return new Photo(album, "p", "/summary/" + UUID.randomUUID(), "region", LocalDateTime.of(year, month, day, 12, 0));
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import yuhan.hgcq.server.domain.Follow;
 import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.dto.member.MemberDTO;
 
 import java.util.List;
 
@@ -93,4 +94,19 @@ class FollowRepositoryTest {
         assertThat(find1).hasSize(2).contains(findMember2, findMember3).doesNotContain(findMember4);
         assertThat(find2).contains(findMember2).doesNotContain(findMember3);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findFollowingDTOList() {
+        Member findMember = mr.findOne(saveMemberId);
+        Member findMember2 = mr.findOne(saveMemberId2);
+        Member findMember3 = mr.findOne(saveMemberId3);
+
+        fr.save(new Follow(findMember, findMember3));
+        fr.save(new Follow(findMember, findMember2));
+
+        List<MemberDTO> find = fr.findFollowingDTOList(findMember);
+
+        assertThat(find).extracting(MemberDTO::getMemberId).containsExactly(saveMemberId2, saveMemberId3);
+        assertThat(find).extracting(MemberDTO::getName).containsExactly("B1", "C1");
+    }
+}
@@ -40,6 +40,17 @@ class MemberRepositoryTest {
         assertThat(findMember).isNull();
     }
 
+    @Test
+    void findDTO() {
+        Member member = new Member("A", "a@test.com", "a1");
+
+        Long saveId = memberRepository.save(member);
+
+        assertThat(memberRepository.findDTO(saveId).getName()).isEqualTo("A");
+        assertThat(memberRepository.findDTO(-1L)).isNull();
+        assertThat(memberRepository.findReference(saveId).getId()).isEqualTo(saveId);
+    }
+
     @Test
     void findEmail() {
         Member member = new Member("A", "a@test.com", "a1");
@@ -51,6 +62,18 @@ class MemberRepositoryTest {
         assertThat(findMember).isEqualTo(member);
     }
 
+    @Test
+    void exists() {
+        Member member = new Member("A", "a@test.com", "a1");
+
+        memberRepository.save(member);
+
+        assertThat(memberRepository.existsEmail("a@test.com")).isTrue();
+        assertThat(memberRepository.existsEmail("b@test.com")).isFalse();
+        assertThat(memberRepository.existsName("A")).isTrue();
+        assertThat(memberRepository.existsName("B")).isFalse();
+    }
+
     @Test
     void findAll() {
         Member memberA = new Member("A", "a@test.com", "a1");
@@ -83,6 +106,39 @@ class MemberRepositoryTest {
         assertThat(find).hasSize(1).contains(memberB);
     }
 
+    @Test
+    void findNameByGram() {
+        Member member1 = new Member("홍길동", "hong@test.com", "a1");
+        Member member2 = new Member("길동이", "gil@test.com", "b1");
+        Member member3 = new Member("김철수", "kim@test.com", "c1");
+
+        memberRepository.save(member1);
+        memberRepository.save(member2);
+        memberRepository.save(member3);
+
+        assertThat(memberRepository.findByName("길동")).hasSize(2).contains(member1, member2);
+        assertThat(memberRepository.findByName("동이")).hasSize(1).contains(member2);
+        assertThat(memberRepository.findByName("동길")).isEmpty();
+
+        member3.changeName("김길동");
+        memberRepository.save(member3);
+
+        assertThat(memberRepository.findByName("길동")).hasSize(3);
+        assertThat(memberRepository.findByName("철수")).isEmpty();
+    }
+
+    @Test
+    void findNameByGramWithoutAccent() {
+        Member member1 = new Member("Café", "cafe@test.com", "a1");
+        Member member2 = new Member("Cave", "cave@test.com", "b1");
+
+        memberRepository.save(member1);
+        memberRepository.save(member2);
+
+        assertThat(memberRepository.findByName("cafe")).hasSize(1).contains(member1);
+        assertThat(memberRepository.findByName("CAFÉ")).hasSize(1).contains(member1);
+    }
+
     @Test
     void findAllEmails() {
         Member memberA = new Member("A", "a@test.com", "a1");
@@ -1,15 +1,18 @@
 package yuhan.hgcq.server.repository;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import yuhan.hgcq.server.domain.*;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -110,6 +113,42 @@ class PhotoRepositoryTest {
         assertThat(find).isEqualTo(p1);
     }
 
+    @Test
+    void findAlbumId() {
+        Album findAlbum = ar.findOne(saveAlbumId);
+
+        Photo p1 = new Photo(findAlbum, "p1", "/test/a1", "region", LocalDateTime.now());
+
+        Long saveId = pr.save(p1);
+
+        assertThat(pr.findAlbumId(saveId)).isEqualTo(saveAlbumId);
+        assertThat(pr.findAlbumId(-1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("지난 해 같은 날 사진만 추억으로 찾는다")
+    void findMemoryDTO() {
+        Album findAlbum = ar.findOne(saveAlbumId);
+        LocalDate today = LocalDate.of(2024, 5, 17);
+
+        Photo lastYear = new Photo(findAlbum, "p1", "/test/a1", "region", LocalDateTime.of(2023, 5, 17, 10, 0));
+        Photo twoYearsAgo = new Photo(findAlbum, "p2", "/test/a2", "region", LocalDateTime.of(2022, 5, 17, 23, 59));
+        Photo otherDay = new Photo(findAlbum, "p3", "/test/a3", "region", LocalDateTime.of(2023, 5, 18, 0, 0));
+        Photo thisYear = new Photo(findAlbum, "p4", "/test/a4", "region", LocalDateTime.of(2024, 5, 17, 9, 0));
+        Photo deleted = new Photo(findAlbum, "p5", "/test/a5", "region", LocalDateTime.of(2021, 5, 17, 9, 0));
+        deleted.delete();
+
+        pr.save(lastYear);
+        pr.save(twoYearsAgo);
+        pr.save(otherDay);
+        pr.save(thisYear);
+        pr.save(deleted);
+
+        List<PhotoDTO> find = pr.findMemoryDTO(saveTeamId, List.of(517), today.withDayOfYear(1).atStartOfDay(), 10);
+
+        assertThat(find).extracting(PhotoDTO::getPhotoId).containsExactly(lastYear.getId(), twoYearsAgo.getId());
+    }
+
     @Test
     void findAll() {
         Album findAlbum = ar.findOne(saveAlbumId);
@@ -146,4 +185,28 @@ class PhotoRepositoryTest {
 
         assertThat(find).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("페이지로 나눠 읽어도 리스트와 같은 순서로 나온다")
+    void findDTOPage() {
+        Album findAlbum = ar.findOne(saveAlbumId);
+
+        Photo p1 = new Photo(findAlbum, "p1", "/test/a1", "region", LocalDateTime.of(2024, 1, 3, 12, 0));
+        Photo p2 = new Photo(findAlbum, "p2", "/test/a2", "region", LocalDateTime.of(2024, 1, 1, 12, 0));
+        Photo p3 = new Photo(findAlbum, "p3", "/test/a3", "region", LocalDateTime.of(2024, 1, 2, 12, 0));
+        p3.delete();
+
+        pr.save(p1);
+        pr.save(p2);
+        pr.save(p3);
+
+        List<PhotoDTO> first = pr.findDTOPage(findAlbum, null, null, 1);
+        PhotoDTO last = first.get(0);
+        List<PhotoDTO> second = pr.findDTOPage(findAlbum, LocalDateTime.parse(last.getCreated()), last.getPhotoId(), 1);
+        List<PhotoDTO> third = pr.findDTOPage(findAlbum, LocalDateTime.parse(second.get(0).getCreated()), second.get(0).getPhotoId(), 1);
+
+        assertThat(Stream.of(first, second, third).flatMap(List::stream).map(PhotoDTO::getName).toList())
+                .containsExactly("p2", "p1")
+                .isEqualTo(pr.findAllDTO(findAlbum).stream().map(PhotoDTO::getName).toList());
+    }
+}
@@ -0,0 +1,273 @@
+package yuhan.hgcq.server.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.domain.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * EXPLAIN the SQL Hibernate generates for the hot repository queries and check the index MySQL picks
+ * <p>
+ * The queried team, album and member are a few rows among many, so the plan is the one real data gets.
+ */
+@SpringBootTest
+@Transactional
+class QueryPlanTest {
+
+    /* rows of other members, albums and photos around the queried ones */
+    private static final int OTHERS = 30;
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, CAPTURE);
+        }
+    }
+
+    static final SqlCapture CAPTURE = new SqlCapture();
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MemberRepository mr;
+
+    @Autowired
+    TeamRepository tr;
+
+    @Autowired
+    TeamMemberRepository tmr;
+
+    @Autowired
+    AlbumRepository ar;
+
+    @Autowired
+    PhotoRepository pr;
+
+    @Autowired
+    LikedRepository lr;
+
+    @Autowired
+    FollowRepository fr;
+
+    @Autowired
+    ChatRepository cr;
+
+    Member member;
+    Team team;
+    Album album;
+
+    @BeforeEach
+    void setUp() {
+        member = new Member("plan", "plan@test.com", "p1");
+        mr.save(member);
+
+        team = new Team(member, "plan");
+        tr.save(team);
+        tmr.save(new TeamMember(team, member));
+
+        album = new Album(team, "plan");
+        ar.save(album);
+
+        Photo photo = new Photo(album, "plan", "/plan/plan", "region", LocalDateTime.now());
+        pr.save(photo);
+        lr.save(new Liked(member, photo));
+        cr.save(new Chat(member, "plan", album));
+
+        for (int i = 0; i < OTHERS; i++) {
+            Member other = new Member("plan" + i, "plan" + i + "@test.com", "p1");
+            mr.save(other);
+
+            Team otherTeam = new Team(other, "plan" + i);
+            tr.save(otherTeam);
+            tmr.save(new TeamMember(otherTeam, other));
+
+            Album otherAlbum = new Album(otherTeam, "plan" + i);
+            ar.save(otherAlbum);
+
+            Photo otherPhoto = new Photo(otherAlbum, "plan" + i, "/plan/plan" + i, "region", LocalDateTime.now());
+            pr.save(otherPhoto);
+            lr.save(new Liked(other, otherPhoto));
+            cr.save(new Chat(other, "plan", otherAlbum));
+            fr.save(new Follow(other, member));
+        }
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("앨범 사진 리스트")
+    void photoListByAlbum() {
+        assertUsesIndex(() -> pr.findAll(album), "photo", List.of(album.getId()),
+                "idx_photo_album_id_is_deleted_created");
+    }
+
+    @Test
+    @DisplayName("사진 휴지통")
+    void photoTrash() {
+        assertUsesIndex(() -> pr.findByDeleted(album), "photo", List.of(),
+                "idx_photo_is_deleted_deleted");
+    }
+
+    @Test
+    @DisplayName("좋아요한 사진 리스트")
+    void likedListByMember() {
+        assertUsesIndex(() -> lr.findPhotoIds(member), "liked", List.of(member.getId()),
+                "idx_liked_member_id_is_liked");
+    }
+
+    @Test
+    @DisplayName("팔로워 리스트")
+    void followerList() {
+        assertUsesIndex(() -> fr.findFollowerList(member), "follow", List.of(member.getId()),
+                "PRIMARY");
+    }
+
+    @Test
+    @DisplayName("팀 관리자 리스트")
+    void adminListByTeam() {
+        assertUsesIndex(() -> tmr.findAdminByTeam(team), "team_member", List.of(team.getId()),
+                "idx_team_member_team_id_is_admin");
+    }
+
+    @Test
+    @DisplayName("앨범 채팅 리스트")
+    void chatListByAlbum() {
+        assertUsesIndex(() -> cr.findAll(album), "chat", List.of(album.getId()),
+                "idx_chat_album_id_time");
+    }
+
+    @Test
+    @DisplayName("이메일 중복 확인")
+    void memberByEmail() {
+        assertUsesIndex(() -> mr.existsEmail("plan@test.com"), "member", List.of("plan@test.com", 1),
+                "uk_member_email");
+    }
+
+    @Test
+    @DisplayName("이름 중복 확인")
+    void memberByName() {
+        assertUsesIndex(() -> mr.existsName("plan"), "member", List.of("plan", 1),
+                "uk_member_name");
+    }
+
+    @Test
+    @DisplayName("인기 앨범 리스트")
+    void popularAlbumList() {
+        assertUsesIndex(() -> ar.findPopularDTO(team), "album", List.of(team.getId()),
+                "idx_album_team_id_is_deleted_like_count");
+    }
+
+    @Test
+    @DisplayName("오늘의 추억")
+    void memoryList() {
+        LocalDateTime now = LocalDateTime.now();
+        int monthDay = now.getMonthValue() * 100 + now.getDayOfMonth();
+
+        assertUsesIndex(() -> pr.findMemoryDTO(team.getId(), List.of(monthDay), now, 10), "photo",
+                List.of(team.getId(), monthDay, now, 10),
+                "idx_photo_album_id_created_md");
+    }
+
+    @Test
+    @DisplayName("사진 지도")
+    void photoMap() {
+        assertUsesIndex(() -> pr.findClusters(team.getId(), 5, List.of("wydm"), 37.0, 126.0, 38.0, 128.0, 10), "photo",
+                List.of(team.getId(), 37.0, 38.0, 126.0, 128.0, "wydm", "wydn", 10),
+                "idx_photo_album_id_is_deleted_geohash");
+    }
+
+    /**
+     * Run the repository query, EXPLAIN the SQL it sent and check the key chosen for the table
+     *
+     * @param query   repository call
+     * @param table   checked table
+     * @param args    bind values in SQL order
+     * @param indexes expected indexes
+     */
+    private void assertUsesIndex(Runnable query, String table, List<Object> args, String... indexes) {
+        List<String> statements;
+        CAPTURE.start();
+        try {
+            query.run();
+        } finally {
+            statements = CAPTURE.stop();
+        }
+
+        Pattern alias = Pattern.compile("(?:from|join) " + table + " (\\w+)");
+        String sql = null;
+        String tableAlias = null;
+
+        for (String captured : statements) {
+            Matcher matcher = alias.matcher(captured);
+            if (matcher.find()) {
+                sql = captured;
+                tableAlias = matcher.group(1);
+                break;
+            }
+        }
+
+        assertThat(sql).as("query on %s", table).isNotNull();
+        assertThat(sql.chars().filter(c -> c == '?').count()).as(sql).isEqualTo(args.size());
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql, args.toArray());
+
+        String checked = tableAlias;
+        assertThat(plan)
+                .as(sql)
+                .filteredOn(row -> checked.equals(row.get("table")))
+                .singleElement()
+                .satisfies(row -> assertThat(Objects.toString(row.get("key"))).isIn((Object[]) indexes));
+    }
+
+    /**
+     * Keeps the statements Hibernate prepares on the capturing thread
+     */
+    static class SqlCapture implements StatementInspector {
+        private final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+        void start() {
+            statements.set(new ArrayList<>());
+        }
+
+        List<String> stop() {
+            List<String> captured = statements.get();
+            statements.remove();
+            return captured;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> captured = statements.get();
+            if (captured != null) {
+                captured.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 import yuhan.hgcq.server.domain.Member;
 import yuhan.hgcq.server.domain.Team;
 import yuhan.hgcq.server.domain.TeamMember;
+import yuhan.hgcq.server.dto.team.MemberInTeamDTO;
 
 import java.util.List;
 
@@ -127,4 +128,22 @@ class TeamMemberRepositoryTest {
 
         assertThat(finds).hasSize(4);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findMemberDTOByTeam() {
+        Team findTeam = teamRepository.findOne(saveTeamId);
+        Member findB = memberRepository.findOne("b@test.com");
+        Member findC = memberRepository.findOne("c@test.com");
+
+        TeamMember admin = new TeamMember(findTeam, findC);
+        admin.authorizeAdmin();
+        teamMemberRepository.save(admin);
+        teamMemberRepository.save(new TeamMember(findTeam, findB));
+
+        List<MemberInTeamDTO> members = teamMemberRepository.findMemberDTOByTeam(findTeam);
+
+        assertThat(members)
+                .extracting(MemberInTeamDTO::getName, MemberInTeamDTO::getIsAdmin, MemberInTeamDTO::getIsOwner)
+                .containsExactly(tuple("C", true, false), tuple("A", false, true), tuple("B", false, false));
+    }
+}
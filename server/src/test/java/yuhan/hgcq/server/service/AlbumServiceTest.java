@@ -1,23 +1,38 @@
 package yuhan.hgcq.server.service;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.expression.AccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import yuhan.hgcq.server.domain.Album;
-import yuhan.hgcq.server.domain.Member;
-import yuhan.hgcq.server.domain.Team;
-import yuhan.hgcq.server.domain.TeamMember;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import yuhan.hgcq.server.cache.ListCache;
+import yuhan.hgcq.server.domain.*;
+import yuhan.hgcq.server.dto.album.AlbumDTO;
 import yuhan.hgcq.server.dto.member.SignupForm;
+import yuhan.hgcq.server.repository.ChatRepository;
+import yuhan.hgcq.server.repository.MemberRepository;
+import yuhan.hgcq.server.repository.PhotoRepository;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest
 @Transactional
@@ -34,6 +49,34 @@ class AlbumServiceTest {
     @Autowired
     TeamMemberService tms;
 
+    @Autowired
+    DeletionService ds;
+
+    @Autowired
+    PhotoRepository pr;
+
+    @Autowired
+    ChatRepository cr;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MemberRepository mr;
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    EntityManager em;
+
+    /* files are not touched here, only the batches handed over are checked */
+    @MockBean
+    PhotoService ps;
+
     Long m1Id;
     Long m2Id;
     Long m3Id;
@@ -44,6 +87,11 @@ class AlbumServiceTest {
 
     @BeforeEach
     void setUp() {
+        /* non-transactional tests commit, so they make and remove their own rows */
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+
         SignupForm m1 = new SignupForm("m1", "m1@test.com", "1234");
         SignupForm m2 = new SignupForm("m2", "m2@test.com", "1234");
         SignupForm m3 = new SignupForm("m3", "m3@test.com", "1234");
@@ -201,7 +249,7 @@ class AlbumServiceTest {
 
     @Test
     @DisplayName("휴지통 자동 삭제")
-    void trash() {
+    void trash() throws IOException {
         Member m1 = ms.searchOne(m1Id);
         Member m2 = ms.searchOne(m2Id);
         Team t1 = ts.searchOne(t1Id);
@@ -215,11 +263,33 @@ class AlbumServiceTest {
             Album find = as.searchOne(a1Id);
             find.test(LocalDate.of(2024, 8, 1));
 
+            for (int i = 0; i < 3; i++) {
+                pr.save(new Photo(find, "p" + i, "/t1/a1/p" + i, "region", LocalDateTime.now()));
+            }
+            cr.save(new Chat(m1, "chat", find));
+            /* the job counts photos by JDBC */
+            em.flush();
+
             List<Album> trashList = as.searchAlbumTrashList(t1);
             as.trash(trashList);
 
+            /* queued album leaves the trash list, rows are removed by the background run */
+            assertThat(as.searchAlbumTrashList(t1)).isEmpty();
+            ds.run();
+            em.clear();
+
             Long finalA1Id = a1Id;
             assertThrows(IllegalArgumentException.class, () -> as.searchOne(finalA1Id));
+
+            Map<String, Object> job = jdbcTemplate.queryForMap("select status, deleted_photos, total_photos from deletion_job" +
+                    " where kind = 'album' and target_id = ?", a1Id);
+            assertThat(job.get("status")).isEqualTo("DONE");
+            assertThat(((Number) job.get("total_photos")).longValue()).isEqualTo(3L);
+            assertThat(((Number) job.get("deleted_photos")).longValue()).isEqualTo(3L);
+
+            verify(ps).deleteFiles(argThat(paths -> paths.size() == 3));
+            assertThat(jdbcTemplate.queryForObject("select count(*) from photo where album_id = ?", Long.class, a1Id)).isZero();
+            assertThat(jdbcTemplate.queryForObject("select count(*) from chat where album_id = ?", Long.class, a1Id)).isZero();
         } catch (AccessException e) {
             fail();
         }
@@ -321,4 +391,45 @@ class AlbumServiceTest {
         assertThat(al1).hasSize(2).contains(a1, a2);
         assertThat(al2).hasSize(1).contains(a1);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("앨범 DTO 리스트는 변경 직후에도 최신 상태다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void albumDTOListAfterChange() {
+        /* the list cache is only used outside write transactions, so every step commits */
+        String name = UUID.randomUUID().toString().substring(0, 8);
+
+        Member m1 = tx.execute(status -> {
+            Member m = new Member(name, name + "@test.com", "1234");
+            mr.save(m);
+            return m;
+        });
+        Team t1 = new Team(m1, name);
+        Long teamId = ts.createTeam(t1);
+
+        try {
+            as.create(m1, new Album(t1, "a1"));
+
+            assertThat(as.searchAllDTO(t1)).extracting(AlbumDTO::getName).containsExactly("a1");
+            assertThat(redisTemplate.hasKey(ListCache.albumKey(teamId))).isTrue();
+
+            as.create(m1, new Album(t1, "a2"));
+
+            /* evicted after commit, loaded again */
+            assertThat(as.searchAllDTO(t1)).extracting(AlbumDTO::getName).containsExactly("a1", "a2");
+        } catch (AccessException e) {
+            fail();
+        } finally {
+            redisTemplate.delete(ListCache.albumKey(teamId));
+            jdbcTemplate.update("delete from team_member where team_id = ?", teamId);
+            jdbcTemplate.update("delete from team_change where team_id = ?", teamId);
+            jdbcTemplate.update("delete from team_change_counter where team_id = ?", teamId);
+            jdbcTemplate.update("delete from name_gram where (kind = 'album' and target_id in" +
+                    " (select album_id from album where team_id = ?)) or (kind = 'team' and target_id = ?)" +
+                    " or (kind = 'member' and target_id = ?)", teamId, teamId, m1.getId());
+            jdbcTemplate.update("delete from album where team_id = ?", teamId);
+            jdbcTemplate.update("delete from team where team_id = ?", teamId);
+            jdbcTemplate.update("delete from member where member_id = ?", m1.getId());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package yuhan.hgcq.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.expression.AccessException;
+import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.domain.*;
+import yuhan.hgcq.server.dto.batch.BatchRequest;
+import yuhan.hgcq.server.dto.batch.BatchOutcome;
+import yuhan.hgcq.server.dto.batch.BatchOutcome.Kind;
+import yuhan.hgcq.server.dto.member.SignupForm;
+import yuhan.hgcq.server.dto.photo.PhotoDTO;
+import yuhan.hgcq.server.repository.AlbumRepository;
+import yuhan.hgcq.server.repository.PhotoRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class BatchServiceTest {
+    @Autowired
+    BatchService bs;
+
+    @Autowired
+    MemberService ms;
+
+    @Autowired
+    TeamService ts;
+
+    @Autowired
+    TeamMemberService tms;
+
+    @Autowired
+    AlbumRepository ar;
+
+    @Autowired
+    PhotoRepository pr;
+
+    Long m1Id;
+    Long m2Id;
+
+    Long t1Id;
+    Long a1Id;
+    Long a2Id;
+
+    @BeforeEach
+    void setUp() {
+        m1Id = ms.join(new SignupForm("m1", "m1@test.com", "1234"));
+        m2Id = ms.join(new SignupForm("m2", "m2@test.com", "1234"));
+
+        Member fm1 = ms.searchOne(m1Id);
+        Member fm2 = ms.searchOne(m2Id);
+
+        Team t1 = new Team(fm1, "t1");
+        t1Id = ts.createTeam(t1);
+
+        try {
+            tms.inviteMember(fm1, new TeamMember(t1, fm2));
+        } catch (AccessException e) {
+            fail();
+        }
+
+        Album a1 = new Album(t1, "a1");
+        Album a2 = new Album(t1, "a2");
+        a1Id = ar.save(a1);
+        a2Id = ar.save(a2);
+
+        pr.save(new Photo(a1, "p1", "/batch/p1", "region", LocalDateTime.of(2024, 1, 1, 12, 0)));
+        pr.save(new Photo(a2, "p2", "/batch/p2", "region", LocalDateTime.of(2024, 1, 2, 12, 0)));
+    }
+
+    @Test
+    @DisplayName("여러 요청을 한 번에 처리")
+    void run() {
+        Member fm2 = ms.searchOne(m2Id);
+
+        Map<String, BatchOutcome> results = bs.run(fm2, List.of(
+                new BatchRequest("albums", "albums", t1Id, null),
+                new BatchRequest("photos", "photos", null, List.of(a1Id, a2Id)),
+                new BatchRequest("liked", "liked", null, null),
+                new BatchRequest("members", "members", t1Id, null)));
+
+        assertThat(results).containsOnlyKeys("albums", "photos", "liked", "members");
+        assertThat(results.values()).extracting(BatchOutcome::getKind).containsOnly(Kind.OK);
+
+        @SuppressWarnings("unchecked")
+        Map<Long, List<PhotoDTO>> photos = (Map<Long, List<PhotoDTO>>) results.get("photos").getBody();
+        assertThat(photos.get(a1Id)).extracting(PhotoDTO::getName).containsExactly("p1");
+        assertThat(photos.get(a2Id)).extracting(PhotoDTO::getName).containsExactly("p2");
+        assertThat((List<?>) results.get("members").getBody()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 자기 상태 코드만 돌려준다")
+    void partialFailure() {
+        Member fm2 = ms.searchOne(m2Id);
+
+        Map<String, BatchOutcome> results = bs.run(fm2, List.of(
+                new BatchRequest("missing", "albums", -1L, null),
+                new BatchRequest("unknown", "chats", t1Id, null),
+                new BatchRequest("albums", "albums", t1Id, null)));
+
+        assertThat(results.get("missing").getKind()).isEqualTo(Kind.NOT_FOUND);
+        assertThat(results.get("unknown").getKind()).isEqualTo(Kind.WRONG_REQUEST);
+        assertThat(results.get("albums").getKind()).isEqualTo(Kind.OK);
+    }
+
+    @Test
+    @DisplayName("팀원이 아니면 거부된다")
+    void notMember() {
+        Long m3Id = ms.join(new SignupForm("m3", "m3@test.com", "1234"));
+        Member fm3 = ms.searchOne(m3Id);
+
+        Map<String, BatchOutcome> results = bs.run(fm3, List.of(
+                new BatchRequest("photos", "photos", null, List.of(a1Id))));
+
+        assertThat(results.get("photos").getKind()).isEqualTo(Kind.NOT_MEMBER);
+    }
+
+    @Test
+    @DisplayName("요청 id 중복이나 빈 요청은 예외")
+    void wrongRequests() {
+        Member fm1 = ms.searchOne(m1Id);
+
+        assertThrows(IllegalArgumentException.class, () -> bs.run(fm1, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> bs.run(fm1, List.of(
+                new BatchRequest("a", "liked", null, null),
+                new BatchRequest("a", "liked", null, null))));
+    }
+}
@@ -5,13 +5,35 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.expression.AccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import yuhan.hgcq.server.cache.LikeCounter;
+import yuhan.hgcq.server.cache.LikedPhotoCache;
 import yuhan.hgcq.server.domain.*;
 import yuhan.hgcq.server.dto.member.SignupForm;
+import yuhan.hgcq.server.repository.AlbumRepository;
+import yuhan.hgcq.server.repository.MemberRepository;
+import yuhan.hgcq.server.repository.PhotoRepository;
+import yuhan.hgcq.server.repository.TeamRepository;
+import yuhan.hgcq.server.util.LongHashSet;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,6 +41,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @SpringBootTest
 @Transactional
 class LikedServiceTest {
+    private static final int THREADS = 4;
+
     @Autowired
     LikedService ls;
 
@@ -34,6 +58,33 @@ class LikedServiceTest {
     @Autowired
     TeamService ts;
 
+    @Autowired
+    LikeCounter likeCounter;
+
+    @Autowired
+    LikedPhotoCache likedPhotoCache;
+
+    @Autowired
+    MemberRepository mr;
+
+    @Autowired
+    TeamRepository tr;
+
+    @Autowired
+    AlbumRepository ar;
+
+    @Autowired
+    PhotoRepository pr;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
     Long m1Id;
     Long m2Id;
     Long m3Id;
@@ -50,6 +101,11 @@ class LikedServiceTest {
 
     @BeforeEach
     void setUp() {
+        /* non-transactional tests commit, so they make and remove their own rows */
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+
         SignupForm m1 = new SignupForm("m1", "m1@test.com", "1234");
         SignupForm m2 = new SignupForm("m2", "m2@test.com", "1234");
         SignupForm m3 = new SignupForm("m3", "m3@test.com", "1234");
@@ -136,4 +192,206 @@ class LikedServiceTest {
         assertThat(likeList).hasSize(2).contains(p1, p2);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("좋아요한 사진 ID 캐시는 커밋 후에 바뀌고 다른 서버의 무효화 메시지로 비워진다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void likedPhotoIds() {
+        /* the cache is only used outside write transactions, so every step commits */
+        Photo[] photos = commitPhotos(2);
+        Member member = photos[0].getAlbum().getTeam().getOwner();
+
+        try {
+            ls.addLike(new Liked(member, photos[0]));
+
+            LongHashSet likedIds = ls.searchLikedPhotoIds(member);
+            assertThat(likedIds.contains(photos[0].getId())).isTrue();
+            assertThat(likedIds.contains(photos[1].getId())).isFalse();
+
+            /* hit : the same set, not loaded again */
+            assertThat(ls.searchLikedPhotoIds(member)).isSameAs(likedIds);
+
+            /* committed changes replace the cached set */
+            ls.addLike(new Liked(member, photos[1]));
+            ls.removeLike(ls.searchOne(member, photos[0]));
+
+            LongHashSet changed = ls.searchLikedPhotoIds(member);
+            assertThat(changed).isNotSameAs(likedIds);
+            assertThat(changed.contains(photos[0].getId())).isFalse();
+            assertThat(changed.contains(photos[1].getId())).isTrue();
+            assertThat(ls.searchLikedPhotoIds(member)).isSameAs(changed);
+
+            /* another instance changed the member's likes : the set is dropped and loaded again */
+            likedPhotoCache.onMessage(new DefaultMessage("cache:liked:invalidate".getBytes(StandardCharsets.UTF_8),
+                    ("other-node|" + member.getId()).getBytes(StandardCharsets.UTF_8)), null);
+
+            LongHashSet reloaded = ls.searchLikedPhotoIds(member);
+            assertThat(reloaded).isNotSameAs(changed);
+            assertThat(reloaded.contains(photos[1].getId())).isTrue();
+        } finally {
+            likedPhotoCache.evict(member.getId());
+            deleteCommitted(photos);
+        }
+    }
+
+    @Test
+    @DisplayName("좋아요 수는 메모리에 모았다가 한 번에 반영하고 같은 상태로의 변경은 세지 않는다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void likeCounter() {
+        Photo photo = commitPhotos(1)[0];
+        Member member = photo.getAlbum().getTeam().getOwner();
+        LocalDateTime start = LocalDateTime.now();
+
+        try {
+            ls.addLike(new Liked(member, photo));
+            ls.addLike(new Liked(member, photo));
+
+            assertThat(likeCounter.photoDelta(photo.getId())).isEqualTo(1);
+            assertThat(likeCounter.albumDelta(photo.getAlbum().getId())).isEqualTo(1);
+
+            ls.removeLike(ls.searchOne(member, photo));
+            ls.removeLike(ls.searchOne(member, photo));
+            ls.addLike(new Liked(member, photo));
+
+            likeCounter.flush();
+
+            assertThat(likeCounter.photoDelta(photo.getId())).isZero();
+            assertThat(likeCounter.albumDelta(photo.getAlbum().getId())).isZero();
+            assertThat(likeCount("photo", photo.getId())).isEqualTo(1);
+            assertThat(likeCount("album", photo.getAlbum().getId())).isEqualTo(1);
+
+            /* likes deleted with their photo are taken off as a delta */
+            tx.executeWithoutResult(status -> ps.deletePhoto(ps.searchOne(photo.getId())));
+            likeCounter.flush();
+
+            assertThat(likeCount("photo", photo.getId())).isZero();
+            assertThat(likeCount("album", photo.getAlbum().getId())).isZero();
+        } finally {
+            jdbcTemplate.update("delete from like_flush where flushed_at >= ?", start);
+            deleteCommitted(photo);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 좋아요를 동시에 눌러도 한 번만 센다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentLike() throws Exception {
+        Photo photo = commitPhotos(1)[0];
+        Member member = photo.getAlbum().getTeam().getOwner();
+        LocalDateTime start = LocalDateTime.now();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            /* an existing row that is not liked : every request tries to flip it */
+            ls.addLike(new Liked(member, photo));
+            ls.removeLike(ls.searchOne(member, photo));
+
+            CountDownLatch ready = new CountDownLatch(1);
+            List<Future<?>> taps = new ArrayList<>();
+
+            for (int i = 0; i < THREADS; i++) {
+                taps.add(executor.submit(() -> {
+                    ready.await();
+                    ls.addLike(new Liked(member, photo));
+                    return null;
+                }));
+            }
+            ready.countDown();
+
+            for (Future<?> tap : taps) {
+                tap.get(10, TimeUnit.SECONDS);
+            }
+            likeCounter.flush();
+
+            assertThat(likeCount("photo", photo.getId())).isEqualTo(1);
+            assertThat(likeCount("album", photo.getAlbum().getId())).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+            jdbcTemplate.update("delete from like_flush where flushed_at >= ?", start);
+            deleteCommitted(photo);
+        }
+    }
+
+    @Test
+    @DisplayName("죽은 노드의 세대는 다른 노드가 한 번만 반영한다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void recoverCrashedNode() {
+        Photo photo = commitPhotos(1)[0];
+        String deadNode = UUID.randomUUID().toString();
+        String key = "like:dirty:" + deadNode + ":1";
+        Map<String, String> generation = Map.of(
+                "p:" + photo.getId(), "2",
+                "a:" + photo.getAlbum().getId(), "2");
+
+        try {
+            /* written before its flush, the node died without a heartbeat */
+            redisTemplate.opsForHash().putAll(key, generation);
+            likeCounter.recover();
+
+            assertThat(redisTemplate.hasKey(key)).isFalse();
+            assertThat(likeCount("photo", photo.getId())).isEqualTo(2);
+            assertThat(likeCount("album", photo.getAlbum().getId())).isEqualTo(2);
+
+            /* left again (as by a crash after the flush committed) : like_flush keeps it from being added twice */
+            redisTemplate.delete("like:claim:" + key);
+            redisTemplate.opsForHash().putAll(key, generation);
+            likeCounter.recover();
+
+            assertThat(redisTemplate.hasKey(key)).isFalse();
+            assertThat(likeCount("photo", photo.getId())).isEqualTo(2);
+            assertThat(likeCount("album", photo.getAlbum().getId())).isEqualTo(2);
+        } finally {
+            redisTemplate.delete(List.of(key, "like:claim:" + key));
+            jdbcTemplate.update("delete from like_flush where node_id = ?", deadNode);
+            deleteCommitted(photo);
+        }
+    }
+
+    private long likeCount(String table, Long id) {
+        return jdbcTemplate.queryForObject("select like_count from " + table + " where " + table + "_id = ?", Long.class, id);
+    }
+
+    /* photos in one album of a new team and owner, committed */
+    private Photo[] commitPhotos(int count) {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+
+        Member member = tx.execute(status -> {
+            Member m = new Member(name, name + "@test.com", "1234");
+            mr.save(m);
+            return m;
+        });
+        Team team = tx.execute(status -> {
+            Team t = new Team(mr.findOne(member.getId()), name);
+            tr.save(t);
+            return t;
+        });
+        return tx.execute(status -> {
+            Album a = new Album(tr.findOne(team.getId()), "a");
+            ar.save(a);
+
+            Photo[] photos = new Photo[count];
+            for (int i = 0; i < count; i++) {
+                photos[i] = new Photo(a, "p" + i, "/liked/" + name + "/p" + i, "region", LocalDateTime.now());
+                pr.save(photos[i]);
+            }
+            return photos;
+        });
+    }
+
+    private void deleteCommitted(Photo... photos) {
+        Album album = photos[0].getAlbum();
+        Team team = album.getTeam();
+        Member member = team.getOwner();
+
+        jdbcTemplate.update("delete from liked where member_id = ?", member.getId());
+        jdbcTemplate.update("delete from team_change where team_id = ?", team.getId());
+        jdbcTemplate.update("delete from team_change_counter where team_id = ?", team.getId());
+        jdbcTemplate.update("delete from photo_timeline where team_id = ?", team.getId());
+        jdbcTemplate.update("delete from photo where album_id = ?", album.getId());
+        jdbcTemplate.update("delete from name_gram where (kind = 'album' and target_id = ?)" +
+                        " or (kind = 'team' and target_id = ?) or (kind = 'member' and target_id = ?)",
+                album.getId(), team.getId(), member.getId());
+        jdbcTemplate.update("delete from album where team_id = ?", team.getId());
+        jdbcTemplate.update("delete from team where team_id = ?", team.getId());
+        jdbcTemplate.update("delete from member where member_id = ?", member.getId());
+    }
+}
@@ -0,0 +1,184 @@
+package yuhan.hgcq.server.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.dto.photo.PhotoClusterDTO;
+import yuhan.hgcq.server.repository.AlbumRepository;
+import yuhan.hgcq.server.repository.MemberRepository;
+import yuhan.hgcq.server.repository.TeamRepository;
+import yuhan.hgcq.server.util.GeoHash;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class MapServiceTest {
+    private static final Logger log = LoggerFactory.getLogger(MapServiceTest.class);
+
+    private static final int PHOTOS = 100_000;
+
+    @Autowired
+    MapService maps;
+
+    @Autowired
+    MemberRepository mr;
+
+    @Autowired
+    TeamRepository tr;
+
+    @Autowired
+    AlbumRepository ar;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager em;
+
+    Team team;
+    Long albumId;
+
+    @BeforeEach
+    void setUp() {
+        Member member = new Member("map", "map@test.com", "map1");
+        mr.save(member);
+
+        team = new Team(member, "map");
+        tr.save(team);
+
+        Album album = new Album(team, "map");
+        albumId = ar.save(album);
+        em.flush();
+
+        /* Seoul 3, Busan 2, Jeju 1, negative ids to stay clear of the sequence */
+        insert(-1, 37.56, 126.97, false);
+        insert(-2, 37.57, 126.98, false);
+        insert(-3, 37.55, 126.99, false);
+        insert(-4, 35.10, 129.03, false);
+        insert(-5, 35.18, 129.07, false);
+        insert(-6, 33.50, 126.53, false);
+
+        /* in trash, and no location : never on the map */
+        insert(-7, 37.56, 126.97, true);
+        jdbcTemplate.update("insert into photo (photo_id, name, path, created, is_deleted, album_id)" +
+                " values (-8, 'p8', '/map/test/8', ?, false, ?)", Timestamp.valueOf(LocalDateTime.now()), albumId);
+    }
+
+    @Test
+    @DisplayName("지도 클러스터는 영역 안의 사진만 센다")
+    void searchClusters() {
+        List<PhotoClusterDTO> korea = maps.searchClusters(team, 33, 125, 38, 130, 7);
+
+        assertThat(korea.stream().mapToLong(PhotoClusterDTO::getCount).sum()).isEqualTo(6);
+        assertThat(korea).allSatisfy(cluster -> {
+            assertThat(cluster.getPhoto()).isNotNull();
+            assertThat(cluster.getLatitude()).isBetween(33.0, 38.0);
+            assertThat(cluster.getLongitude()).isBetween(125.0, 130.0);
+        });
+
+        List<PhotoClusterDTO> seoul = maps.searchClusters(team, 37.4, 126.8, 37.7, 127.2, 11);
+
+        assertThat(seoul.stream().mapToLong(PhotoClusterDTO::getCount).sum()).isEqualTo(3);
+        assertThat(seoul).allSatisfy(cluster -> assertThat(cluster.getLatitude()).isBetween(37.4, 37.7));
+
+        /* one cell at zoom 0, newest photo stands for the cluster */
+        List<PhotoClusterDTO> world = maps.searchClusters(team, -90, -180, 90, 180, 0);
+
+        assertThat(world).hasSize(1);
+        assertThat(world.get(0).getCount()).isEqualTo(6L);
+        assertThat(world.get(0).getPhoto().getPhotoId()).isEqualTo(-1L);
+    }
+
+    /* wall clock of cluster queries, run with ./gradlew benchmark */
+    @Test
+    @Tag("benchmark")
+    @DisplayName("10만 장 사진 지도 클러스터")
+    void benchmark() {
+        /* 100k photos around Korea */
+        Random random = new Random(42);
+        Timestamp created = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(PHOTOS);
+
+        for (int i = 1; i <= PHOTOS; i++) {
+            double latitude = 33 + random.nextDouble() * 5;
+            double longitude = 125 + random.nextDouble() * 5;
+            args.add(new Object[]{-100 - i, "p" + i, "/map/test/" + i, created, albumId,
+                    latitude, longitude, GeoHash.encode(latitude, longitude, GeoHash.MAX_PRECISION)});
+        }
+
+        jdbcTemplate.batchUpdate("insert into photo (photo_id, name, path, created, is_deleted, album_id, latitude, longitude, geohash)" +
+                " values (?, ?, ?, ?, false, ?, ?, ?, ?)", args);
+
+        int[] zooms = {3, 7, 11, 15};
+        double[][] boxes = {
+                {-60, -180, 80, 180},
+                {33, 125, 38, 130},
+                {37.4, 126.8, 37.7, 127.2},
+                {37.5, 126.9, 37.6, 127.0}
+        };
+
+        for (int i = 0; i < zooms.length; i++) {
+            double[] box = boxes[i];
+
+            long start = System.nanoTime();
+            List<PhotoClusterDTO> clusters = maps.searchClusters(team, box[0], box[1], box[2], box[3], zooms[i]);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            long count = clusters.stream().mapToLong(PhotoClusterDTO::getCount).sum();
+            log.info("Map zoom {} : {} clusters, {} photos, {} ms", zooms[i], clusters.size(), count, millis);
+
+            /* every box holds photos, an empty list would pass allSatisfy */
+            assertThat(count).as("photos at zoom %d", zooms[i]).isPositive();
+        }
+
+        List<PhotoClusterDTO> world = maps.searchClusters(team, -90, -180, 90, 180, 0);
+        assertThat(world.stream().mapToLong(PhotoClusterDTO::getCount).sum()).isEqualTo(PHOTOS + 6);
+    }
+
+    @Test
+    @DisplayName("영역 밖 사진은 세지 않는다")
+    void outOfBox() {
+        List<PhotoClusterDTO> clusters = maps.searchClusters(team, -10, 170, 10, -170, 5);
+
+        assertThat(clusters).isEmpty();
+        assertThatThrownBy(() -> maps.searchClusters(team, 10, 0, -10, 1, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("줌이 커질수록 cell 이 작아진다")
+    void precision() {
+        assertThat(MapService.precision(0)).isEqualTo(1);
+        assertThat(MapService.precision(10)).isEqualTo(5);
+        assertThat(MapService.precision(30)).isEqualTo(GeoHash.MAX_PRECISION);
+
+        for (int zoom = 1; zoom <= 22; zoom++) {
+            assertThat(MapService.precision(zoom)).isGreaterThanOrEqualTo(MapService.precision(zoom - 1));
+        }
+    }
+
+    private void insert(long id, double latitude, double longitude, boolean deleted) {
+        jdbcTemplate.update("insert into photo (photo_id, name, path, created, is_deleted, album_id, latitude, longitude, geohash)" +
+                        " values (?, ?, ?, ?, ?, ?, ?, ?, ?)", id, "p" + -id, "/map/test/" + -id,
+                Timestamp.valueOf(LocalDateTime.now()), deleted, albumId,
+                latitude, longitude, GeoHash.encode(latitude, longitude, GeoHash.MAX_PRECISION));
+    }
+}
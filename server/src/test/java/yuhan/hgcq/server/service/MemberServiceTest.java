@@ -0,0 +1,140 @@
+package yuhan.hgcq.server.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.dto.member.MemberUpdateForm;
+import yuhan.hgcq.server.dto.member.SignupForm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class MemberServiceTest {
+    private static final Logger log = LoggerFactory.getLogger(MemberServiceTest.class);
+
+    private static final int THREADS = 8;
+    private static final int JOINS = 200;
+
+    @Autowired
+    MemberService ms;
+
+    @Test
+    @DisplayName("이미 있는 이름으로는 바꿀 수 없다 (bloom이 모르는 이름이어도)")
+    void updateMemberDuplicateName() {
+        /* the bloom filter learns names after commit, so it has not seen either member yet */
+        Long m1Id = ms.join(new SignupForm("rename-a", "rename-a@test.com", "1234"));
+        ms.join(new SignupForm("rename-b", "rename-b@test.com", "1234"));
+
+        Member m1 = ms.searchOne(m1Id);
+        ms.updateMember(m1, new MemberUpdateForm("rename-b", null));
+
+        assertThat(ms.searchOne(m1Id).getName()).isEqualTo("rename-a");
+
+        ms.updateMember(m1, new MemberUpdateForm("rename-c", null));
+
+        assertThat(ms.searchOne(m1Id).getName()).isEqualTo("rename-c");
+    }
+
+    @Test
+    @DisplayName("같은 이메일로 동시에 가입하면 하나만 성공한다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentJoinSameEmail() throws Exception {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        Queue<Long> joined = new ConcurrentLinkedQueue<>();
+        Queue<String> errors = new ConcurrentLinkedQueue<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                SignupForm form = new SignupForm(prefix + "-" + i, prefix + "@test.com", "1234");
+
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        joined.add(ms.join(form));
+                    } catch (IllegalArgumentException e) {
+                        errors.add(e.getMessage());
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+
+            assertThat(joined).hasSize(1);
+            assertThat(errors).hasSize(THREADS - 1).containsOnly("Already Exist Email");
+        } finally {
+            executor.shutdownNow();
+            joined.forEach(ms::delete);
+        }
+    }
+
+    /* wall clock of joins per thread count, run with ./gradlew benchmark */
+    @Test
+    @Tag("benchmark")
+    @DisplayName("가입은 스레드 수에 따라 처리량이 늘어난다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentJoinThroughput() throws Exception {
+        Queue<Long> joined = new ConcurrentLinkedQueue<>();
+
+        try {
+            double single = joinsPerSecond(1, joined);
+            double parallel = joinsPerSecond(THREADS, joined);
+
+            log.info("Join Throughput : 1 thread {}/s, {} threads {}/s ({}x)",
+                    Math.round(single), THREADS, Math.round(parallel), String.format("%.1f", parallel / single));
+
+            assertThat(joined).hasSize(JOINS * 2).doesNotHaveDuplicates();
+        } finally {
+            joined.forEach(ms::delete);
+        }
+    }
+
+    /**
+     * Join distinct members on threads
+     *
+     * @param threads thread count
+     * @param joined  joined memberIds
+     * @return joins per second
+     */
+    private double joinsPerSecond(int threads, Queue<Long> joined) throws Exception {
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < JOINS; i++) {
+                SignupForm form = new SignupForm(prefix + "-" + i, prefix + "-" + i + "@test.com", "1234");
+                futures.add(executor.submit(() -> joined.add(ms.join(form))));
+            }
+
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return JOINS / ((System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,26 @@
+package yuhan.hgcq.server.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MemoryServiceTest {
+
+    @Test
+    @DisplayName("추억은 월 * 100 + 일 로 찾는다")
+    void monthDays() {
+        assertThat(MemoryService.monthDays(LocalDate.of(2024, 5, 17))).containsExactly(517);
+        assertThat(MemoryService.monthDays(LocalDate.of(2024, 12, 31))).containsExactly(1231);
+    }
+
+    @Test
+    @DisplayName("윤년이 아닌 해 2월 28일에는 2월 29일 사진도 보여준다")
+    void leapDay() {
+        assertThat(MemoryService.monthDays(LocalDate.of(2025, 2, 28))).containsExactly(228, 229);
+        assertThat(MemoryService.monthDays(LocalDate.of(2024, 2, 28))).containsExactly(228);
+        assertThat(MemoryService.monthDays(LocalDate.of(2024, 2, 29))).containsExactly(229);
+    }
+}
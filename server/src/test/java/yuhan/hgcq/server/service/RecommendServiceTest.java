@@ -0,0 +1,114 @@
+package yuhan.hgcq.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.expression.AccessException;
+import org.springframework.transaction.annotation.Transactional;
+import yuhan.hgcq.server.cache.FollowGraph;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.domain.TeamMember;
+import yuhan.hgcq.server.dto.member.RecommendDTO;
+import yuhan.hgcq.server.dto.member.SignupForm;
+import yuhan.hgcq.server.util.LongHashSet;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@Transactional
+class RecommendServiceTest {
+    @Autowired
+    RecommendService rs;
+
+    @Autowired
+    TeamMemberService tms;
+
+    @Autowired
+    TeamService ts;
+
+    @Autowired
+    MemberService ms;
+
+    /* edges are stubbed, the real graph only changes after commit */
+    @MockBean
+    FollowGraph fg;
+
+    @BeforeEach
+    void setUp() {
+        when(fg.following(anyLong())).thenReturn(new LongHashSet());
+    }
+
+    @Test
+    @DisplayName("알 수도 있는 회원")
+    void searchRecommendList() throws AccessException {
+        Long m1Id = ms.join(new SignupForm("m1", "m1@test.com", "1234"));
+        Long m2Id = ms.join(new SignupForm("m2", "m2@test.com", "1234"));
+        Long m3Id = ms.join(new SignupForm("m3", "m3@test.com", "1234"));
+        Long m4Id = ms.join(new SignupForm("m4", "m4@test.com", "1234"));
+
+        Member m1 = ms.searchOne(m1Id);
+        Member m2 = ms.searchOne(m2Id);
+        Member m3 = ms.searchOne(m3Id);
+        Member m4 = ms.searchOne(m4Id);
+
+        ms.toggleSearched(m2);
+        ms.toggleSearched(m3);
+        ms.toggleSearched(m4);
+
+        Team t1 = ts.searchOne(ts.createTeam(new Team(m1, "t1")));
+        Team t2 = ts.searchOne(ts.createTeam(new Team(m1, "t2")));
+
+        tms.inviteMember(m1, new TeamMember(t1, m2));
+        tms.inviteMember(m1, new TeamMember(t2, m2));
+        tms.inviteMember(m1, new TeamMember(t1, m3));
+
+        List<RecommendDTO> recommendList = rs.searchRecommendList(m1);
+
+        assertThat(recommendList).extracting(RecommendDTO::getMemberId).containsExactly(m2Id, m3Id);
+        assertThat(recommendList).extracting(RecommendDTO::getTeamCount).containsExactly(2, 1);
+    }
+
+    @Test
+    @DisplayName("팔로우의 팔로우는 겹친 수, 팀은 같은 팀 수로 순위를 매긴다")
+    void searchRecommendListByFollow() throws AccessException {
+        Long m1Id = ms.join(new SignupForm("m1", "m1@test.com", "1234"));
+        Long m2Id = ms.join(new SignupForm("m2", "m2@test.com", "1234"));
+        Long m3Id = ms.join(new SignupForm("m3", "m3@test.com", "1234"));
+        Long m4Id = ms.join(new SignupForm("m4", "m4@test.com", "1234"));
+        Long m5Id = ms.join(new SignupForm("m5", "m5@test.com", "1234"));
+        Long m6Id = ms.join(new SignupForm("m6", "m6@test.com", "1234"));
+        Long m7Id = ms.join(new SignupForm("m7", "m7@test.com", "1234"));
+
+        Member m1 = ms.searchOne(m1Id);
+
+        for (Long id : List.of(m2Id, m3Id, m4Id, m5Id, m6Id)) {
+            ms.toggleSearched(ms.searchOne(id));
+        }
+
+        /* m1 -> m2, m3 / m2 -> m4, m5, m7 / m3 -> m1, m4, m2 */
+        when(fg.following(m1Id)).thenReturn(LongHashSet.of(List.of(m2Id, m3Id)));
+        when(fg.following(m2Id)).thenReturn(LongHashSet.of(List.of(m4Id, m5Id, m7Id)));
+        when(fg.following(m3Id)).thenReturn(LongHashSet.of(List.of(m1Id, m4Id, m2Id)));
+
+        /* m5 and m6 share a team with m1, m2 too but is already followed */
+        Team t1 = ts.searchOne(ts.createTeam(new Team(m1, "t1")));
+        tms.inviteMember(m1, new TeamMember(t1, ms.searchOne(m2Id)));
+        tms.inviteMember(m1, new TeamMember(t1, ms.searchOne(m5Id)));
+        tms.inviteMember(m1, new TeamMember(t1, ms.searchOne(m6Id)));
+
+        List<RecommendDTO> recommendList = rs.searchRecommendList(m1);
+
+        /* m4 and m5 both score 2, more mutual follows first; m7 hides from search */
+        assertThat(recommendList)
+                .extracting(RecommendDTO::getMemberId, RecommendDTO::getMutualCount, RecommendDTO::getTeamCount)
+                .containsExactly(tuple(m4Id, 2, 0), tuple(m5Id, 1, 1), tuple(m6Id, 0, 1));
+    }
+}
@@ -0,0 +1,130 @@
+package yuhan.hgcq.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.expression.AccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yuhan.hgcq.server.domain.*;
+import yuhan.hgcq.server.dto.change.ChangeDTO;
+import yuhan.hgcq.server.dto.change.Changes;
+import yuhan.hgcq.server.dto.member.SignupForm;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class TeamChangeServiceTest {
+    @Autowired
+    TeamChangeService tcs;
+
+    @Autowired
+    MemberService ms;
+
+    @Autowired
+    TeamService ts;
+
+    @Autowired
+    AlbumService as;
+
+    Long m1Id;
+    Long t1Id;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        /* non-transactional tests commit, so they make and remove their own rows */
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+
+        m1Id = ms.join(new SignupForm("m1", "m1@test.com", "1234"));
+
+        Member fm1 = ms.searchOne(m1Id);
+        t1Id = ts.createTeam(new Team(fm1, "t1"));
+    }
+
+    @Test
+    @DisplayName("변경 사항 조회")
+    void searchChanges() {
+        Member m1 = ms.searchOne(m1Id);
+        Team t1 = ts.searchOne(t1Id);
+
+        Changes first = tcs.searchChanges(t1Id, 0L);
+
+        assertThat(first.getReset()).isFalse();
+        assertThat(first.getChangeList()).extracting(ChangeDTO::getType).containsExactly("TEAM_MEMBER");
+
+        Album a1 = new Album(t1, "a1");
+        Long a1Id = null;
+
+        try {
+            a1Id = as.create(m1, a1);
+            a1.changeName("a2");
+            as.modify(m1, a1);
+        } catch (AccessException e) {
+            fail();
+        }
+
+        Changes next = tcs.searchChanges(t1Id, first.getSeq());
+
+        assertThat(next.getSeq()).isEqualTo(first.getSeq() + 2);
+        assertThat(next.getChangeList()).hasSize(1);
+        assertThat(next.getChangeList().get(0).getTargetId()).isEqualTo(a1Id);
+        assertThat(next.getChangeList().get(0).getAction()).isEqualTo("UPDATE");
+
+        assertThat(tcs.searchChanges(t1Id, next.getSeq()).getChangeList()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("커밋 직전에 팀별로 연속된 seq가 붙는다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void seqOnCommit() {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+
+        Long memberId = ms.join(new SignupForm(name, name + "@test.com", "1234"));
+        Member member = ms.searchOne(memberId);
+        Long teamId = ts.createTeam(new Team(member, name));
+        Team team = ts.searchOne(teamId);
+
+        try {
+            as.create(member, new Album(team, "a1"));
+            as.create(member, new Album(team, "a2"));
+
+            /* read the rows : searchChanges would write pending changes itself */
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList("select seq, type, action from team_change" +
+                    " where team_id = ? order by seq", teamId);
+
+            long first = ((Number) rows.get(0).get("seq")).longValue();
+            assertThat(rows).extracting(row -> ((Number) row.get("seq")).longValue())
+                    .containsExactly(first, first + 1, first + 2);
+            assertThat(rows).extracting(row -> row.get("type")).containsExactly("TEAM_MEMBER", "ALBUM", "ALBUM");
+            assertThat(rows).extracting(row -> row.get("action")).containsExactly("CREATE", "CREATE", "CREATE");
+            assertThat(tcs.searchChanges(teamId, 0L).getSeq()).isEqualTo(first + 2);
+        } catch (AccessException e) {
+            fail();
+        } finally {
+            jdbcTemplate.update("delete from team_member where team_id = ?", teamId);
+            jdbcTemplate.update("delete from team_change where team_id = ?", teamId);
+            jdbcTemplate.update("delete from team_change_counter where team_id = ?", teamId);
+            jdbcTemplate.update("delete from name_gram where (kind = 'album' and target_id in" +
+                    " (select album_id from album where team_id = ?)) or (kind = 'team' and target_id = ?)" +
+                    " or (kind = 'member' and target_id = ?)", teamId, teamId, memberId);
+            jdbcTemplate.update("delete from album where team_id = ?", teamId);
+            jdbcTemplate.update("delete from team where team_id = ?", teamId);
+            jdbcTemplate.update("delete from member where member_id = ?", memberId);
+        }
+    }
+}
@@ -6,13 +6,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.expression.AccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yuhan.hgcq.server.cache.TeamAcl;
 import yuhan.hgcq.server.domain.Member;
 import yuhan.hgcq.server.domain.Team;
 import yuhan.hgcq.server.domain.TeamMember;
+import yuhan.hgcq.server.domain.TeamRole;
 import yuhan.hgcq.server.dto.member.SignupForm;
 
 import java.util.List;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,6 +35,12 @@ class TeamMemberServiceTest {
     @Autowired
     MemberService ms;
 
+    @Autowired
+    TeamAcl acl;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     Long m1Id;
     Long m2Id;
     Long m3Id;
@@ -39,6 +51,11 @@ class TeamMemberServiceTest {
 
     @BeforeEach
     void setUp() {
+        /* non-transactional tests commit, so they make and remove their own rows */
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+
         SignupForm m1 = new SignupForm("m1", "m1@test.com", "1234");
         SignupForm m2 = new SignupForm("m2", "m2@test.com", "1234");
         SignupForm m3 = new SignupForm("m3", "m3@test.com", "1234");
@@ -301,4 +318,71 @@ class TeamMemberServiceTest {
         assertThat(byt).hasSize(2).contains(t1, t2);
         assertThat(by2).hasSize(1).contains(t2);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("팀 권한 조회")
+    void roleOf() {
+        Member m1 = ms.searchOne(m1Id);
+        Member m2 = ms.searchOne(m2Id);
+        Member m3 = ms.searchOne(m3Id);
+
+        Team t1 = ts.searchOne(t1Id);
+
+        try {
+            tms.inviteMember(m1, new TeamMember(t1, m2));
+            tms.inviteMember(m1, new TeamMember(t1, m3));
+            tms.authorizeAdmin(m1, tms.searchOne(t1, m2));
+        } catch (AccessException e) {
+            fail();
+        }
+
+        assertThat(acl.roleOf(m1Id, t1Id)).isEqualTo(TeamRole.OWNER);
+        assertThat(acl.roleOf(m2Id, t1Id)).isEqualTo(TeamRole.ADMIN);
+        assertThat(acl.roleOf(m3Id, t1Id)).isEqualTo(TeamRole.MEMBER);
+        assertThat(acl.isMember(m4Id, t1Id)).isFalse();
+        assertThat(acl.isMember(m2Id, t2Id)).isFalse();
+    }
+
+    @Test
+    @DisplayName("커밋된 팀 변경은 캐시된 권한에 바로 반영된다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void roleOfAfterCommit() throws AccessException {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+
+        /* every call commits, so the acl cache is filled and invalidated for real */
+        Long ownerId = ms.join(new SignupForm(name + "-o", name + "-o@test.com", "1234"));
+        Long memberId = ms.join(new SignupForm(name + "-m", name + "-m@test.com", "1234"));
+
+        Member owner = ms.searchOne(ownerId);
+        Member member = ms.searchOne(memberId);
+        Long teamId = ts.createTeam(new Team(owner, name));
+        Team team = ts.searchOne(teamId);
+
+        try {
+            assertThat(acl.roleOf(ownerId, teamId)).isEqualTo(TeamRole.OWNER);
+            assertThat(acl.roleOf(memberId, teamId)).isNull();
+
+            tms.inviteMember(owner, new TeamMember(team, member));
+            assertThat(acl.roleOf(memberId, teamId)).isEqualTo(TeamRole.MEMBER);
+            assertThat(acl.teamIds(memberId)).containsExactly(teamId);
+
+            tms.authorizeAdmin(owner, tms.searchOne(team, member));
+            assertThat(acl.roleOf(memberId, teamId)).isEqualTo(TeamRole.ADMIN);
+
+            tms.revokeAdmin(owner, tms.searchOne(team, member));
+            assertThat(acl.roleOf(memberId, teamId)).isEqualTo(TeamRole.MEMBER);
+
+            tms.expelMember(owner, tms.searchOne(team, member));
+            assertThat(acl.roleOf(memberId, teamId)).isNull();
+            assertThat(acl.teamIds(memberId)).isEmpty();
+        } finally {
+            jdbcTemplate.update("delete from team_member where team_id = ?", teamId);
+            jdbcTemplate.update("delete from team_change where team_id = ?", teamId);
+            jdbcTemplate.update("delete from team_change_counter where team_id = ?", teamId);
+            jdbcTemplate.update("delete from name_gram where (kind = 'team' and target_id = ?) or (kind = 'member' and target_id in (?, ?))",
+                    teamId, ownerId, memberId);
+            jdbcTemplate.update("delete from team where team_id = ?", teamId);
+            jdbcTemplate.update("delete from member where member_id in (?, ?)", ownerId, memberId);
+        }
+    }
+}
@@ -1,21 +1,30 @@
 package yuhan.hgcq.server.service;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.expression.AccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
-import yuhan.hgcq.server.domain.Member;
-import yuhan.hgcq.server.domain.Team;
-import yuhan.hgcq.server.domain.TeamMember;
+import yuhan.hgcq.server.domain.*;
 import yuhan.hgcq.server.dto.member.SignupForm;
+import yuhan.hgcq.server.dto.team.DeletionDTO;
+import yuhan.hgcq.server.repository.AlbumRepository;
+import yuhan.hgcq.server.repository.ChatRepository;
+import yuhan.hgcq.server.repository.PhotoRepository;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest
 @Transactional
@@ -29,6 +38,28 @@ class TeamServiceTest {
     @Autowired
     TeamMemberService tms;
 
+    @Autowired
+    DeletionService ds;
+
+    @Autowired
+    AlbumRepository ar;
+
+    @Autowired
+    PhotoRepository pr;
+
+    @Autowired
+    ChatRepository cr;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager em;
+
+    /* files are not touched here, only the batches handed over are checked */
+    @MockBean
+    PhotoService ps;
+
     Long m1Id;
     Long m2Id;
 
@@ -97,7 +128,7 @@ class TeamServiceTest {
 
     @Test
     @DisplayName("그룹 삭제")
-    void deleteTeam() {
+    void deleteTeam() throws IOException {
         Member findMember = ms.searchOne(m1Id);
 
         Team t1 = new Team(findMember, "t1");
@@ -105,9 +136,43 @@ class TeamServiceTest {
         Long t1Id = ts.createTeam(t1);
         Team findTeam = ts.searchOne(t1Id);
 
+        Album a1 = new Album(findTeam, "a1");
+        ar.save(a1);
+        for (int i = 0; i < 3; i++) {
+            pr.save(new Photo(a1, "p" + i, "/t1/a1/p" + i, "region", LocalDateTime.now()));
+        }
+        cr.save(new Chat(findMember, "chat", a1));
+        /* the job counts photos by JDBC */
+        em.flush();
+
         ts.deleteTeam(findMember, findTeam);
 
+        assertThat(tms.searchTeamList(findMember)).isEmpty();
+        try {
+            assertThat(ds.searchProgress(findMember, t1Id).getStatus()).isEqualTo("RUNNING");
+        } catch (AccessException e) {
+            fail();
+        }
+
+        /* rows are removed by the background run */
+        ds.run();
+        em.clear();
+
         assertThrows(IllegalArgumentException.class, () -> ts.searchOne(t1Id));
+        try {
+            DeletionDTO progress = ds.searchProgress(findMember, t1Id);
+
+            assertThat(progress.getStatus()).isEqualTo("DONE");
+            assertThat(progress.getTotalPhotos()).isEqualTo(3L);
+            assertThat(progress.getDeletedPhotos()).isEqualTo(progress.getTotalPhotos());
+        } catch (AccessException e) {
+            fail();
+        }
+
+        verify(ps).deleteFiles(argThat(paths -> paths.size() == 3));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from photo where album_id = ?", Long.class, a1.getId())).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from chat where album_id = ?", Long.class, a1.getId())).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from album where team_id = ?", Long.class, t1Id)).isZero();
     }
 
     @Test
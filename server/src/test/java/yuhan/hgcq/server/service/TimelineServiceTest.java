@@ -0,0 +1,159 @@
+package yuhan.hgcq.server.service;
+
+import io.awspring.cloud.s3.S3Operations;
+import io.awspring.cloud.s3.S3Resource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.domain.TimelineUnit;
+import yuhan.hgcq.server.dto.photo.AutoSavePhotoForm;
+import yuhan.hgcq.server.dto.photo.TimelineDTO;
+import yuhan.hgcq.server.repository.AlbumRepository;
+import yuhan.hgcq.server.repository.MemberRepository;
+import yuhan.hgcq.server.repository.PhotoRepository;
+import yuhan.hgcq.server.repository.TeamRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+class TimelineServiceTest {
+    @Autowired
+    TimelineService tls;
+
+    @Autowired
+    PhotoService ps;
+
+    @MockBean
+    S3Operations s3Operations;
+
+    @Autowired
+    MemberRepository mr;
+
+    @Autowired
+    TeamRepository tr;
+
+    @Autowired
+    AlbumRepository ar;
+
+    @Autowired
+    PhotoRepository pr;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("사진 저장, 삭제, 복원, 이동이 커밋되면 타임라인에 반영된다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void histogram() throws Exception {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+
+        when(s3Operations.download(anyString(), anyString())).thenAnswer(invocation -> {
+            S3Resource resource = mock(S3Resource.class);
+            when(resource.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[]{1}));
+            return resource;
+        });
+
+        /* rollup is written just before commit, so every step commits */
+        Member member = tx.execute(status -> {
+            Member m = new Member(name, name + "@test.com", "1234");
+            mr.save(m);
+            return m;
+        });
+        Team team = tx.execute(status -> {
+            Team t = new Team(mr.findOne(member.getId()), name);
+            tr.save(t);
+            return t;
+        });
+        Album a1 = tx.execute(status -> {
+            Album a = new Album(tr.findOne(team.getId()), "a1");
+            ar.save(a);
+            return a;
+        });
+
+        try {
+            /* "seoul" has no album yet : autosave makes it in the same transaction */
+            ps.autoSave(new AutoSavePhotoForm(team.getId(),
+                    List.of(file("p1.jpg"), file("p2.jpg"), file("p3.jpg"), file("p4.jpg")),
+                    List.of("2023-05-01T12:00", "2023-05-02T12:00", "2023-06-01T12:00", "2022-01-01T12:00"),
+                    List.of("a1", "a1", "a1", "seoul"), null, null));
+
+            Album seoul = ar.findOneByName(team, "seoul");
+            String p2 = "images/" + a1.getId() + "/p2.jpg";
+            String p3 = "images/" + a1.getId() + "/p3.jpg";
+
+            assertThat(tls.searchHistogram(team, TimelineUnit.MONTH))
+                    .extracting(TimelineDTO::getPeriod, TimelineDTO::getCount)
+                    .containsExactly(tuple("2023-06", 1L), tuple("2023-05", 2L), tuple("2022-01", 1L));
+            assertThat(tls.searchHistogram(seoul, TimelineUnit.DAY))
+                    .extracting(TimelineDTO::getPeriod).containsExactly("2022-01-01");
+
+            /* second delete of a photo in trash counts nothing */
+            tx.executeWithoutResult(status -> ps.deletePhoto(pr.findByPath(p2)));
+            tx.executeWithoutResult(status -> ps.deletePhoto(pr.findByPath(p2)));
+
+            assertThat(tls.searchHistogram(team, TimelineUnit.MONTH))
+                    .extracting(TimelineDTO::getPeriod, TimelineDTO::getCount)
+                    .containsExactly(tuple("2023-06", 1L), tuple("2023-05", 1L), tuple("2022-01", 1L));
+            assertThat(tls.searchHistogram(a1, TimelineUnit.DAY))
+                    .extracting(TimelineDTO::getPeriod).containsExactly("2023-06-01", "2023-05-01");
+
+            tx.executeWithoutResult(status -> ps.deleteCancelPhoto(pr.findByPath(p2)));
+
+            assertThat(tls.searchHistogram(a1, TimelineUnit.DAY))
+                    .extracting(TimelineDTO::getPeriod).containsExactly("2023-06-01", "2023-05-02", "2023-05-01");
+
+            tx.executeWithoutResult(status -> {
+                try {
+                    ps.move(ar.findOne(seoul.getId()), List.of(pr.findByPath(p3)));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertThat(tls.searchHistogram(a1, TimelineUnit.MONTH))
+                    .extracting(TimelineDTO::getPeriod, TimelineDTO::getCount).containsExactly(tuple("2023-05", 2L));
+            assertThat(tls.searchHistogram(seoul, TimelineUnit.MONTH))
+                    .extracting(TimelineDTO::getPeriod).containsExactly("2023-06", "2022-01");
+            assertThat(tls.searchHistogram(team, TimelineUnit.YEAR))
+                    .extracting(TimelineDTO::getPeriod, TimelineDTO::getCount)
+                    .containsExactly(tuple("2023", 3L), tuple("2022", 1L));
+        } finally {
+            jdbcTemplate.update("delete from photo where album_id in (select album_id from album where team_id = ?)", team.getId());
+            jdbcTemplate.update("delete from team_change where team_id = ?", team.getId());
+            jdbcTemplate.update("delete from team_change_counter where team_id = ?", team.getId());
+            jdbcTemplate.update("delete from name_gram where (kind = 'album' and target_id in" +
+                            " (select album_id from album where team_id = ?))" +
+                            " or (kind = 'team' and target_id = ?) or (kind = 'member' and target_id = ?)",
+                    team.getId(), team.getId(), member.getId());
+            jdbcTemplate.update("delete from album where team_id = ?", team.getId());
+            jdbcTemplate.update("delete from team where team_id = ?", team.getId());
+            jdbcTemplate.update("delete from member where member_id = ?", member.getId());
+        }
+    }
+
+    private MockMultipartFile file(String name) {
+        return new MockMultipartFile("files", name, "image/jpeg", new byte[]{1});
+    }
+}
@@ -0,0 +1,113 @@
+package yuhan.hgcq.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import yuhan.hgcq.server.cache.LikeCounter;
+import yuhan.hgcq.server.cache.TrendingPhotos;
+import yuhan.hgcq.server.domain.Album;
+import yuhan.hgcq.server.domain.Member;
+import yuhan.hgcq.server.domain.Photo;
+import yuhan.hgcq.server.domain.Team;
+import yuhan.hgcq.server.repository.AlbumRepository;
+import yuhan.hgcq.server.repository.PhotoRepository;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TrendingServiceTest {
+    TrendingPhotos trendingPhotos;
+    ValueOperations<String, String> ops;
+    TrendingService tds;
+
+    Member m1;
+    Member m2;
+    Photo p1;
+    Photo p2;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        AlbumRepository ar = mock(AlbumRepository.class);
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        trendingPhotos = mock(TrendingPhotos.class);
+        ops = mock(ValueOperations.class);
+
+        when(redisTemplate.opsForValue()).thenReturn(ops);
+
+        Set<String> keys = new HashSet<>();
+        when(ops.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenAnswer(invocation -> keys.add(invocation.getArgument(0)));
+
+        Team team = mock(Team.class);
+        when(team.getId()).thenReturn(1L);
+        Album album = mock(Album.class);
+        when(album.getId()).thenReturn(1L);
+        when(album.getTeam()).thenReturn(team);
+        when(ar.findOne(1L)).thenReturn(album);
+
+        m1 = member(1L);
+        m2 = member(2L);
+        p1 = photo(1L, album);
+        p2 = photo(2L, album);
+
+        tds = new TrendingService(mock(PhotoRepository.class), ar, trendingPhotos, mock(LikeCounter.class), redisTemplate);
+    }
+
+    @Test
+    @DisplayName("같은 회원이 같은 사진을 하루에 여러 번 봐도 한 번만 센다")
+    void viewDedupe() {
+        assertThat(tds.addView(m1, p1)).isTrue();
+        assertThat(tds.addView(m1, p1)).isFalse();
+        assertThat(tds.addView(m1, p1)).isFalse();
+
+        /* other member, other photo */
+        assertThat(tds.addView(m2, p1)).isTrue();
+        assertThat(tds.addView(m1, p2)).isTrue();
+
+        verify(trendingPhotos, times(2)).view(1L, 1L);
+        verify(trendingPhotos, times(1)).view(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Redis 가 죽어도 조회는 센다")
+    void viewWithoutRedis() {
+        when(ops.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(tds.addView(m1, p1)).isTrue();
+        assertThat(tds.addView(m1, p1)).isTrue();
+
+        verify(trendingPhotos, times(2)).view(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("인자가 없으면 예외가 발생한다")
+    void viewWithNull() {
+        assertThatThrownBy(() -> tds.addView(null, p1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tds.addView(m1, null)).isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(trendingPhotos);
+    }
+
+    private Member member(Long id) {
+        Member member = mock(Member.class);
+        when(member.getId()).thenReturn(id);
+        return member;
+    }
+
+    private Photo photo(Long id, Album album) {
+        Photo photo = mock(Photo.class);
+        when(photo.getId()).thenReturn(id);
+        when(photo.getAlbum()).thenReturn(album);
+        return photo;
+    }
+}
@@ -0,0 +1,88 @@
+package yuhan.hgcq.server.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BloomFilterTest {
+    private static final Logger log = LoggerFactory.getLogger(BloomFilterTest.class);
+
+    private static final int MEMBERS = 1_000_000;
+    private static final int CHECKS = 1_000;
+
+    @Test
+    @DisplayName("추가한 값은 항상 있고 오탐률은 목표 근처")
+    void falsePositiveRate() {
+        int size = MEMBERS / 10;
+        BloomFilter filter = new BloomFilter(size, 0.01);
+
+        for (int i = 0; i < size; i++) {
+            filter.add("member" + i + "@test.com");
+        }
+
+        int falsePositive = 0;
+        for (int i = 0; i < size; i++) {
+            assertThat(filter.mightContain("member" + i + "@test.com")).isTrue();
+
+            if (filter.mightContain("new" + i + "@test.com")) {
+                falsePositive++;
+            }
+        }
+
+        assertThat((double) falsePositive / size).isLessThan(0.02);
+    }
+
+    /* wall clock comparison, run with ./gradlew benchmark */
+    @Test
+    @Tag("benchmark")
+    @DisplayName("100만 회원 중복 확인 (bloom vs 전체 목록)")
+    void benchmark() {
+        BloomFilter filter = new BloomFilter(MEMBERS, 0.01);
+        List<String> emails = new ArrayList<>(MEMBERS);
+
+        for (int i = 0; i < MEMBERS; i++) {
+            String email = "member" + i + "@test.com";
+            filter.add(email);
+            emails.add(email);
+        }
+
+        /* no false negative */
+        for (int i = 0; i < MEMBERS; i++) {
+            assertThat(filter.mightContain("member" + i + "@test.com")).isTrue();
+        }
+
+        int falsePositive = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEMBERS; i++) {
+            if (filter.mightContain("new" + i + "@test.com")) {
+                falsePositive++;
+            }
+        }
+        long bloomNanos = (System.nanoTime() - start) / MEMBERS;
+
+        /* old check : load every email and scan */
+        int found = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < CHECKS; i++) {
+            if (emails.contains("new" + i + "@test.com")) {
+                found++;
+            }
+        }
+        long scanNanos = (System.nanoTime() - start) / CHECKS;
+
+        double rate = (double) falsePositive / MEMBERS;
+        log.info("Bloom {} bits, {} hashes, fpp {}, {} ns/check, list scan {} ns/check",
+                filter.bitSize(), filter.hashCount(), rate, bloomNanos, scanNanos);
+
+        assertThat(found).isZero();
+        assertThat(rate).isLessThan(0.02);
+        assertThat(bloomNanos).isLessThan(scanNanos);
+    }
+}
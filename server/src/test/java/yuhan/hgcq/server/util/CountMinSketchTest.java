@@ -0,0 +1,77 @@
+package yuhan.hgcq.server.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CountMinSketchTest {
+    private static final Logger log = LoggerFactory.getLogger(CountMinSketchTest.class);
+
+    private static final int PHOTOS = 100_000;
+    private static final int HOT = 20;
+
+    @Test
+    @DisplayName("추정치는 실제 횟수보다 작지 않고, 인기 사진은 구분된다")
+    void estimate() {
+        CountMinSketch sketch = new CountMinSketch(4, 512);
+        Map<Long, Integer> counts = new HashMap<>();
+        Random random = new Random(42);
+        long total = 0;
+
+        /* long tail : every photo viewed once or twice, hot photos viewed thousands of times */
+        for (long photoId = 1; photoId <= PHOTOS; photoId++) {
+            int count = photoId <= HOT ? (int) photoId * 2000 : 1 + random.nextInt(2);
+            sketch.add(photoId, count);
+            counts.put(photoId, count);
+            total += count;
+        }
+
+        long maxError = 0;
+        for (Map.Entry<Long, Integer> entry : counts.entrySet()) {
+            int estimate = sketch.estimate(entry.getKey());
+
+            assertThat(estimate).isGreaterThanOrEqualTo(entry.getValue());
+            maxError = Math.max(maxError, estimate - entry.getValue());
+        }
+
+        log.info("Count-Min {} x {} ({} KB), {} photos, total {}, max error {}",
+                sketch.depth(), sketch.width(), sketch.depth() * sketch.width() * 4 / 1024, PHOTOS, total, maxError);
+
+        assertThat(maxError).isLessThanOrEqualTo((long) (Math.E * total / sketch.width()));
+
+        /* hot photos are ranked in true order */
+        List<Long> hot = new ArrayList<>();
+        for (long photoId = 1; photoId <= HOT; photoId++) {
+            hot.add(photoId);
+        }
+        hot.sort(Comparator.comparingInt(sketch::estimate).reversed());
+
+        for (int i = 0; i < HOT; i++) {
+            assertThat(hot.get(i)).isEqualTo((long) (HOT - i));
+        }
+    }
+
+    @Test
+    @DisplayName("너비는 2의 거듭제곱으로 맞춰지고 counter 로 복원된다")
+    void restore() {
+        CountMinSketch sketch = new CountMinSketch(3, 100);
+        sketch.add(7L, 5);
+        sketch.add(7L, Integer.MAX_VALUE);
+
+        assertThat(sketch.width()).isEqualTo(128);
+        assertThat(sketch.estimate(7L)).isEqualTo(Integer.MAX_VALUE);
+
+        CountMinSketch restored = new CountMinSketch(3, 128, sketch.table().clone());
+        assertThat(restored.estimate(7L)).isEqualTo(Integer.MAX_VALUE);
+
+        sketch.clear();
+        assertThat(sketch.estimate(7L)).isZero();
+        assertThatThrownBy(() -> new CountMinSketch(3, 128, new int[10]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
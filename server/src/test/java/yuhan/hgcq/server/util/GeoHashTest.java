@@ -0,0 +1,67 @@
+package yuhan.hgcq.server.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class GeoHashTest {
+
+    @Test
+    @DisplayName("위치를 geohash 로 바꾼다")
+    void encode() {
+        assertThat(GeoHash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(GeoHash.encode(37.5665, 126.9780, 12)).startsWith("wydm9q");
+
+        assertThatThrownBy(() -> GeoHash.encode(91, 0, 12)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeoHash.encode(0, 0, 13)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("영역을 덮는 cell 안에 영역의 모든 위치가 들어간다")
+    void cover() {
+        List<String> cells = GeoHash.cover(37.4, 126.8, 37.7, 127.2, 16, 8);
+
+        assertThat(cells).isNotEmpty().hasSizeLessThanOrEqualTo(16);
+
+        for (double latitude = 37.4; latitude <= 37.7; latitude += 0.01) {
+            for (double longitude = 126.8; longitude <= 127.2; longitude += 0.01) {
+                String hash = GeoHash.encode(latitude, longitude, GeoHash.MAX_PRECISION);
+                assertThat(cells).anySatisfy(cell -> assertThat(hash).startsWith(cell));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("날짜 변경선을 넘는 영역은 양쪽 cell 로 덮는다")
+    void coverAntimeridian() {
+        List<String> cells = GeoHash.cover(-10, 170, 10, -170, 16, 8);
+
+        String west = GeoHash.encode(0, 175, GeoHash.MAX_PRECISION);
+        String east = GeoHash.encode(0, -175, GeoHash.MAX_PRECISION);
+
+        assertThat(cells).anySatisfy(cell -> assertThat(west).startsWith(cell));
+        assertThat(cells).anySatisfy(cell -> assertThat(east).startsWith(cell));
+        assertThat(GeoHash.cover(-90, -180, 90, 180, 16, 8)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("다음 prefix 는 prefix 로 시작하는 모든 geohash 보다 크다")
+    void nextPrefix() {
+        assertThat(GeoHash.nextPrefix("wy")).isEqualTo("wz");
+        assertThat(GeoHash.nextPrefix("wz")).isEqualTo("x");
+        assertThat(GeoHash.nextPrefix("9")).isEqualTo("b");
+        assertThat(GeoHash.nextPrefix("zz")).isNull();
+
+        String hash = GeoHash.encode(37.5665, 126.9780, GeoHash.MAX_PRECISION);
+        for (int precision = 1; precision < GeoHash.MAX_PRECISION; precision++) {
+            String cell = hash.substring(0, precision);
+            String next = GeoHash.nextPrefix(cell);
+
+            assertThat(hash.compareTo(cell)).isGreaterThanOrEqualTo(0);
+            assertThat(next == null || hash.compareTo(next) < 0).isTrue();
+        }
+    }
+}
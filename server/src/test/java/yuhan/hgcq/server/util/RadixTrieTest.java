@@ -0,0 +1,112 @@
+package yuhan.hgcq.server.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RadixTrieTest {
+
+    @Test
+    @DisplayName("공통 prefix 에서 edge 를 나누고, prefix 로 키 순서대로 찾는다")
+    void split() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        trie.put("romane", "romane");
+        trie.put("romanus", "romanus");
+        trie.put("romulus", "romulus");
+        trie.put("rubens", "rubens");
+        trie.put("ruber", "ruber");
+
+        assertThat(trie.size()).isEqualTo(5);
+        assertThat(trie.prefix("r", 10)).containsExactly("romane", "romanus", "romulus", "rubens", "ruber");
+        assertThat(trie.prefix("rom", 10)).containsExactly("romane", "romanus", "romulus");
+        assertThat(trie.prefix("roma", 10)).containsExactly("romane", "romanus");
+        assertThat(trie.prefix("rube", 10)).containsExactly("rubens", "ruber");
+        assertThat(trie.prefix("romx", 10)).isEmpty();
+        assertThat(trie.prefix("x", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("키가 다른 키의 prefix 이거나, prefix 가 edge 중간에서 끝나도 찾는다")
+    void prefixOfKey() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        trie.put("abcdef", "abcdef");
+        trie.put("abc", "abc");
+        trie.put("", "empty");
+
+        assertThat(trie.prefix("abcd", 10)).containsExactly("abcdef");
+        assertThat(trie.prefix("abc", 10)).containsExactly("abc", "abcdef");
+        assertThat(trie.prefix("ab", 10)).containsExactly("abc", "abcdef");
+        assertThat(trie.prefix("", 10)).containsExactly("empty", "abc", "abcdef");
+        assertThat(trie.prefix("abcdefg", 10)).isEmpty();
+        assertThat(trie.prefix("abd", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("값을 지우면 빈 노드는 없애고 한 자식만 남은 edge 는 합친다")
+    void removeAndMerge() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        String team = "team";
+        String teal = "teal";
+        String tea = "tea";
+        trie.put(team, team);
+        trie.put(teal, teal);
+        trie.put(tea, tea);
+
+        assertThat(trie.remove("tea", tea)).isTrue();
+        assertThat(trie.prefix("tea", 10)).containsExactly(teal, team);
+
+        assertThat(trie.remove("teal", teal)).isTrue();
+        assertThat(trie.prefix("te", 10)).containsExactly(team);
+        assertThat(trie.prefix("tea", 10)).containsExactly(team);
+        assertThat(trie.prefix("teal", 10)).isEmpty();
+
+        /* merged edge still splits again */
+        trie.put("tent", "tent");
+        assertThat(trie.prefix("te", 10)).containsExactly(team, "tent");
+
+        assertThat(trie.remove("team", team)).isTrue();
+        assertThat(trie.remove("team", team)).isFalse();
+        assertThat(trie.remove("nothing", team)).isFalse();
+        assertThat(trie.size()).isEqualTo(1);
+        assertThat(trie.prefix("", 10)).containsExactly("tent");
+    }
+
+    @Test
+    @DisplayName("같은 키에 여러 값을 두고, 같은 인스턴스만 지운다")
+    void duplicateKeys() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        String kim1 = new String("kim");
+        String kim2 = new String("kim");
+        trie.put("kim", kim1);
+        trie.put("kim", kim2);
+
+        assertThat(trie.size()).isEqualTo(2);
+        assertThat(trie.prefix("ki", 10)).hasSize(2);
+
+        assertThat(trie.remove("kim", new String("kim"))).isFalse();
+        assertThat(trie.remove("kim", kim1)).isTrue();
+        assertThat(trie.prefix("kim", 10)).hasSize(1).first().isSameAs(kim2);
+    }
+
+    @Test
+    @DisplayName("limit 만큼만 키 순서대로 준다")
+    void limit() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        List<String> keys = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 1000; i++) {
+            String key = "m" + Integer.toString(random.nextInt(100_000), 36);
+            keys.add(key);
+            trie.put(key, key);
+        }
+        Collections.sort(keys);
+
+        assertThat(trie.prefix("m", 5)).containsExactlyElementsOf(keys.subList(0, 5));
+        assertThat(trie.prefix("m", 0)).isEmpty();
+        assertThat(trie.prefix("m", 5000)).containsExactlyElementsOf(keys);
+    }
+}
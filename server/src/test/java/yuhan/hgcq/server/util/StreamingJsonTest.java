@@ -0,0 +1,80 @@
+package yuhan.hgcq.server.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StreamingJsonTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    record Row(String day, int id) {
+    }
+
+    @Test
+    @DisplayName("행을 하나씩 써도 리스트를 한 번에 쓴 것과 같다")
+    void array() throws IOException {
+        List<Row> rows = List.of(new Row("2024-01-01", 1), new Row("2024-01-02", 2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        StreamingJson.<Row>array(mapper, rows::forEach).writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(mapper.writeValueAsString(rows));
+    }
+
+    @Test
+    @DisplayName("연속된 키끼리 묶는다")
+    void groups() throws IOException {
+        List<Row> rows = List.of(new Row("2024-01-01", 1), new Row("2024-01-01", 2), new Row("2024-01-02", 3));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        StreamingJson.<Row>groups(mapper, Row::day, rows::forEach).writeTo(out);
+
+        Map<String, List<Row>> expected = new LinkedHashMap<>();
+        expected.put("2024-01-01", List.of(rows.get(0), rows.get(1)));
+        expected.put("2024-01-02", List.of(rows.get(2)));
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(mapper.writeValueAsString(expected));
+    }
+
+    @Test
+    @DisplayName("행이 없으면 빈 배열, 빈 객체")
+    void empty() throws IOException {
+        ByteArrayOutputStream array = new ByteArrayOutputStream();
+        ByteArrayOutputStream groups = new ByteArrayOutputStream();
+
+        StreamingJson.<Row>array(mapper, action -> {
+        }).writeTo(array);
+        StreamingJson.<Row>groups(mapper, Row::day, action -> {
+        }).writeTo(groups);
+
+        assertThat(array.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+        assertThat(groups.toString(StandardCharsets.UTF_8)).isEqualTo("{}");
+    }
+
+    @Test
+    @DisplayName("객체 안에 스트림 배열과 일반 값을 섞는다")
+    void object() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (StreamingJson json = new StreamingJson(mapper, out)) {
+            json.startObject();
+            json.field("memberList");
+            json.<Row>array(List.of(new Row("d", 1))::forEach);
+            json.field("followingList");
+            json.value(List.of());
+            json.endObject();
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"memberList\":[{\"day\":\"d\",\"id\":1}],\"followingList\":[]}");
+    }
+}